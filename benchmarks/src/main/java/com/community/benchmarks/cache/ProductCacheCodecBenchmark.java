@@ -0,0 +1,96 @@
+package com.community.benchmarks.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encoding and decoding the product-read {@code products::all} entry ({@code List<ProductDTO>})
+ * with each Redis value serializer. The encoded size of every variant is printed during setup.
+ *
+ * <ul>
+ *   <li>{@code jdk}: baseline {@code JdkSerializationRedisSerializer}.</li>
+ *   <li>{@code protobuf}: {@code ProductCacheCodec} with compression disabled.</li>
+ *   <li>{@code protobuf-deflate}: {@code ProductCacheCodec} with the default 4 KiB threshold.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductCacheCodecBenchmark {
+
+    @Param({"1000", "50000"})
+    public int productCount;
+
+    @Param({"jdk", "protobuf", "protobuf-deflate"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private List<ProductDTO> products;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        serializer = switch (codec) {
+            case "jdk" -> new JdkSerializationRedisSerializer(classLoader);
+            case "protobuf" -> new ProductCacheCodec(classLoader, 0);
+            case "protobuf-deflate" -> new ProductCacheCodec(classLoader, 4096);
+            default -> throw new IllegalArgumentException("Unknown codec: " + codec);
+        };
+        products = IntStream.range(0, productCount).mapToObj(ProductCacheCodecBenchmark::product).toList();
+        encoded = serializer.serialize(products);
+        System.out.printf("%n%s, %d products: %d bytes%n", codec, productCount, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(products);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    // Field sizes close to the seeded catalog: short names, a sentence of description, two-decimal prices
+    private static ProductDTO product(int i) {
+        return ProductDTO.builder()
+                .id((long) i + 1)
+                .name("Product " + i)
+                .description("A dependable everyday product, number " + i + " in the catalog.")
+                .price(BigDecimal.valueOf(1_000 + i % 90_000, 2))
+                .quantity(i % 500)
+                .sku("SKU-" + String.format("%08d", i))
+                .imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+                .category("Category " + i % 40)
+                .manufacturer("Manufacturer " + i % 200)
+                .status(i % 10 == 0 ? "INACTIVE" : "ACTIVE")
+                .version(i % 7)
+                .createdAt(new Date(1_700_000_000_000L + i * 1_000L))
+                .updatedAt(new Date(1_700_000_000_000L + i * 2_000L))
+                .build();
+    }
+}
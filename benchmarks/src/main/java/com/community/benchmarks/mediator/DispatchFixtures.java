@@ -0,0 +1,49 @@
+package com.community.benchmarks.mediator;
+
+import com.community.catalog.brand.application.handlers.CommandHandler;
+import org.springframework.stereotype.Component;
+
+/** Requests, handlers and filler beans used to populate the benchmark application context. */
+final class DispatchFixtures {
+
+    private DispatchFixtures() {
+    }
+
+    record PingQuery(long id) {
+    }
+
+    record PingCommand(long id) {
+    }
+
+    /** Handler found by the bean-scanning mediators through its public {@code handle} method. */
+    @Component
+    public static class PingQueryHandler {
+        public Long handle(PingQuery query) {
+            return query.id();
+        }
+    }
+
+    /**
+     * Handler found by the generic-type mediators through its {@link CommandHandler} signature,
+     * declared with a concrete response type like the brand and category handlers.
+     */
+    @Component
+    public static class PingCommandHandler implements CommandHandler<Long, PingCommand> {
+        @Override
+        public Long handle(PingCommand command) {
+            return command.id();
+        }
+    }
+
+    /** Stand-in for the controllers, repositories and services that make up a real context. */
+    @Component
+    public static class FillerBean {
+        public String describe(String value) {
+            return value;
+        }
+
+        public int size(Object value) {
+            return value.hashCode();
+        }
+    }
+}
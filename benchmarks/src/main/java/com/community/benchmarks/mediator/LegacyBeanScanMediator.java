@@ -0,0 +1,43 @@
+package com.community.benchmarks.mediator;
+
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Baseline copy of the bean-scanning reflective mediator that product-read, product-write and
+ * user-service used before dispatch tables were precomputed. Kept only as a point of comparison.
+ */
+public class LegacyBeanScanMediator {
+
+    private final ApplicationContext applicationContext;
+
+    public LegacyBeanScanMediator(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R, T> R send(T query) {
+        try {
+            String[] beanNames = applicationContext.getBeanDefinitionNames();
+            for (String beanName : beanNames) {
+                Object bean = applicationContext.getBean(beanName);
+                Method handleMethod = findHandleMethod(bean.getClass(), query.getClass());
+                if (handleMethod != null) {
+                    return (R) handleMethod.invoke(bean, query);
+                }
+            }
+            throw new IllegalStateException("No handler found for query: " + query.getClass().getName());
+        } catch (Exception e) {
+            throw new RuntimeException("Error dispatching query", e);
+        }
+    }
+
+    private Method findHandleMethod(Class<?> handlerClass, Class<?> queryClass) {
+        return Arrays.stream(handlerClass.getMethods())
+                .filter(method -> method.getName().equals("handle") && method.getParameterCount() == 1 && method.getParameterTypes()[0].equals(queryClass))
+                .findFirst()
+                .orElse(null);
+    }
+}
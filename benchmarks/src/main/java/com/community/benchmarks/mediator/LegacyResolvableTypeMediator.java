@@ -0,0 +1,47 @@
+package com.community.benchmarks.mediator;
+
+import com.community.catalog.brand.application.handlers.CommandHandler;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Baseline copy of the brand/category mediator that matched handlers with a {@link ResolvableType}
+ * lookup on every request. Kept only as a point of comparison.
+ * <p>
+ * The lookup asks for {@code CommandHandler<Object, C>}, which Spring never matches against a
+ * handler declared with a concrete response type, so {@link #send} fails for every real handler.
+ * {@link #handlerBeanNames} is the lookup on its own: it tests every bean in the context whether
+ * or not one matches, which is the per-request cost the startup cache removed.
+ */
+public class LegacyResolvableTypeMediator {
+
+    private final ApplicationContext applicationContext;
+
+    public LegacyResolvableTypeMediator(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    public <R> R send(Object request) {
+        CommandHandler<R, Object> handler = resolveHandler(request);
+        return handler.handle(request);
+    }
+
+    public String[] handlerBeanNames(Object request) {
+        ResolvableType commandType = ResolvableType.forClass(request.getClass());
+        ResolvableType handlerType = ResolvableType.forClassWithGenerics(
+                CommandHandler.class, ResolvableType.forClass(Object.class), commandType);
+        return applicationContext.getBeanNamesForType(handlerType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CommandHandler<R, Object> resolveHandler(Object request) {
+        String[] beanNames = handlerBeanNames(request);
+        if (beanNames.length == 0) {
+            throw new IllegalStateException("No handler found for command: " + request.getClass().getName());
+        }
+        if (beanNames.length > 1) {
+            throw new IllegalStateException("Multiple handlers found for command: " + request.getClass().getName());
+        }
+        return (CommandHandler<R, Object>) applicationContext.getBean(beanNames[0]);
+    }
+}
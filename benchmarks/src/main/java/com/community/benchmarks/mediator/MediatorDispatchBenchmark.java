@@ -0,0 +1,105 @@
+package com.community.benchmarks.mediator;
+
+import com.community.benchmarks.mediator.DispatchFixtures.FillerBean;
+import com.community.benchmarks.mediator.DispatchFixtures.PingCommand;
+import com.community.benchmarks.mediator.DispatchFixtures.PingCommandHandler;
+import com.community.benchmarks.mediator.DispatchFixtures.PingQuery;
+import com.community.benchmarks.mediator.DispatchFixtures.PingQueryHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@code Mediator.send} for every dispatch strategy used by the services, with the
+ * handler registered after {@code beanCount} other beans so bean-scanning strategies pay for a
+ * full scan.
+ *
+ * <ul>
+ *   <li>{@code beanScanReflective}: baseline product-read/product-write/user-service mediator.</li>
+ *   <li>{@code precomputedTable}: current product-read {@code SpringMediator}.</li>
+ *   <li>{@code resolvableTypeLookup}: handler lookup of the baseline brand/category mediator. It
+ *       cannot complete a dispatch to a typed handler (see {@link LegacyResolvableTypeMediator}),
+ *       so only the lookup it ran on every request is measured.</li>
+ *   <li>{@code cachedResolvableType}: current brand {@code SpringMediator}.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MediatorDispatchBenchmark {
+
+    @Param({"50", "500", "2000"})
+    public int beanCount;
+
+    private GenericApplicationContext context;
+    private LegacyBeanScanMediator beanScanMediator;
+    private com.community.catalog.productread.application.mediator.SpringMediator precomputedMediator;
+    private LegacyResolvableTypeMediator resolvableTypeMediator;
+    private com.community.catalog.brand.application.mediator.SpringMediator cachedMediator;
+
+    private final PingQuery query = new PingQuery(42L);
+    private final PingCommand command = new PingCommand(42L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new GenericApplicationContext();
+        for (int i = 0; i < beanCount; i++) {
+            context.registerBean("filler" + i, FillerBean.class);
+        }
+        context.registerBean("pingQueryHandler", PingQueryHandler.class);
+        context.registerBean("pingCommandHandler", PingCommandHandler.class);
+        context.refresh();
+
+        beanScanMediator = new LegacyBeanScanMediator(context);
+        precomputedMediator = new com.community.catalog.productread.application.mediator.SpringMediator(
+                context, List.of(), Runnable::run);
+        precomputedMediator.afterSingletonsInstantiated();
+        resolvableTypeMediator = new LegacyResolvableTypeMediator(context);
+        cachedMediator = new com.community.catalog.brand.application.mediator.SpringMediator(
+                context, new SimpleMeterRegistry(), List.of(), Runnable::run);
+        cachedMediator.afterSingletonsInstantiated();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long beanScanReflective() {
+        return beanScanMediator.send(query);
+    }
+
+    @Benchmark
+    public Long precomputedTable() {
+        return precomputedMediator.send(query);
+    }
+
+    @Benchmark
+    public String[] resolvableTypeLookup() {
+        return resolvableTypeMediator.handlerBeanNames(command);
+    }
+
+    @Benchmark
+    public Long cachedResolvableType() {
+        return cachedMediator.send(command);
+    }
+}
@@ -0,0 +1,84 @@
+package com.community.benchmarks.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.search.FacetIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One {@code /api/products/search} page against the product-read {@link FacetIndex}: filtering,
+ * disjunctive facet counts for every facet, and the first page of 20 items.
+ *
+ * <ul>
+ *   <li>{@code none}: no filters, so every facet counts the whole catalog.</li>
+ *   <li>{@code facets}: two categories and one manufacturer.</li>
+ *   <li>{@code facets-price}: the same facets plus a price range.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacetIndexSearchBenchmark {
+
+    private static final int CATEGORIES = 40;
+    private static final int MANUFACTURERS = 200;
+
+    @Param({"10000", "100000"})
+    public int productCount;
+
+    @Param({"none", "facets", "facets-price"})
+    public String filter;
+
+    private FacetIndex index;
+    private FacetIndex.Criteria criteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = FacetIndex.of(IntStream.range(0, productCount).mapToObj(FacetIndexSearchBenchmark::product).toList());
+        criteria = switch (filter) {
+            case "none" -> new FacetIndex.Criteria(null, null, null, null, null);
+            case "facets" -> new FacetIndex.Criteria(List.of("Category 1", "Category 2"), List.of("Manufacturer 3"),
+                    null, null, null);
+            case "facets-price" -> new FacetIndex.Criteria(List.of("Category 1", "Category 2"), List.of("Manufacturer 3"),
+                    null, new BigDecimal("10.00"), new BigDecimal("250.00"));
+            default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+        };
+    }
+
+    @Benchmark
+    public FacetIndex.Result search() {
+        return index.search(criteria, 0, 20);
+    }
+
+    private static ProductDTO product(int i) {
+        return ProductDTO.builder()
+                .id((long) i + 1)
+                .name("Product " + i)
+                .price(BigDecimal.valueOf(99 + (i * 7919L) % 99900, 2))
+                .quantity(i % 500)
+                .sku("SKU-" + i)
+                .category("Category " + i % CATEGORIES)
+                .manufacturer("Manufacturer " + (i * 31) % MANUFACTURERS)
+                .status(i % 10 == 0 ? "DISCONTINUED" : "ACTIVE")
+                .version(1)
+                .build();
+    }
+}
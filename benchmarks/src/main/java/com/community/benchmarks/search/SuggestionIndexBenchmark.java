@@ -0,0 +1,74 @@
+package com.community.benchmarks.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.search.SuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code /api/products/suggest} lookup against the product-read {@link SuggestionIndex}, in
+ * sample mode so the report includes percentiles.
+ *
+ * <ul>
+ *   <li>{@code p}: one letter, matching a large share of the catalog (the worst case).</li>
+ *   <li>{@code wireless}: one complete word.</li>
+ *   <li>{@code wire mou}: two prefixes, intersected.</li>
+ *   <li>{@code sku-1234}: a SKU prefix.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionIndexBenchmark {
+
+    private static final List<String> ADJECTIVES = List.of("Wireless", "Portable", "Premium", "Compact", "Smart",
+            "Classic", "Ergonomic", "Digital", "Outdoor", "Pro");
+    private static final List<String> NOUNS = List.of("Mouse", "Keyboard", "Speaker", "Lamp", "Phone", "Charger",
+            "Backpack", "Monitor", "Camera", "Headphones", "Printer", "Router");
+
+    @Param({"10000", "100000"})
+    public int productCount;
+
+    @Param({"p", "wireless", "wire mou", "sku-1234"})
+    public String query;
+
+    private SuggestionIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SuggestionIndex(productCount);
+        for (int i = 0; i < productCount; i++) {
+            index.upsert(product(i), (i * 2654435761L) % 1000);
+        }
+    }
+
+    @Benchmark
+    public List<ProductDTO> suggest() {
+        return index.search(query, 10);
+    }
+
+    private static ProductDTO product(int i) {
+        return ProductDTO.builder()
+                .id((long) i + 1)
+                .name(ADJECTIVES.get(i % ADJECTIVES.size()) + " " + NOUNS.get((i / 7) % NOUNS.size()) + " " + i)
+                .sku("SKU-" + i)
+                .version(1)
+                .build();
+    }
+}
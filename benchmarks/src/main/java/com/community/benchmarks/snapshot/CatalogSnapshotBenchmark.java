@@ -0,0 +1,87 @@
+package com.community.benchmarks.snapshot;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.snapshot.CatalogSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The product-read warm start from a {@link CatalogSnapshot}: mapping the file and decoding every
+ * product ({@code load}), and reading only the version index used to catch up ({@code versions}).
+ * The file size is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"10000", "100000"})
+    public int productCount;
+
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("catalog", ".snapshot");
+        List<ProductDTO> products = IntStream.range(0, productCount).mapToObj(CatalogSnapshotBenchmark::product).toList();
+        CatalogSnapshot.write(path, 1L, products);
+        System.out.printf("%n%d products: %d bytes%n", productCount, Files.size(path));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public List<ProductDTO> load() throws IOException {
+        return CatalogSnapshot.open(path).products();
+    }
+
+    @Benchmark
+    public Map<Long, Integer> versions() throws IOException {
+        return CatalogSnapshot.open(path).versions();
+    }
+
+    private static ProductDTO product(int i) {
+        return ProductDTO.builder()
+                .id((long) i + 1)
+                .name("Product " + i)
+                .description("A short description of product " + i + " for the catalog listing.")
+                .price(BigDecimal.valueOf(99 + (i * 7919L) % 99900, 2))
+                .quantity(i % 500)
+                .sku("SKU-" + i)
+                .imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+                .category("Category " + i % 40)
+                .manufacturer("Manufacturer " + i % 200)
+                .status("ACTIVE")
+                .version(1 + i % 5)
+                .createdAt(new Date(1_700_000_000_000L + i))
+                .updatedAt(new Date(1_700_000_000_000L + i))
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.community.catalog.brand.application.mediator;
+
+import com.community.platform.shared.mediator.MediatorMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every request through the shared {@link MediatorMetrics}: a latency histogram per request
+ * type, a log of requests slower than {@code mediator.metrics.slow-threshold} and sampled
+ * allocation counts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(
+        name = "mediator.metrics.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class MetricsPipelineBehavior implements PipelineBehavior {
+
+    private final MediatorMetrics metrics;
+
+    public MetricsPipelineBehavior(
+            MeterRegistry meterRegistry,
+            @Value("${mediator.metrics.slow-threshold:0ms}") Duration slowThreshold,
+            @Value("${mediator.metrics.allocation-sample-rate:0}") double allocationSampleRate) {
+        this.metrics = new MediatorMetrics(meterRegistry, slowThreshold, allocationSampleRate);
+    }
+
+    @Override
+    public <R> R handle(Object request, Next<R> next) {
+        return metrics.record(request, next::invoke);
+    }
+}
@@ -0,0 +1,39 @@
+package com.community.catalog.brand.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MediatorAsyncConfig {
+
+    /**
+     * Executor behind {@code Mediator.sendAsync}. Runs each request on a virtual thread when the
+     * JVM supports them and falls back to a bounded platform-thread pool otherwise. The limit
+     * itself is enforced by the mediator, which keeps at most {@code
+     * mediator.async.max-concurrency} requests in flight and fails the rest at once with {@code
+     * MediatorBusyException} (503); the executor never makes the request thread wait for a slot.
+     */
+    @Bean
+    public AsyncTaskExecutor mediatorExecutor(
+            @Value("${mediator.async.max-concurrency:256}") int maxConcurrency,
+            @Value("${mediator.async.queue-capacity:1000}") int queueCapacity) {
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mediator-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mediator-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -13,6 +13,7 @@ import com.community.catalog.brand.interfaces.dto.UpdateBrandRequestDTO;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -35,20 +36,25 @@ public class BrandController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BrandResponseDTO> getBrandById(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<BrandResponseDTO>> getBrandById(@PathVariable Long id) {
         var query = new GetBrandByIdQuery(id);
-        Optional<Brand> brand = mediator.send(query);
-        return brand.map(b -> ResponseEntity.ok(BrandResponseDTO.fromEntity(b)))
-                .orElse(ResponseEntity.notFound().build());
+        return mediator.<Optional<Brand>>sendAsync(query)
+                .thenApply(
+                        brand ->
+                                brand.map(b -> ResponseEntity.ok(BrandResponseDTO.fromEntity(b)))
+                                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping
-    public ResponseEntity<List<BrandResponseDTO>> getAllBrands() {
+    public CompletableFuture<ResponseEntity<List<BrandResponseDTO>>> getAllBrands() {
         var query = new GetAllBrandsQuery();
-        List<Brand> brands = mediator.send(query);
-        List<BrandResponseDTO> dtos =
-                brands.stream().map(BrandResponseDTO::fromEntity).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return mediator.<List<Brand>>sendAsync(query)
+                .thenApply(
+                        brands ->
+                                ResponseEntity.ok(
+                                        brands.stream()
+                                                .map(BrandResponseDTO::fromEntity)
+                                                .collect(Collectors.toList())));
     }
 
     @PutMapping("/{id}")
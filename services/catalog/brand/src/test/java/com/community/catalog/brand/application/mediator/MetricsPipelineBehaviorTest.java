@@ -0,0 +1,83 @@
+package com.community.catalog.brand.application.mediator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.community.catalog.brand.application.queries.GetAllBrandsQuery;
+import com.community.catalog.brand.application.queries.GetBrandByIdQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetricsPipelineBehaviorTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRecordsTimerPerRequestType() {
+        // Arrange
+        var behavior = new MetricsPipelineBehavior(meterRegistry, Duration.ZERO, 0);
+
+        // Act
+        String result = behavior.handle(new GetAllBrandsQuery(), () -> "ok");
+        behavior.handle(new GetAllBrandsQuery(), () -> "ok");
+        behavior.handle(new GetBrandByIdQuery(1L), () -> "ok");
+
+        // Assert
+        assertThat(result).isEqualTo("ok");
+        assertThat(timer("GetAllBrandsQuery", "success").count()).isEqualTo(2);
+        assertThat(timer("GetBrandByIdQuery", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordsFailedRequestsSeparately() {
+        // Arrange
+        var behavior = new MetricsPipelineBehavior(meterRegistry, Duration.ZERO, 0);
+
+        // Act & Assert
+        assertThatThrownBy(
+                        () ->
+                                behavior.handle(
+                                        new GetBrandByIdQuery(1L),
+                                        () -> {
+                                            throw new IllegalStateException("boom");
+                                        }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(timer("GetBrandByIdQuery", "error").count()).isEqualTo(1);
+        assertThat(timer("GetBrandByIdQuery", "success").count()).isZero();
+    }
+
+    @Test
+    void testSamplesAllocationsWhenEnabled() {
+        // Arrange
+        var behavior = new MetricsPipelineBehavior(meterRegistry, Duration.ZERO, 1.0);
+
+        // Act
+        behavior.handle(new GetAllBrandsQuery(), () -> new byte[1024]);
+
+        // Assert
+        var allocated =
+                meterRegistry
+                        .get("mediator.requests.allocated")
+                        .tag("command", "GetAllBrandsQuery")
+                        .summary();
+        assertThat(allocated.count()).isEqualTo(1);
+        assertThat(allocated.totalAmount()).isGreaterThanOrEqualTo(1024);
+    }
+
+    private Timer timer(String command, String outcome) {
+        return meterRegistry
+                .get("mediator.requests")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
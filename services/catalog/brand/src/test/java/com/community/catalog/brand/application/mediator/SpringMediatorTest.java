@@ -0,0 +1,258 @@
+package com.community.catalog.brand.application.mediator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.community.catalog.brand.application.handlers.CommandHandler;
+import com.community.catalog.brand.application.handlers.GetAllBrandsQueryHandler;
+import com.community.catalog.brand.application.handlers.GetBrandByIdQueryHandler;
+import com.community.catalog.brand.application.queries.GetAllBrandsQuery;
+import com.community.catalog.brand.application.queries.GetBrandByIdQuery;
+import com.community.catalog.brand.domain.model.Brand;
+import com.community.catalog.brand.domain.repository.BrandRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
+
+@ExtendWith(MockitoExtension.class)
+class SpringMediatorTest {
+
+    @Mock private ApplicationContext applicationContext;
+
+    @Mock private GetAllBrandsQueryHandler getAllBrandsQueryHandler;
+
+    @Mock private GetBrandByIdQueryHandler getBrandByIdQueryHandler;
+
+    private MeterRegistry meterRegistry;
+
+    private SpringMediator mediator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mediator =
+                new SpringMediator(
+                        applicationContext, meterRegistry, List.of(), Runnable::run, 256);
+    }
+
+    @Test
+    void testSendUsesHandlerCachedAtStartup() {
+        // Arrange
+        registerAtStartup("getAllBrandsQueryHandler", GetAllBrandsQueryHandler.class);
+        when(applicationContext.getBean("getAllBrandsQueryHandler"))
+                .thenReturn(getAllBrandsQueryHandler);
+        var brands = List.of(new Brand("Brand", "Desc"));
+        when(getAllBrandsQueryHandler.handle(any())).thenReturn(brands);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        List<Brand> result = mediator.send(new GetAllBrandsQuery());
+
+        // Assert
+        assertThat(result).isSameAs(brands);
+        verify(applicationContext, times(1)).getBeanNamesForType(CommandHandler.class);
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count()).isZero();
+    }
+
+    @Test
+    void testStartupFailsOnDuplicateHandlers() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {"first", "second"});
+        doReturn(GetAllBrandsQueryHandler.class).when(applicationContext).getType("first");
+        doReturn(GetAllBrandsQueryHandler.class).when(applicationContext).getType("second");
+
+        // Act & Assert
+        assertThatThrownBy(() -> mediator.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Multiple handlers found")
+                .hasMessageContaining(GetAllBrandsQuery.class.getName());
+    }
+
+    @Test
+    void testLateRegistrationIsResolvedOnceAndCounted() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {}, new String[] {"getBrandByIdQueryHandler"});
+        mediator.afterSingletonsInstantiated();
+        doReturn(GetBrandByIdQueryHandler.class)
+                .when(applicationContext)
+                .getType("getBrandByIdQueryHandler");
+        when(applicationContext.getBean("getBrandByIdQueryHandler"))
+                .thenReturn(getBrandByIdQueryHandler);
+        when(getBrandByIdQueryHandler.handle(any())).thenReturn(Optional.empty());
+
+        // Act
+        mediator.send(new GetBrandByIdQuery(1L));
+        mediator.send(new GetBrandByIdQuery(2L));
+
+        // Assert
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testSendFailsForUnknownCommand() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {});
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        assertThatThrownBy(() -> mediator.send(new GetBrandByIdQuery(1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No handler found for command");
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count()).isZero();
+    }
+
+    @Test
+    void testSendAsyncDispatchesOnMediatorExecutor() {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        mediator = new SpringMediator(applicationContext, meterRegistry, List.of(), executor, 256);
+        registerAtStartup("getAllBrandsQueryHandler", GetAllBrandsQueryHandler.class);
+        when(applicationContext.getBean("getAllBrandsQueryHandler"))
+                .thenReturn(getAllBrandsQueryHandler);
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        when(getAllBrandsQueryHandler.handle(any()))
+                .thenAnswer(
+                        invocation -> {
+                            handlerThread.set(Thread.currentThread());
+                            return List.of();
+                        });
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        List<Brand> result = mediator.<List<Brand>>sendAsync(new GetAllBrandsQuery()).join();
+        executor.shutdown();
+
+        // Assert
+        assertThat(result).isEmpty();
+        assertThat(handlerThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void testSendResolvesTypedHandlerCachedAtStartup() {
+        // Arrange
+        BrandRepository brandRepository = mock(BrandRepository.class);
+        Brand brand = new Brand("Brand", "Desc");
+        when(brandRepository.findById(1L)).thenReturn(Optional.of(brand));
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(
+                "getBrandByIdQueryHandler",
+                GetBrandByIdQueryHandler.class,
+                () -> new GetBrandByIdQueryHandler(brandRepository));
+        context.refresh();
+        mediator = new SpringMediator(context, meterRegistry, List.of(), Runnable::run, 256);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        Optional<Brand> result = mediator.send(new GetBrandByIdQuery(1L));
+
+        // Assert
+        assertThat(result).containsSame(brand);
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count()).isZero();
+    }
+
+    @Test
+    void testLateRegisteredTypedHandlerIsResolved() {
+        // Arrange
+        BrandRepository brandRepository = mock(BrandRepository.class);
+        Brand brand = new Brand("Brand", "Desc");
+        when(brandRepository.findById(1L)).thenReturn(Optional.of(brand));
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.refresh();
+        mediator = new SpringMediator(context, meterRegistry, List.of(), Runnable::run, 256);
+        mediator.afterSingletonsInstantiated();
+        context.registerBean(
+                "getBrandByIdQueryHandler",
+                GetBrandByIdQueryHandler.class,
+                () -> new GetBrandByIdQueryHandler(brandRepository));
+
+        // Act
+        Optional<Brand> result = mediator.send(new GetBrandByIdQuery(1L));
+
+        // Assert
+        assertThat(result).containsSame(brand);
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testSendAsyncFailsWithBusyWhenExecutorRejects() {
+        // Arrange
+        mediator =
+                new SpringMediator(
+                        applicationContext,
+                        meterRegistry,
+                        List.of(),
+                        task -> {
+                            throw new TaskRejectedException("Executor is full");
+                        },
+                        256);
+
+        // Act
+        CompletableFuture<List<Brand>> result = mediator.sendAsync(new GetAllBrandsQuery());
+
+        // Assert
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MediatorBusyException.class);
+    }
+
+    @Test
+    void testSendAsyncFailsWithBusyWhileMaxConcurrencyRequestsAreInFlight() {
+        // Arrange
+        List<Runnable> pending = new ArrayList<>();
+        mediator =
+                new SpringMediator(applicationContext, meterRegistry, List.of(), pending::add, 1);
+        registerAtStartup("getAllBrandsQueryHandler", GetAllBrandsQueryHandler.class);
+        when(applicationContext.getBean("getAllBrandsQueryHandler"))
+                .thenReturn(getAllBrandsQueryHandler);
+        when(getAllBrandsQueryHandler.handle(any())).thenReturn(List.of());
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        CompletableFuture<List<Brand>> first = mediator.sendAsync(new GetAllBrandsQuery());
+        CompletableFuture<List<Brand>> second = mediator.sendAsync(new GetAllBrandsQuery());
+        pending.remove(0).run();
+        CompletableFuture<List<Brand>> third = mediator.sendAsync(new GetAllBrandsQuery());
+        pending.remove(0).run();
+
+        // Assert - the second is turned away without waiting, the third gets the freed permit
+        assertThatThrownBy(second::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MediatorBusyException.class);
+        assertThat(first.join()).isEmpty();
+        assertThat(third.join()).isEmpty();
+    }
+
+    private void registerAtStartup(String beanName, Class<?> handlerClass) {
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {beanName});
+        doReturn(handlerClass).when(applicationContext).getType(beanName);
+    }
+}
@@ -1,5 +1,10 @@
 package com.community.catalog.category.application.mediator;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface Mediator {
     <R> R send(Object request);
+
+    /** Dispatches the request on the mediator executor instead of the calling thread. */
+    <R> CompletableFuture<R> sendAsync(Object request);
 }
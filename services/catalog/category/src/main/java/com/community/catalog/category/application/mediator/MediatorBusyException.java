@@ -0,0 +1,15 @@
+package com.community.catalog.category.application.mediator;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class MediatorBusyException extends RuntimeException {
+    public MediatorBusyException(String message) {
+        super(message);
+    }
+
+    public MediatorBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
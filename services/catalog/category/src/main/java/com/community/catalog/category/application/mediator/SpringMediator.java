@@ -1,45 +1,212 @@
 package com.community.catalog.category.application.mediator;
 
 import com.community.catalog.category.application.handlers.CommandHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+@Slf4j
 @Component
-public class SpringMediator implements Mediator {
+public class SpringMediator implements Mediator, SmartInitializingSingleton {
+
+    // Sibling packages of the application layer that hold the request records
+    private static final List<String> REQUEST_PACKAGES = List.of("commands", "queries");
 
     private final ApplicationContext applicationContext;
+    private final ConcurrentMap<Class<?>, CommandHandler<?, Object>> handlers =
+            new ConcurrentHashMap<>();
+    private final Counter resolutionMisses;
+    private final Counter lateRegistrations;
+    private final List<PipelineBehavior> behaviors;
+    private final Executor executor;
+    // Requests in flight through sendAsync; taken without waiting, so a full mediator answers 503
+    // rather than holding the request thread
+    private final Semaphore asyncPermits;
 
-    public SpringMediator(ApplicationContext applicationContext) {
+    public SpringMediator(
+            ApplicationContext applicationContext,
+            MeterRegistry meterRegistry,
+            List<PipelineBehavior> behaviors,
+            @Qualifier("mediatorExecutor") Executor executor,
+            @Value("${mediator.async.max-concurrency:256}") int maxConcurrency) {
         this.applicationContext = applicationContext;
+        this.behaviors = List.copyOf(behaviors);
+        this.executor = executor;
+        this.asyncPermits = new Semaphore(maxConcurrency);
+        this.resolutionMisses =
+                Counter.builder("mediator.handler.resolution.misses")
+                        .description("Requests whose handler was not in the startup cache")
+                        .register(meterRegistry);
+        this.lateRegistrations =
+                Counter.builder("mediator.handler.late.registrations")
+                        .description("Handlers resolved and cached after startup")
+                        .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, List<String>> candidates = new HashMap<>();
+        for (String beanName : applicationContext.getBeanNamesForType(CommandHandler.class)) {
+            Class<?> requestType = requestTypeOf(beanName);
+            if (requestType == null) {
+                log.warn("Cannot resolve the request type of handler bean '{}'", beanName);
+                continue;
+            }
+            candidates.computeIfAbsent(requestType, type -> new ArrayList<>()).add(beanName);
+        }
+
+        List<String> duplicates = new ArrayList<>();
+        candidates.forEach(
+                (requestType, beanNames) -> {
+                    if (beanNames.size() > 1) {
+                        duplicates.add(requestType.getName() + " -> " + beanNames);
+                    } else {
+                        handlers.put(requestType, handlerBean(beanNames.get(0)));
+                    }
+                });
+        if (!duplicates.isEmpty()) {
+            throw new IllegalStateException("Multiple handlers found for commands: " + duplicates);
+        }
+
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> requestType : declaredRequestTypes()) {
+            if (!handlers.containsKey(requestType)) {
+                missing.add(requestType.getName());
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.warn("No handler registered for commands: {}", missing);
+        }
+        log.info("Mediator cached {} command handlers", handlers.size());
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R> R send(Object request) {
-        CommandHandler<R, Object> handler = resolveHandler(request);
-        return handler.handle(request);
+        CommandHandler<R, Object> handler = (CommandHandler<R, Object>) resolveHandler(request);
+        return invoke(0, request, handler);
     }
 
-    private <R> CommandHandler<R, Object> resolveHandler(Object request) {
-        ResolvableType commandType = ResolvableType.forClass(request.getClass());
-        ResolvableType handlerType =
-                ResolvableType.forClassWithGenerics(
-                        CommandHandler.class, ResolvableType.forClass(Object.class), commandType);
+    @Override
+    public <R> CompletableFuture<R> sendAsync(Object request) {
+        if (!asyncPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new MediatorBusyException(
+                            "Too many requests in flight: " + request.getClass().getSimpleName()));
+        }
+        CompletableFuture<R> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> send(request), executor);
+        } catch (TaskRejectedException e) {
+            asyncPermits.release();
+            return CompletableFuture.failedFuture(
+                    new MediatorBusyException(
+                            "Too many requests in flight: " + request.getClass().getSimpleName(),
+                            e));
+        }
+        result.whenComplete((value, error) -> asyncPermits.release());
+        return result;
+    }
 
-        String[] beanNames = applicationContext.getBeanNamesForType(handlerType);
-        if (beanNames.length == 0) {
+    private <R> R invoke(int index, Object request, CommandHandler<R, Object> handler) {
+        if (index == behaviors.size()) {
+            return handler.handle(request);
+        }
+        return behaviors.get(index).handle(request, () -> invoke(index + 1, request, handler));
+    }
+
+    private CommandHandler<?, Object> resolveHandler(Object request) {
+        CommandHandler<?, Object> handler = handlers.get(request.getClass());
+        if (handler != null) {
+            return handler;
+        }
+        // Not known at startup: look the handler up again and remember the result
+        resolutionMisses.increment();
+        CommandHandler<?, Object> resolved = lookupHandler(request.getClass());
+        if (handlers.putIfAbsent(request.getClass(), resolved) == null) {
+            lateRegistrations.increment();
+            log.info("Late handler registration for command: {}", request.getClass().getName());
+        }
+        return handlers.get(request.getClass());
+    }
+
+    private CommandHandler<?, Object> lookupHandler(Class<?> requestType) {
+        // Match on the resolved request generic only: a CommandHandler<Object, C> lookup type is
+        // not assignable from CommandHandler<Category, C>, so Spring's generic matching cannot be
+        // used
+        List<String> beanNames = new ArrayList<>();
+        for (String beanName : applicationContext.getBeanNamesForType(CommandHandler.class)) {
+            if (requestType.equals(requestTypeOf(beanName))) {
+                beanNames.add(beanName);
+            }
+        }
+        if (beanNames.isEmpty()) {
             throw new IllegalStateException(
-                    "No handler found for command: " + request.getClass().getName());
+                    "No handler found for command: " + requestType.getName());
         }
-        if (beanNames.length > 1) {
+        if (beanNames.size() > 1) {
             throw new IllegalStateException(
-                    "Multiple handlers found for command: " + request.getClass().getName());
+                    "Multiple handlers found for command: " + requestType.getName());
         }
+        return handlerBean(beanNames.get(0));
+    }
 
-        @SuppressWarnings("unchecked")
-        CommandHandler<R, Object> handlerBean =
-                (CommandHandler<R, Object>) applicationContext.getBean(beanNames[0]);
-        return handlerBean;
+    private Class<?> requestTypeOf(String beanName) {
+        Class<?> beanType = applicationContext.getType(beanName);
+        if (beanType == null) {
+            return null;
+        }
+        return ResolvableType.forClass(ClassUtils.getUserClass(beanType))
+                .as(CommandHandler.class)
+                .resolveGeneric(1);
+    }
+
+    // The type system can't fully resolve the generics here, so we suppress the warning.
+    // The request type was matched when the handler was registered.
+    @SuppressWarnings("unchecked")
+    private CommandHandler<?, Object> handlerBean(String beanName) {
+        return (CommandHandler<?, Object>) applicationContext.getBean(beanName);
+    }
+
+    private Set<Class<?>> declaredRequestTypes() {
+        ClassPathScanningCandidateComponentProvider scanner =
+                new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(Record.class));
+        String applicationPackage = ClassUtils.getPackageName(CommandHandler.class);
+        applicationPackage = applicationPackage.substring(0, applicationPackage.lastIndexOf('.'));
+
+        Set<Class<?>> requestTypes = new HashSet<>();
+        for (String requestPackage : REQUEST_PACKAGES) {
+            for (BeanDefinition candidate :
+                    scanner.findCandidateComponents(applicationPackage + "." + requestPackage)) {
+                requestTypes.add(
+                        ClassUtils.resolveClassName(
+                                candidate.getBeanClassName(), getClass().getClassLoader()));
+            }
+        }
+        return requestTypes;
     }
 }
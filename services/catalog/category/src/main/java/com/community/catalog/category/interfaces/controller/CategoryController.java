@@ -13,6 +13,7 @@ import com.community.catalog.category.interfaces.dto.UpdateCategoryRequestDTO;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -37,22 +38,29 @@ public class CategoryController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponseDTO> getCategoryById(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<CategoryResponseDTO>> getCategoryById(
+            @PathVariable Long id) {
         var query = new GetCategoryByIdQuery(id);
-        Optional<Category> category = mediator.send(query);
-        return category.map(c -> ResponseEntity.ok(CategoryResponseDTO.fromEntity(c)))
-                .orElse(ResponseEntity.notFound().build());
+        return mediator.<Optional<Category>>sendAsync(query)
+                .thenApply(
+                        category ->
+                                category.map(
+                                                c ->
+                                                        ResponseEntity.ok(
+                                                                CategoryResponseDTO.fromEntity(c)))
+                                        .orElse(ResponseEntity.notFound().build()));
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> getAllCategories() {
+    public CompletableFuture<ResponseEntity<List<CategoryResponseDTO>>> getAllCategories() {
         var query = new GetAllCategoriesQuery();
-        List<Category> categories = mediator.send(query);
-        List<CategoryResponseDTO> dtos =
-                categories.stream()
-                        .map(CategoryResponseDTO::fromEntity)
-                        .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return mediator.<List<Category>>sendAsync(query)
+                .thenApply(
+                        categories ->
+                                ResponseEntity.ok(
+                                        categories.stream()
+                                                .map(CategoryResponseDTO::fromEntity)
+                                                .collect(Collectors.toList())));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,259 @@
+package com.community.catalog.category.application.mediator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.community.catalog.category.application.handlers.CommandHandler;
+import com.community.catalog.category.application.handlers.GetAllCategoriesQueryHandler;
+import com.community.catalog.category.application.handlers.GetCategoryByIdQueryHandler;
+import com.community.catalog.category.application.queries.GetAllCategoriesQuery;
+import com.community.catalog.category.application.queries.GetCategoryByIdQuery;
+import com.community.catalog.category.domain.model.Category;
+import com.community.catalog.category.domain.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
+
+@ExtendWith(MockitoExtension.class)
+class SpringMediatorTest {
+
+    @Mock private ApplicationContext applicationContext;
+
+    @Mock private GetAllCategoriesQueryHandler getAllCategoriesQueryHandler;
+
+    @Mock private GetCategoryByIdQueryHandler getCategoryByIdQueryHandler;
+
+    private MeterRegistry meterRegistry;
+
+    private SpringMediator mediator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mediator =
+                new SpringMediator(
+                        applicationContext, meterRegistry, List.of(), Runnable::run, 256);
+    }
+
+    @Test
+    void testSendUsesHandlerCachedAtStartup() {
+        // Arrange
+        registerAtStartup("getAllCategoriesQueryHandler", GetAllCategoriesQueryHandler.class);
+        when(applicationContext.getBean("getAllCategoriesQueryHandler"))
+                .thenReturn(getAllCategoriesQueryHandler);
+        var categories = List.of(new Category("Category", "Desc"));
+        when(getAllCategoriesQueryHandler.handle(any())).thenReturn(categories);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        List<Category> result = mediator.send(new GetAllCategoriesQuery());
+
+        // Assert
+        assertThat(result).isSameAs(categories);
+        verify(applicationContext, times(1)).getBeanNamesForType(CommandHandler.class);
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count()).isZero();
+    }
+
+    @Test
+    void testStartupFailsOnDuplicateHandlers() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {"first", "second"});
+        doReturn(GetAllCategoriesQueryHandler.class).when(applicationContext).getType("first");
+        doReturn(GetAllCategoriesQueryHandler.class).when(applicationContext).getType("second");
+
+        // Act & Assert
+        assertThatThrownBy(() -> mediator.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Multiple handlers found")
+                .hasMessageContaining(GetAllCategoriesQuery.class.getName());
+    }
+
+    @Test
+    void testLateRegistrationIsResolvedOnceAndCounted() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {}, new String[] {"getCategoryByIdQueryHandler"});
+        mediator.afterSingletonsInstantiated();
+        doReturn(GetCategoryByIdQueryHandler.class)
+                .when(applicationContext)
+                .getType("getCategoryByIdQueryHandler");
+        when(applicationContext.getBean("getCategoryByIdQueryHandler"))
+                .thenReturn(getCategoryByIdQueryHandler);
+        when(getCategoryByIdQueryHandler.handle(any())).thenReturn(Optional.empty());
+
+        // Act
+        mediator.send(new GetCategoryByIdQuery(1L));
+        mediator.send(new GetCategoryByIdQuery(2L));
+
+        // Assert
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testSendFailsForUnknownCommand() {
+        // Arrange
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {});
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        assertThatThrownBy(() -> mediator.send(new GetCategoryByIdQuery(1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No handler found for command");
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count()).isZero();
+    }
+
+    @Test
+    void testSendAsyncDispatchesOnMediatorExecutor() {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        mediator = new SpringMediator(applicationContext, meterRegistry, List.of(), executor, 256);
+        registerAtStartup("getAllCategoriesQueryHandler", GetAllCategoriesQueryHandler.class);
+        when(applicationContext.getBean("getAllCategoriesQueryHandler"))
+                .thenReturn(getAllCategoriesQueryHandler);
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        when(getAllCategoriesQueryHandler.handle(any()))
+                .thenAnswer(
+                        invocation -> {
+                            handlerThread.set(Thread.currentThread());
+                            return List.of();
+                        });
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        List<Category> result =
+                mediator.<List<Category>>sendAsync(new GetAllCategoriesQuery()).join();
+        executor.shutdown();
+
+        // Assert
+        assertThat(result).isEmpty();
+        assertThat(handlerThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void testSendResolvesTypedHandlerCachedAtStartup() {
+        // Arrange
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        Category category = new Category("Category", "Desc");
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(
+                "getCategoryByIdQueryHandler",
+                GetCategoryByIdQueryHandler.class,
+                () -> new GetCategoryByIdQueryHandler(categoryRepository));
+        context.refresh();
+        mediator = new SpringMediator(context, meterRegistry, List.of(), Runnable::run, 256);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        Optional<Category> result = mediator.send(new GetCategoryByIdQuery(1L));
+
+        // Assert
+        assertThat(result).containsSame(category);
+        assertThat(meterRegistry.counter("mediator.handler.resolution.misses").count()).isZero();
+    }
+
+    @Test
+    void testLateRegisteredTypedHandlerIsResolved() {
+        // Arrange
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        Category category = new Category("Category", "Desc");
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.refresh();
+        mediator = new SpringMediator(context, meterRegistry, List.of(), Runnable::run, 256);
+        mediator.afterSingletonsInstantiated();
+        context.registerBean(
+                "getCategoryByIdQueryHandler",
+                GetCategoryByIdQueryHandler.class,
+                () -> new GetCategoryByIdQueryHandler(categoryRepository));
+
+        // Act
+        Optional<Category> result = mediator.send(new GetCategoryByIdQuery(1L));
+
+        // Assert
+        assertThat(result).containsSame(category);
+        assertThat(meterRegistry.counter("mediator.handler.late.registrations").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testSendAsyncFailsWithBusyWhenExecutorRejects() {
+        // Arrange
+        mediator =
+                new SpringMediator(
+                        applicationContext,
+                        meterRegistry,
+                        List.of(),
+                        task -> {
+                            throw new TaskRejectedException("Executor is full");
+                        },
+                        256);
+
+        // Act
+        CompletableFuture<List<Category>> result = mediator.sendAsync(new GetAllCategoriesQuery());
+
+        // Assert
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MediatorBusyException.class);
+    }
+
+    @Test
+    void testSendAsyncFailsWithBusyWhileMaxConcurrencyRequestsAreInFlight() {
+        // Arrange
+        List<Runnable> pending = new ArrayList<>();
+        mediator =
+                new SpringMediator(applicationContext, meterRegistry, List.of(), pending::add, 1);
+        registerAtStartup("getAllCategoriesQueryHandler", GetAllCategoriesQueryHandler.class);
+        when(applicationContext.getBean("getAllCategoriesQueryHandler"))
+                .thenReturn(getAllCategoriesQueryHandler);
+        when(getAllCategoriesQueryHandler.handle(any())).thenReturn(List.of());
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        CompletableFuture<List<Category>> first = mediator.sendAsync(new GetAllCategoriesQuery());
+        CompletableFuture<List<Category>> second = mediator.sendAsync(new GetAllCategoriesQuery());
+        pending.remove(0).run();
+        CompletableFuture<List<Category>> third = mediator.sendAsync(new GetAllCategoriesQuery());
+        pending.remove(0).run();
+
+        // Assert - the second is turned away without waiting, the third gets the freed permit
+        assertThatThrownBy(second::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(MediatorBusyException.class);
+        assertThat(first.join()).isEmpty();
+        assertThat(third.join()).isEmpty();
+    }
+
+    private void registerAtStartup(String beanName, Class<?> handlerClass) {
+        when(applicationContext.getBeanNamesForType(CommandHandler.class))
+                .thenReturn(new String[] {beanName});
+        doReturn(handlerClass).when(applicationContext).getType(beanName);
+    }
+}
@@ -1,11 +1,13 @@
 use tonic::{Request, Response, Status};
 use crate::product_lookup::{
     product_lookup_server::{ProductLookup, ProductLookupServer},
-    GetProductByIdRequest, Product,
+    GetProductByIdRequest, GetProductsByIdsRequest, GetProductsByIdsResponse, Product,
 };
 use sqlx::{FromRow, Pool, Postgres};
 use std::sync::Arc; // Needed for Arc
 use async_trait::async_trait; // Needed for async_trait macro
+use chrono::SecondsFormat;
+use std::collections::HashSet;
 
 pub mod product_lookup {
     tonic::include_proto!("product_lookup");
@@ -28,9 +30,25 @@ pub struct ProductRow {
     pub updated_at: chrono::DateTime<chrono::Utc>,
 }
 
+// Upper bound on ids accepted by a single GetProductsByIds call
+pub const MAX_BATCH_SIZE: usize = 500;
+
+// The table stores NUMERIC prices and a stock_quantity column; cast and alias them to fit ProductRow
+const SELECT_PRODUCT_BY_ID: &str = r#"
+    SELECT id, name, description, price::float8 AS price, stock_quantity AS quantity, sku, image_url, category, manufacturer, status, version, created_at, updated_at
+    FROM products WHERE id = $1
+"#;
+
+// ANY($1) binds the whole batch as a single array parameter
+const SELECT_PRODUCTS_BY_IDS: &str = r#"
+    SELECT id, name, description, price::float8 AS price, stock_quantity AS quantity, sku, image_url, category, manufacturer, status, version, created_at, updated_at
+    FROM products WHERE id = ANY($1)
+"#;
+
 #[async_trait]
 pub trait ProductRepository: Send + Sync {
     async fn find_product_by_id(&self, id: i64) -> Result<Option<ProductRow>, sqlx::Error>;
+    async fn find_products_by_ids(&self, ids: &[i64]) -> Result<Vec<ProductRow>, sqlx::Error>;
 }
 
 pub struct DbProductRepository {
@@ -46,15 +64,36 @@ impl DbProductRepository {
 #[async_trait]
 impl ProductRepository for DbProductRepository {
     async fn find_product_by_id(&self, id: i64) -> Result<Option<ProductRow>, sqlx::Error> {
-        sqlx::query_as(
-            r#"
-            SELECT id, name, description, price, quantity, sku, image_url, category, manufacturer, status, version, created_at, updated_at
-            FROM products WHERE id = $1
-            "#
-        )
-        .bind(id)
-        .fetch_optional(&self.pool)
-        .await
+        sqlx::query_as(SELECT_PRODUCT_BY_ID)
+            .bind(id)
+            .fetch_optional(&self.pool)
+            .await
+    }
+
+    async fn find_products_by_ids(&self, ids: &[i64]) -> Result<Vec<ProductRow>, sqlx::Error> {
+        sqlx::query_as(SELECT_PRODUCTS_BY_IDS)
+            .bind(ids)
+            .fetch_all(&self.pool)
+            .await
+    }
+}
+
+fn to_product(row: ProductRow) -> Product {
+    Product {
+        id: row.id.to_string(),
+        name: row.name.unwrap_or_default(),
+        description: row.description.unwrap_or_default(),
+        price: row.price.unwrap_or(0.0),
+        quantity: row.quantity.unwrap_or(0),
+        sku: row.sku.unwrap_or_default(),
+        image_url: row.image_url.unwrap_or_default(),
+        category: row.category.unwrap_or_default(),
+        manufacturer: row.manufacturer.unwrap_or_default(),
+        status: row.status.unwrap_or_default(),
+        version: row.version.unwrap_or(0) as i64,
+        // yyyy-MM-ddTHH:mm:ss.SSSZ, the format product-read parses
+        created_at: row.created_at.to_rfc3339_opts(SecondsFormat::Millis, true),
+        updated_at: row.updated_at.to_rfc3339_opts(SecondsFormat::Millis, true),
     }
 }
 
@@ -81,22 +120,39 @@ impl ProductLookup for MyProductLookup {
             .map_err(|e| Status::internal(format!("Database error: {}", e)))?
             .ok_or_else(|| Status::not_found(format!("Product with ID {} not found", id)))?;
 
-        let product = Product {
-            id: row.id.to_string(),
-            name: row.name.unwrap_or_default(),
-            description: row.description.unwrap_or_default(),
-            price: row.price.unwrap_or(0.0),
-            quantity: row.quantity.unwrap_or(0),
-            sku: row.sku.unwrap_or_default(),
-            image_url: row.image_url.unwrap_or_default(),
-            category: row.category.unwrap_or_default(),
-            manufacturer: row.manufacturer.unwrap_or_default(),
-            status: row.status.unwrap_or_default(),
-            version: row.version.unwrap_or(0) as i64,
-            created_at: row.created_at.to_string(),
-            updated_at: row.updated_at.to_string(),
-        };
-
-        Ok(Response::new(product))
+        Ok(Response::new(to_product(row)))
+    }
+
+    async fn get_products_by_ids(
+        &self,
+        request: Request<GetProductsByIdsRequest>,
+    ) -> Result<Response<GetProductsByIdsResponse>, Status> {
+        let raw_ids = request.into_inner().ids;
+        if raw_ids.len() > MAX_BATCH_SIZE {
+            return Err(Status::invalid_argument(format!(
+                "At most {} product IDs can be requested at once", MAX_BATCH_SIZE
+            )));
+        }
+
+        let mut seen = HashSet::with_capacity(raw_ids.len());
+        let mut ids = Vec::with_capacity(raw_ids.len());
+        for id_str in &raw_ids {
+            let id = id_str.parse::<i64>().map_err(|_| Status::invalid_argument("Invalid product ID"))?;
+            if seen.insert(id) {
+                ids.push(id);
+            }
+        }
+
+        let rows = self.repository.find_products_by_ids(&ids).await
+            .map_err(|e| Status::internal(format!("Database error: {}", e)))?;
+
+        let found: HashSet<i64> = rows.iter().map(|row| row.id).collect();
+        let missing_ids = ids.iter()
+            .filter(|id| !found.contains(*id))
+            .map(|id| id.to_string())
+            .collect();
+        let products = rows.into_iter().map(to_product).collect();
+
+        Ok(Response::new(GetProductsByIdsResponse { products, missing_ids }))
     }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 use tonic::{Request, Response, Status};
-use product_lookup_rust::{MyProductLookup, ProductRow, ProductRepository, product_lookup::{GetProductByIdRequest, Product, product_lookup_server::ProductLookup}};
+use product_lookup_rust::{MyProductLookup, ProductRow, ProductRepository, product_lookup::{GetProductByIdRequest, GetProductsByIdsRequest, Product, product_lookup_server::ProductLookup}};
 use async_trait::async_trait;
 use std::sync::Arc;
 use chrono::{Utc, TimeZone};
@@ -32,6 +32,16 @@ impl ProductRepository for MockProductRepository {
             _ => Ok(None), // Simulate product not found for other IDs
         }
     }
+
+    async fn find_products_by_ids(&self, ids: &[i64]) -> Result<Vec<ProductRow>, sqlx::Error> {
+        let mut rows = Vec::new();
+        for id in ids {
+            if let Some(row) = self.find_product_by_id(*id).await? {
+                rows.push(row);
+            }
+        }
+        Ok(rows)
+    }
 }
 
 #[tokio::test]
@@ -100,3 +110,46 @@ async fn test_get_product_by_id_invalid_id() -> Result<(), Box<dyn std::error::E
 
     Ok(())
 }
+
+#[tokio::test]
+async fn test_get_products_by_ids_returns_found_and_missing() -> Result<(), Box<dyn std::error::Error>> {
+    // 1. Setup mock repository
+    let mock_repo = Arc::new(MockProductRepository {});
+    let lookup_service = MyProductLookup::new(mock_repo);
+
+    // 2. Prepare request with a duplicate and an unknown id
+    let request = Request::new(GetProductsByIdsRequest {
+        ids: vec!["1".to_string(), "1".to_string(), "999".to_string()],
+    });
+
+    // 3. Call the service method
+    let response = lookup_service.get_products_by_ids(request).await?.into_inner();
+
+    // 4. Assertions
+    assert_eq!(response.products.len(), 1);
+    assert_eq!(response.products[0].id, "1");
+    assert_eq!(response.products[0].created_at, "2023-03-15T13:20:00.000Z");
+    assert_eq!(response.missing_ids, vec!["999".to_string()]);
+
+    Ok(())
+}
+
+#[tokio::test]
+async fn test_get_products_by_ids_invalid_id() -> Result<(), Box<dyn std::error::Error>> {
+    // 1. Setup mock repository
+    let mock_repo = Arc::new(MockProductRepository {});
+    let lookup_service = MyProductLookup::new(mock_repo);
+
+    // 2. Prepare request
+    let request = Request::new(GetProductsByIdsRequest {
+        ids: vec!["1".to_string(), "invalid-id".to_string()],
+    });
+
+    // 3. Call the service method and expect an error
+    let error = lookup_service.get_products_by_ids(request).await.unwrap_err();
+
+    // 4. Assertions
+    assert_eq!(error.code(), Status::invalid_argument("").code());
+
+    Ok(())
+}
@@ -0,0 +1,32 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.OutputStream;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportProductsQuery {
+    private ExportFormat format;
+    private OutputStream output;
+
+    public enum ExportFormat {
+        // One JSON object per line
+        NDJSON("application/x-ndjson"),
+        // Length-delimited product_lookup.Product messages
+        PROTOBUF("application/x-protobuf");
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
@@ -9,4 +9,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class GetProductByIdQuery {
     private Long productId;
+    // Consistency token from a product-write response; a cached copy older than it is not served
+    private Long minVersion;
+
+    public GetProductByIdQuery(Long productId) {
+        this(productId, null);
+    }
 }
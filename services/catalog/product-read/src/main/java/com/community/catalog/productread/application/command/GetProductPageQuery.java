@@ -0,0 +1,21 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetProductPageQuery {
+    // Opaque cursor from the previous page's nextCursor; null for the first page
+    private String cursor;
+    private Integer size;
+    private String category;
+    private String manufacturer;
+    private String status;
+
+    public String cacheKey() {
+        return "page:" + cursor + ":" + size + ":" + category + ":" + manufacturer + ":" + status;
+    }
+}
@@ -0,0 +1,14 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetProductsByIdsQuery {
+    private List<Long> productIds;
+}
@@ -0,0 +1,13 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Brings product_views in line with the write-side products table, repairing rows that a lost or
+ * skipped catalog event left behind.
+ */
+@Data
+@NoArgsConstructor
+public class ReconcileProductViewsCommand {
+}
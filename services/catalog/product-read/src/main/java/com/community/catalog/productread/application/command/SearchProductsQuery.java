@@ -0,0 +1,24 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchProductsQuery {
+    // A product matches if it has any of the listed values of a facet; null or empty means any value
+    private List<String> categories;
+    private List<String> manufacturers;
+    private List<String> statuses;
+    // Inclusive bounds; null means unbounded
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    // Opaque cursor from the previous page's nextCursor; null for the first page
+    private String cursor;
+    private Integer size;
+}
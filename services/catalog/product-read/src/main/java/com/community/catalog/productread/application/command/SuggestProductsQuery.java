@@ -0,0 +1,14 @@
+package com.community.catalog.productread.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestProductsQuery {
+    // What has been typed so far; each word matches the start of a word in the name or SKU
+    private String q;
+    private Integer limit;
+}
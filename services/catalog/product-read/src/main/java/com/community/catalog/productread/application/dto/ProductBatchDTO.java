@@ -0,0 +1,14 @@
+package com.community.catalog.productread.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ProductBatchDTO {
+    // In request order, without duplicates
+    List<ProductDTO> products;
+    List<Long> missingIds;
+}
@@ -1,25 +1,48 @@
 package com.community.catalog.productread.application.dto;
 
+import com.community.catalog.productread.domain.model.ProductView;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Date;
 
-@Data
-@Builder
-public class ProductDTO {
-    private Long id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private Integer quantity;
-    private String sku;
-    private String imageUrl;
-    private String category;
-    private String manufacturer;
-    private String status;
-    private Integer version;
-    private Date createdAt;
-    private Date updatedAt;
+// Immutable: cached instances are shared by every request served from the in-process cache tier
+@Value
+@Builder(toBuilder = true)
+public class ProductDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    Long id;
+    String name;
+    String description;
+    BigDecimal price;
+    Integer quantity;
+    String sku;
+    String imageUrl;
+    String category;
+    String manufacturer;
+    String status;
+    Integer version;
+    Date createdAt;
+    Date updatedAt;
+
+    public static ProductDTO from(ProductView product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .quantity(product.getQuantity())
+                .sku(product.getSku())
+                .imageUrl(product.getImageUrl())
+                .category(product.getCategory())
+                .manufacturer(product.getManufacturer())
+                .status(product.getStatus())
+                .version(product.getVersion())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,17 @@
+package com.community.catalog.productread.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+public class ProductPageDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    List<ProductDTO> items;
+    // Cursor for the following page; null when this is the last page
+    String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.community.catalog.productread.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value
+@Builder
+public class ProductSearchResultDTO {
+    List<ProductDTO> items;
+    // Matches across all pages
+    int total;
+    // Cursor for the following page; null when this is the last page
+    String nextCursor;
+    // Facet name -> value -> number of matching products, most frequent first. Each facet is counted
+    // without its own filter, so the counts show what selecting another value would return.
+    Map<String, Map<String, Integer>> facets;
+}
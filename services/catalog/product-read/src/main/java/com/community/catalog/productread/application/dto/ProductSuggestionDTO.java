@@ -0,0 +1,20 @@
+package com.community.catalog.productread.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ProductSuggestionDTO {
+    Long id;
+    String name;
+    String sku;
+
+    public static ProductSuggestionDTO from(ProductDTO product) {
+        return ProductSuggestionDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.community.catalog.productread.application.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SearchIndexNotReadyException extends RuntimeException {
+    public SearchIndexNotReadyException(String message) {
+        super(message);
+    }
+}
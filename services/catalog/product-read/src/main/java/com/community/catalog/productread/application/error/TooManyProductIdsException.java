@@ -0,0 +1,11 @@
+package com.community.catalog.productread.application.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyProductIdsException extends RuntimeException {
+    public TooManyProductIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.ExportProductsQuery;
+import com.community.catalog.productread.infrastructure.export.ProductExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportProductsHandler {
+
+    private final ProductExporter productExporter;
+
+    // The transaction keeps autocommit off, which PostgreSQL needs to fetch through a server-side cursor
+    @Transactional(readOnly = true)
+    public Long handle(ExportProductsQuery query) {
+        long exported = switch (query.getFormat()) {
+            case NDJSON -> productExporter.exportNdjson(query.getOutput());
+            case PROTOBUF -> productExporter.exportProtobuf(query.getOutput());
+        };
+        log.info("Exported {} products as {}", exported, query.getFormat());
+        return exported;
+    }
+}
@@ -1,44 +1,70 @@
 package com.community.catalog.productread.application.handler;
 
-import com.community.catalog.productread.application.command.GetAllProductsQuery; // Add this import
+import com.community.catalog.productread.application.command.GetAllProductsQuery;
 import com.community.catalog.productread.application.dto.ProductDTO;
-import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.application.error.ProductListUnavailableException;
 import com.community.catalog.productread.domain.repository.ProductViewRepository;
-import lombok.RequiredArgsConstructor;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.cache.RefreshAheadCache;
+import com.community.catalog.productread.infrastructure.cache.SharedValueLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.cache.annotation.Cacheable;
+
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
 
+/**
+ * The whole catalog, held by each pod and recomputed by one background load when the catalog
+ * version moves on or the time-to-live passes. Requests meanwhile get the previous list instead of
+ * all running {@code findAll()} at once. The list is also kept in the shared {@code products}
+ * cache, so after a change one pod runs {@code findAll()} and the others read its result.
+ */
 @Component
-@RequiredArgsConstructor
 public class GetAllProductsHandler {
 
   private final ProductViewRepository productViewRepository;
+  private final SharedValueLoader sharedValueLoader;
+  private final RefreshAheadCache<List<ProductDTO>> allProducts;
+
+  public GetAllProductsHandler(ProductViewRepository productViewRepository, CatalogVersionStore catalogVersionStore,
+                               SharedValueLoader sharedValueLoader,
+                               @Qualifier("allProductsRefreshExecutor") Executor executor,
+                               MeterRegistry meterRegistry,
+                               @Value("${catalog.all-products.time-to-live:10m}") Duration timeToLive,
+                               @Value("${catalog.all-products.max-stale:30s}") Duration maxStale,
+                               @Value("${catalog.all-products.load-wait-timeout:10s}") Duration loadWaitTimeout,
+                               @Value("${catalog.all-products.version-check-interval:1s}") Duration versionCheckInterval,
+                               @Value("${catalog.all-products.early-refresh-beta:1.0}") double beta) {
+    this.productViewRepository = productViewRepository;
+    this.sharedValueLoader = sharedValueLoader;
+    this.allProducts = new RefreshAheadCache<>("products::all", this::loadAll, catalogVersionStore::catalogVersion,
+        timeToLive, maxStale, loadWaitTimeout, versionCheckInterval, beta, executor, meterRegistry);
+  }
 
-  @Cacheable(value = "products", key = "'all'")
   public List<ProductDTO> handle(GetAllProductsQuery query) {
-    List<ProductView> products = productViewRepository.findAll();
-    return products.stream()
-        .map(this::convertToDTO)
-        .collect(Collectors.toList());
+    try {
+      return allProducts.get();
+    } catch (RefreshAheadCache.LoadTimeoutException e) {
+      throw new ProductListUnavailableException("The product list is still loading, try again shortly", e);
+    }
+  }
+
+  private List<ProductDTO> loadAll(Long catalogVersion) {
+    if (catalogVersion == null) {
+      // Redis is unavailable, so there is nothing to share the list through
+      return findAll();
+    }
+    // Unmodifiable, since the list is shared between requests
+    return Collections.unmodifiableList(sharedValueLoader.load("products", "all", catalogVersion, this::findAll));
   }
 
-  private ProductDTO convertToDTO(ProductView product) {
-    return ProductDTO.builder()
-        .id(product.getId())
-        .name(product.getName())
-        .description(product.getDescription())
-        .price(product.getPrice())
-        .quantity(product.getQuantity())
-        .sku(product.getSku())
-        .imageUrl(product.getImageUrl())
-        .category(product.getCategory())
-        .manufacturer(product.getManufacturer())
-        .status(product.getStatus())
-        .version(product.getVersion())
-        .createdAt(product.getCreatedAt())
-        .updatedAt(product.getUpdatedAt())
-        .build();
+  private List<ProductDTO> findAll() {
+    return productViewRepository.findAll().stream()
+        .map(ProductDTO::from)
+        .toList();
   }
 }
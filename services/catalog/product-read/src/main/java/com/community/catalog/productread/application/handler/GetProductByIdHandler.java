@@ -2,59 +2,98 @@ package com.community.catalog.productread.application.handler;
 
 import com.community.catalog.productread.application.command.GetProductByIdQuery;
 import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.cache.CacheInvalidationPublisher;
+import com.community.catalog.productread.infrastructure.cache.CacheTagIndex;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.grpc.ProductLookupClient;
+import io.grpc.Status;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
-import product_lookup.ProductLookupGrpc;
-import product_lookup.ProductLookupOuterClass;
 
-import java.math.BigDecimal;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 @RequiredArgsConstructor
 public class GetProductByIdHandler {
 
-    private final ProductLookupGrpc.ProductLookupBlockingStub productLookupBlockingStub;
+    private static final String PRODUCTS = "products";
 
-    public Optional<ProductDTO> handle(GetProductByIdQuery query) {
-        ProductLookupOuterClass.GetProductByIdRequest request = ProductLookupOuterClass.GetProductByIdRequest.newBuilder()
-                .setId(String.valueOf(query.getProductId()))
-                .build();
+    private final ProductLookupClient productLookupClient;
+    private final CacheTagIndex cacheTagIndex;
+    private final CacheManager cacheManager;
+    private final CatalogVersionStore catalogVersionStore;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
-        try {
-            ProductLookupOuterClass.Product product = productLookupBlockingStub.getProductById(request);
+    // Shares the entry product-write evicts on update/delete. A not-found product completes with null,
+    // which is cached as a short-lived negative entry; concurrent misses for one id share a single lookup.
+    // Found products are tagged with their category and manufacturer for bulk invalidations.
+    // Queries carrying a consistency token check the cached copy themselves, see handleAtLeast.
+    @Cacheable(value = PRODUCTS, key = "#query.productId", sync = true, condition = "#query.minVersion == null")
+    public CompletableFuture<ProductDTO> handle(GetProductByIdQuery query) {
+        if (query.getMinVersion() != null) {
+            return handleAtLeast(query.getProductId(), query.getMinVersion());
+        }
+        return load(query.getProductId());
+    }
 
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-            Date createdAt = null;
-            Date updatedAt = null;
-            try {
-                createdAt = dateFormat.parse(product.getCreatedAt());
-                updatedAt = dateFormat.parse(product.getUpdatedAt());
-            } catch (ParseException e) {
-                // Handle parsing exception
+    // A client that has just written the product is served the cached copy if it already holds its
+    // write, and otherwise reads the store and refreshes the cache, so other readers keep the warm copy.
+    private CompletableFuture<ProductDTO> handleAtLeast(Long productId, long minVersion) {
+        Cache products = cacheManager.getCache(PRODUCTS);
+        ProductDTO cached = cachedProduct(products, productId);
+        if (isAtLeast(cached, minVersion)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(productId).thenApply(product -> {
+            if (products != null && product != null && product.getVersion() != null) {
+                refresh(products, product);
             }
+            return product;
+        });
+    }
 
-            return Optional.of(ProductDTO.builder()
-                    .id(Long.valueOf(product.getId()))
-                    .name(product.getName())
-                    .description(product.getDescription())
-                    .price(BigDecimal.valueOf(product.getPrice()))
-                    .quantity(product.getQuantity())
-                    .sku(product.getSku())
-                    .imageUrl(product.getImageUrl())
-                    .category(product.getCategory())
-                    .manufacturer(product.getManufacturer())
-                    .status(product.getStatus())
-                    .version((int) product.getVersion())
-                    .createdAt(createdAt)
-                    .updatedAt(updatedAt)
-                    .build());
-        } catch (Exception e) {
-            // Handle exceptions, e.g., if the product is not found or the gRPC call fails
-            return Optional.empty();
+    // The projection may write a newer copy meanwhile, which must not be replaced. Both claim the
+    // product's version before writing; if a newer version is claimed while this copy is written,
+    // the entry is dropped rather than left holding it.
+    private void refresh(Cache products, ProductDTO product) {
+        long version = product.getVersion();
+        if (!Boolean.TRUE.equals(catalogVersionStore.advanceProductVersion(product.getId(), version))) {
+            return;
+        }
+        products.put(product.getId(), product);
+        cacheInvalidationPublisher.publishEvictLocal(PRODUCTS, product.getId());
+        Long claimed = catalogVersionStore.productVersion(product.getId());
+        if (claimed == null || claimed != version) {
+            products.evict(product.getId());
+            cacheInvalidationPublisher.publishEvict(PRODUCTS, product.getId());
         }
     }
+
+    private CompletableFuture<ProductDTO> load(Long productId) {
+        return productLookupClient.getProductById(productId)
+                .thenApply(ProductProtoMapper::toDTO)
+                .thenApply(product -> {
+                    cacheTagIndex.tag(PRODUCTS, productId, CacheTagIndex.tagsOf(product));
+                    return product;
+                })
+                .exceptionally(e -> {
+                    // Only a definite NOT_FOUND may be cached as missing; deadlines and outages must not be
+                    if (Status.fromThrowable(e).getCode() == Status.Code.NOT_FOUND) {
+                        return null;
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                });
+    }
+
+    private static ProductDTO cachedProduct(Cache products, Long productId) {
+        return products != null ? products.get(productId, ProductDTO.class) : null;
+    }
+
+    private static boolean isAtLeast(ProductDTO product, long minVersion) {
+        return product != null && product.getVersion() != null && product.getVersion() >= minVersion;
+    }
 }
@@ -0,0 +1,96 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.GetProductPageQuery;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.community.catalog.productread.application.error.InvalidCursorException;
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static com.community.catalog.productread.domain.repository.ProductViewSpecifications.categoryEquals;
+import static com.community.catalog.productread.domain.repository.ProductViewSpecifications.idGreaterThan;
+import static com.community.catalog.productread.domain.repository.ProductViewSpecifications.manufacturerEquals;
+import static com.community.catalog.productread.domain.repository.ProductViewSpecifications.statusEquals;
+
+/**
+ * Keyset pagination over product ids: each page continues after the last id of the previous one,
+ * so the cost of a page does not grow with its position in the catalog. Pages are cached through
+ * {@link ProductCacheWriter}, which patches them as products change.
+ */
+@Component
+public class GetProductPageHandler {
+
+    private final ProductViewRepository productViewRepository;
+    private final ProductCacheWriter productCacheWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public GetProductPageHandler(ProductViewRepository productViewRepository, ProductCacheWriter productCacheWriter,
+                                 @Value("${catalog.pagination.default-size:50}") int defaultPageSize,
+                                 @Value("${catalog.pagination.max-size:200}") int maxPageSize) {
+        this.productViewRepository = productViewRepository;
+        this.productCacheWriter = productCacheWriter;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public ProductPageDTO handle(GetProductPageQuery query) {
+        int size = pageSize(query.getSize());
+        Long afterId = decodeCursor(query.getCursor());
+        return productCacheWriter.cachePage(query.cacheKey(), ProductCacheWriter.CachedPage.of(
+                        afterId, size, query.getCategory(), query.getManufacturer(), query.getStatus()),
+                () -> loadPage(query, afterId, size));
+    }
+
+    private ProductPageDTO loadPage(GetProductPageQuery query, Long afterId, int size) {
+        Specification<ProductView> specification = Specification.allOf(
+                idGreaterThan(afterId),
+                categoryEquals(query.getCategory()),
+                manufacturerEquals(query.getManufacturer()),
+                statusEquals(query.getStatus()));
+
+        // One extra row tells us whether another page follows
+        List<ProductView> products = productViewRepository.findKeysetPage(specification, size + 1);
+        boolean hasMore = products.size() > size;
+        List<ProductDTO> items = products.stream()
+                .limit(size)
+                .map(ProductDTO::from)
+                .toList();
+
+        return ProductPageDTO.builder()
+                .items(items)
+                .nextCursor(hasMore ? encodeCursor(items.get(items.size() - 1).getId()) : null)
+                .build();
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.GetProductsByIdsQuery;
+import com.community.catalog.productread.application.dto.ProductBatchDTO;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.error.TooManyProductIdsException;
+import com.community.catalog.productread.infrastructure.grpc.ProductLookupClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import product_lookup.ProductLookupOuterClass;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves many products with one GetProductsByIds call per batch instead of one call per id.
+ * Batches are sent concurrently. Ids the backend reports in {@code missing_ids} are reported as
+ * missing rather than failing the request; a batch that leaves some ids unaccounted for fails it,
+ * since calling them missing would tell the client existing products are gone. Requests for more
+ * than {@code catalog.multi-get.max-ids} ids are rejected with 400.
+ */
+@Component
+public class GetProductsByIdsHandler {
+
+    private final ProductLookupClient productLookupClient;
+    private final int batchSize;
+    private final int maxIds;
+
+    public GetProductsByIdsHandler(ProductLookupClient productLookupClient,
+                                   @Value("${catalog.multi-get.batch-size:500}") int batchSize,
+                                   @Value("${catalog.multi-get.max-ids:1000}") int maxIds) {
+        this.productLookupClient = productLookupClient;
+        this.batchSize = batchSize;
+        this.maxIds = maxIds;
+    }
+
+    public CompletableFuture<ProductBatchDTO> handle(GetProductsByIdsQuery query) {
+        if (query.getProductIds().size() > maxIds) {
+            throw new TooManyProductIdsException("At most " + maxIds + " product ids may be requested at once, got "
+                    + query.getProductIds().size() + ".");
+        }
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(query.getProductIds());
+        uniqueIds.remove(null);
+        List<Long> ids = List.copyOf(uniqueIds);
+
+        Map<Long, ProductDTO> found = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            batches.add(productLookupClient.getProductsByIds(batch).thenAccept(response -> {
+                Set<Long> unanswered = new HashSet<>(batch);
+                for (ProductLookupOuterClass.Product product : response.getProductsList()) {
+                    ProductDTO dto = ProductProtoMapper.toDTO(product);
+                    found.put(dto.getId(), dto);
+                    unanswered.remove(dto.getId());
+                }
+                for (String id : response.getMissingIdsList()) {
+                    unanswered.remove(Long.valueOf(id));
+                }
+                if (!unanswered.isEmpty()) {
+                    throw new IllegalStateException("ProductLookup neither returned nor reported missing "
+                            + unanswered.size() + " of " + batch.size() + " requested ids");
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .thenApply(done -> toBatch(ids, found));
+    }
+
+    // Every id has been answered, so those not found are the ones reported missing, kept in request order
+    private static ProductBatchDTO toBatch(List<Long> ids, Map<Long, ProductDTO> found) {
+        List<ProductDTO> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ProductDTO product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return ProductBatchDTO.builder()
+                .products(products)
+                .missingIds(missingIds)
+                .build();
+    }
+}
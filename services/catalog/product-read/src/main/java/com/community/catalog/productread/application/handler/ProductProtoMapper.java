@@ -0,0 +1,50 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import product_lookup.ProductLookupOuterClass;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Maps ProductLookup gRPC messages to DTOs.
+ */
+final class ProductProtoMapper {
+
+    // Thread-safe, unlike the SimpleDateFormat previously created per call
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private ProductProtoMapper() {
+    }
+
+    static ProductDTO toDTO(ProductLookupOuterClass.Product product) {
+        return ProductDTO.builder()
+                .id(Long.valueOf(product.getId()))
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(BigDecimal.valueOf(product.getPrice()))
+                .quantity(product.getQuantity())
+                .sku(product.getSku())
+                .imageUrl(product.getImageUrl())
+                .category(product.getCategory())
+                .manufacturer(product.getManufacturer())
+                .status(product.getStatus())
+                .version((int) product.getVersion())
+                .createdAt(parseTimestamp(product.getCreatedAt()))
+                .updatedAt(parseTimestamp(product.getUpdatedAt()))
+                .build();
+    }
+
+    private static Date parseTimestamp(String value) {
+        try {
+            return Date.from(Instant.from(TIMESTAMP_FORMAT.parse(value)));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
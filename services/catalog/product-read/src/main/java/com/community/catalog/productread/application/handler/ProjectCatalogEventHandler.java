@@ -0,0 +1,187 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.events.CatalogEventsProto.ProductCreatedEvent;
+import com.community.catalog.events.CatalogEventsProto.ProductDeletedEvent;
+import com.community.catalog.events.CatalogEventsProto.ProductUpdatedEvent;
+import com.community.catalog.productread.application.command.ReconcileProductViewsCommand;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.CacheTagInvalidator;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheWriter;
+import com.community.catalog.productread.infrastructure.projection.ProductViewWriter;
+import com.community.catalog.productread.infrastructure.search.ProductChangePublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Projects catalog events from product-write into the product_views read store. Each handle
+ * method returns whether the store changed; stale events (an older or equal version than the
+ * stored row) are dropped and leave the caches and ETag versions alone.
+ */
+@Component
+public class ProjectCatalogEventHandler {
+
+    private final ProductViewWriter productViewWriter;
+    private final ProductViewRepository productViewRepository;
+    private final ProductCacheWriter productCacheWriter;
+    private final CacheTagInvalidator cacheTagInvalidator;
+    private final ProductChangePublisher productChangePublisher;
+    private final MeterRegistry meterRegistry;
+
+    public ProjectCatalogEventHandler(ProductViewWriter productViewWriter, ProductViewRepository productViewRepository,
+                                      ProductCacheWriter productCacheWriter, CacheTagInvalidator cacheTagInvalidator,
+                                      ProductChangePublisher productChangePublisher, MeterRegistry meterRegistry) {
+        this.productViewWriter = productViewWriter;
+        this.productViewRepository = productViewRepository;
+        this.productCacheWriter = productCacheWriter;
+        this.cacheTagInvalidator = cacheTagInvalidator;
+        this.productChangePublisher = productChangePublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Boolean handle(ProductCreatedEvent event) {
+        Date createdAt = parseTimestamp(event.getCreatedAt());
+        ProductView product = ProductView.builder()
+                .id(Long.valueOf(event.getProductId()))
+                .name(event.getName())
+                .description(emptyToNull(event.getDescription()))
+                .price(BigDecimal.valueOf(event.getPrice()))
+                .quantity(event.getQuantity())
+                .sku(event.getSku())
+                .imageUrl(emptyToNull(event.getImageUrl()))
+                .category(emptyToNull(event.getCategory()))
+                .manufacturer(emptyToNull(event.getManufacturer()))
+                .status(emptyToNull(event.getStatus()))
+                .version((int) event.getVersion())
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+        ProductDTO previous = stored(product.getId());
+        boolean changed = productViewWriter.upsertIfNewer(product);
+        if (changed) {
+            refreshCaches(previous, product);
+        }
+        return count("created", changed);
+    }
+
+    public Boolean handle(ProductUpdatedEvent event) {
+        Date updatedAt = parseTimestamp(event.getUpdatedAt());
+        // created_at is only used if the create event has not been projected; updates keep the stored value
+        ProductView product = ProductView.builder()
+                .id(Long.valueOf(event.getProductId()))
+                .name(event.getName())
+                .description(emptyToNull(event.getDescription()))
+                .price(BigDecimal.valueOf(event.getPrice()))
+                .quantity(event.getQuantity())
+                .sku(event.getSku())
+                .imageUrl(emptyToNull(event.getImageUrl()))
+                .category(emptyToNull(event.getCategory()))
+                .manufacturer(emptyToNull(event.getManufacturer()))
+                .status(emptyToNull(event.getStatus()))
+                .version((int) event.getVersion())
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build();
+        ProductDTO previous = stored(product.getId());
+        boolean changed = productViewWriter.upsertIfNewer(product);
+        if (changed) {
+            refreshCaches(previous, product);
+            countChangedFields(event);
+        }
+        if (event.getInvalidatedTagsCount() > 0) {
+            // Also for a stale row: another row of the same bulk edit may still be waiting on the tags
+            cacheTagInvalidator.projected(event.getInvalidatedTagsList());
+        }
+        return count("updated", changed);
+    }
+
+    public Boolean handle(ProductDeletedEvent event) {
+        long productId = Long.parseLong(event.getProductId());
+        ProductDTO previous = stored(productId);
+        // The tombstone keeps a redelivered create or update from bringing the product back
+        boolean changed = productViewWriter.delete(productId, event.getVersion());
+        if (changed) {
+            productCacheWriter.productRemoved(productId, previous);
+            productChangePublisher.publishChanged(productId);
+        }
+        return count("deleted", changed);
+    }
+
+    // Refreshes the caches of every repaired product as if its event had just been projected. What
+    // the rows held before is gone, so pages that may still show it are cleared
+    public Integer handle(ReconcileProductViewsCommand command) {
+        ProductViewWriter.Reconciliation reconciliation = productViewWriter.reconcile();
+        int repaired = reconciliation.changed().size() + reconciliation.removed().size();
+        if (!reconciliation.seeded() && repaired > 0) {
+            reconciliation.changed().forEach(productId -> productViewRepository.findById(productId)
+                    .ifPresent(stored -> {
+                        productCacheWriter.productChanged(null, ProductDTO.from(stored));
+                        productChangePublisher.publishChanged(productId);
+                    }));
+            reconciliation.removed().forEach(productId -> {
+                productCacheWriter.productRemoved(productId, null);
+                productChangePublisher.publishChanged(productId);
+            });
+            productCacheWriter.clearPages();
+        }
+        Counter.builder("catalog.projection.reconciled")
+                .description("Read store rows repaired from the write-side products table")
+                .register(meterRegistry)
+                .increment(reconciliation.seeded() ? 0 : repaired);
+        return repaired;
+    }
+
+    private Boolean count(String type, boolean changed) {
+        Counter.builder("catalog.projection.events")
+                .description("Catalog events projected into the read store, by whether they changed it")
+                .tag("type", type)
+                .tag("result", changed ? "applied" : "stale")
+                .register(meterRegistry)
+                .increment();
+        return changed;
+    }
+
+    // Shows which edits drive the projection and cache churn; an event that did not list its fields
+    // is counted once under "unknown"
+    private void countChangedFields(ProductUpdatedEvent event) {
+        List<String> fields = event.getChangedFieldsCount() > 0 ? event.getChangedFieldsList() : List.of("unknown");
+        for (String field : fields) {
+            Counter.builder("catalog.projection.changed.fields")
+                    .description("Fields changed by the update events projected into the read store")
+                    .tag("field", field)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    // Writes the stored row through to the caches, then tells every pod to reload it into its search
+    // index. Other pods drop their local copies asynchronously; ETags are derived from the body each
+    // pod serves, so a stale copy is never confirmed by a 304. The full product list is left alone:
+    // GetAllProductsHandler refreshes it once it sees the version bump
+    private void refreshCaches(ProductDTO previous, ProductView projected) {
+        // An update keeps the stored created_at, which the event does not carry
+        ProductView stored = productViewRepository.findById(projected.getId()).orElse(projected);
+        productCacheWriter.productChanged(previous, ProductDTO.from(stored));
+        productChangePublisher.publishChanged(projected.getId());
+    }
+
+    // Read before the store changes, so the caches can find pages filtering on the old values
+    private ProductDTO stored(long productId) {
+        return productViewRepository.findById(productId).map(ProductDTO::from).orElse(null);
+    }
+
+    private static Date parseTimestamp(String value) {
+        return value.isEmpty() ? new Date() : Date.from(Instant.parse(value));
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
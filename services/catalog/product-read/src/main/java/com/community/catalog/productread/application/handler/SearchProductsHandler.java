@@ -0,0 +1,79 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.SearchProductsQuery;
+import com.community.catalog.productread.application.dto.ProductSearchResultDTO;
+import com.community.catalog.productread.application.error.InvalidCursorException;
+import com.community.catalog.productread.application.error.SearchIndexNotReadyException;
+import com.community.catalog.productread.infrastructure.search.FacetIndex;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Faceted search served entirely from the in-process index; no database or cache round trip.
+ * Pages are positions in the result set, so a page may shift if the catalog changes in between.
+ */
+@Component
+public class SearchProductsHandler {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SearchProductsHandler(ProductSearchIndex productSearchIndex,
+                                 @Value("${catalog.pagination.default-size:50}") int defaultPageSize,
+                                 @Value("${catalog.pagination.max-size:200}") int maxPageSize) {
+        this.productSearchIndex = productSearchIndex;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public ProductSearchResultDTO handle(SearchProductsQuery query) {
+        if (!productSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("Search index is still being built.");
+        }
+        int size = pageSize(query.getSize());
+        int offset = decodeCursor(query.getCursor());
+        FacetIndex.Criteria criteria = new FacetIndex.Criteria(query.getCategories(), query.getManufacturers(),
+                query.getStatuses(), query.getMinPrice(), query.getMaxPrice());
+
+        FacetIndex.Result result = productSearchIndex.search(criteria, offset, size);
+        int next = offset + result.items().size();
+        return ProductSearchResultDTO.builder()
+                .items(result.items())
+                .total(result.total())
+                .nextCursor(next < result.total() ? encodeCursor(next) : null)
+                .facets(result.facets())
+                .build();
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new InvalidCursorException("Invalid search cursor: " + cursor);
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid search cursor: " + cursor);
+        }
+    }
+}
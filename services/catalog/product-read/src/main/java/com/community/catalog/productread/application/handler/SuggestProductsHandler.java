@@ -0,0 +1,55 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.SuggestProductsQuery;
+import com.community.catalog.productread.application.dto.ProductSuggestionDTO;
+import com.community.catalog.productread.application.error.SearchIndexNotReadyException;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Typeahead over product names and SKUs, answered from the in-process suggestion index on every keystroke.
+ */
+@Component
+public class SuggestProductsHandler {
+
+    // Longer input is cut off; it only narrows the matches further
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public SuggestProductsHandler(ProductSearchIndex productSearchIndex,
+                                  @Value("${catalog.suggest.default-limit:10}") int defaultLimit,
+                                  @Value("${catalog.suggest.max-limit:25}") int maxLimit) {
+        this.productSearchIndex = productSearchIndex;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public List<ProductSuggestionDTO> handle(SuggestProductsQuery query) {
+        String text = query.getQ();
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        if (!productSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("Search index is still being built.");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            text = text.substring(0, MAX_QUERY_LENGTH);
+        }
+        return productSearchIndex.suggest(text, limit(query.getLimit())).stream()
+                .map(ProductSuggestionDTO::from)
+                .toList();
+    }
+
+    private int limit(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+}
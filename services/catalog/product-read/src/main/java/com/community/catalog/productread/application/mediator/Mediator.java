@@ -1,5 +1,13 @@
 package com.community.catalog.productread.application.mediator;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface Mediator {
     <R, T> R send(T query);
+
+    /**
+     * Dispatches the query on the mediator executor instead of the calling thread. Handlers that
+     * already return a {@code CompletionStage} are flattened into the returned future.
+     */
+    <R, T> CompletableFuture<R> sendAsync(T query);
 }
@@ -0,0 +1,15 @@
+package com.community.catalog.productread.application.mediator;
+
+/**
+ * Cross-cutting step wrapped around every request dispatched by the {@link Mediator}.
+ * Behaviors are applied in {@link org.springframework.core.annotation.Order} order, outermost first.
+ */
+public interface PipelineBehavior {
+
+    <R> R handle(Object request, Next<R> next);
+
+    @FunctionalInterface
+    interface Next<R> {
+        R invoke();
+    }
+}
@@ -1,45 +1,154 @@
 package com.community.catalog.productread.application.mediator;
 
+import com.community.catalog.productread.application.error.MediatorBusyException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
 @Component
-public class SpringMediator implements Mediator {
+public class SpringMediator implements Mediator, SmartInitializingSingleton {
+
+    private static final MethodType DISPATCH_TYPE = MethodType.methodType(Object.class, Object.class);
 
     private final ApplicationContext applicationContext;
+    private final List<PipelineBehavior> behaviors;
+    private final Executor executor;
+    // Queries in flight through sendAsync; taken without waiting, so a full mediator answers 503
+    // rather than holding the request thread
+    private final Semaphore asyncPermits;
+
+    // Query class -> handle method bound to its handler bean. Built once when the context is refreshed.
+    private volatile Map<Class<?>, MethodHandle> handlers;
 
-    public SpringMediator(ApplicationContext applicationContext) {
+    public SpringMediator(ApplicationContext applicationContext, List<PipelineBehavior> behaviors,
+                          @Qualifier("mediatorExecutor") Executor executor,
+                          @Value("${mediator.async.max-concurrency:256}") int maxConcurrency) {
         this.applicationContext = applicationContext;
+        this.behaviors = List.copyOf(behaviors);
+        this.executor = executor;
+        this.asyncPermits = new Semaphore(maxConcurrency);
     }
 
     @Override
-    public <R, T> R send(T query) {
-        try {
-            // Find all beans (handlers) in the Spring context
-            String[] beanNames = applicationContext.getBeanDefinitionNames();
-            for (String beanName : beanNames) {
-                Object bean = applicationContext.getBean(beanName);
-                // Find a method named "handle" that takes our query type as a parameter
-                Method handleMethod = findHandleMethod(bean.getClass(), query.getClass());
-                if (handleMethod != null) {
-                    // If found, invoke it and return the result
-                    return (R) handleMethod.invoke(bean, query);
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, MethodHandle> resolved = new HashMap<>();
+        Map<Class<?>, String> owners = new HashMap<>();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType == null) {
+                continue;
+            }
+            // Only application components can be handlers; this keeps framework beans out of the table
+            Class<?> handlerClass = ClassUtils.getUserClass(beanType);
+            if (!AnnotatedElementUtils.hasAnnotation(handlerClass, Component.class)) {
+                continue;
+            }
+            for (Method method : handlerClass.getMethods()) {
+                if (!isHandleMethod(method)) {
+                    continue;
                 }
+                Class<?> queryClass = method.getParameterTypes()[0];
+                String existing = owners.putIfAbsent(queryClass, beanName);
+                if (existing != null) {
+                    throw new IllegalStateException("Multiple handlers found for query: " + queryClass.getName()
+                            + " (" + existing + ", " + beanName + ")");
+                }
+                resolved.put(queryClass, bind(method, applicationContext.getBean(beanName)));
             }
+        }
+        this.handlers = Map.copyOf(resolved);
+    }
+
+    @Override
+    public <R, T> R send(T query) {
+        Map<Class<?>, MethodHandle> table = handlers;
+        if (table == null) {
+            throw new IllegalStateException("Mediator is not initialized yet");
+        }
+        MethodHandle handler = table.get(query.getClass());
+        if (handler == null) {
             throw new IllegalStateException("No handler found for query: " + query.getClass().getName());
-        } catch (Exception e) {
-            throw new RuntimeException("Error dispatching query", e);
         }
+        return invoke(0, query, handler);
+    }
+
+    @Override
+    public <R, T> CompletableFuture<R> sendAsync(T query) {
+        if (!asyncPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new MediatorBusyException("Too many queries in flight: " + query.getClass().getSimpleName()));
+        }
+        CompletableFuture<R> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> send(query), executor)
+                    .thenCompose(SpringMediator::flatten);
+        } catch (TaskRejectedException e) {
+            asyncPermits.release();
+            return CompletableFuture.failedFuture(
+                    new MediatorBusyException("Too many queries in flight: " + query.getClass().getSimpleName(), e));
+        }
+        result.whenComplete((value, error) -> asyncPermits.release());
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> CompletionStage<R> flatten(Object result) {
+        return result instanceof CompletionStage<?> stage
+                ? (CompletionStage<R>) stage
+                : CompletableFuture.completedFuture((R) result);
+    }
+
+    private <R> R invoke(int index, Object query, MethodHandle handler) {
+        if (index == behaviors.size()) {
+            return dispatch(handler, query);
+        }
+        return behaviors.get(index).handle(query, () -> invoke(index + 1, query, handler));
     }
 
-    private Method findHandleMethod(Class<?> handlerClass, Class<?> queryClass) {
-        return Arrays.stream(handlerClass.getMethods())
-                .filter(method -> method.getName().equals("handle") && method.getParameterCount() == 1 && method.getParameterTypes()[0].equals(queryClass))
-                .findFirst()
-                .orElse(null);
+    private <R> R dispatch(MethodHandle handler, Object query) {
+        try {
+            return (R) handler.invokeExact(query);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Error dispatching query", t);
+        }
+    }
+
+    private boolean isHandleMethod(Method method) {
+        return method.getName().equals("handle")
+                && method.getParameterCount() == 1
+                && !method.isBridge()
+                && !Modifier.isStatic(method.getModifiers())
+                && method.getParameterTypes()[0] != Object.class;
+    }
+
+    private MethodHandle bind(Method method, Object bean) {
+        try {
+            return MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .bindTo(bean)
+                    .asType(DISPATCH_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Handler method is not accessible: " + method, e);
+        }
     }
 }
@@ -0,0 +1,135 @@
+package com.community.catalog.productread.config;
+
+import com.community.catalog.productread.infrastructure.cache.CacheInvalidationListener;
+import com.community.catalog.productread.infrastructure.cache.CacheInvalidationPublisher;
+import com.community.catalog.productread.infrastructure.cache.CacheTagIndex;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheCodec;
+import com.community.catalog.productread.infrastructure.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * Redis-backed cache manager, fronted by a bounded in-process tier unless
+     * {@code cache.near.enabled} is false. Replaces Boot's auto-configured manager, so the
+     * {@code spring.cache.redis.*} properties are applied here.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties,
+                                     MeterRegistry meterRegistry,
+                                     @Qualifier("cacheWriteExecutor") Executor cacheWriteExecutor,
+                                     @Value("${cache.near.enabled:true}") boolean nearCacheEnabled,
+                                     @Value("${cache.near.maximum-weight:100000}") long maximumWeight,
+                                     @Value("${cache.near.time-to-live:60s}") Duration timeToLive,
+                                     @Value("${cache.near.load-wait-timeout:${product-lookup.grpc.deadline:500ms}}")
+                                     Duration loadWaitTimeout,
+                                     @Value("${cache.negative.time-to-live:30s}") Duration negativeTimeToLive,
+                                     @Value("${cache.codec.type:protobuf}") String codecType,
+                                     @Value("${cache.codec.compression-threshold:4096}") int compressionThreshold) {
+        RedisCacheConfiguration config = redisCacheConfiguration(cacheProperties.getRedis(), negativeTimeToLive);
+        if ("protobuf".equals(codecType)) {
+            config = config.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                    new ProductCacheCodec(getClass().getClassLoader(), compressionThreshold)));
+        } else if (!"jdk".equals(codecType)) {
+            throw new IllegalArgumentException("Unknown cache.codec.type '" + codecType + "', expected protobuf or jdk");
+        }
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        if (!nearCacheEnabled) {
+            return redisCacheManager;
+        }
+        return new TwoTierCacheManager(redisCacheManager, maximumWeight, timeToLive, loadWaitTimeout,
+                cacheWriteExecutor, meterRegistry);
+    }
+
+    /**
+     * Writes values loaded asynchronously into the cache, off the thread that completed the load.
+     * When its queue is full the write runs on that thread instead.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheWriteExecutor(
+            @Value("${cache.near.write-threads:4}") int threads,
+            @Value("${cache.near.write-queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-write-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Recomputes the full product list. Separate from the mediator pool, so requests waiting there
+     * for the list cannot take every thread its load needs; one thread, since one load runs at a time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor allProductsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("all-products-refresh-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, CacheManager cacheManager, CacheTagIndex cacheTagIndex,
+            @Value("${catalog.cache.invalidation-channel:catalog:cache-invalidation}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager, cacheTagIndex), new ChannelTopic(channel));
+        return container;
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${catalog.cache.invalidation-channel:catalog:cache-invalidation}") String channel) {
+        return new CacheInvalidationPublisher(redisTemplate, channel);
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(CacheProperties.Redis redis, Duration negativeTimeToLive) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader());
+        // Cached "not found" results (null values) expire sooner than real entries
+        Duration timeToLive = redis.getTimeToLive() != null ? redis.getTimeToLive() : Duration.ZERO;
+        config = config.entryTtl((key, value) -> value == null || value instanceof NullValue
+                ? negativeTimeToLive
+                : timeToLive);
+        if (redis.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+}
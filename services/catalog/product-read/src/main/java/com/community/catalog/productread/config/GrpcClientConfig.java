@@ -1,24 +1,72 @@
 package com.community.catalog.productread.config;
 
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
+import com.community.catalog.productread.infrastructure.grpc.GrpcClientMetricsInterceptor;
+import com.community.catalog.productread.infrastructure.grpc.ProductLookupClient;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import product_lookup.ProductLookupGrpc;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 public class GrpcClientConfig {
 
+    @Value("${product-lookup.grpc.host:localhost}")
+    private String host;
+
+    @Value("${product-lookup.grpc.port:50051}")
+    private int port;
+
+    @Value("${product-lookup.grpc.pool-size:2}")
+    private int poolSize;
+
+    @Value("${product-lookup.grpc.deadline:500ms}")
+    private Duration deadline;
+
+    @Value("${product-lookup.grpc.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${product-lookup.grpc.hedging.max-attempts:2}")
+    private int hedgingMaxAttempts;
+
+    @Value("${product-lookup.grpc.hedging.delay:50ms}")
+    private Duration hedgingDelay;
+
     @Bean
-    public ManagedChannel managedChannel() {
-        return ManagedChannelBuilder.forAddress("localhost", 50051)
-                .usePlaintext()
-                .build();
+    public ProductLookupClient productLookupClient(MeterRegistry meterRegistry) {
+        GrpcClientMetricsInterceptor metricsInterceptor = new GrpcClientMetricsInterceptor(meterRegistry);
+        List<ManagedChannel> channels = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forAddress(host, port)
+                    .usePlaintext()
+                    .intercept(metricsInterceptor);
+            if (hedgingEnabled) {
+                builder.defaultServiceConfig(hedgingServiceConfig()).enableRetry();
+            }
+            channels.add(builder.build());
+        }
+        return new ProductLookupClient(channels, deadline);
     }
 
-    @Bean
-    public ProductLookupGrpc.ProductLookupBlockingStub productLookupBlockingStub(ManagedChannel managedChannel) {
-        return ProductLookupGrpc.newBlockingStub(managedChannel);
+    /**
+     * Sends a second copy of a ProductLookup call if the first has not answered within the hedging
+     * delay, and uses whichever response arrives first. Lookups are read-only, so this is safe.
+     */
+    private Map<String, Object> hedgingServiceConfig() {
+        Map<String, Object> hedgingPolicy = Map.of(
+                "maxAttempts", (double) hedgingMaxAttempts,
+                "hedgingDelay", hedgingDelay.toMillis() / 1000.0 + "s",
+                "nonFatalStatusCodes", List.of("UNAVAILABLE"));
+        Map<String, Object> methodConfig = Map.of(
+                "name", List.of(Map.of("service", ProductLookupGrpc.SERVICE_NAME)),
+                "hedgingPolicy", hedgingPolicy);
+        return Map.of("methodConfig", List.of(methodConfig));
     }
 }
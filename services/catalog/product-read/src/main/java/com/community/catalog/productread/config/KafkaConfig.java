@@ -0,0 +1,35 @@
+package com.community.catalog.productread.config;
+
+import com.community.catalog.productread.interfaces.kafka.UnprojectableEventException;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaConfig {
+
+    // Picked up by the auto-configured listener container factory. Failed records are retried in
+    // place, then published to the dead-letter topic so the partition moves on; the periodic
+    // reconcile repairs the products they would have changed
+    @Bean
+    public DefaultErrorHandler catalogEventErrorHandler(
+            KafkaTemplate<?, ?> kafkaTemplate,
+            @Value("${topic.catalog.product-events-dlt}") String deadLetterTopic,
+            @Value("${catalog.projection.retry.interval:1s}") Duration retryInterval,
+            @Value("${catalog.projection.retry.max-attempts:5}") int maxAttempts) {
+        // Any partition: the dead-letter topic need not have as many as the source
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, failure) -> new TopicPartition(deadLetterTopic, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(retryInterval.toMillis(), maxAttempts - 1L));
+        errorHandler.addNotRetryableExceptions(UnprojectableEventException.class);
+        return errorHandler;
+    }
+}
@@ -0,0 +1,34 @@
+package com.community.catalog.productread.config;
+
+import com.community.catalog.productread.infrastructure.search.ProductChangePublisher;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SearchConfig {
+
+    @Bean
+    public ProductChangePublisher productChangePublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${catalog.search.change-channel:catalog:product-changes}") String channel) {
+        return new ProductChangePublisher(redisTemplate, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer productChangeListenerContainer(
+            RedisConnectionFactory connectionFactory, ProductSearchIndex productSearchIndex,
+            @Value("${catalog.search.change-channel:catalog:product-changes}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(productSearchIndex, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -11,12 +11,18 @@ import java.math.BigDecimal;
 import java.util.Date;
 
 @Entity
-@Table(name = "products")
+// product-read's own store, projected from catalog events rather than shared with product-write.
+// Keyset pagination walks the primary key, optionally within a single filter value
+@Table(name = "product_views", indexes = {
+        @Index(name = "idx_product_views_category_id", columnList = "category, id"),
+        @Index(name = "idx_product_views_manufacturer_id", columnList = "manufacturer, id"),
+        @Index(name = "idx_product_views_status_id", columnList = "status, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Immutable // Important for read-only entities in CQRS
+@Immutable // Written only by the event projection, never through JPA
 public class ProductView {
 
     @Id
@@ -33,7 +39,9 @@ public class ProductView {
     @Column(name = "stock_quantity", nullable = false) // Assuming the column name in the DB
     private Integer quantity;
 
-    @Column(unique = true, nullable = false)
+    // Not unique here: events for different products are not ordered relative to each other,
+    // so a reused SKU can arrive before the delete that freed it
+    @Column(nullable = false)
     private String sku;
 
     private String imageUrl;
@@ -0,0 +1,30 @@
+package com.community.catalog.productread.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Date;
+
+@Entity
+// A product deleted from the read store. Ids are never reused, so a created or updated event for
+// a tombstoned product is a late redelivery and must not bring the row back
+@Table(name = "product_view_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Immutable // Written only by the event projection, never through JPA
+public class ProductViewTombstone {
+
+    @Id
+    private Long id;
+
+    // The product's version when it was deleted; 0 for deletes published before versions were sent
+    private long version;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date deletedAt;
+}
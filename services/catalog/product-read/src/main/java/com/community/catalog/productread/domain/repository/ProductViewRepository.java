@@ -1,13 +1,38 @@
 package com.community.catalog.productread.domain.repository;
 
 import com.community.catalog.productread.domain.model.ProductView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductViewRepository extends JpaRepository<ProductView, Long> {
+public interface ProductViewRepository extends JpaRepository<ProductView, Long>, JpaSpecificationExecutor<ProductView> {
+
+    /**
+     * Returns up to {@code limit} products matching the specification in ascending id order,
+     * without the count query a {@code Page} would issue.
+     */
+    default List<ProductView> findKeysetPage(Specification<ProductView> specification, int limit) {
+        return findBy(specification, query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    /**
+     * Id and version of every product, without loading the rest of the rows.
+     */
+    @Query("select p.id as id, p.version as version from ProductView p")
+    List<ProductVersion> findAllVersions();
+
+    interface ProductVersion {
+        Long getId();
+
+        int getVersion();
+    }
 
 }
 
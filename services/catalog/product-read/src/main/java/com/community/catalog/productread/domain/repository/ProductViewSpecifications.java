@@ -0,0 +1,34 @@
+package com.community.catalog.productread.domain.repository;
+
+import com.community.catalog.productread.domain.model.ProductView;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates for keyset-paginated listings. Only the filters that are set end up in the SQL, so
+ * each combination can use the matching {@code (filter, id)} index.
+ */
+public final class ProductViewSpecifications {
+
+    private ProductViewSpecifications() {
+    }
+
+    public static Specification<ProductView> idGreaterThan(Long id) {
+        return (root, query, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<ProductView> categoryEquals(String category) {
+        return attributeEquals("category", category);
+    }
+
+    public static Specification<ProductView> manufacturerEquals(String manufacturer) {
+        return attributeEquals("manufacturer", manufacturer);
+    }
+
+    public static Specification<ProductView> statusEquals(String status) {
+        return attributeEquals("status", status);
+    }
+
+    private static Specification<ProductView> attributeEquals(String attribute, String value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,73 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies cache invalidations published by product-write. Messages are {@code <cache>::<key>},
+ * or {@code <cache>::*} to clear the whole cache.
+ * <p>
+ * product-write evicts under its own key prefix, so the entry is evicted from this service's
+ * Redis keys as well as from the local tier. Every pod does this; the repeated deletes are harmless.
+ * <p>
+ * Messages prefixed with {@code local:} come from a pod that has just rewritten the shared entry,
+ * so only local tiers drop their copy and reload the new one from Redis.
+ * <p>
+ * {@code local:tag:<tag>} drops the local copies of every entry tagged with {@code <tag>} in the
+ * {@link CacheTagIndex}; the pod that publishes it has already evicted them from Redis.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    static final String KEY_SEPARATOR = "::";
+    static final String ALL_KEYS = "*";
+    static final String LOCAL_ONLY_PREFIX = "local:";
+    static final String TAG_PREFIX = "tag:";
+
+    private final CacheManager cacheManager;
+    private final CacheTagIndex cacheTagIndex;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        boolean localOnly = body.startsWith(LOCAL_ONLY_PREFIX);
+        if (localOnly) {
+            body = body.substring(LOCAL_ONLY_PREFIX.length());
+        }
+        if (localOnly && body.startsWith(TAG_PREFIX)) {
+            cacheTagIndex.invalidateLocal(body.substring(TAG_PREFIX.length()));
+            return;
+        }
+        int separator = body.indexOf(KEY_SEPARATOR);
+        if (separator <= 0) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        Cache cache = cacheManager.getCache(body.substring(0, separator));
+        if (cache == null) {
+            return;
+        }
+        String key = body.substring(separator + KEY_SEPARATOR.length());
+        if (localOnly) {
+            // Without a local tier there is nothing to drop
+            if (cache instanceof TwoTierCache twoTierCache) {
+                if (ALL_KEYS.equals(key)) {
+                    twoTierCache.clearLocal();
+                } else {
+                    twoTierCache.evictLocal(key);
+                }
+            }
+        } else if (ALL_KEYS.equals(key)) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
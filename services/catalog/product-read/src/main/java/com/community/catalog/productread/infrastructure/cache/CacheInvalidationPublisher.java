@@ -0,0 +1,52 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Publishes cache evictions to every product-read pod, in the format read by
+ * {@link CacheInvalidationListener}.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(cacheName + CacheInvalidationListener.KEY_SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(cacheName + CacheInvalidationListener.KEY_SEPARATOR + CacheInvalidationListener.ALL_KEYS);
+    }
+
+    /**
+     * Tells every pod to drop its local copy of an entry that was just rewritten in Redis.
+     */
+    public void publishEvictLocal(String cacheName, Object key) {
+        publish(CacheInvalidationListener.LOCAL_ONLY_PREFIX + cacheName + CacheInvalidationListener.KEY_SEPARATOR + key);
+    }
+
+    /**
+     * Tells every pod to drop its local copies of the entries tagged with {@code tag}, which were
+     * just evicted from Redis.
+     */
+    public void publishInvalidateLocalTag(String tag) {
+        publish(CacheInvalidationListener.LOCAL_ONLY_PREFIX + CacheInvalidationListener.TAG_PREFIX + tag);
+    }
+
+    private void publish(String message) {
+        // A lost message only leaves other pods stale until their local TTL
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation '{}' on channel '{}'", message, channel, e);
+        }
+    }
+}
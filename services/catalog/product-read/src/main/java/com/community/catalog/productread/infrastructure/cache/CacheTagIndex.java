@@ -0,0 +1,160 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Tags cached product entries with what they hold, such as {@code category:Books} or
+ * {@code manufacturer:Acme}, so a bulk edit can invalidate just the entries it touched. Each tag is
+ * a Redis set ({@value #TAGS_KEY_PREFIX}{@code <tag>}) of {@code <cache>::<key>} members, shared by
+ * every pod. Bulk edits in product-write mark their events with the tags they touched; the pod that
+ * projects them evicts the members from Redis once, then publishes {@code local:tag:<tag>} so every
+ * pod drops only its local copies.
+ * <p>
+ * Members are not removed when invalidated, since every pod has to find them, and a member whose
+ * entry is gone costs one needless eviction. A set expires one cache time-to-live after an entry
+ * was last tagged with it.
+ */
+@Slf4j
+@Component
+public class CacheTagIndex {
+
+    static final String TAGS_KEY_PREFIX = "catalog:cache-tags:";
+    static final String CATEGORY = "category:";
+    static final String MANUFACTURER = "manufacturer:";
+    static final String STATUS = "status:";
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final long timeToLiveSeconds;
+
+    public CacheTagIndex(StringRedisTemplate redisTemplate, CacheManager cacheManager,
+                         CacheInvalidationPublisher cacheInvalidationPublisher, CacheProperties cacheProperties) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        Duration timeToLive = cacheProperties.getRedis().getTimeToLive();
+        this.timeToLiveSeconds = (timeToLive == null || timeToLive.isZero() ? DEFAULT_TIME_TO_LIVE : timeToLive)
+                .toSeconds();
+    }
+
+    /**
+     * Tags an entry that is being cached.
+     *
+     * @return false if the tags could not be recorded, in which case the entry would miss invalidations
+     */
+    public boolean tag(String cacheName, Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return true;
+        }
+        String member = cacheName + CacheInvalidationListener.KEY_SEPARATOR + key;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                for (String tag : tags) {
+                    commands.sAdd(TAGS_KEY_PREFIX + tag, member);
+                    commands.expire(TAGS_KEY_PREFIX + tag, timeToLiveSeconds);
+                }
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to tag cache entry {} with {}", member, tags, e);
+            return false;
+        }
+    }
+
+    /**
+     * Evicts every entry tagged with {@code tag} from Redis and from this pod's local tier, then
+     * tells the other pods to drop their local copies.
+     */
+    public void invalidate(String tag) {
+        int evicted = evictMembers(tag, Cache::evict);
+        if (evicted > 0) {
+            cacheInvalidationPublisher.publishInvalidateLocalTag(tag);
+        }
+        log.debug("Invalidated {} cache entries tagged {}", evicted, tag);
+    }
+
+    /**
+     * Drops this pod's local copies of the entries tagged with {@code tag}, after another pod has
+     * evicted them from Redis.
+     */
+    public void invalidateLocal(String tag) {
+        evictMembers(tag, (cache, key) -> {
+            // Without a local tier there is nothing to drop
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.evictLocal(key);
+            }
+        });
+    }
+
+    private int evictMembers(String tag, BiConsumer<Cache, String> eviction) {
+        Set<String> members;
+        try {
+            members = redisTemplate.opsForSet().members(TAGS_KEY_PREFIX + tag);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read cache entries tagged {}", tag, e);
+            return 0;
+        }
+        if (members == null) {
+            return 0;
+        }
+        for (String member : members) {
+            int separator = member.indexOf(CacheInvalidationListener.KEY_SEPARATOR);
+            Cache cache = separator > 0 ? cacheManager.getCache(member.substring(0, separator)) : null;
+            if (cache != null) {
+                eviction.accept(cache, member.substring(separator + CacheInvalidationListener.KEY_SEPARATOR.length()));
+            }
+        }
+        return members.size();
+    }
+
+    public static Set<String> tagsOf(ProductDTO product) {
+        Set<String> tags = new LinkedHashSet<>();
+        addTags(tags, product);
+        return tags;
+    }
+
+    /**
+     * Tags of a page: those of its items, plus its filters, since a bulk edit can move products into
+     * a filtered page that holds none of them yet.
+     */
+    public static Set<String> tagsOf(ProductPageDTO page, String category, String manufacturer, String status) {
+        Set<String> tags = new LinkedHashSet<>();
+        page.getItems().forEach(item -> addTags(tags, item));
+        addTag(tags, CATEGORY, category);
+        addTag(tags, MANUFACTURER, manufacturer);
+        addTag(tags, STATUS, status);
+        return tags;
+    }
+
+    private static void addTags(Set<String> tags, ProductDTO product) {
+        addTag(tags, CATEGORY, product.getCategory());
+        addTag(tags, MANUFACTURER, product.getManufacturer());
+    }
+
+    private static void addTag(Set<String> tags, String prefix, String value) {
+        // Lookups map unset proto strings to empty ones
+        if (value != null && !value.isEmpty()) {
+            tags.add(prefix + value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidates the cache tags a bulk edit touched once its rows have been projected, rather than
+ * when product-write commits it: readers that miss then load the projected rows instead of the old
+ * ones. A bulk edit arrives as one event per row, each carrying the edit's tags, so each tag is
+ * invalidated once no row carrying it has been projected for
+ * {@code catalog.cache.tag-invalidation.quiet-period}.
+ */
+@Slf4j
+@Component
+public class CacheTagInvalidator {
+
+    private final CacheTagIndex cacheTagIndex;
+    private final Duration quietPeriod;
+    // Null when tags are invalidated as soon as a row is projected
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    public CacheTagInvalidator(CacheTagIndex cacheTagIndex,
+                               @Value("${catalog.cache.tag-invalidation.quiet-period:2s}") Duration quietPeriod) {
+        this.cacheTagIndex = cacheTagIndex;
+        this.quietPeriod = quietPeriod;
+        this.scheduler = quietPeriod.isZero() || quietPeriod.isNegative()
+                ? null
+                : Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cache-tag-invalidation-"));
+    }
+
+    /**
+     * Records that a row carrying {@code tags} has been projected, postponing their invalidation.
+     */
+    public void projected(Collection<String> tags) {
+        for (String tag : tags) {
+            if (scheduler == null) {
+                invalidate(tag);
+                continue;
+            }
+            pending.compute(tag, (key, scheduled) -> {
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                return scheduler.schedule(() -> {
+                    pending.remove(key);
+                    invalidate(key);
+                }, quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+            });
+        }
+    }
+
+    private void invalidate(String tag) {
+        try {
+            cacheTagIndex.invalidate(tag);
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate cache entries tagged {}", tag, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            // Invalidations still waiting are dropped; the entries expire with their time-to-live
+            scheduler.shutdownNow();
+        }
+    }
+}
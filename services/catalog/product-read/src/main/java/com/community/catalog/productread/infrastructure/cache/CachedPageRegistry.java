@@ -0,0 +1,247 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Records which keyset pages are cached, so {@link ProductCacheWriter} can find the few a change
+ * falls into. Each page has a registration ({@value #PAGE_KEY_PREFIX}{@code <key>}) holding its
+ * filters and id range, which expires shortly after the page itself would. Registrations are
+ * indexed by the page's filters and by the 1024-id buckets its range spans, in Redis sets named
+ * {@value #INDEX_KEY_PREFIX}{@code <filters>:<bucket>}; a last page, which also covers ids not yet
+ * created, is indexed under {@code open}, and a page spanning many buckets (a filter matching few,
+ * far apart products) under {@code wide}. A change reads the sets for its bucket in each filter
+ * combination the product had before or has now, so pages of other filters and id ranges are
+ * never read.
+ * <p>
+ * Index members are not removed when a registration expires; lookups drop the ones that no longer
+ * resolve, and each set expires with the last registration added to it.
+ */
+@Slf4j
+@Component
+public class CachedPageRegistry {
+
+    static final String PAGE_KEY_PREFIX = "catalog:cached-page:";
+    static final String INDEX_KEY_PREFIX = "catalog:cached-pages:";
+    static final long BUCKET_WIDTH = 1024;
+    static final int MAX_BUCKETS = 8;
+
+    private static final String OPEN = "open";
+    private static final String WIDE = "wide";
+    private static final String ANY = "*";
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+    // Pages are cached after they are registered, so registrations have to outlive them
+    private static final Duration REGISTRATION_GRACE = Duration.ofMinutes(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long timeToLiveSeconds;
+
+    public CachedPageRegistry(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                              CacheProperties cacheProperties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        Duration timeToLive = cacheProperties.getRedis().getTimeToLive();
+        this.timeToLiveSeconds = (timeToLive == null || timeToLive.isZero() ? DEFAULT_TIME_TO_LIVE : timeToLive)
+                .plus(REGISTRATION_GRACE)
+                .toSeconds();
+    }
+
+    /**
+     * Registers a page, replacing an earlier registration of the same key.
+     *
+     * @param replaced the registration being replaced, whose index entries are moved; null if unknown
+     * @return the registration as stored, or null if it could not be recorded
+     */
+    public String register(String key, ProductCacheWriter.CachedPage page, ProductCacheWriter.CachedPage replaced) {
+        String registration;
+        try {
+            registration = objectMapper.writeValueAsString(page);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize cached page registration {}", key, e);
+            return null;
+        }
+        List<String> indexKeys = indexKeys(page);
+        List<String> movedFrom = replaced != null ? new ArrayList<>(indexKeys(replaced)) : List.of();
+        movedFrom.removeAll(indexKeys);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                commands.set(PAGE_KEY_PREFIX + key, registration, Expiration.seconds(timeToLiveSeconds),
+                        SetOption.upsert());
+                for (String indexKey : indexKeys) {
+                    commands.sAdd(indexKey, key);
+                    commands.expire(indexKey, timeToLiveSeconds);
+                }
+                movedFrom.forEach(indexKey -> commands.sRem(indexKey, key));
+                return null;
+            });
+            return registration;
+        } catch (RuntimeException e) {
+            log.warn("Failed to register cached page {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Whether {@code registration} is still the one stored for the page; it is dropped or replaced
+     * when a change reaches the page.
+     */
+    public boolean isRegistered(String key, String registration) {
+        return registration.equals(redisTemplate.opsForValue().get(PAGE_KEY_PREFIX + key));
+    }
+
+    public void unregister(String key, ProductCacheWriter.CachedPage page) {
+        List<String> indexKeys = page != null ? indexKeys(page) : List.of();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            commands.del(PAGE_KEY_PREFIX + key);
+            indexKeys.forEach(indexKey -> commands.sRem(indexKey, key));
+            return null;
+        });
+    }
+
+    /**
+     * Finds the registered pages a change to a product may fall into: those whose filters match
+     * one of the given versions of it and whose index covers its id. An unreadable registration is
+     * returned with a null value, since its page can no longer be patched.
+     */
+    public Map<String, ProductCacheWriter.CachedPage> find(long productId, Collection<ProductDTO> versions) {
+        Set<String> candidateIndexKeys = new LinkedHashSet<>();
+        versions.forEach(product -> candidateIndexKeys.addAll(indexKeys(productId, product)));
+        List<String> indexKeys = List.copyOf(candidateIndexKeys);
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            indexKeys.forEach(commands::sMembers);
+            return null;
+        });
+
+        Map<String, List<String>> indexedUnder = new LinkedHashMap<>();
+        for (int i = 0; i < indexKeys.size(); i++) {
+            if (members.get(i) instanceof Collection<?> keys) {
+                for (Object key : keys) {
+                    indexedUnder.computeIfAbsent(key.toString(), k -> new ArrayList<>()).add(indexKeys.get(i));
+                }
+            }
+        }
+        if (indexedUnder.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> keys = List.copyOf(indexedUnder.keySet());
+        List<String> registrations = redisTemplate.opsForValue()
+                .multiGet(keys.stream().map(key -> PAGE_KEY_PREFIX + key).toList());
+        Map<String, ProductCacheWriter.CachedPage> pages = new HashMap<>();
+        Map<String, List<String>> stale = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String registration = registrations != null ? registrations.get(i) : null;
+            List<String> foundUnder = new ArrayList<>(indexedUnder.get(key));
+            if (registration == null) {
+                // Expired with its page
+                stale.put(key, foundUnder);
+                continue;
+            }
+            ProductCacheWriter.CachedPage page = readPage(registration);
+            if (page != null) {
+                // Left behind by an earlier registration of the key with another id range
+                foundUnder.removeAll(indexKeys(page));
+                if (!foundUnder.isEmpty()) {
+                    stale.put(key, foundUnder);
+                }
+            }
+            pages.put(key, page);
+        }
+        prune(stale);
+        return pages;
+    }
+
+    private void prune(Map<String, List<String>> stale) {
+        if (stale.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                stale.forEach((key, indexKeys) -> indexKeys.forEach(indexKey -> commands.sRem(indexKey, key)));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to prune the cached page index", e);
+        }
+    }
+
+    private ProductCacheWriter.CachedPage readPage(String registration) {
+        try {
+            return objectMapper.readValue(registration, ProductCacheWriter.CachedPage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable cached page registration: {}", registration);
+            return null;
+        }
+    }
+
+    /**
+     * Index sets a page is listed in.
+     */
+    static List<String> indexKeys(ProductCacheWriter.CachedPage page) {
+        String prefix = INDEX_KEY_PREFIX + filters(page.category(), page.manufacturer(), page.status()) + ":";
+        if (!page.hasMore() || page.lastId() == null) {
+            return List.of(prefix + OPEN);
+        }
+        long first = bucket(page.afterId() == null ? 0 : page.afterId() + 1);
+        long last = bucket(page.lastId());
+        if (last - first >= MAX_BUCKETS) {
+            return List.of(prefix + WIDE);
+        }
+        return LongStream.rangeClosed(first, last).mapToObj(bucket -> prefix + bucket).toList();
+    }
+
+    /**
+     * Index sets that may list a page holding, or about to hold, the product: for each combination
+     * of its category, manufacturer and status a page could filter on, the id's bucket, open pages
+     * and wide pages.
+     */
+    static Set<String> indexKeys(long productId, ProductDTO product) {
+        Set<String> indexKeys = new LinkedHashSet<>();
+        for (String category : new String[]{null, product.getCategory()}) {
+            for (String manufacturer : new String[]{null, product.getManufacturer()}) {
+                for (String status : new String[]{null, product.getStatus()}) {
+                    String prefix = INDEX_KEY_PREFIX + filters(category, manufacturer, status) + ":";
+                    indexKeys.add(prefix + bucket(productId));
+                    indexKeys.add(prefix + OPEN);
+                    indexKeys.add(prefix + WIDE);
+                }
+            }
+        }
+        return indexKeys;
+    }
+
+    private static String filters(String category, String manufacturer, String status) {
+        return (category != null ? category : ANY) + "|" + (manufacturer != null ? manufacturer : ANY) + "|"
+                + (status != null ? status : ANY);
+    }
+
+    private static long bucket(long id) {
+        return Math.floorDiv(id, BUCKET_WIDTH);
+    }
+}
@@ -0,0 +1,117 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Versions shared by every product-read pod for cheap revalidation: a catalog-wide counter that
+ * moves on every projected change, and the last projected {@code version} of each product.
+ * Lookups return null when the version is unknown or Redis is unavailable, in which case callers
+ * fall back to loading the data.
+ * <p>
+ * A product's version only moves forward, so it also fences writes of the product's cache entry:
+ * a writer claims its version with {@link #advanceProductVersion} before writing, and a writer
+ * holding an older copy finds the claim taken and leaves the entry alone.
+ */
+@Slf4j
+@Component
+public class CatalogVersionStore {
+
+    static final String CATALOG_VERSION_KEY = "catalog:version";
+    static final String PRODUCT_VERSIONS_KEY = "catalog:product-versions";
+
+    // Returns 1 if the product's version is now ARGV[2], 0 if a newer one was already recorded
+    static final RedisScript<Long> ADVANCE = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], ARGV[1]) "
+                    + "if current and tonumber(current) > tonumber(ARGV[2]) then return 0 end "
+                    + "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CatalogVersionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Long catalogVersion() {
+        try {
+            String value = redisTemplate.opsForValue().get(CATALOG_VERSION_KEY);
+            if (value == null) {
+                // Start from the clock so a flushed key never reissues a version clients still hold
+                redisTemplate.opsForValue().setIfAbsent(CATALOG_VERSION_KEY, String.valueOf(System.currentTimeMillis()));
+                value = redisTemplate.opsForValue().get(CATALOG_VERSION_KEY);
+            }
+            return value != null ? Long.valueOf(value) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the catalog version", e);
+            return null;
+        }
+    }
+
+    public Long productVersion(long productId) {
+        try {
+            Object value = redisTemplate.opsForHash().get(PRODUCT_VERSIONS_KEY, String.valueOf(productId));
+            return value != null ? Long.valueOf(value.toString()) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the version of product {}", productId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records {@code version} as the product's version unless a newer one is already recorded.
+     *
+     * @return whether the recorded version is now {@code version}, or null if Redis is unavailable
+     */
+    public Boolean advanceProductVersion(long productId, long version) {
+        try {
+            Long advanced = redisTemplate.execute(ADVANCE, List.of(PRODUCT_VERSIONS_KEY),
+                    String.valueOf(productId), String.valueOf(version));
+            return advanced != null ? advanced == 1L : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to advance the version of product {}", productId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records the product's new version, unless a newer one is already recorded, and bumps the
+     * catalog version.
+     *
+     * @return the new catalog version, or null if it could not be bumped
+     */
+    public Long productChanged(long productId, long version) {
+        return update(() -> redisTemplate.execute(ADVANCE, List.of(PRODUCT_VERSIONS_KEY),
+                String.valueOf(productId), String.valueOf(version)));
+    }
+
+    /**
+     * Forgets the product's version and bumps the catalog version.
+     *
+     * @return the new catalog version, or null if it could not be bumped
+     */
+    public Long productRemoved(long productId) {
+        return update(() -> redisTemplate.opsForHash().delete(PRODUCT_VERSIONS_KEY, String.valueOf(productId)));
+    }
+
+    public void catalogChanged() {
+        update(() -> { });
+    }
+
+    // The data has already changed; a failed bump leaves ETags stale until the next change
+    private Long update(Runnable productUpdate) {
+        try {
+            productUpdate.run();
+            return redisTemplate.opsForValue().increment(CATALOG_VERSION_KEY);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update catalog versions", e);
+            return null;
+        }
+    }
+}
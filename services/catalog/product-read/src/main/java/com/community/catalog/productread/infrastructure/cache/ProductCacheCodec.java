@@ -0,0 +1,201 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.cache.ProductCacheProto.CacheEntry;
+import com.community.catalog.cache.ProductCacheProto.CachedProduct;
+import com.community.catalog.cache.ProductCacheProto.ProductList;
+import com.community.catalog.cache.ProductCacheProto.ProductPage;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Redis value serializer that writes products, product lists and product pages as protobuf
+ * ({@code product_cache.proto}), deflating entries of at least {@code compressionThreshold} bytes.
+ * Any other value, including Spring's cached-null marker, is written with JDK serialization.
+ * <p>
+ * The first byte tells the formats apart. JDK streams always start with {@code 0xAC}, so entries
+ * written by the previous serializer are still readable after switching.
+ */
+public class ProductCacheCodec implements RedisSerializer<Object> {
+
+    static final byte PROTOBUF = 1;
+    static final byte PROTOBUF_DEFLATED = 2;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold encoded size in bytes from which entries are deflated; 0 disables compression
+     */
+    public ProductCacheCodec(ClassLoader classLoader, int compressionThreshold) {
+        this.fallback = new JdkSerializationRedisSerializer(classLoader);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        CacheEntry entry = toEntry(value);
+        if (entry == null) {
+            return fallback.serialize(value);
+        }
+        int size = entry.getSerializedSize();
+        try {
+            if (compressionThreshold > 0 && size >= compressionThreshold) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(size / 4 + 16);
+                out.write(PROTOBUF_DEFLATED);
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater)) {
+                    entry.writeTo(deflated);
+                } finally {
+                    deflater.end();
+                }
+                return out.toByteArray();
+            }
+            byte[] bytes = new byte[size + 1];
+            bytes[0] = PROTOBUF;
+            CodedOutputStream output = CodedOutputStream.newInstance(bytes, 1, size);
+            entry.writeTo(output);
+            output.checkNoSpaceLeft();
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize cache entry", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            switch (bytes[0]) {
+                case PROTOBUF:
+                    return fromEntry(CacheEntry.parseFrom(CodedInputStream.newInstance(bytes, 1, bytes.length - 1)));
+                case PROTOBUF_DEFLATED:
+                    try (InputStream in = new InflaterInputStream(
+                            new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+                        return fromEntry(CacheEntry.parseFrom(in));
+                    }
+                default:
+                    return fallback.deserialize(bytes);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize cache entry", e);
+        }
+    }
+
+    private static CacheEntry toEntry(Object value) {
+        if (value instanceof ProductDTO product) {
+            return CacheEntry.newBuilder().setProduct(toProto(product)).build();
+        }
+        if (value instanceof ProductPageDTO page) {
+            ProductPage.Builder builder = ProductPage.newBuilder();
+            for (ProductDTO item : page.getItems()) {
+                builder.addItems(toProto(item));
+            }
+            if (page.getNextCursor() != null) {
+                builder.setNextCursor(page.getNextCursor());
+            }
+            return CacheEntry.newBuilder().setPage(builder).build();
+        }
+        if (value instanceof List<?> list && list.stream().allMatch(ProductDTO.class::isInstance)) {
+            ProductList.Builder builder = ProductList.newBuilder();
+            for (Object item : list) {
+                builder.addProducts(toProto((ProductDTO) item));
+            }
+            return CacheEntry.newBuilder().setList(builder).build();
+        }
+        return null;
+    }
+
+    private static Object fromEntry(CacheEntry entry) {
+        return switch (entry.getValueCase()) {
+            case PRODUCT -> fromProto(entry.getProduct());
+            // Unmodifiable, like the lists the handlers cache
+            case LIST -> entry.getList().getProductsList().stream().map(ProductCacheCodec::fromProto).toList();
+            case PAGE -> ProductPageDTO.builder()
+                    .items(entry.getPage().getItemsList().stream().map(ProductCacheCodec::fromProto).toList())
+                    .nextCursor(entry.getPage().hasNextCursor() ? entry.getPage().getNextCursor() : null)
+                    .build();
+            case VALUE_NOT_SET -> throw new SerializationException("Cache entry has no value");
+        };
+    }
+
+    // Also the record format of the on-disk catalog snapshot
+    public static CachedProduct toProto(ProductDTO product) {
+        CachedProduct.Builder builder = CachedProduct.newBuilder();
+        if (product.getId() != null) {
+            builder.setId(product.getId());
+        }
+        if (product.getName() != null) {
+            builder.setName(product.getName());
+        }
+        if (product.getDescription() != null) {
+            builder.setDescription(product.getDescription());
+        }
+        if (product.getPrice() != null) {
+            builder.setPrice(product.getPrice().toString());
+        }
+        if (product.getQuantity() != null) {
+            builder.setQuantity(product.getQuantity());
+        }
+        if (product.getSku() != null) {
+            builder.setSku(product.getSku());
+        }
+        if (product.getImageUrl() != null) {
+            builder.setImageUrl(product.getImageUrl());
+        }
+        if (product.getCategory() != null) {
+            builder.setCategory(product.getCategory());
+        }
+        if (product.getManufacturer() != null) {
+            builder.setManufacturer(product.getManufacturer());
+        }
+        if (product.getStatus() != null) {
+            builder.setStatus(product.getStatus());
+        }
+        if (product.getVersion() != null) {
+            builder.setVersion(product.getVersion());
+        }
+        if (product.getCreatedAt() != null) {
+            builder.setCreatedAt(product.getCreatedAt().getTime());
+        }
+        if (product.getUpdatedAt() != null) {
+            builder.setUpdatedAt(product.getUpdatedAt().getTime());
+        }
+        return builder.build();
+    }
+
+    public static ProductDTO fromProto(CachedProduct product) {
+        return ProductDTO.builder()
+                .id(product.hasId() ? product.getId() : null)
+                .name(product.hasName() ? product.getName() : null)
+                .description(product.hasDescription() ? product.getDescription() : null)
+                .price(product.hasPrice() ? new BigDecimal(product.getPrice()) : null)
+                .quantity(product.hasQuantity() ? product.getQuantity() : null)
+                .sku(product.hasSku() ? product.getSku() : null)
+                .imageUrl(product.hasImageUrl() ? product.getImageUrl() : null)
+                .category(product.hasCategory() ? product.getCategory() : null)
+                .manufacturer(product.hasManufacturer() ? product.getManufacturer() : null)
+                .status(product.hasStatus() ? product.getStatus() : null)
+                .version(product.hasVersion() ? product.getVersion() : null)
+                .createdAt(product.hasCreatedAt() ? new Date(product.getCreatedAt()) : null)
+                .updatedAt(product.hasUpdatedAt() ? new Date(product.getUpdatedAt()) : null)
+                .build();
+    }
+}
@@ -0,0 +1,367 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the products and product-pages caches warm while the projection applies changes, instead
+ * of evicting them. A changed product's own entry is overwritten with the projected row, and every
+ * cached keyset page the change falls into is patched in place: the item is replaced, appended to
+ * or removed from the last page. A page is only evicted when patching would need the store, which
+ * is when an item leaves or joins a page that has a page after it, or joins a full last page.
+ * <p>
+ * Cached pages are found through {@link CachedPageRegistry}, so a change only reads the pages its
+ * filters and id range can touch. A page is registered before it is loaded: a change projected
+ * while the load runs finds the registration without a cached page and drops it, and the load
+ * then keeps the page out of the cache, as it may predate the change. Pages are rewritten
+ * read-modify-write, so two pods patching one page at once could lose a change: each change reads
+ * the catalog version before touching the caches and bumps it afterwards, and if another change
+ * was counted in between, every page is cleared. Other pods drop their local copies of rewritten
+ * entries and reload them from Redis.
+ */
+@Slf4j
+@Component
+public class ProductCacheWriter {
+
+    static final String PRODUCTS = "products";
+    static final String PAGES = "product-pages";
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final CatalogVersionStore catalogVersionStore;
+    private final CacheTagIndex cacheTagIndex;
+    private final CachedPageRegistry cachedPageRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public ProductCacheWriter(CacheManager cacheManager, CacheInvalidationPublisher cacheInvalidationPublisher,
+                              CatalogVersionStore catalogVersionStore, CacheTagIndex cacheTagIndex,
+                              CachedPageRegistry cachedPageRegistry, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.catalogVersionStore = catalogVersionStore;
+        this.cacheTagIndex = cacheTagIndex;
+        this.cachedPageRegistry = cachedPageRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Writes a product just projected into the store through to the caches, then bumps its version
+     * and the catalog version.
+     *
+     * @param previous the product as stored before the change, or null if it was not stored; pages
+     *                 filtering on its old category, manufacturer or status are found through it
+     */
+    public synchronized void productChanged(ProductDTO previous, ProductDTO product) {
+        Long before = catalogVersionStore.catalogVersion();
+        boolean written = writeThrough(product.getId(), () -> {
+            writeProduct(product);
+            patchPages(product.getId(), previous, product);
+        });
+        Long after = catalogVersionStore.productChanged(product.getId(), product.getVersion());
+        clearPagesUnlessSequential(written, before, after);
+    }
+
+    /**
+     * Drops a product just deleted from the store from the caches, then forgets its version and
+     * bumps the catalog version.
+     *
+     * @param previous the product as stored before the delete, or null if it was not stored
+     */
+    public synchronized void productRemoved(long productId, ProductDTO previous) {
+        Long before = catalogVersionStore.catalogVersion();
+        boolean written = writeThrough(productId, () -> {
+            evictProduct(productId);
+            patchPages(productId, previous, null);
+        });
+        Long after = catalogVersionStore.productRemoved(productId);
+        clearPagesUnlessSequential(written, before, after);
+    }
+
+    /**
+     * Returns a cached page, or loads and caches it. The page is registered before the load and
+     * only stays cached if no change dropped the registration meanwhile; it is tagged with the
+     * categories and manufacturers it holds or filters on.
+     */
+    public ProductPageDTO cachePage(String key, CachedPage query, Supplier<ProductPageDTO> loader) {
+        Cache pages = cacheManager.getCache(PAGES);
+        if (pages == null) {
+            return loader.get();
+        }
+        Cache.ValueWrapper cached = pages.get(key);
+        if (cached != null && cached.get() instanceof ProductPageDTO page) {
+            return page;
+        }
+        String pending = cachedPageRegistry.register(key, query, null);
+        ProductPageDTO page = loader.get();
+        // An unregistered page is never patched and an untagged one never invalidated,
+        // so neither may be cached
+        if (pending == null || !cacheTagIndex.tag(PAGES, key,
+                CacheTagIndex.tagsOf(page, query.category(), query.manufacturer(), query.status()))) {
+            return page;
+        }
+        pages.put(key, page);
+        try {
+            if (!cachedPageRegistry.isRegistered(key, pending)) {
+                // A change reached the page while it was loading, and the load may predate it
+                evictPage(pages, key, query);
+                count(PAGES, "discarded");
+                return page;
+            }
+            cachedPageRegistry.register(key, query.withContent(page), query);
+        } catch (RuntimeException e) {
+            log.warn("Failed to confirm cached page {}", key, e);
+            pages.evict(key);
+        }
+        return page;
+    }
+
+    /**
+     * Clears every cached page, for when changes were applied without knowing which pages held the
+     * products before.
+     */
+    public void clearPages() {
+        try {
+            Cache pages = cacheManager.getCache(PAGES);
+            if (pages != null) {
+                pages.clear();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear cached pages", e);
+        }
+        cacheInvalidationPublisher.publishClear(PAGES);
+        count(PAGES, "cleared");
+    }
+
+    // The store has already changed and the event will not be projected again, so a failed write
+    // must not leave a cached copy of the old product behind
+    private boolean writeThrough(long productId, Runnable write) {
+        try {
+            write.run();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write product {} through to the caches", productId, e);
+            try {
+                evictProduct(productId);
+            } catch (RuntimeException evictFailure) {
+                log.warn("Failed to evict product {} from the cache", productId, evictFailure);
+            }
+            return false;
+        }
+    }
+
+    private void evictProduct(long productId) {
+        Cache products = cacheManager.getCache(PRODUCTS);
+        if (products != null) {
+            products.evict(productId);
+        }
+        cacheInvalidationPublisher.publishEvict(PRODUCTS, productId);
+    }
+
+    private void writeProduct(ProductDTO product) {
+        Cache products = cacheManager.getCache(PRODUCTS);
+        if (products == null) {
+            return;
+        }
+        // Entries loaded from ProductLookup read the write side, which may already be ahead of the event.
+        // Claiming the version first keeps a reader that loaded an older copy from overwriting this one
+        if (Boolean.FALSE.equals(catalogVersionStore.advanceProductVersion(product.getId(), product.getVersion()))
+                || shared(products, product.getId()) instanceof ProductDTO cached && isNewer(cached, product)) {
+            count(PRODUCTS, "skipped");
+            return;
+        }
+        cacheTagIndex.tag(PRODUCTS, product.getId(), CacheTagIndex.tagsOf(product));
+        products.put(product.getId(), product);
+        cacheInvalidationPublisher.publishEvictLocal(PRODUCTS, product.getId());
+        count(PRODUCTS, "written");
+    }
+
+    private void patchPages(long productId, ProductDTO previous, ProductDTO product) {
+        Cache pages = cacheManager.getCache(PAGES);
+        if (pages == null) {
+            return;
+        }
+        List<ProductDTO> versions = Stream.of(previous, product).filter(Objects::nonNull).toList();
+        if (versions.isEmpty()) {
+            // Pages are loaded from the store, so none can hold a product it did not have
+            return;
+        }
+        cachedPageRegistry.find(productId, versions).forEach((key, page) -> {
+            if (page == null) {
+                evictPage(pages, key, null);
+            } else if (page.covers(productId)) {
+                patchPage(pages, key, page, productId, product);
+            }
+        });
+    }
+
+    private void patchPage(Cache pages, String key, CachedPage page, long productId, ProductDTO product) {
+        if (!(shared(pages, key) instanceof ProductPageDTO cached)) {
+            // Expired, or still loading: dropping the registration keeps a load that may predate
+            // this change from being cached
+            evictPage(pages, key, page);
+            return;
+        }
+        ProductPageDTO patched = patch(cached, page, productId, product);
+        if (patched == cached) {
+            return;
+        }
+        if (patched == null) {
+            evictPage(pages, key, page);
+            count(PAGES, "evicted");
+            return;
+        }
+        if (cachedPageRegistry.register(key, page.withContent(patched), page) == null
+                || !cacheTagIndex.tag(PAGES, key,
+                CacheTagIndex.tagsOf(patched, page.category(), page.manufacturer(), page.status()))) {
+            evictPage(pages, key, page);
+            return;
+        }
+        pages.put(key, patched);
+        cacheInvalidationPublisher.publishEvictLocal(PAGES, key);
+        count(PAGES, "patched");
+    }
+
+    /**
+     * Applies a change to one page.
+     *
+     * @param product the product as now stored, or null if it was deleted
+     * @return the page itself if the change does not affect it, the patched page, or null if the
+     * page has to be reloaded from the store
+     */
+    static ProductPageDTO patch(ProductPageDTO page, CachedPage query, long productId, ProductDTO product) {
+        List<ProductDTO> items = new ArrayList<>(page.getItems());
+        int position = indexOf(items, productId);
+        boolean belongs = product != null && query.matches(product);
+        if (position >= 0) {
+            if (belongs) {
+                if (isNewer(items.get(position), product)) {
+                    return page;
+                }
+                items.set(position, product);
+            } else if (page.getNextCursor() == null) {
+                items.remove(position);
+            } else {
+                // The first item of the next page would have to move up
+                return null;
+            }
+        } else if (!belongs) {
+            return page;
+        } else if (page.getNextCursor() == null && items.size() < query.size()) {
+            items.add(-position - 1, product);
+        } else {
+            // The item would push another one onto the next page
+            return null;
+        }
+        return ProductPageDTO.builder()
+                .items(List.copyOf(items))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    private void clearPagesUnlessSequential(boolean written, Long before, Long after) {
+        // Another change was counted while this one rewrote pages, so either may have patched a copy
+        // that missed the other; unknown versions and failed patches are treated the same way
+        if (!written || before == null || after == null || after != before + 1) {
+            clearPages();
+        }
+    }
+
+    private void evictPage(Cache pages, String key, CachedPage page) {
+        pages.evict(key);
+        cachedPageRegistry.unregister(key, page);
+        cacheInvalidationPublisher.publishEvict(PAGES, key);
+    }
+
+    // Read-modify-write must start from Redis: this pod's local copy may predate another pod's rewrite
+    private static Object shared(Cache cache, Object key) {
+        Cache.ValueWrapper wrapper = cache instanceof TwoTierCache twoTierCache
+                ? twoTierCache.getRemote(key)
+                : cache.get(key);
+        return wrapper != null ? wrapper.get() : null;
+    }
+
+    private static boolean isNewer(ProductDTO cached, ProductDTO product) {
+        return cached.getVersion() != null && product.getVersion() != null
+                && cached.getVersion() >= product.getVersion();
+    }
+
+    // Binary search by id; as Collections.binarySearch, a missing id yields -(insertion point) - 1
+    private static int indexOf(List<ProductDTO> items, long productId) {
+        int low = 0;
+        int high = items.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = items.get(middle).getId();
+            if (id < productId) {
+                low = middle + 1;
+            } else if (id > productId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static Long lastItemId(ProductPageDTO page) {
+        List<ProductDTO> items = page.getItems();
+        return items.isEmpty() ? null : items.get(items.size() - 1).getId();
+    }
+
+    private void count(String cacheName, String result) {
+        Counter.builder("cache.write.through")
+                .description("Cache entries kept up to date by the projection, by what was done to them")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * What a cached page holds: products after {@code afterId} (null for the first page) matching
+     * the filters, up to {@code size} of them, ending at {@code lastId}.
+     *
+     * @param hasMore      whether the page has a next page; a last page covers every id after {@code afterId}
+     * @param registeredAt when the page was registered, in epoch milliseconds, which tells a load its
+     *                     own registration from a later one
+     */
+    public record CachedPage(Long afterId, int size, String category, String manufacturer, String status,
+                             Long lastId, boolean hasMore, long registeredAt) {
+
+        /**
+         * A page about to be loaded, which until then covers every id after {@code afterId}.
+         */
+        public static CachedPage of(Long afterId, int size, String category, String manufacturer, String status) {
+            return new CachedPage(afterId, size, category, manufacturer, status, null, false,
+                    System.currentTimeMillis());
+        }
+
+        boolean covers(long productId) {
+            return (afterId == null || productId > afterId) && (!hasMore || lastId == null || productId <= lastId);
+        }
+
+        boolean matches(ProductDTO product) {
+            return (category == null || category.equals(product.getCategory()))
+                    && (manufacturer == null || manufacturer.equals(product.getManufacturer()))
+                    && (status == null || status.equals(product.getStatus()))
+                    && (afterId == null || product.getId() > afterId);
+        }
+
+        CachedPage withContent(ProductPageDTO page) {
+            return new CachedPage(afterId, size, category, manufacturer, status, lastItemId(page),
+                    page.getNextCursor() != null, System.currentTimeMillis());
+        }
+    }
+}
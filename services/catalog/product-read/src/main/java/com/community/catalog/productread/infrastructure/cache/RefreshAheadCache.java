@@ -0,0 +1,248 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A single expensive value held by this pod, recomputed by at most one load at a time.
+ * <p>
+ * The value is tagged with the source version it was loaded at (the catalog version), which reads
+ * compare against the current one at most once per {@code versionCheckInterval}. Once the version
+ * moves on, or the time-to-live passes, callers keep getting the previous value while one
+ * background load replaces it; they only wait when there is no value yet, or when it has been
+ * stale for longer than {@code maxStale}, and then for at most {@code loadWaitTimeout}, after which
+ * the stale value is served anyway and a miss fails with {@link LoadTimeoutException}. Loads run on
+ * the given executor, which must not be one the callers run on, or waiting callers can hold every
+ * thread the load needs. Ahead of the time-to-live, each read may start the refresh early with a
+ * probability that grows as expiry nears and with how long the last load took ("XFetch"), so a busy value is usually replaced before anyone finds it expired.
+ * <p>
+ * {@code cache.recomputations} counts loads by trigger; {@code cache.recomputations.avoided}
+ * counts reads that needed a load but joined the one in flight or were answered with the stale value.
+ */
+@Slf4j
+public class RefreshAheadCache<T> {
+
+    private final String name;
+    private final Function<Long, T> loader;
+    private final Supplier<Long> versionSource;
+    private final long timeToLiveNanos;
+    private final long maxStaleNanos;
+    private final long loadWaitTimeoutNanos;
+    private final long versionCheckIntervalNanos;
+    private final double beta;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    private final AtomicReference<Entry<T>> entry = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Entry<T>>> inFlight = new AtomicReference<>();
+    private final AtomicLong lastVersionCheck;
+
+    private final Counter avoided;
+    private final Counter staleServed;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param loader               loads the value, given the source version read just before it
+     *                             starts, or null if that version is unknown
+     * @param versionSource        current version of the source, or null if unknown; an unknown
+     *                             version never marks the value stale, so the time-to-live still
+     *                             bounds staleness
+     * @param loadWaitTimeout      longest a read waits for a load
+     * @param versionCheckInterval how often reads compare the value's version with the source's;
+     *                             a change goes unnoticed for up to this long
+     * @param beta                 early refresh aggressiveness; 1 is the usual choice, 0 disables
+     *                             early refresh
+     */
+    public RefreshAheadCache(String name, Function<Long, T> loader, Supplier<Long> versionSource,
+                             Duration timeToLive, Duration maxStale, Duration loadWaitTimeout,
+                             Duration versionCheckInterval, double beta, Executor executor,
+                             MeterRegistry meterRegistry) {
+        this(name, loader, versionSource, timeToLive, maxStale, loadWaitTimeout, versionCheckInterval, beta, executor,
+                meterRegistry, System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RefreshAheadCache(String name, Function<Long, T> loader, Supplier<Long> versionSource, Duration timeToLive,
+                      Duration maxStale, Duration loadWaitTimeout, Duration versionCheckInterval, double beta,
+                      Executor executor, MeterRegistry meterRegistry, LongSupplier clock, DoubleSupplier random) {
+        this.name = name;
+        this.loader = loader;
+        this.versionSource = versionSource;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.loadWaitTimeoutNanos = loadWaitTimeout.toNanos();
+        this.versionCheckIntervalNanos = versionCheckInterval.toNanos();
+        this.lastVersionCheck = new AtomicLong(clock.getAsLong() - versionCheckIntervalNanos);
+        this.beta = beta;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.random = random;
+        this.avoided = Counter.builder("cache.recomputations.avoided")
+                .description("Reads that needed a recomputation but joined one in flight or got the stale value")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("cache.stale.served")
+                .description("Reads answered with a stale value while it was being recomputed")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public T get() {
+        Entry<T> current = entry.get();
+        long now = clock.getAsLong();
+        if (current == null) {
+            return await(refresh("miss"), null);
+        }
+
+        String trigger = refreshTrigger(current, now);
+        if (trigger == null) {
+            return current.value();
+        }
+        CompletableFuture<Entry<T>> refresh = refresh(trigger);
+        if ("early".equals(trigger)) {
+            return current.value();
+        }
+        if (current.staleFor(now, timeToLiveNanos) > maxStaleNanos) {
+            return await(refresh, current);
+        }
+        staleServed.increment();
+        return current.value();
+    }
+
+    private String refreshTrigger(Entry<T> current, long now) {
+        if (current.staleAt() != null) {
+            return "changed";
+        }
+        if (now - current.loadedAt() >= timeToLiveNanos) {
+            return "expired";
+        }
+        Long version = isVersionCheckDue(now) ? versionSource.get() : null;
+        if (version != null && !version.equals(current.version())) {
+            // Stale from the first read that notices, which is what maxStale is measured from
+            entry.compareAndSet(current, current.markedStale(now));
+            return "changed";
+        }
+        // XFetch: -ln(U) is exponentially distributed, so refreshes spread out ahead of expiry
+        double headStart = current.loadNanos() * beta * -Math.log(random.getAsDouble());
+        if (now + headStart >= current.loadedAt() + timeToLiveNanos) {
+            return "early";
+        }
+        return null;
+    }
+
+    // One read per interval looks the version up; the others rely on the time-to-live meanwhile
+    private boolean isVersionCheckDue(long now) {
+        long last = lastVersionCheck.get();
+        return now - last >= versionCheckIntervalNanos && lastVersionCheck.compareAndSet(last, now);
+    }
+
+    private CompletableFuture<Entry<T>> refresh(String trigger) {
+        CompletableFuture<Entry<T>> load = new CompletableFuture<>();
+        CompletableFuture<Entry<T>> running = inFlight.compareAndExchange(null, load);
+        if (running != null) {
+            avoided.increment();
+            return running;
+        }
+        Counter.builder("cache.recomputations")
+                .description("Recomputations of a refresh-ahead value, by what triggered them")
+                .tag("cache", name)
+                .tag("trigger", trigger)
+                .register(meterRegistry)
+                .increment();
+        try {
+            executor.execute(() -> load(load));
+        } catch (RuntimeException e) {
+            inFlight.set(null);
+            load.completeExceptionally(e);
+        }
+        return load;
+    }
+
+    private void load(CompletableFuture<Entry<T>> load) {
+        Entry<T> loaded;
+        try {
+            // Read before loading, so a change made meanwhile leaves the value looking older, not newer
+            Long version = versionSource.get();
+            long start = clock.getAsLong();
+            lastVersionCheck.set(start);
+            T value = loader.apply(version);
+            long end = clock.getAsLong();
+            loaded = new Entry<>(value, version, end, end - start, null);
+            entry.set(loaded);
+        } catch (Throwable t) {
+            // Errors too, or every later read would join a load that never completes
+            log.warn("Failed to recompute {}", name, t);
+            inFlight.set(null);
+            load.completeExceptionally(t);
+            if (t instanceof Error error) {
+                throw error;
+            }
+            return;
+        }
+        inFlight.set(null);
+        load.complete(loaded);
+    }
+
+    // Waits for a load; if it takes too long, the stale value is served, or a miss fails
+    private T await(CompletableFuture<Entry<T>> load, Entry<T> stale) {
+        try {
+            return load.get(loadWaitTimeoutNanos, TimeUnit.NANOSECONDS).value();
+        } catch (TimeoutException e) {
+            if (stale != null) {
+                staleServed.increment();
+                return stale.value();
+            }
+            throw new LoadTimeoutException("Timed out waiting for " + name + " to load", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTimeoutException("Interrupted waiting for " + name + " to load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Thrown by a read that found no value and gave up waiting for the load.
+     */
+    public static class LoadTimeoutException extends RuntimeException {
+        LoadTimeoutException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private record Entry<T>(T value, Long version, long loadedAt, long loadNanos, Long staleAt) {
+
+        Entry<T> markedStale(long now) {
+            return staleAt != null ? this : new Entry<>(value, version, loadedAt, loadNanos, now);
+        }
+
+        // How long the value has been known to be stale; negative while it is fresh
+        long staleFor(long now, long timeToLiveNanos) {
+            long expiredAt = loadedAt + timeToLiveNanos;
+            long since = staleAt != null ? Math.min(staleAt, expiredAt) : expiredAt;
+            return now - since;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Shares values that are expensive to load, such as the full product list, between product-read
+ * pods, so a catalog change makes one pod load the value rather than all of them.
+ * <p>
+ * Each load is stored in the shared tier under {@code <key>:<version>}, the source version it was
+ * loaded at, and {@value #LATEST_KEY_PREFIX}{@code <cache>::<key>} points at the newest one. A pod
+ * that needs a version first follows the pointer; if it is older, the pod claims the load
+ * ({@value #CLAIM_KEY_PREFIX}{@code <cache>::<key>}, held for at most {@code claimTimeout}) and
+ * publishes its result, while pods that lose the claim poll the pointer instead of loading too.
+ * A pod loads on its own only when Redis fails, or when the claim runs out before a value appears.
+ * <p>
+ * {@code cache.shared.loads} counts values by where they came from: {@code shared} (another
+ * pod's load), {@code loaded} (loaded here under the claim) or {@code fallback}.
+ */
+@Slf4j
+@Component
+public class SharedValueLoader {
+
+    static final String LATEST_KEY_PREFIX = "catalog:shared-latest:";
+    static final String CLAIM_KEY_PREFIX = "catalog:shared-claim:";
+
+    // Moves the pointer forward only, returning the version it pointed at before (or kept, if newer)
+    static final RedisScript<String> ADVANCE = new DefaultRedisScript<>("""
+            local current = redis.call('get', KEYS[1])
+            if current and tonumber(current) >= tonumber(ARGV[1]) then
+              return current
+            end
+            redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return current
+            """, String.class);
+    // Deletes a key only while it holds the given value
+    static final RedisScript<Long> DELETE_IF_EQUAL = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeToLive;
+    private final Duration claimTimeout;
+    private final Duration pollInterval;
+    private final String owner = UUID.randomUUID().toString();
+
+    public SharedValueLoader(CacheManager cacheManager, StringRedisTemplate redisTemplate,
+                             CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                             @Value("${catalog.shared-load.claim-timeout:30s}") Duration claimTimeout,
+                             @Value("${catalog.shared-load.poll-interval:100ms}") Duration pollInterval) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        Duration configured = cacheProperties.getRedis().getTimeToLive();
+        this.timeToLive = configured == null || configured.isZero() ? DEFAULT_TIME_TO_LIVE : configured;
+        this.claimTimeout = claimTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Returns the shared value at {@code version} or a newer one, loading and publishing it with
+     * {@code loader} if no pod has yet. Blocks while another pod holds the claim.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String cacheName, String key, long version, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        String name = cacheName + "::" + key;
+        long deadline = System.nanoTime() + claimTimeout.toNanos();
+        do {
+            Object shared = shared(cache, key, name, version);
+            if (shared != null) {
+                count(cacheName, "shared");
+                return (T) shared;
+            }
+            Boolean claimed = claim(name);
+            if (claimed == null) {
+                break;
+            }
+            if (claimed) {
+                try {
+                    T value = loader.get();
+                    publish(cache, key, name, version, value);
+                    count(cacheName, "loaded");
+                    return value;
+                } finally {
+                    release(name);
+                }
+            }
+        } while (System.nanoTime() - deadline < 0 && pause());
+
+        T value = loader.get();
+        publish(cache, key, name, version, value);
+        count(cacheName, "fallback");
+        return value;
+    }
+
+    private Object shared(Cache cache, String key, String name, long version) {
+        try {
+            String latest = redisTemplate.opsForValue().get(LATEST_KEY_PREFIX + name);
+            if (latest == null || Long.parseLong(latest) < version) {
+                return null;
+            }
+            String versionedKey = key + ":" + latest;
+            Cache.ValueWrapper wrapper = cache instanceof TwoTierCache twoTierCache
+                    ? twoTierCache.getRemote(versionedKey)
+                    : cache.get(versionedKey);
+            if (wrapper == null) {
+                // Evicted or expired before the pointer; drop it so the next load can replace it
+                redisTemplate.execute(DELETE_IF_EQUAL, List.of(LATEST_KEY_PREFIX + name), latest);
+                return null;
+            }
+            return wrapper.get();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the shared value {}", name, e);
+            return null;
+        }
+    }
+
+    // Null when Redis cannot tell, in which case the caller loads on its own
+    private Boolean claim(String name) {
+        try {
+            return Boolean.TRUE.equals(
+                    redisTemplate.opsForValue().setIfAbsent(CLAIM_KEY_PREFIX + name, owner, claimTimeout));
+        } catch (RuntimeException e) {
+            log.warn("Failed to claim the load of {}", name, e);
+            return null;
+        }
+    }
+
+    private void release(String name) {
+        try {
+            // Only while the claim is still this pod's, so a load that overran it cannot free the next one
+            redisTemplate.execute(DELETE_IF_EQUAL, List.of(CLAIM_KEY_PREFIX + name), owner);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release the load of {}; it expires in {}", name, claimTimeout, e);
+        }
+    }
+
+    private void publish(Cache cache, String key, String name, long version, Object value) {
+        try {
+            // Only this pod holds the value in memory, so it goes to the shared tier alone
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.putRemote(key + ":" + version, value);
+            } else {
+                cache.put(key + ":" + version, value);
+            }
+            String replaced = redisTemplate.execute(ADVANCE, List.of(LATEST_KEY_PREFIX + name),
+                    String.valueOf(version), String.valueOf(timeToLive.toMillis()));
+            if (replaced != null && !replaced.equals(String.valueOf(version))) {
+                // Drop whichever of the two the pointer no longer leads to
+                long superseded = Math.min(Long.parseLong(replaced), version);
+                cache.evict(key + ":" + superseded);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish the shared value {} at version {}", name, version, e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String cacheName, String source) {
+        Counter.builder("cache.shared.loads")
+                .description("Shared values obtained, by whether another pod loaded them, this pod did "
+                        + "under the claim, or this pod did without one")
+                .tag("cache", cacheName)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+}
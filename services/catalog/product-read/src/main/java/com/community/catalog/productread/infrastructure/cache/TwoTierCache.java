@@ -0,0 +1,357 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Cache with a bounded in-heap tier (L1) in front of a shared remote cache (L2). Reads are served
+ * from L1 when possible, so hot entries skip both the network round trip and deserialization.
+ * L1 entries are weighed by element count, so a cached list costs as much as its products.
+ * <p>
+ * Writes and evictions go to both tiers. Entries evicted on other pods are dropped from L1 by
+ * {@link CacheInvalidationListener}; the L1 time-to-live bounds staleness if a message is lost.
+ * <p>
+ * Synchronized loads ({@code @Cacheable(sync = true)}) are coalesced per key: concurrent misses on
+ * the same key wait for a single loader call on this pod. This holds for blocking loaders and for
+ * methods returning a {@link CompletableFuture}, whose callers share the pending future instead of
+ * blocking a thread. A caller joining a load waits at most {@code loadWaitTimeout} for it, which is
+ * the ProductLookup deadline by default, so a loader that never returns cannot pile up waiters.
+ * A future's value is written to both tiers on {@code writeExecutor} rather than on the thread
+ * completing it, which for ProductLookup is a gRPC callback thread that must not block on Redis;
+ * callers sharing the load are answered once the value is written.
+ */
+public class TwoTierCache implements Cache {
+
+    static final String LOCAL_TIER = "l1";
+    static final String REMOTE_TIER = "l2";
+
+    private final Cache remote;
+    private final Duration loadWaitTimeout;
+    private final Executor writeExecutor;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter localExplicitEvictions;
+    private final Counter remoteExplicitEvictions;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Map<RemovalCause, Counter> localEvictions = new EnumMap<>(RemovalCause.class);
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    public TwoTierCache(Cache remote, long maximumWeight, Duration timeToLive, Duration loadWaitTimeout,
+                        Executor writeExecutor, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.writeExecutor = writeExecutor;
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                localEvictions.put(cause, evictions(meterRegistry, LOCAL_TIER, cause.name().toLowerCase()));
+            }
+        }
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(TwoTierCache::weigh)
+                .expireAfterWrite(timeToLive)
+                .evictionListener((String key, ValueWrapper value, RemovalCause cause) ->
+                        localEvictions.get(cause).increment())
+                .build();
+        this.localHits = gets(meterRegistry, LOCAL_TIER, "hit");
+        this.localMisses = gets(meterRegistry, LOCAL_TIER, "miss");
+        this.remoteHits = gets(meterRegistry, REMOTE_TIER, "hit");
+        this.remoteMisses = gets(meterRegistry, REMOTE_TIER, "miss");
+        this.localExplicitEvictions = evictions(meterRegistry, LOCAL_TIER, "explicit");
+        this.remoteExplicitEvictions = evictions(meterRegistry, REMOTE_TIER, "explicit");
+        this.loads = loads(meterRegistry, "loaded");
+        this.coalescedLoads = loads(meterRegistry, "coalesced");
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.getIfPresent(localKey(key));
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+        ValueWrapper loaded = remote.get(key);
+        if (loaded == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey(key), loaded);
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey(key), load);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            return (T) await(key, valueLoader, inFlight);
+        }
+        try {
+            // A load that finished between our miss and claiming the key has already filled L1
+            ValueWrapper loaded = local.getIfPresent(localKey(key));
+            if (loaded != null) {
+                load.complete(loaded.get());
+                return (T) loaded.get();
+            }
+            T value = valueLoader.call();
+            put(key, value);
+            loads.increment();
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlightLoads.remove(localKey(key), load);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        // The shared tier is read synchronously; a hit on either tier is already complete
+        ValueWrapper cached = get(key);
+        return cached != null ? CompletableFuture.completedFuture(cached) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture((T) cached.get());
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey(key), load);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            return (CompletableFuture<T>) inFlight.copy()
+                    .orTimeout(loadWaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        ValueWrapper loaded = local.getIfPresent(localKey(key));
+        if (loaded != null) {
+            inFlightLoads.remove(localKey(key), load);
+            load.complete(loaded.get());
+            return CompletableFuture.completedFuture((T) loaded.get());
+        }
+        try {
+            valueLoader.get().whenComplete((value, failure) -> {
+                try {
+                    writeExecutor.execute(() -> completeLoad(key, load, value, failure));
+                } catch (RejectedExecutionException e) {
+                    // Better to block this thread on Redis than to leave the callers waiting
+                    completeLoad(key, load, value, failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightLoads.remove(localKey(key), load);
+            load.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) load.copy();
+    }
+
+    private void completeLoad(Object key, CompletableFuture<Object> load, Object value, Throwable failure) {
+        try {
+            if (failure == null) {
+                put(key, value);
+                loads.increment();
+            }
+        } finally {
+            inFlightLoads.remove(localKey(key), load);
+            if (failure != null) {
+                load.completeExceptionally(failure);
+            } else {
+                load.complete(value);
+            }
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(localKey(key), existing != null ? existing : new SimpleValueWrapper(value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(key);
+        remoteExplicitEvictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocal(key);
+        remoteExplicitEvictions.increment();
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        remoteExplicitEvictions.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        remoteExplicitEvictions.increment();
+        return invalidated;
+    }
+
+    /**
+     * Reads the shared tier only, bypassing an L1 copy that another pod may have replaced since.
+     */
+    public ValueWrapper getRemote(Object key) {
+        return remote.get(key);
+    }
+
+    /**
+     * Writes the shared tier only, for values this pod already holds outside L1.
+     */
+    public void putRemote(Object key, Object value) {
+        remote.put(key, value);
+    }
+
+    /**
+     * Drops a key from this pod's L1 only, leaving the shared tier untouched.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(localKey(key));
+        localExplicitEvictions.increment();
+    }
+
+    /**
+     * Drops every entry from this pod's L1 only, leaving the shared tier untouched.
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+        localExplicitEvictions.increment();
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        try {
+            return load.get(loadWaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    long localSize() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    // Remote keys are converted to strings as well, so 42L and "42" address the same entry in both tiers
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static int weigh(String key, ValueWrapper wrapper) {
+        Object value = wrapper.get();
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof ProductPageDTO page) {
+            return Math.max(1, page.getItems().size());
+        }
+        return 1;
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loads(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.tier.loads")
+                .description("Synchronized cache misses, by whether they ran the loader or joined one in flight")
+                .tag("cache", getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictions(MeterRegistry meterRegistry, String tier, String cause) {
+        return Counter.builder("cache.tier.evictions")
+                .description("Entries removed from a cache tier, by cause")
+                .tag("cache", getName())
+                .tag("tier", tier)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+}
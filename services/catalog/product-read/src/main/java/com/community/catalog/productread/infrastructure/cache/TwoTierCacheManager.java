@@ -0,0 +1,51 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Wraps every cache of a remote {@link CacheManager} in a {@link TwoTierCache}.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final long maximumWeight;
+    private final Duration timeToLive;
+    private final Duration loadWaitTimeout;
+    private final Executor writeExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote, long maximumWeight, Duration timeToLive,
+                               Duration loadWaitTimeout, Executor writeExecutor, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.maximumWeight = maximumWeight;
+        this.timeToLive = timeToLive;
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.writeExecutor = writeExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remoteCache = remote.getCache(cacheName);
+            return remoteCache != null
+                    ? new TwoTierCache(remoteCache, maximumWeight, timeToLive, loadWaitTimeout, writeExecutor,
+                            meterRegistry)
+                    : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+}
@@ -0,0 +1,157 @@
+package com.community.catalog.productread.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import product_lookup.ProductLookupOuterClass;
+
+import javax.sql.DataSource;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the whole catalog from a JDBC cursor straight to an output stream. Rows are written as
+ * they are fetched and never collected, so heap use does not depend on the catalog size.
+ * Must run inside a transaction, otherwise PostgreSQL ignores the fetch size and buffers every row.
+ * <p>
+ * A NULL stock quantity is written as JSON {@code null}. In protobuf it is left unset, which the
+ * {@code Product} message cannot tell apart from 0.
+ */
+@Component
+public class ProductExporter {
+
+    private static final String EXPORT_SQL = "SELECT id, name, description, price, stock_quantity, sku, image_url,"
+            + " category, manufacturer, status, version, created_at, updated_at FROM product_views ORDER BY id";
+
+    // Same timestamp format as the ProductLookup service
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    private final int flushEvery;
+
+    public ProductExporter(DataSource dataSource, ObjectMapper objectMapper,
+                           @Value("${catalog.export.fetch-size:1000}") int fetchSize,
+                           @Value("${catalog.export.flush-every:1000}") int flushEvery) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.jsonFactory = objectMapper.getFactory();
+        this.flushEvery = flushEvery;
+    }
+
+    public long exportNdjson(OutputStream output) {
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            return stream(rs -> {
+                writeJson(generator, rs);
+                generator.writeRaw('\n');
+            }, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write product export", e);
+        }
+    }
+
+    public long exportProtobuf(OutputStream output) {
+        CodedOutputStream coded = CodedOutputStream.newInstance(output);
+        // CodedOutputStream.flush only empties its own buffer into the stream
+        return stream(rs -> coded.writeMessageNoTag(toProto(rs)), () -> {
+            coded.flush();
+            output.flush();
+        });
+    }
+
+    private long stream(RowWriter writer, Flushable flushable) {
+        AtomicLong rows = new AtomicLong();
+        jdbcTemplate.query(EXPORT_SQL, rs -> {
+            try {
+                writer.write(rs);
+                if (rows.incrementAndGet() % flushEvery == 0) {
+                    flushable.flush();
+                }
+            } catch (IOException e) {
+                // Usually a client that went away; failing here also closes the cursor
+                throw new UncheckedIOException("Failed to write product export", e);
+            }
+        });
+        try {
+            flushable.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write product export", e);
+        }
+        return rows.get();
+    }
+
+    private void writeJson(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("name", rs.getString("name"));
+        generator.writeStringField("description", rs.getString("description"));
+        generator.writeNumberField("price", rs.getBigDecimal("price"));
+        Integer quantity = rs.getObject("stock_quantity", Integer.class);
+        generator.writeFieldName("quantity");
+        if (quantity != null) {
+            generator.writeNumber(quantity);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeStringField("sku", rs.getString("sku"));
+        generator.writeStringField("imageUrl", rs.getString("image_url"));
+        generator.writeStringField("category", rs.getString("category"));
+        generator.writeStringField("manufacturer", rs.getString("manufacturer"));
+        generator.writeStringField("status", rs.getString("status"));
+        generator.writeNumberField("version", rs.getInt("version"));
+        generator.writeStringField("createdAt", format(rs.getTimestamp("created_at")));
+        generator.writeStringField("updatedAt", format(rs.getTimestamp("updated_at")));
+        generator.writeEndObject();
+    }
+
+    private ProductLookupOuterClass.Product toProto(ResultSet rs) throws SQLException {
+        ProductLookupOuterClass.Product.Builder product = ProductLookupOuterClass.Product.newBuilder();
+        Integer quantity = rs.getObject("stock_quantity", Integer.class);
+        if (quantity != null) {
+            product.setQuantity(quantity);
+        }
+        return product
+                .setId(String.valueOf(rs.getLong("id")))
+                .setName(nullToEmpty(rs.getString("name")))
+                .setDescription(nullToEmpty(rs.getString("description")))
+                .setPrice(rs.getDouble("price"))
+                .setSku(nullToEmpty(rs.getString("sku")))
+                .setImageUrl(nullToEmpty(rs.getString("image_url")))
+                .setCategory(nullToEmpty(rs.getString("category")))
+                .setManufacturer(nullToEmpty(rs.getString("manufacturer")))
+                .setStatus(nullToEmpty(rs.getString("status")))
+                .setVersion(rs.getInt("version"))
+                .setCreatedAt(nullToEmpty(format(rs.getTimestamp("created_at"))))
+                .setUpdatedAt(nullToEmpty(format(rs.getTimestamp("updated_at"))))
+                .build();
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp != null ? TIMESTAMP_FORMAT.format(timestamp.toInstant()) : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
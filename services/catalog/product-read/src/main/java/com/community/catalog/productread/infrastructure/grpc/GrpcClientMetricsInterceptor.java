@@ -0,0 +1,56 @@
+package com.community.catalog.productread.infrastructure.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a latency histogram per RPC method and status code. Installed above the retry layer,
+ * so a hedged call is measured once, from the first attempt to the response that won.
+ */
+public class GrpcClientMetricsInterceptor implements ClientInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcClientMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                long start = System.nanoTime();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        timer(method, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    private Timer timer(MethodDescriptor<?, ?> method, Status status) {
+        return Timer.builder("grpc.client.requests")
+                .description("Latency of outgoing gRPC calls")
+                .tag("service", String.valueOf(method.getServiceName()))
+                .tag("method", String.valueOf(method.getBareMethodName()))
+                .tag("status", status.getCode().name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
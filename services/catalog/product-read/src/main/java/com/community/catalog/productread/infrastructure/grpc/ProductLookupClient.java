@@ -0,0 +1,84 @@
+package com.community.catalog.productread.infrastructure.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import product_lookup.ProductLookupGrpc;
+import product_lookup.ProductLookupOuterClass;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking ProductLookup client. Calls are spread round-robin over a small pool of channels,
+ * each with its own HTTP/2 connection, and every call carries a deadline so a slow backend fails
+ * fast instead of holding the caller.
+ */
+public class ProductLookupClient implements AutoCloseable {
+
+    private final List<ManagedChannel> channels;
+    private final List<ProductLookupGrpc.ProductLookupStub> stubs;
+    private final Duration deadline;
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    public ProductLookupClient(List<ManagedChannel> channels, Duration deadline) {
+        this.channels = List.copyOf(channels);
+        this.stubs = this.channels.stream().map(ProductLookupGrpc::newStub).toList();
+        this.deadline = deadline;
+    }
+
+    public CompletableFuture<ProductLookupOuterClass.Product> getProductById(long id) {
+        ProductLookupOuterClass.GetProductByIdRequest request = ProductLookupOuterClass.GetProductByIdRequest.newBuilder()
+                .setId(String.valueOf(id))
+                .build();
+        return call(request, ProductLookupGrpc.ProductLookupStub::getProductById);
+    }
+
+    public CompletableFuture<ProductLookupOuterClass.GetProductsByIdsResponse> getProductsByIds(List<Long> ids) {
+        ProductLookupOuterClass.GetProductsByIdsRequest request = ProductLookupOuterClass.GetProductsByIdsRequest.newBuilder()
+                .addAllIds(ids.stream().map(String::valueOf).toList())
+                .build();
+        return call(request, ProductLookupGrpc.ProductLookupStub::getProductsByIds);
+    }
+
+    private <Q, R> CompletableFuture<R> call(Q request, RpcMethod<Q, R> method) {
+        CompletableFuture<R> response = new CompletableFuture<>();
+        // Deadlines are absolute, so the stub has to be derived per call
+        ProductLookupGrpc.ProductLookupStub stub = nextStub().withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        method.accept(stub, request, new StreamObserver<>() {
+            @Override
+            public void onNext(R value) {
+                response.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                response.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        return response;
+    }
+
+    private ProductLookupGrpc.ProductLookupStub nextStub() {
+        return stubs.get(Math.floorMod(nextChannel.getAndIncrement(), stubs.size()));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channels.forEach(ManagedChannel::shutdown);
+        for (ManagedChannel channel : channels) {
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RpcMethod<Q, R> {
+        void accept(ProductLookupGrpc.ProductLookupStub stub, Q request, StreamObserver<R> responseObserver);
+    }
+}
@@ -0,0 +1,129 @@
+package com.community.catalog.productread.infrastructure.projection;
+
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes the {@code product_views} read store. Upserts are conditional on {@code version}, so a
+ * redelivered or out-of-order event can never overwrite a newer row, and deletes leave a tombstone,
+ * so such an event can never bring back a deleted one.
+ */
+@Slf4j
+@Component
+public class ProductViewWriter {
+
+    private static final String UPSERT_SQL = "INSERT INTO product_views (id, name, description, price,"
+            + " stock_quantity, sku, image_url, category, manufacturer, status, version, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description,"
+            + " price = EXCLUDED.price, stock_quantity = EXCLUDED.stock_quantity, sku = EXCLUDED.sku,"
+            + " image_url = EXCLUDED.image_url, category = EXCLUDED.category,"
+            + " manufacturer = EXCLUDED.manufacturer, status = EXCLUDED.status, version = EXCLUDED.version,"
+            + " updated_at = EXCLUDED.updated_at"
+            + " WHERE product_views.version < EXCLUDED.version";
+
+    private static final String TOMBSTONED_SQL = "SELECT EXISTS (SELECT 1 FROM product_view_tombstones WHERE id = ?)";
+
+    private static final String TOMBSTONE_SQL = "INSERT INTO product_view_tombstones (id, version, deleted_at)"
+            + " VALUES (?, ?, ?) ON CONFLICT (id) DO UPDATE"
+            + " SET version = GREATEST(product_view_tombstones.version, EXCLUDED.version)";
+
+    private static final String DELETE_SQL = "DELETE FROM product_views WHERE id = ?";
+
+    // Copies rows that are missing or older than in the write-side table; rows already projected
+    // from newer events are left alone
+    private static final String COPY_NEWER_SQL = "INSERT INTO product_views (id, name, description, price,"
+            + " stock_quantity, sku, image_url, category, manufacturer, status, version, created_at, updated_at)"
+            + " SELECT id, name, description, price, stock_quantity, sku, image_url, category, manufacturer,"
+            + " status, version, created_at, updated_at FROM products p"
+            + " WHERE NOT EXISTS (SELECT 1 FROM product_view_tombstones t WHERE t.id = p.id)"
+            + " ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description,"
+            + " price = EXCLUDED.price, stock_quantity = EXCLUDED.stock_quantity, sku = EXCLUDED.sku,"
+            + " image_url = EXCLUDED.image_url, category = EXCLUDED.category,"
+            + " manufacturer = EXCLUDED.manufacturer, status = EXCLUDED.status, version = EXCLUDED.version,"
+            + " updated_at = EXCLUDED.updated_at"
+            + " WHERE product_views.version < EXCLUDED.version"
+            + " RETURNING id";
+
+    private static final String DELETE_MISSING_SQL = "DELETE FROM product_views v"
+            + " WHERE NOT EXISTS (SELECT 1 FROM products p WHERE p.id = v.id) RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionStore catalogVersionStore;
+
+    public ProductViewWriter(DataSource dataSource, CatalogVersionStore catalogVersionStore) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.catalogVersionStore = catalogVersionStore;
+    }
+
+    /**
+     * Inserts the product, or replaces the stored row if it has an older version.
+     *
+     * @return whether the row was written; false means the event was stale
+     */
+    public boolean upsertIfNewer(ProductView product) {
+        // Events for one product are projected one at a time, so the delete cannot land in between
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TOMBSTONED_SQL, Boolean.class, product.getId()))) {
+            return false;
+        }
+        return jdbcTemplate.update(UPSERT_SQL,
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getSku(),
+                product.getImageUrl(),
+                product.getCategory(),
+                product.getManufacturer(),
+                product.getStatus(),
+                product.getVersion(),
+                new Timestamp(product.getCreatedAt().getTime()),
+                new Timestamp(product.getUpdatedAt().getTime())) > 0;
+    }
+
+    /**
+     * Deletes the product and tombstones it.
+     *
+     * @return whether a row was deleted
+     */
+    public boolean delete(long productId, long version) {
+        jdbcTemplate.update(TOMBSTONE_SQL, productId, version, new Timestamp(System.currentTimeMillis()));
+        return jdbcTemplate.update(DELETE_SQL, productId) > 0;
+    }
+
+    /**
+     * Copies products that are missing from the store or newer in the write-side table, and deletes
+     * rows whose product is gone. Safe to run while events are projected, since both sides only
+     * ever move a row to a newer version.
+     */
+    public Reconciliation reconcile() {
+        boolean seeding = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM product_views)", Boolean.class));
+        List<Long> changed = jdbcTemplate.queryForList(COPY_NEWER_SQL, Long.class);
+        List<Long> removed = jdbcTemplate.queryForList(DELETE_MISSING_SQL, Long.class);
+        if (seeding) {
+            log.info("Seeded product_views with {} products", changed.size());
+            // Nothing could be cached from an empty store, so one version bump covers the whole copy
+            catalogVersionStore.catalogChanged();
+        } else if (!changed.isEmpty() || !removed.isEmpty()) {
+            log.warn("Reconciled product_views: {} products copied, {} removed", changed.size(), removed.size());
+        }
+        return new Reconciliation(seeding, changed, removed);
+    }
+
+    /**
+     * @param seeded  whether the store was empty, in which case the caches need no per-product refresh
+     * @param changed ids of products copied from the write side
+     * @param removed ids of products deleted from the store
+     */
+    public record Reconciliation(boolean seeded, List<Long> changed, List<Long> removed) {
+    }
+}
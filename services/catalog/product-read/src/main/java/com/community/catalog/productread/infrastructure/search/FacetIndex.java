@@ -0,0 +1,342 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Inverted index over products. Every product gets a document number; each facet value maps to a
+ * bitset ({@code long[]} words) of the documents carrying it, and prices are kept as a sorted array
+ * of cents with the matching document numbers, so a price range is two binary searches.
+ * <p>
+ * Documents are numbered in load order and removed documents leave a hole, so a rebuild compacts
+ * the index. Not thread-safe; {@link ProductSearchIndex} guards access.
+ */
+public final class FacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String MANUFACTURER = "manufacturer";
+    public static final String STATUS = "status";
+
+    private static final List<Facet> FACETS = List.of(
+            new Facet(CATEGORY, ProductDTO::getCategory),
+            new Facet(MANUFACTURER, ProductDTO::getManufacturer),
+            new Facet(STATUS, ProductDTO::getStatus));
+
+    private ProductDTO[] documents;
+    private int documentCount;
+    private long[] live;
+    private final Map<Long, Integer> documentsById = new HashMap<>();
+    private final Map<String, Map<String, long[]>> postings = new HashMap<>();
+
+    private long[] priceCents;
+    private int[] priceDocuments;
+    private int priceCount;
+
+    public FacetIndex(int expectedSize) {
+        int capacity = Math.max(64, expectedSize);
+        documents = new ProductDTO[capacity];
+        live = new long[words(capacity)];
+        priceCents = new long[capacity];
+        priceDocuments = new int[capacity];
+        for (Facet facet : FACETS) {
+            postings.put(facet.name(), new HashMap<>());
+        }
+    }
+
+    public static FacetIndex of(Collection<ProductDTO> products) {
+        FacetIndex index = new FacetIndex(products.size());
+        for (ProductDTO product : products) {
+            index.upsert(product);
+        }
+        return index;
+    }
+
+    public int size() {
+        return documentsById.size();
+    }
+
+    /**
+     * Adds or replaces a product. A product older than the indexed one (by {@code version}) is ignored.
+     */
+    public void upsert(ProductDTO product) {
+        Integer existing = documentsById.get(product.getId());
+        int document;
+        if (existing != null) {
+            if (isOlder(product, documents[existing])) {
+                return;
+            }
+            document = existing;
+            unindex(document);
+        } else {
+            document = documentCount++;
+            ensureCapacity(documentCount);
+            documentsById.put(product.getId(), document);
+        }
+        documents[document] = product;
+        set(live, document);
+        for (Facet facet : FACETS) {
+            String value = facet.value().apply(product);
+            if (value != null) {
+                Map<String, long[]> values = postings.get(facet.name());
+                long[] bits = values.get(value);
+                if (bits == null || bits.length < words(document + 1)) {
+                    bits = bits == null ? new long[live.length] : Arrays.copyOf(bits, live.length);
+                    values.put(value, bits);
+                }
+                set(bits, document);
+            }
+        }
+        if (product.getPrice() != null) {
+            insertPrice(cents(product.getPrice()), document);
+        }
+    }
+
+    public void remove(long productId) {
+        Integer document = documentsById.remove(productId);
+        if (document != null) {
+            unindex(document);
+            documents[document] = null;
+            clear(live, document);
+        }
+    }
+
+    public Result search(Criteria criteria, int offset, int limit) {
+        long[] base = Arrays.copyOf(live, words(documentCount));
+        if (criteria.minPrice() != null || criteria.maxPrice() != null) {
+            and(base, priceRange(criteria.minPrice(), criteria.maxPrice(), base.length));
+        }
+        Map<String, long[]> facetFilters = new HashMap<>();
+        for (Facet facet : FACETS) {
+            Collection<String> selected = criteria.selected(facet.name());
+            if (selected != null && !selected.isEmpty()) {
+                facetFilters.put(facet.name(), union(postings.get(facet.name()), selected, base.length));
+            }
+        }
+
+        long[] matches = base.clone();
+        facetFilters.values().forEach(filter -> and(matches, filter));
+
+        // Each facet is counted with every filter except its own, so the other values stay selectable
+        Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+        for (Facet facet : FACETS) {
+            long[] mask = base.clone();
+            facetFilters.forEach((name, filter) -> {
+                if (!name.equals(facet.name())) {
+                    and(mask, filter);
+                }
+            });
+            facetCounts.put(facet.name(), counts(postings.get(facet.name()), mask));
+        }
+
+        List<ProductDTO> items = new ArrayList<>(Math.min(limit, 256));
+        int total = 0;
+        for (int word = 0; word < matches.length; word++) {
+            long bits = matches[word];
+            total += Long.bitCount(bits);
+            while (bits != 0 && items.size() < limit) {
+                int document = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (offset > 0) {
+                    offset--;
+                } else {
+                    items.add(documents[document]);
+                }
+            }
+        }
+        return new Result(items, total, facetCounts);
+    }
+
+    private static boolean isOlder(ProductDTO candidate, ProductDTO indexed) {
+        return candidate.getVersion() != null && indexed.getVersion() != null
+                && candidate.getVersion() < indexed.getVersion();
+    }
+
+    private void unindex(int document) {
+        ProductDTO previous = documents[document];
+        for (Facet facet : FACETS) {
+            String value = facet.value().apply(previous);
+            if (value != null) {
+                Map<String, long[]> values = postings.get(facet.name());
+                long[] bits = values.get(value);
+                clear(bits, document);
+                if (isEmpty(bits)) {
+                    values.remove(value);
+                }
+            }
+        }
+        if (previous.getPrice() != null) {
+            removePrice(cents(previous.getPrice()), document);
+        }
+    }
+
+    private void insertPrice(long cents, int document) {
+        if (priceCount == priceCents.length) {
+            priceCents = Arrays.copyOf(priceCents, priceCount * 2);
+            priceDocuments = Arrays.copyOf(priceDocuments, priceCount * 2);
+        }
+        int position = upperBound(cents);
+        System.arraycopy(priceCents, position, priceCents, position + 1, priceCount - position);
+        System.arraycopy(priceDocuments, position, priceDocuments, position + 1, priceCount - position);
+        priceCents[position] = cents;
+        priceDocuments[position] = document;
+        priceCount++;
+    }
+
+    private void removePrice(long cents, int document) {
+        for (int position = lowerBound(cents); position < priceCount && priceCents[position] == cents; position++) {
+            if (priceDocuments[position] == document) {
+                System.arraycopy(priceCents, position + 1, priceCents, position, priceCount - position - 1);
+                System.arraycopy(priceDocuments, position + 1, priceDocuments, position, priceCount - position - 1);
+                priceCount--;
+                return;
+            }
+        }
+    }
+
+    private long[] priceRange(BigDecimal min, BigDecimal max, int words) {
+        int from = min != null ? lowerBound(cents(min)) : 0;
+        int to = max != null ? upperBound(cents(max)) : priceCount;
+        long[] bits = new long[words];
+        for (int position = from; position < to; position++) {
+            set(bits, priceDocuments[position]);
+        }
+        return bits;
+    }
+
+    // First position whose price is >= cents
+    private int lowerBound(long cents) {
+        int low = 0;
+        int high = priceCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceCents[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose price is > cents
+    private int upperBound(long cents) {
+        int low = 0;
+        int high = priceCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceCents[mid] <= cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > documents.length) {
+            int capacity = Math.max(required, documents.length * 2);
+            documents = Arrays.copyOf(documents, capacity);
+            live = Arrays.copyOf(live, words(capacity));
+        }
+    }
+
+    private static long[] union(Map<String, long[]> values, Collection<String> selected, int words) {
+        long[] bits = new long[words];
+        for (String value : selected) {
+            long[] posting = values.get(value);
+            if (posting != null) {
+                for (int i = 0; i < Math.min(words, posting.length); i++) {
+                    bits[i] |= posting[i];
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static Map<String, Integer> counts(Map<String, long[]> values, long[] mask) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        values.forEach((value, posting) -> {
+            int count = 0;
+            for (int i = 0; i < Math.min(mask.length, posting.length); i++) {
+                count += Long.bitCount(posting[i] & mask[i]);
+            }
+            if (count > 0) {
+                counts.add(Map.entry(value, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static void and(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= i < other.length ? other[i] : 0L;
+        }
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void set(long[] bits, int document) {
+        bits[document >>> 6] |= 1L << document;
+    }
+
+    private static void clear(long[] bits, int document) {
+        bits[document >>> 6] &= ~(1L << document);
+    }
+
+    private static int words(int documents) {
+        return (documents + 63) >>> 6;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private record Facet(String name, Function<ProductDTO, String> value) {
+    }
+
+    /**
+     * Selected facet values (any of them matches) and an inclusive price range; null or empty means no filter.
+     */
+    public record Criteria(Collection<String> categories, Collection<String> manufacturers,
+                           Collection<String> statuses, BigDecimal minPrice, BigDecimal maxPrice) {
+
+        Collection<String> selected(String facet) {
+            return switch (facet) {
+                case CATEGORY -> categories;
+                case MANUFACTURER -> manufacturers;
+                case STATUS -> statuses;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * One page of matches in document order, the total number of matches and the count of each
+     * facet value, sorted by count.
+     */
+    public record Result(List<ProductDTO> items, int total, Map<String, Map<String, Integer>> facets) {
+    }
+}
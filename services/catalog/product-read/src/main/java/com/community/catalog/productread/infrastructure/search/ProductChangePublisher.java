@@ -0,0 +1,29 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Announces a changed product id to every product-read pod, so each can refresh its in-process
+ * search index. The message body is the product id.
+ */
+@Slf4j
+public class ProductChangePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public ProductChangePublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishChanged(long productId) {
+        // A lost message leaves other pods' indexes stale until their next rebuild
+        try {
+            redisTemplate.convertAndSend(channel, String.valueOf(productId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish change of product {} on channel '{}'", productId, channel, e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.snapshot.CatalogSnapshot;
+import com.community.catalog.productread.infrastructure.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This pod's {@link FacetIndex} and {@link SuggestionIndex} over the product_views store. Built when
+ * the application starts and rebuilt periodically to compact them; in between, every pod reloads
+ * single products as they are announced on the product change channel by the event projection.
+ * <p>
+ * Every rebuild also saves a {@link CatalogSnapshot} to local disk. A restarted pod starts from that
+ * snapshot instead of reading the whole store, then reloads only the products whose version in the
+ * store differs from the snapshot, skipping even that if the catalog version has not moved.
+ * <p>
+ * Suggestions are ranked by how often this pod has served each product since it started; the
+ * ranking picks up new counts when a product is reloaded or the index rebuilt.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex implements MessageListener {
+
+    private static final int CATCH_UP_BATCH_SIZE = 500;
+
+    private final ProductViewRepository productViewRepository;
+    private final CatalogVersionStore catalogVersionStore;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final MeterRegistry meterRegistry;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ConcurrentMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+    private FacetIndex index = new FacetIndex(0);
+    private SuggestionIndex suggestions = new SuggestionIndex(0);
+    private boolean ready;
+    // Products changed while a rebuild was reading the store; reloaded once it is swapped in
+    private Set<Long> changedDuringRebuild;
+
+    public ProductSearchIndex(ProductViewRepository productViewRepository, CatalogVersionStore catalogVersionStore,
+                              CatalogSnapshotStore catalogSnapshotStore, MeterRegistry meterRegistry) {
+        this.productViewRepository = productViewRepository;
+        this.catalogVersionStore = catalogVersionStore;
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Whether the initial build has completed; until then searches would see an empty catalog, so
+     * they are refused and {@link SearchIndexHealthIndicator} keeps the pod out of readiness.
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FacetIndex.Result search(FacetIndex.Criteria criteria, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(criteria, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductDTO> suggest(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return suggestions.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a served product towards its suggestion ranking.
+     */
+    public void recordView(long productId) {
+        views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    // Ordered after the product_views seed, which runs on the same event
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void build() {
+        CatalogSnapshot snapshot = catalogSnapshotStore.load();
+        if (snapshot == null || !loadSnapshot(snapshot)) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.search.rebuild-interval:PT10M}",
+            fixedDelayString = "${catalog.search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        startRebuild();
+        // Read before the products, so changes made while they load make the snapshot look older, not newer
+        Long catalogVersion = catalogVersionStore.catalogVersion();
+        List<ProductDTO> products = productViewRepository.findAll(Sort.by("id")).stream()
+                .map(ProductDTO::from)
+                .toList();
+        swap(products);
+        long elapsed = System.nanoTime() - start;
+        record("store", elapsed);
+        log.info("Built search index over {} products in {} ms", products.size(), elapsed / 1_000_000);
+        // Unknown versions are saved as -1, which never matches, so the next start catches up in full
+        catalogSnapshotStore.save(catalogVersion != null ? catalogVersion : -1L, products);
+    }
+
+    private boolean loadSnapshot(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        List<ProductDTO> products;
+        try {
+            products = snapshot.products();
+        } catch (IOException e) {
+            log.warn("Ignoring corrupt catalog snapshot", e);
+            return false;
+        }
+        startRebuild();
+        swap(products);
+        long elapsed = System.nanoTime() - start;
+        record("snapshot", elapsed);
+        log.info("Loaded search index from a snapshot of {} products at catalog version {} in {} ms",
+                products.size(), snapshot.catalogVersion(), elapsed / 1_000_000);
+
+        Long catalogVersion = catalogVersionStore.catalogVersion();
+        if (catalogVersion == null || catalogVersion != snapshot.catalogVersion()) {
+            catchUp(snapshot.versions());
+        }
+        return true;
+    }
+
+    /**
+     * Brings an index loaded from a snapshot up to date: reloads products whose version in the store
+     * differs from the snapshot or that are new, and drops those no longer in the store.
+     */
+    private void catchUp(Map<Long, Integer> snapshotVersions) {
+        long start = System.nanoTime();
+        Map<Long, Integer> removed = new HashMap<>(snapshotVersions);
+        List<Long> changed = new ArrayList<>();
+        for (ProductViewRepository.ProductVersion current : productViewRepository.findAllVersions()) {
+            Integer snapshotVersion = removed.remove(current.getId());
+            if (snapshotVersion == null || snapshotVersion != current.getVersion()) {
+                changed.add(current.getId());
+            }
+        }
+        for (int from = 0; from < changed.size(); from += CATCH_UP_BATCH_SIZE) {
+            List<ProductDTO> products = productViewRepository
+                    .findAllById(changed.subList(from, Math.min(from + CATCH_UP_BATCH_SIZE, changed.size())))
+                    .stream()
+                    .map(ProductDTO::from)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                products.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removed.keySet().forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Caught up search index with the store in {} ms: {} products reloaded, {} removed",
+                (System.nanoTime() - start) / 1_000_000, changed.size(), removed.size());
+    }
+
+    private void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void swap(List<ProductDTO> products) {
+        FacetIndex rebuilt = FacetIndex.of(products);
+        SuggestionIndex rebuiltSuggestions = new SuggestionIndex(products.size());
+        products.forEach(product -> rebuiltSuggestions.upsert(product, popularity(product.getId())));
+
+        Set<Long> changed;
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            suggestions = rebuiltSuggestions;
+            ready = true;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed.forEach(this::refresh);
+    }
+
+    /**
+     * Reloads one product from the store, dropping it from the index if it no longer exists.
+     */
+    public void refresh(long productId) {
+        ProductDTO product = productViewRepository.findById(productId).map(ProductDTO::from).orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(productId);
+            }
+            if (product != null) {
+                upsert(product);
+            } else {
+                remove(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void upsert(ProductDTO product) {
+        index.upsert(product);
+        suggestions.upsert(product, popularity(product.getId()));
+    }
+
+    private void remove(long productId) {
+        index.remove(productId);
+        suggestions.remove(productId);
+        views.remove(productId);
+    }
+
+    private long popularity(long productId) {
+        LongAdder count = views.get(productId);
+        return count != null ? count.sum() : 0;
+    }
+
+    private void record(String source, long elapsedNanos) {
+        Timer.builder("catalog.search.build")
+                .description("Time to build the search index, from a local snapshot or the store")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            refresh(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed product change message: {}", body);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the pod out of service until {@link ProductSearchIndex} has been built, so the readiness
+ * probe keeps search traffic away from a pod that would answer from an empty catalog.
+ */
+@Component("searchIndex")
+@RequiredArgsConstructor
+public class SearchIndexHealthIndicator implements HealthIndicator {
+
+    private final ProductSearchIndex productSearchIndex;
+
+    @Override
+    public Health health() {
+        if (productSearchIndex.isReady()) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("reason", "search index is still being built").build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over product names and SKUs for typeahead. Both are split into lower-cased words
+ * held in a sorted term dictionary, so a query word matches every term it is a prefix of with one
+ * range scan; a query of several words matches products that have all of them. Matches are ranked
+ * by popularity, then shorter names, and only the top results are kept.
+ * <p>
+ * Popularity is fixed when a product is indexed. Like {@link FacetIndex}, documents are numbered in
+ * load order and a rebuild compacts them. Not thread-safe; {@link ProductSearchIndex} guards access.
+ */
+public final class SuggestionIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ProductDTO[] documents;
+    private long[] popularity;
+    private int documentCount;
+    private final Map<Long, Integer> documentsById = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    public SuggestionIndex(int expectedSize) {
+        int capacity = Math.max(64, expectedSize);
+        documents = new ProductDTO[capacity];
+        popularity = new long[capacity];
+    }
+
+    public int size() {
+        return documentsById.size();
+    }
+
+    /**
+     * Adds or replaces a product with the given popularity. A product older than the indexed one
+     * (by {@code version}) is ignored.
+     */
+    public void upsert(ProductDTO product, long score) {
+        Integer existing = documentsById.get(product.getId());
+        int document;
+        if (existing != null) {
+            ProductDTO indexed = documents[existing];
+            if (product.getVersion() != null && indexed.getVersion() != null
+                    && product.getVersion() < indexed.getVersion()) {
+                return;
+            }
+            document = existing;
+            unindex(document);
+        } else {
+            document = documentCount++;
+            ensureCapacity(documentCount);
+            documentsById.put(product.getId(), document);
+        }
+        documents[document] = product;
+        popularity[document] = score;
+        for (String word : words(product)) {
+            terms.computeIfAbsent(word, w -> new Postings()).add(document);
+        }
+    }
+
+    public void remove(long productId) {
+        Integer document = documentsById.remove(productId);
+        if (document != null) {
+            unindex(document);
+            documents[document] = null;
+        }
+    }
+
+    /**
+     * Up to {@code limit} products whose name or SKU has a word starting with each word of the
+     * query, most popular first.
+     */
+    public List<ProductDTO> search(String query, int limit) {
+        List<String> words = split(query);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        long[] matches = null;
+        for (String word : words) {
+            long[] bits = prefixMatches(word);
+            if (matches == null) {
+                matches = bits;
+            } else {
+                for (int i = 0; i < matches.length; i++) {
+                    matches[i] &= bits[i];
+                }
+            }
+        }
+
+        // Worst of the kept documents at the head, so a better candidate replaces it
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> compare(b, a));
+        for (int word = 0; word < matches.length; word++) {
+            long bits = matches[word];
+            while (bits != 0) {
+                int document = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (best.size() < limit) {
+                    best.add(document);
+                } else if (compare(document, best.peek()) < 0) {
+                    best.poll();
+                    best.add(document);
+                }
+            }
+        }
+        List<ProductDTO> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(documents[best.poll()]);
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private long[] prefixMatches(String prefix) {
+        long[] bits = new long[(documentCount + 63) >>> 6];
+        for (Map.Entry<String, Postings> term : terms.tailMap(prefix, true).entrySet()) {
+            if (!term.getKey().startsWith(prefix)) {
+                break;
+            }
+            Postings postings = term.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                int document = postings.documents[i];
+                bits[document >>> 6] |= 1L << document;
+            }
+        }
+        return bits;
+    }
+
+    // Negative when a ranks before b
+    private int compare(int a, int b) {
+        int byPopularity = Long.compare(popularity[b], popularity[a]);
+        if (byPopularity != 0) {
+            return byPopularity;
+        }
+        int byLength = Integer.compare(nameLength(documents[a]), nameLength(documents[b]));
+        if (byLength != 0) {
+            return byLength;
+        }
+        return Long.compare(documents[a].getId(), documents[b].getId());
+    }
+
+    private void unindex(int document) {
+        for (String word : words(documents[document])) {
+            Postings postings = terms.get(word);
+            if (postings != null && postings.remove(document) && postings.size == 0) {
+                terms.remove(word);
+            }
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > documents.length) {
+            int capacity = Math.max(required, documents.length * 2);
+            documents = Arrays.copyOf(documents, capacity);
+            popularity = Arrays.copyOf(popularity, capacity);
+        }
+    }
+
+    private static Set<String> words(ProductDTO product) {
+        Set<String> words = new LinkedHashSet<>(split(product.getName()));
+        words.addAll(split(product.getSku()));
+        return words;
+    }
+
+    static List<String> split(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static int nameLength(ProductDTO product) {
+        return product.getName() != null ? product.getName().length() : 0;
+    }
+
+    // Unordered document numbers sharing a term; a growable array rather than boxed integers
+    private static final class Postings {
+        private int[] documents = new int[2];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        boolean remove(int document) {
+            for (int i = 0; i < size; i++) {
+                if (documents[i] == document) {
+                    documents[i] = documents[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.community.catalog.productread.infrastructure.snapshot;
+
+import com.community.catalog.cache.ProductCacheProto.CachedProduct;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheCodec;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, memory-mapped copy of the catalog on local disk. The file holds a header with the
+ * catalog version it was taken at, an index of (id, version, offset) entries sorted by id, then
+ * each product as a length-prefixed {@code CachedProduct} ({@code product_cache.proto}):
+ *
+ * <pre>
+ * magic:int format:int catalogVersion:long count:int
+ * count x (id:long version:int offset:int)
+ * count x (length:int CachedProduct)
+ * </pre>
+ *
+ * Versions are read from the index alone, so comparing the snapshot with the store does not
+ * decode any product. Snapshots are written to a temporary file and moved into place, so an open
+ * mapping never sees a partial file.
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x43534E50; // "CSNP"
+    static final int FORMAT = 1;
+
+    private static final int HEADER_BYTES = 20;
+    private static final int INDEX_ENTRY_BYTES = 16;
+
+    private final MappedByteBuffer buffer;
+    private final long catalogVersion;
+    private final int count;
+
+    private CatalogSnapshot(MappedByteBuffer buffer, long catalogVersion, int count) {
+        this.buffer = buffer;
+        this.catalogVersion = catalogVersion;
+        this.count = count;
+    }
+
+    /**
+     * Maps an existing snapshot.
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot in this format
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + path);
+        }
+        if (buffer.getInt(4) != FORMAT) {
+            throw new IOException("Unsupported catalog snapshot format " + buffer.getInt(4) + ": " + path);
+        }
+        long catalogVersion = buffer.getLong(8);
+        int count = buffer.getInt(16);
+        if (count < 0 || HEADER_BYTES + (long) count * INDEX_ENTRY_BYTES > buffer.limit()) {
+            throw new IOException("Truncated catalog snapshot: " + path);
+        }
+        return new CatalogSnapshot(buffer, catalogVersion, count);
+    }
+
+    /**
+     * Writes a snapshot of the given products, replacing any previous one at {@code path}.
+     */
+    public static void write(Path path, long catalogVersion, Collection<ProductDTO> products) throws IOException {
+        List<CachedProduct> records = new ArrayList<>(products.size());
+        products.stream()
+                .sorted(Comparator.comparing(ProductDTO::getId))
+                .forEach(product -> records.add(ProductCacheCodec.toProto(product)));
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(catalogVersion);
+                out.writeInt(records.size());
+                long offset = HEADER_BYTES + (long) records.size() * INDEX_ENTRY_BYTES;
+                for (CachedProduct record : records) {
+                    if (offset > Integer.MAX_VALUE) {
+                        throw new IOException("Catalog snapshot would exceed 2 GiB");
+                    }
+                    out.writeLong(record.getId());
+                    out.writeInt(record.getVersion());
+                    out.writeInt((int) offset);
+                    offset += 4 + record.getSerializedSize();
+                }
+                for (CachedProduct record : records) {
+                    out.writeInt(record.getSerializedSize());
+                    record.writeTo(out);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public long catalogVersion() {
+        return catalogVersion;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Product id to {@code version} for every product in the snapshot.
+     */
+    public Map<Long, Integer> versions() {
+        Map<Long, Integer> versions = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            int entry = HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+            versions.put(buffer.getLong(entry), buffer.getInt(entry + 8));
+        }
+        return versions;
+    }
+
+    /**
+     * Decodes every product, in id order.
+     *
+     * @throws IOException if a record is corrupt
+     */
+    public List<ProductDTO> products() throws IOException {
+        List<ProductDTO> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.getInt(HEADER_BYTES + i * INDEX_ENTRY_BYTES + 12);
+            products.add(read(offset));
+        }
+        return products;
+    }
+
+    private ProductDTO read(int offset) throws IOException {
+        if (offset < 0 || offset > buffer.limit() - 4) {
+            throw new IOException("Catalog snapshot record out of bounds at " + offset);
+        }
+        int length = buffer.getInt(offset);
+        if (length < 0 || length > buffer.limit() - offset - 4) {
+            throw new IOException("Catalog snapshot record out of bounds at " + offset);
+        }
+        try {
+            ByteBuffer record = buffer.slice(offset + 4, length);
+            return ProductCacheCodec.fromProto(CachedProduct.parseFrom(record));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IOException("Corrupt catalog snapshot record at " + offset, e);
+        }
+    }
+}
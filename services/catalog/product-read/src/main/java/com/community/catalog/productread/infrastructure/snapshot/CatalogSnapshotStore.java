@@ -0,0 +1,56 @@
+package com.community.catalog.productread.infrastructure.snapshot;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Where this pod keeps its {@link CatalogSnapshot}. An empty {@code catalog.snapshot.path} disables
+ * snapshots. A missing or unreadable snapshot only costs a cold start, so failures are logged and
+ * reported as no snapshot.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    private final Path path;
+
+    public CatalogSnapshotStore(@Value("${catalog.snapshot.path:}") String path) {
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    /**
+     * Maps the last saved snapshot, or returns null if there is none that can be read.
+     */
+    public CatalogSnapshot load() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return CatalogSnapshot.open(path);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", path, e);
+            return null;
+        }
+    }
+
+    public void save(long catalogVersion, Collection<ProductDTO> products) {
+        if (path == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            CatalogSnapshot.write(path, catalogVersion, products);
+            log.info("Wrote catalog snapshot of {} products at version {} to {} in {} ms", products.size(),
+                    catalogVersion, path, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write catalog snapshot {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.community.catalog.productread.interfaces.controller;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Builds the ETags served by the product endpoints and evaluates {@code If-None-Match} against them,
+ * counting the outcome as {@code http.conditional.requests{endpoint,result}}.
+ */
+@Component
+public class ConditionalRequests {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalRequests(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    static String productETag(long productId, long version) {
+        return "\"p" + productId + "-" + version + "\"";
+    }
+
+    /**
+     * ETag of a list body, from the id and version of each product it holds plus anything else it
+     * carries, such as a cursor. It describes the body actually served, so a pod still serving a
+     * stale copy hands out that copy's ETag rather than one a later 304 would wrongly confirm.
+     */
+    static String contentETag(List<ProductDTO> products, Object... extras) {
+        MessageDigest digest = sha256();
+        for (ProductDTO product : products) {
+            digest.update((product.getId() + ":" + product.getVersion() + ",").getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object extra : extras) {
+            digest.update(("|" + extra).getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"l" + HexFormat.of().formatHex(digest.digest(), 0, 12) + "\"";
+    }
+
+    /**
+     * Returns whether the client's copy is current and a 304 can be sent. A null ETag (version unknown)
+     * never matches.
+     */
+    public boolean isNotModified(String endpoint, String ifNoneMatch, String etag) {
+        String result;
+        boolean notModified = false;
+        if (ifNoneMatch == null) {
+            result = "unconditional";
+        } else if (etag != null && matches(ifNoneMatch, etag)) {
+            result = "not_modified";
+            notModified = true;
+        } else {
+            result = "modified";
+        }
+        Counter.builder("http.conditional.requests")
+                .description("Product reads by If-None-Match outcome; not_modified were answered with 304")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+        return notModified;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so W/ prefixes are ignored
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
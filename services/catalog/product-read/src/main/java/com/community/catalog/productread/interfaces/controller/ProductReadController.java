@@ -1,36 +1,157 @@
 package com.community.catalog.productread.interfaces.controller;
 
-import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.command.ExportProductsQuery;
 import com.community.catalog.productread.application.command.GetAllProductsQuery;
+import com.community.catalog.productread.application.dto.ProductBatchDTO;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.community.catalog.productread.application.dto.ProductSearchResultDTO;
+import com.community.catalog.productread.application.dto.ProductSuggestionDTO;
 import com.community.catalog.productread.application.command.GetProductByIdQuery;
+import com.community.catalog.productread.application.command.GetProductPageQuery;
+import com.community.catalog.productread.application.command.GetProductsByIdsQuery;
+import com.community.catalog.productread.application.command.SearchProductsQuery;
+import com.community.catalog.productread.application.command.SuggestProductsQuery;
 import com.community.catalog.productread.application.mediator.Mediator;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductReadController {
 
+    // Product version returned by product-write, so its client reads back at least its own write
+    static final String CONSISTENCY_TOKEN_HEADER = "X-Consistency-Token";
+
     private final Mediator mediator;
+    private final CatalogVersionStore catalogVersionStore;
+    private final ConditionalRequests conditionalRequests;
+    private final ProductSearchIndex productSearchIndex;
 
+    // Lists are tagged from the body served rather than the catalog version: another pod may still hold
+    // a local copy from before the latest change, and a catalog ETag would vouch for it on revalidation.
+    // Bodies come from the caches, so a 304 still skips the store and the response body
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> result = mediator.send(new GetAllProductsQuery());
-        return ResponseEntity.ok(result);
+    public CompletableFuture<ResponseEntity<List<ProductDTO>>> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return mediator.<List<ProductDTO>, GetAllProductsQuery>sendAsync(new GetAllProductsQuery())
+                .thenApply(products -> conditional("all", ifNoneMatch,
+                        ConditionalRequests.contentETag(products), products));
+    }
+
+    // Keyset-paginated listing; the plain listing above keeps returning the whole catalog as an array
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<ProductPageDTO>> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String manufacturer,
+            @RequestParam(required = false) String status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        GetProductPageQuery query = new GetProductPageQuery(cursor, size, category, manufacturer, status);
+        return mediator.<ProductPageDTO, GetProductPageQuery>sendAsync(query)
+                .thenApply(page -> conditional("page", ifNoneMatch,
+                        ConditionalRequests.contentETag(page.getItems(), page.getNextCursor()), page));
+    }
+
+    // Takes precedence over the full listing whenever ?ids= is present
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<ProductBatchDTO>> getProductsByIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return mediator.<ProductBatchDTO, GetProductsByIdsQuery>sendAsync(new GetProductsByIdsQuery(ids))
+                .thenApply(batch -> conditional("multi-get", ifNoneMatch,
+                        ConditionalRequests.contentETag(batch.getProducts(), batch.getMissingIds()), batch));
+    }
+
+    // Repeat a parameter to match any of several values, e.g. ?category=Books&category=Games
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> manufacturer,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        SearchProductsQuery query = new SearchProductsQuery(category, manufacturer, status, minPrice, maxPrice,
+                cursor, size);
+        return ResponseEntity.ok(mediator.send(query));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(mediator.send(new SuggestProductsQuery(q, limit)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        Optional<ProductDTO> result = mediator.send(new GetProductByIdQuery(id));
-        return result.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<ProductDTO>> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = CONSISTENCY_TOKEN_HEADER, required = false) Long minVersion) {
+        // With the projected version at hand, a revalidation is answered without loading the product,
+        // unless the projection has not caught up with the client's own write yet
+        Long knownVersion = catalogVersionStore.productVersion(id);
+        if (knownVersion != null && (minVersion == null || knownVersion >= minVersion)) {
+            String etag = ConditionalRequests.productETag(id, knownVersion);
+            if (conditionalRequests.isNotModified("product", ifNoneMatch, etag)) {
+                productSearchIndex.recordView(id);
+                return CompletableFuture.completedFuture(notModified(etag));
+            }
+        }
+        return mediator.<ProductDTO, GetProductByIdQuery>sendAsync(new GetProductByIdQuery(id, minVersion))
+                .thenApply(product -> {
+                    if (product == null) {
+                        return ResponseEntity.<ProductDTO>notFound().build();
+                    }
+                    productSearchIndex.recordView(id);
+                    String etag = ConditionalRequests.productETag(id, product.getVersion());
+                    // Still skips writing the body when the version was not known up front
+                    if (knownVersion == null && conditionalRequests.isNotModified("product", ifNoneMatch, etag)) {
+                        return notModified(etag);
+                    }
+                    return ok(etag).body(product);
+                });
+    }
+
+    // Written on the request thread rather than as an async body, so long exports are not cut off
+    // by spring.mvc.async.request-timeout
+    @GetMapping("/export")
+    public void exportProducts(@RequestParam(defaultValue = "NDJSON") ExportProductsQuery.ExportFormat format,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        mediator.<Long, ExportProductsQuery>send(new ExportProductsQuery(format, response.getOutputStream()));
+    }
+
+    private <T> ResponseEntity<T> conditional(String endpoint, String ifNoneMatch, String etag, T body) {
+        return conditionalRequests.isNotModified(endpoint, ifNoneMatch, etag) ? notModified(etag) : ok(etag).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
     }
 }
@@ -0,0 +1,59 @@
+package com.community.catalog.productread.interfaces.kafka;
+
+import com.community.catalog.events.CatalogEventsProto.ProductCreatedEvent;
+import com.community.catalog.events.CatalogEventsProto.ProductDeletedEvent;
+import com.community.catalog.events.CatalogEventsProto.ProductUpdatedEvent;
+import com.community.catalog.productread.application.mediator.Mediator;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Consumes the protobuf catalog events published by product-write and hands them to the
+ * projection through the mediator. The message type comes from the {@value #EVENT_TYPE_HEADER} header.
+ * Records that cannot be parsed fail with {@link UnprojectableEventException}, which the container
+ * sends to the dead-letter topic without retrying.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEventListener {
+
+    static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final Mediator mediator;
+
+    @KafkaListener(topics = "${topic.catalog.product-events}", groupId = "${catalog.projection.group-id}")
+    public void consume(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(EVENT_TYPE_HEADER);
+        String eventType = header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+        Message event;
+        try {
+            event = parse(eventType, record.value());
+        } catch (InvalidProtocolBufferException e) {
+            throw new UnprojectableEventException("Malformed " + eventType + " for product " + record.key(), e);
+        }
+        if (event == null) {
+            throw new UnprojectableEventException("Unknown catalog event type " + eventType, null);
+        }
+        mediator.send(event);
+    }
+
+    private static Message parse(String eventType, byte[] payload) throws InvalidProtocolBufferException {
+        if (ProductCreatedEvent.getDescriptor().getFullName().equals(eventType)) {
+            return ProductCreatedEvent.parseFrom(payload);
+        }
+        if (ProductUpdatedEvent.getDescriptor().getFullName().equals(eventType)) {
+            return ProductUpdatedEvent.parseFrom(payload);
+        }
+        if (ProductDeletedEvent.getDescriptor().getFullName().equals(eventType)) {
+            return ProductDeletedEvent.parseFrom(payload);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.community.catalog.productread.interfaces.kafka;
+
+/**
+ * A catalog event that can never be projected, however often it is retried.
+ */
+public class UnprojectableEventException extends RuntimeException {
+    public UnprojectableEventException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,50 @@
+package com.community.catalog.productread.interfaces.scheduling;
+
+import com.community.catalog.productread.application.command.ReconcileProductViewsCommand;
+import com.community.catalog.productread.application.mediator.Mediator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciles product_views with the write-side products table on startup, which seeds an empty
+ * store, and then periodically, so a catalog event that was never delivered or could not be
+ * projected does not leave the store diverged for good.
+ */
+@Slf4j
+@Component
+public class ProductViewReconciler {
+
+    private final Mediator mediator;
+    private final boolean onStartup;
+
+    public ProductViewReconciler(Mediator mediator,
+                                 @Value("${catalog.projection.seed-from-products:true}") boolean onStartup) {
+        this.mediator = mediator;
+        this.onStartup = onStartup;
+    }
+
+    // Ordered before the search index build, which reads the store on the same event. Events
+    // projected before this runs are kept: the copy never replaces a row with an older version
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void reconcileOnStartup() {
+        if (onStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.projection.reconcile-interval:PT15M}",
+            fixedDelayString = "${catalog.projection.reconcile-interval:PT15M}")
+    public void reconcile() {
+        try {
+            mediator.<Integer, ReconcileProductViewsCommand>send(new ReconcileProductViewsCommand());
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile product_views", e);
+        }
+    }
+}
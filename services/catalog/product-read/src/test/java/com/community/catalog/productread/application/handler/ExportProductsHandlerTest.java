@@ -0,0 +1,54 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.ExportProductsQuery;
+import com.community.catalog.productread.application.command.ExportProductsQuery.ExportFormat;
+import com.community.catalog.productread.infrastructure.export.ProductExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportProductsHandlerTest {
+
+    @Mock
+    private ProductExporter productExporter;
+
+    @InjectMocks
+    private ExportProductsHandler handler;
+
+    @Test
+    void testHandle_WhenNdjsonRequested_ShouldUseNdjsonExport() {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(productExporter.exportNdjson(output)).thenReturn(3L);
+
+        // Act
+        Long exported = handler.handle(new ExportProductsQuery(ExportFormat.NDJSON, output));
+
+        // Assert
+        assertEquals(3L, exported);
+        verifyNoMoreInteractions(productExporter);
+    }
+
+    @Test
+    void testHandle_WhenProtobufRequested_ShouldUseProtobufExport() {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(productExporter.exportProtobuf(output)).thenReturn(5L);
+
+        // Act
+        Long exported = handler.handle(new ExportProductsQuery(ExportFormat.PROTOBUF, output));
+
+        // Assert
+        assertEquals(5L, exported);
+        verifyNoMoreInteractions(productExporter);
+    }
+}
@@ -1,21 +1,34 @@
 package com.community.catalog.productread.application.handler;
 
-import com.community.catalog.productread.application.command.GetAllProductsQuery; // ADD THIS IMPORT
+import com.community.catalog.productread.application.command.GetAllProductsQuery;
 import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.error.ProductListUnavailableException;
 import com.community.catalog.productread.domain.model.ProductView;
 import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.cache.SharedValueLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,9 +37,21 @@ class GetAllProductsHandlerTest {
     @Mock
     private ProductViewRepository productViewRepository;
 
-    @InjectMocks
+    @Mock
+    private CatalogVersionStore catalogVersionStore;
+
+    @Mock
+    private SharedValueLoader sharedValueLoader;
+
     private GetAllProductsHandler handler;
 
+    @BeforeEach
+    void setUp() {
+        handler = new GetAllProductsHandler(productViewRepository, catalogVersionStore, sharedValueLoader,
+                Runnable::run, new SimpleMeterRegistry(), Duration.ofMinutes(10), Duration.ofSeconds(30),
+                Duration.ofSeconds(10), Duration.ZERO, 0.0);
+    }
+
     @Test
     void testHandle_WhenProductsExist_ShouldReturnListOfProductDTOs() {
         // Arrange
@@ -35,6 +60,7 @@ class GetAllProductsHandlerTest {
         List<ProductView> productList = List.of(product1, product2);
 
         GetAllProductsQuery query = new GetAllProductsQuery();
+        loadSharedListLocally();
         when(productViewRepository.findAll()).thenReturn(productList);
 
         // Act
@@ -50,6 +76,7 @@ class GetAllProductsHandlerTest {
     void testHandle_WhenNoProductsExist_ShouldReturnEmptyList() {
         // Arrange
         GetAllProductsQuery query = new GetAllProductsQuery();
+        loadSharedListLocally();
         when(productViewRepository.findAll()).thenReturn(Collections.emptyList());
 
         // Act
@@ -58,4 +85,66 @@ class GetAllProductsHandlerTest {
         // Assert
         assertTrue(result.isEmpty(), "Should return an empty list when no products are found");
     }
+
+    @Test
+    void testHandle_WhenCatalogUnchanged_ShouldReuseTheLoadedList() {
+        // Arrange
+        when(catalogVersionStore.catalogVersion()).thenReturn(7L);
+        loadSharedListLocally();
+        when(productViewRepository.findAll()).thenReturn(List.of(ProductView.builder().id(1L).name("Product 1").build()));
+
+        // Act
+        List<ProductDTO> first = handler.handle(new GetAllProductsQuery());
+        List<ProductDTO> second = handler.handle(new GetAllProductsQuery());
+
+        // Assert
+        assertSame(first, second);
+        verify(productViewRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testHandle_WhenAnotherPodLoadedTheVersion_ShouldUseTheSharedList() {
+        // Arrange
+        List<ProductDTO> shared = List.of(ProductDTO.builder().id(1L).name("Product 1").build());
+        when(catalogVersionStore.catalogVersion()).thenReturn(7L);
+        when(sharedValueLoader.<List<ProductDTO>>load(eq("products"), eq("all"), eq(7L), any())).thenReturn(shared);
+
+        // Act
+        List<ProductDTO> result = handler.handle(new GetAllProductsQuery());
+
+        // Assert
+        assertEquals(shared, result);
+        verify(productViewRepository, never()).findAll();
+    }
+
+    @Test
+    void testHandle_WhenCatalogVersionIsUnknown_ShouldLoadWithoutSharing() {
+        // Arrange
+        when(catalogVersionStore.catalogVersion()).thenReturn(null);
+        when(productViewRepository.findAll()).thenReturn(List.of(ProductView.builder().id(1L).name("Product 1").build()));
+
+        // Act
+        List<ProductDTO> result = handler.handle(new GetAllProductsQuery());
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(sharedValueLoader, never()).load(any(), any(), any(Long.class), any());
+    }
+
+    @Test
+    void testHandle_WhenTheListIsStillLoading_ShouldThrowProductListUnavailableException() {
+        // Arrange - a refresh executor that never gets to the load
+        handler = new GetAllProductsHandler(productViewRepository, catalogVersionStore, sharedValueLoader,
+                task -> { }, new SimpleMeterRegistry(), Duration.ofMinutes(10), Duration.ofSeconds(30),
+                Duration.ofMillis(50), Duration.ZERO, 0.0);
+
+        // Act & Assert
+        assertThrows(ProductListUnavailableException.class, () -> handler.handle(new GetAllProductsQuery()));
+        verify(productViewRepository, never()).findAll();
+    }
+
+    private void loadSharedListLocally() {
+        when(sharedValueLoader.load(eq("products"), eq("all"), any(Long.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
 }
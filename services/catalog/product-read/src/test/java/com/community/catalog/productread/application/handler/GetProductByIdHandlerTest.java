@@ -2,26 +2,48 @@ package com.community.catalog.productread.application.handler;
 
 import com.community.catalog.productread.application.command.GetProductByIdQuery;
 import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.infrastructure.cache.CacheInvalidationPublisher;
+import com.community.catalog.productread.infrastructure.cache.CacheTagIndex;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.grpc.ProductLookupClient;
+import io.grpc.Status;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import product_lookup.ProductLookupGrpc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import product_lookup.ProductLookupOuterClass;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class GetProductByIdHandlerTest {
 
     @Mock
-    private ProductLookupGrpc.ProductLookupBlockingStub productLookupBlockingStub;
+    private ProductLookupClient productLookupClient;
+
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+
+    @Mock
+    private CatalogVersionStore catalogVersionStore;
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager("products");
 
     @InjectMocks
     private GetProductByIdHandler handler;
@@ -41,30 +63,115 @@ class GetProductByIdHandlerTest {
                 .build();
 
         GetProductByIdQuery query = new GetProductByIdQuery(productId);
-        when(productLookupBlockingStub.getProductById(any(ProductLookupOuterClass.GetProductByIdRequest.class))).thenReturn(product);
+        when(productLookupClient.getProductById(productId)).thenReturn(CompletableFuture.completedFuture(product));
 
         // Act
-        Optional<ProductDTO> result = handler.handle(query);
+        ProductDTO dto = handler.handle(query).join();
 
         // Assert
-        assertTrue(result.isPresent(), "Result should not be empty");
-        ProductDTO dto = result.get();
+        assertNotNull(dto, "Result should not be empty");
         assertEquals(productId, dto.getId());
         assertEquals("Test Product", dto.getName());
         assertEquals("TEST-001", dto.getSku());
     }
 
     @Test
-    void testHandle_WhenProductDoesNotExist_ShouldReturnEmptyOptional() {
+    void testHandle_WhenProductDoesNotExist_ShouldCompleteWithNull() {
         // Arrange
         Long productId = 2L;
         GetProductByIdQuery query = new GetProductByIdQuery(productId);
-        when(productLookupBlockingStub.getProductById(any(ProductLookupOuterClass.GetProductByIdRequest.class))).thenThrow(new RuntimeException("Product not found"));
+        when(productLookupClient.getProductById(productId)).thenReturn(CompletableFuture.failedFuture(
+                Status.NOT_FOUND.withDescription("Product not found").asRuntimeException()));
+
+        // Act
+        ProductDTO result = handler.handle(query).join();
+
+        // Assert
+        assertNull(result, "Result should be empty for a non-existent product");
+    }
+
+    @Test
+    void testHandle_WhenBackendUnavailable_ShouldPropagateInsteadOfReportingMissing() {
+        // Arrange
+        GetProductByIdQuery query = new GetProductByIdQuery(3L);
+        when(productLookupClient.getProductById(3L))
+                .thenReturn(CompletableFuture.failedFuture(Status.UNAVAILABLE.asRuntimeException()));
+
+        // Act & Assert
+        CompletionException thrown = assertThrows(CompletionException.class, () -> handler.handle(query).join());
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(thrown).getCode());
+    }
+
+    @Test
+    void testHandle_WhenCachedCopyHoldsConsistencyToken_ShouldServeItWithoutLookup() {
+        // Arrange
+        ProductDTO cached = ProductDTO.builder().id(4L).name("Lamp").version(5).build();
+        cacheManager.getCache("products").put(4L, cached);
+
+        // Act
+        ProductDTO result = handler.handle(new GetProductByIdQuery(4L, 5L)).join();
+
+        // Assert
+        assertSame(cached, result);
+        verifyNoInteractions(productLookupClient);
+    }
+
+    @Test
+    void testHandle_WhenCachedCopyOlderThanConsistencyToken_ShouldLoadAndRefreshCache() {
+        // Arrange
+        Cache products = cacheManager.getCache("products");
+        products.put(5L, ProductDTO.builder().id(5L).name("Lamp").version(2).build());
+        ProductLookupOuterClass.Product product = ProductLookupOuterClass.Product.newBuilder()
+                .setId("5")
+                .setName("Desk Lamp")
+                .setVersion(3)
+                .build();
+        when(productLookupClient.getProductById(5L)).thenReturn(CompletableFuture.completedFuture(product));
+        when(catalogVersionStore.advanceProductVersion(5L, 3L)).thenReturn(true);
+        when(catalogVersionStore.productVersion(5L)).thenReturn(3L);
 
         // Act
-        Optional<ProductDTO> result = handler.handle(query);
+        ProductDTO result = handler.handle(new GetProductByIdQuery(5L, 3L)).join();
 
         // Assert
-        assertTrue(result.isEmpty(), "Result should be empty for a non-existent product");
+        assertEquals("Desk Lamp", result.getName());
+        assertEquals(3, products.get(5L, ProductDTO.class).getVersion());
+        verify(cacheInvalidationPublisher).publishEvictLocal("products", 5L);
+    }
+
+    @Test
+    void testHandle_WhenNewerVersionAlreadyClaimed_ShouldNotReplaceCachedCopy() {
+        // Arrange
+        Cache products = cacheManager.getCache("products");
+        products.put(6L, ProductDTO.builder().id(6L).name("Lamp").version(2).build());
+        when(productLookupClient.getProductById(6L)).thenReturn(CompletableFuture.completedFuture(
+                ProductLookupOuterClass.Product.newBuilder().setId("6").setName("Desk Lamp").setVersion(3).build()));
+        when(catalogVersionStore.advanceProductVersion(6L, 3L)).thenReturn(false);
+
+        // Act
+        ProductDTO result = handler.handle(new GetProductByIdQuery(6L, 3L)).join();
+
+        // Assert - the projection holds version 4 and writes it itself
+        assertEquals("Desk Lamp", result.getName());
+        assertEquals(2, products.get(6L, ProductDTO.class).getVersion());
+        verify(cacheInvalidationPublisher, never()).publishEvictLocal("products", 6L);
+    }
+
+    @Test
+    void testHandle_WhenNewerVersionClaimedDuringWrite_ShouldDropTheEntry() {
+        // Arrange
+        Cache products = cacheManager.getCache("products");
+        when(productLookupClient.getProductById(7L)).thenReturn(CompletableFuture.completedFuture(
+                ProductLookupOuterClass.Product.newBuilder().setId("7").setName("Desk Lamp").setVersion(3).build()));
+        when(catalogVersionStore.advanceProductVersion(7L, 3L)).thenReturn(true);
+        when(catalogVersionStore.productVersion(7L)).thenReturn(4L);
+
+        // Act
+        ProductDTO result = handler.handle(new GetProductByIdQuery(7L, 3L)).join();
+
+        // Assert - the newer copy may have been written first and overwritten
+        assertEquals("Desk Lamp", result.getName());
+        assertNull(products.get(7L));
+        verify(cacheInvalidationPublisher).publishEvict("products", 7L);
     }
 }
@@ -0,0 +1,107 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.GetProductPageQuery;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.community.catalog.productread.application.error.InvalidCursorException;
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetProductPageHandlerTest {
+
+    @Mock
+    private ProductViewRepository productViewRepository;
+
+    @Mock
+    private ProductCacheWriter productCacheWriter;
+
+    private GetProductPageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(productCacheWriter.cachePage(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ProductPageDTO>>getArgument(2).get());
+        handler = new GetProductPageHandler(productViewRepository, productCacheWriter, 2, 3);
+    }
+
+    @Test
+    void testHandle_WhenMoreRowsExist_ShouldReturnCursorAfterLastItem() {
+        // Arrange
+        when(productViewRepository.findKeysetPage(any(), eq(3))).thenReturn(products(1, 3));
+
+        // Act
+        ProductPageDTO page = handler.handle(new GetProductPageQuery());
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getItems().get(1).getId());
+        assertEquals(2L, GetProductPageHandler.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    void testHandle_WhenLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        when(productViewRepository.findKeysetPage(any(), eq(3))).thenReturn(products(3, 3));
+
+        GetProductPageQuery query = new GetProductPageQuery(GetProductPageHandler.encodeCursor(2L), null, "books", null, null);
+
+        // Act
+        ProductPageDTO page = handler.handle(query);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        ArgumentCaptor<ProductCacheWriter.CachedPage> registered = ArgumentCaptor.forClass(ProductCacheWriter.CachedPage.class);
+        verify(productCacheWriter).cachePage(eq(query.cacheKey()), registered.capture(), any());
+        assertEquals(2L, registered.getValue().afterId());
+        assertEquals(2, registered.getValue().size());
+        assertEquals("books", registered.getValue().category());
+    }
+
+    @Test
+    void testHandle_WhenSizeAboveMaximum_ShouldClampToMaximum() {
+        // Arrange
+        when(productViewRepository.findKeysetPage(any(), eq(4))).thenReturn(List.of());
+
+        // Act
+        handler.handle(new GetProductPageQuery(null, 1000, null, null, null));
+
+        // Assert
+        verify(productViewRepository).findKeysetPage(any(), eq(4));
+    }
+
+    @Test
+    void testHandle_WhenCursorIsMalformed_ShouldThrowInvalidCursorException() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class,
+                () -> handler.handle(new GetProductPageQuery("not-a-cursor", null, null, null, null)));
+    }
+
+    private static List<ProductView> products(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> ProductView.builder().id(id).name("Product " + id).price(BigDecimal.ONE).build())
+                .toList();
+    }
+}
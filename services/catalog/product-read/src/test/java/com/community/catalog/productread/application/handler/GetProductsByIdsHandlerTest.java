@@ -0,0 +1,107 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.GetProductsByIdsQuery;
+import com.community.catalog.productread.application.dto.ProductBatchDTO;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.error.TooManyProductIdsException;
+import com.community.catalog.productread.infrastructure.grpc.ProductLookupClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import product_lookup.ProductLookupOuterClass;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetProductsByIdsHandlerTest {
+
+    @Mock
+    private ProductLookupClient productLookupClient;
+
+    private GetProductsByIdsHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GetProductsByIdsHandler(productLookupClient, 2, 5);
+    }
+
+    @Test
+    void testHandle_ShouldDeduplicateBatchAndReportMissingIds() {
+        // Arrange
+        when(productLookupClient.getProductsByIds(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(response(product("3"), product("1"))))
+                .thenReturn(CompletableFuture.completedFuture(response(List.of("4"))));
+
+        // Act
+        ProductBatchDTO result = handler.handle(new GetProductsByIdsQuery(Arrays.asList(1L, 3L, 1L, null, 4L))).join();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> batches = ArgumentCaptor.forClass(List.class);
+        verify(productLookupClient, times(2)).getProductsByIds(batches.capture());
+        assertEquals(List.of(1L, 3L), batches.getAllValues().get(0));
+        assertEquals(List.of(4L), batches.getAllValues().get(1));
+        assertEquals(List.of(1L, 3L), result.getProducts().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(4L), result.getMissingIds());
+    }
+
+    @Test
+    void testHandle_WhenTooManyIds_ShouldRejectWithoutLookup() {
+        // Arrange
+        GetProductsByIdsQuery query = new GetProductsByIdsQuery(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+        // Act & Assert
+        assertThrows(TooManyProductIdsException.class, () -> handler.handle(query));
+        verifyNoInteractions(productLookupClient);
+    }
+
+    @Test
+    void testHandle_WhenBackendLeavesIdsUnanswered_ShouldFailRatherThanReportThemMissing() {
+        // Arrange
+        when(productLookupClient.getProductsByIds(List.of(1L, 2L)))
+                .thenReturn(CompletableFuture.completedFuture(response(product("1"))));
+
+        // Act
+        CompletableFuture<ProductBatchDTO> result = handler.handle(new GetProductsByIdsQuery(List.of(1L, 2L)));
+
+        // Assert
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    private static ProductLookupOuterClass.Product product(String id) {
+        return ProductLookupOuterClass.Product.newBuilder()
+                .setId(id)
+                .setName("Product " + id)
+                .setCreatedAt("2025-12-10T13:00:00.000Z")
+                .setUpdatedAt("2025-12-10T13:00:00.000Z")
+                .build();
+    }
+
+    private static ProductLookupOuterClass.GetProductsByIdsResponse response(ProductLookupOuterClass.Product... products) {
+        return ProductLookupOuterClass.GetProductsByIdsResponse.newBuilder()
+                .addAllProducts(Arrays.asList(products))
+                .build();
+    }
+
+    private static ProductLookupOuterClass.GetProductsByIdsResponse response(List<String> missingIds) {
+        return ProductLookupOuterClass.GetProductsByIdsResponse.newBuilder()
+                .addAllMissingIds(missingIds)
+                .build();
+    }
+}
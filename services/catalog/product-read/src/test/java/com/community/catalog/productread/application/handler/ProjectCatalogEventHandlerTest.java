@@ -0,0 +1,225 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.events.CatalogEventsProto.ProductDeletedEvent;
+import com.community.catalog.events.CatalogEventsProto.ProductUpdatedEvent;
+import com.community.catalog.productread.application.command.ReconcileProductViewsCommand;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.CacheTagInvalidator;
+import com.community.catalog.productread.infrastructure.cache.ProductCacheWriter;
+import com.community.catalog.productread.infrastructure.projection.ProductViewWriter;
+import com.community.catalog.productread.infrastructure.search.ProductChangePublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectCatalogEventHandlerTest {
+
+    @Mock
+    private ProductViewWriter productViewWriter;
+
+    @Mock
+    private ProductViewRepository productViewRepository;
+
+    @Mock
+    private ProductCacheWriter productCacheWriter;
+
+    @Mock
+    private CacheTagInvalidator cacheTagInvalidator;
+
+    @Mock
+    private ProductChangePublisher productChangePublisher;
+
+    private MeterRegistry meterRegistry;
+    private ProjectCatalogEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new ProjectCatalogEventHandler(productViewWriter, productViewRepository, productCacheWriter,
+                cacheTagInvalidator, productChangePublisher, meterRegistry);
+    }
+
+    @Test
+    void testHandleUpdated_WhenNewer_ShouldUpsertAndWriteStoredRowThroughToCaches() {
+        // Arrange
+        Date createdAt = new Date(1_700_000_000_000L);
+        when(productViewWriter.upsertIfNewer(any(ProductView.class))).thenReturn(true);
+        when(productViewRepository.findById(42L)).thenReturn(Optional.of(ProductView.builder()
+                .id(42L).name("Lamp").price(new BigDecimal("19.5")).quantity(8).sku("SKU-42").status("ACTIVE")
+                .version(5).createdAt(createdAt).updatedAt(new Date()).build()));
+
+        // Act
+        Boolean applied = handler.handle(updated(5));
+
+        // Assert
+        assertTrue(applied);
+        ArgumentCaptor<ProductView> captor = ArgumentCaptor.forClass(ProductView.class);
+        verify(productViewWriter).upsertIfNewer(captor.capture());
+        ProductView view = captor.getValue();
+        assertEquals(42L, view.getId());
+        assertEquals(5, view.getVersion());
+        assertEquals(new BigDecimal("19.5"), view.getPrice());
+        assertNull(view.getDescription(), "Unset proto strings should be stored as null");
+        ArgumentCaptor<ProductDTO> written = ArgumentCaptor.forClass(ProductDTO.class);
+        verify(productCacheWriter).productChanged(any(ProductDTO.class), written.capture());
+        assertEquals(5, written.getValue().getVersion());
+        assertEquals(createdAt, written.getValue().getCreatedAt(), "The stored created_at should be cached, not the event's");
+        verify(productChangePublisher).publishChanged(42L);
+        assertEquals(1.0, events("updated", "applied"));
+    }
+
+    @Test
+    void testHandleUpdated_ShouldPassTheRowStoredBeforeTheChangeToTheCaches() {
+        // Arrange
+        ProductView before = ProductView.builder()
+                .id(42L).name("Lamp").price(BigDecimal.ONE).sku("SKU-42").category("garden").version(4)
+                .createdAt(new Date()).updatedAt(new Date()).build();
+        ProductView after = ProductView.builder()
+                .id(42L).name("Lamp").price(BigDecimal.ONE).sku("SKU-42").category("lighting").version(5)
+                .createdAt(new Date()).updatedAt(new Date()).build();
+        when(productViewRepository.findById(42L)).thenReturn(Optional.of(before), Optional.of(after));
+        when(productViewWriter.upsertIfNewer(any(ProductView.class))).thenReturn(true);
+
+        // Act
+        handler.handle(updated(5));
+
+        // Assert
+        verify(productCacheWriter).productChanged(
+                argThat(previous -> "garden".equals(previous.getCategory())),
+                argThat(product -> "lighting".equals(product.getCategory())));
+    }
+
+    @Test
+    void testHandleUpdated_WhenBulkEditRow_ShouldHandItsTagsToTheInvalidatorAfterProjecting() {
+        // Arrange
+        when(productViewWriter.upsertIfNewer(any(ProductView.class))).thenReturn(true);
+        ProductUpdatedEvent event = updated(5).toBuilder().addInvalidatedTags("category:Books").build();
+
+        // Act
+        handler.handle(event);
+
+        // Assert
+        var order = inOrder(productViewWriter, cacheTagInvalidator);
+        order.verify(productViewWriter).upsertIfNewer(any(ProductView.class));
+        order.verify(cacheTagInvalidator).projected(List.of("category:Books"));
+    }
+
+    @Test
+    void testHandleUpdated_WhenApplied_ShouldCountEachChangedField() {
+        // Arrange
+        when(productViewWriter.upsertIfNewer(any(ProductView.class))).thenReturn(true);
+        ProductUpdatedEvent event = updated(5).toBuilder().addChangedFields("price").addChangedFields("quantity").build();
+
+        // Act
+        handler.handle(event);
+        handler.handle(updated(6));
+
+        // Assert - an event that does not list its fields is counted as unknown
+        assertEquals(1.0, changedFields("price"));
+        assertEquals(1.0, changedFields("quantity"));
+        assertEquals(1.0, changedFields("unknown"));
+    }
+
+    @Test
+    void testHandleUpdated_WhenStale_ShouldLeaveCachesAlone() {
+        // Arrange
+        when(productViewWriter.upsertIfNewer(any(ProductView.class))).thenReturn(false);
+
+        // Act
+        Boolean applied = handler.handle(updated(3));
+
+        // Assert
+        assertFalse(applied);
+        verifyNoInteractions(productCacheWriter, productChangePublisher);
+        assertEquals(1.0, events("updated", "stale"));
+        assertNull(meterRegistry.find("catalog.projection.changed.fields").counter());
+    }
+
+    @Test
+    void testHandleDeleted_ShouldDeleteRow() {
+        // Arrange
+        when(productViewWriter.delete(42L, 9L)).thenReturn(true);
+
+        // Act
+        Boolean applied = handler.handle(ProductDeletedEvent.newBuilder().setProductId("42").setSku("SKU-42").setVersion(9).build());
+
+        // Assert
+        assertTrue(applied);
+        verify(productCacheWriter).productRemoved(42L, null);
+        verify(productChangePublisher).publishChanged(42L);
+        assertEquals(1.0, events("deleted", "applied"));
+    }
+
+    @Test
+    void testHandleReconcile_WhenRowsRepaired_ShouldRefreshTheirCaches() {
+        // Arrange
+        when(productViewWriter.reconcile()).thenReturn(
+                new ProductViewWriter.Reconciliation(false, List.of(42L), List.of(7L)));
+        when(productViewRepository.findById(42L)).thenReturn(Optional.of(ProductView.builder()
+                .id(42L).name("Lamp").price(BigDecimal.ONE).quantity(1).sku("SKU-42").version(6)
+                .createdAt(new Date()).updatedAt(new Date()).build()));
+
+        // Act
+        Integer repaired = handler.handle(new ReconcileProductViewsCommand());
+
+        // Assert
+        assertEquals(2, repaired);
+        verify(productCacheWriter).productChanged(isNull(), argThat(product -> product.getId() == 42L && product.getVersion() == 6));
+        verify(productCacheWriter).productRemoved(7L, null);
+        verify(productCacheWriter).clearPages();
+        verify(productChangePublisher).publishChanged(42L);
+        verify(productChangePublisher).publishChanged(7L);
+    }
+
+    @Test
+    void testHandleReconcile_WhenSeedingEmptyStore_ShouldNotRefreshPerProduct() {
+        // Arrange
+        when(productViewWriter.reconcile()).thenReturn(
+                new ProductViewWriter.Reconciliation(true, List.of(1L, 2L, 3L), List.of()));
+
+        // Act
+        handler.handle(new ReconcileProductViewsCommand());
+
+        // Assert
+        verifyNoInteractions(productCacheWriter, productChangePublisher);
+        verify(productViewRepository, never()).findById(any());
+    }
+
+    private static ProductUpdatedEvent updated(long version) {
+        return ProductUpdatedEvent.newBuilder()
+                .setProductId("42")
+                .setName("Lamp")
+                .setPrice(19.5)
+                .setQuantity(8)
+                .setSku("SKU-42")
+                .setStatus("ACTIVE")
+                .setVersion(version)
+                .setUpdatedAt("2025-12-10T13:00:00.000Z")
+                .build();
+    }
+
+    private double events(String type, String result) {
+        return meterRegistry.get("catalog.projection.events").tag("type", type).tag("result", result).counter().count();
+    }
+
+    private double changedFields(String field) {
+        return meterRegistry.get("catalog.projection.changed.fields").tag("field", field).counter().count();
+    }
+}
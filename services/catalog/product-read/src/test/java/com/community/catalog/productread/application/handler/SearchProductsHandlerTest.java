@@ -0,0 +1,60 @@
+package com.community.catalog.productread.application.handler;
+
+import com.community.catalog.productread.application.command.SearchProductsQuery;
+import com.community.catalog.productread.application.dto.ProductSearchResultDTO;
+import com.community.catalog.productread.application.error.SearchIndexNotReadyException;
+import com.community.catalog.productread.infrastructure.search.FacetIndex;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchProductsHandlerTest {
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    private SearchProductsHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new SearchProductsHandler(productSearchIndex, 50, 200);
+    }
+
+    @Test
+    void testHandle_WhenIndexNotBuilt_ShouldRefuseRatherThanReturnAnEmptyCatalog() {
+        // Arrange
+        when(productSearchIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(SearchIndexNotReadyException.class, () -> handler.handle(new SearchProductsQuery()));
+        verify(productSearchIndex, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testHandle_WhenIndexBuilt_ShouldSearchIt() {
+        // Arrange
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search(any(), eq(0), eq(50)))
+                .thenReturn(new FacetIndex.Result(List.of(), 0, Map.of()));
+
+        // Act
+        ProductSearchResultDTO page = handler.handle(new SearchProductsQuery());
+
+        // Assert
+        assertEquals(0, page.getTotal());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,195 @@
+package com.community.catalog.productread.application.mediator;
+
+import com.community.catalog.productread.application.command.GetAllProductsQuery;
+import com.community.catalog.productread.application.command.GetProductByIdQuery;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.error.MediatorBusyException;
+import com.community.catalog.productread.application.handler.GetAllProductsHandler;
+import com.community.catalog.productread.application.handler.GetProductByIdHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpringMediatorTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private GetAllProductsHandler getAllProductsHandler;
+
+    @Mock
+    private GetProductByIdHandler getProductByIdHandler;
+
+    private SpringMediator mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new SpringMediator(applicationContext, List.of(), Runnable::run, 256);
+    }
+
+    @Test
+    void testSend_ShouldDispatchQueryToItsHandler() {
+        // Arrange
+        GetAllProductsQuery query = new GetAllProductsQuery();
+        List<ProductDTO> products = List.of(ProductDTO.builder().id(1L).name("Lamp").build());
+        registerGetAllProductsHandler();
+        when(getAllProductsHandler.handle(query)).thenReturn(products);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        List<ProductDTO> result = mediator.send(query);
+
+        // Assert
+        assertSame(products, result);
+    }
+
+    @Test
+    void testSend_WhenNoHandlerIsRegistered_ShouldThrowIllegalStateException() {
+        // Arrange
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{});
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> mediator.send(new GetAllProductsQuery()));
+        assertTrue(exception.getMessage().contains("No handler found for query"));
+    }
+
+    @Test
+    void testSend_WhenHandlerThrows_ShouldPropagateTheExceptionUnwrapped() {
+        // Arrange
+        GetAllProductsQuery query = new GetAllProductsQuery();
+        registerGetAllProductsHandler();
+        when(getAllProductsHandler.handle(query)).thenThrow(new IllegalArgumentException("Bad filter"));
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> mediator.send(query));
+        assertEquals("Bad filter", exception.getMessage());
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_WhenTwoHandlersTakeTheSameQuery_ShouldFail() {
+        // Arrange
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[]{"getAllProductsHandler", "otherHandler"});
+        doReturn(GetAllProductsHandler.class).when(applicationContext).getType("getAllProductsHandler");
+        doReturn(GetAllProductsHandler.class).when(applicationContext).getType("otherHandler");
+        when(applicationContext.getBean("getAllProductsHandler")).thenReturn(getAllProductsHandler);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> mediator.afterSingletonsInstantiated());
+        assertTrue(exception.getMessage().contains("Multiple handlers found for query"));
+    }
+
+    @Test
+    void testSend_ShouldRunPipelineBehaviorsInOrderAroundTheHandler() {
+        // Arrange
+        List<String> calls = new ArrayList<>();
+        mediator = new SpringMediator(applicationContext,
+                List.of(recording("outer", calls), recording("inner", calls)), Runnable::run, 256);
+        GetAllProductsQuery query = new GetAllProductsQuery();
+        registerGetAllProductsHandler();
+        when(getAllProductsHandler.handle(query)).thenAnswer(invocation -> {
+            calls.add("handler");
+            return List.of();
+        });
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        mediator.send(query);
+
+        // Assert
+        assertEquals(List.of("outer", "inner", "handler"), calls);
+    }
+
+    @Test
+    void testSendAsync_WhenHandlerReturnsAFuture_ShouldCompleteWithItsResult() throws Exception {
+        // Arrange
+        GetProductByIdQuery query = new GetProductByIdQuery(1L);
+        ProductDTO product = ProductDTO.builder().id(1L).name("Lamp").build();
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{"getProductByIdHandler"});
+        doReturn(GetProductByIdHandler.class).when(applicationContext).getType("getProductByIdHandler");
+        when(applicationContext.getBean("getProductByIdHandler")).thenReturn(getProductByIdHandler);
+        when(getProductByIdHandler.handle(query)).thenReturn(CompletableFuture.completedFuture(product));
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        CompletableFuture<ProductDTO> result = mediator.sendAsync(query);
+
+        // Assert - the handler's future is flattened rather than nested
+        assertSame(product, result.get());
+    }
+
+    @Test
+    void testSendAsync_WhenExecutorRejects_ShouldFailWithMediatorBusyException() {
+        // Arrange
+        mediator = new SpringMediator(applicationContext, List.of(), task -> {
+            throw new TaskRejectedException("full");
+        }, 256);
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{});
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        CompletableFuture<Object> result = mediator.sendAsync(new GetAllProductsQuery());
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(MediatorBusyException.class, exception.getCause());
+    }
+
+    @Test
+    void testSendAsync_WhenMaxConcurrencyQueriesAreInFlight_ShouldFailWithMediatorBusyException() throws Exception {
+        // Arrange
+        List<Runnable> pending = new ArrayList<>();
+        mediator = new SpringMediator(applicationContext, List.of(), pending::add, 1);
+        registerGetAllProductsHandler();
+        when(getAllProductsHandler.handle(any())).thenReturn(List.of());
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        CompletableFuture<List<ProductDTO>> first = mediator.sendAsync(new GetAllProductsQuery());
+        CompletableFuture<List<ProductDTO>> second = mediator.sendAsync(new GetAllProductsQuery());
+        pending.remove(0).run();
+        CompletableFuture<List<ProductDTO>> third = mediator.sendAsync(new GetAllProductsQuery());
+        pending.remove(0).run();
+
+        // Assert - the second is turned away without waiting, the third gets the freed permit
+        ExecutionException exception = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(MediatorBusyException.class, exception.getCause());
+        assertTrue(first.get().isEmpty());
+        assertTrue(third.get().isEmpty());
+    }
+
+    private void registerGetAllProductsHandler() {
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{"getAllProductsHandler"});
+        doReturn(GetAllProductsHandler.class).when(applicationContext).getType("getAllProductsHandler");
+        when(applicationContext.getBean("getAllProductsHandler")).thenReturn(getAllProductsHandler);
+    }
+
+    private static PipelineBehavior recording(String name, List<String> calls) {
+        return new PipelineBehavior() {
+            @Override
+            public <R> R handle(Object request, Next<R> next) {
+                calls.add(name);
+                return next.invoke();
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheTagIndexTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheTagIndex cacheTagIndex;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("products", "product-pages");
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getRedis().setTimeToLive(Duration.ofMinutes(5));
+        cacheTagIndex = new CacheTagIndex(redisTemplate, cacheManager, cacheInvalidationPublisher, cacheProperties);
+    }
+
+    @Test
+    void testTag_ShouldAddEntryToEveryTagSetAndRefreshItsExpiry() {
+        // Arrange
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // Act
+        boolean tagged = cacheTagIndex.tag("products", 5L, CacheTagIndex.tagsOf(product(5, "books", "acme")));
+
+        // Assert
+        assertTrue(tagged);
+        verify(connection).sAdd("catalog:cache-tags:category:books", "products::5");
+        verify(connection).sAdd("catalog:cache-tags:manufacturer:acme", "products::5");
+        verify(connection).expire("catalog:cache-tags:category:books", 300);
+    }
+
+    @Test
+    void testInvalidate_ShouldEvictTaggedEntriesOnlyAndTellOtherPodsToDropLocalCopies() {
+        // Arrange
+        cacheManager.getCache("products").put("5", "five");
+        cacheManager.getCache("products").put("6", "six");
+        cacheManager.getCache("product-pages").put("page:null:2:null:null:null", "page");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("catalog:cache-tags:manufacturer:acme"))
+                .thenReturn(Set.of("products::5", "product-pages::page:null:2:null:null:null", "gone::1"));
+
+        // Act
+        cacheTagIndex.invalidate("manufacturer:acme");
+
+        // Assert
+        assertNull(cacheManager.getCache("products").get("5"));
+        assertNull(cacheManager.getCache("product-pages").get("page:null:2:null:null:null"));
+        assertEquals("six", cacheManager.getCache("products").get("6").get());
+        verify(cacheInvalidationPublisher).publishInvalidateLocalTag("manufacturer:acme");
+    }
+
+    @Test
+    void testInvalidationListener_WhenLocalTagMessage_ShouldDropOnlyLocalCopies() {
+        // Arrange
+        CacheTagIndex index = mock(CacheTagIndex.class);
+        CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager, index);
+
+        // Act
+        listener.onMessage(new DefaultMessage("catalog:cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                "local:tag:manufacturer:acme".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        verify(index).invalidateLocal("manufacturer:acme");
+        verify(index, never()).invalidate(any());
+    }
+
+    @Test
+    void testTagsOfPage_ShouldIncludeItemsAndFilters() {
+        ProductPageDTO page = ProductPageDTO.builder()
+                .items(List.of(product(1, "books", "acme"), product(2, "books", ""), product(3, "garden", "acme")))
+                .build();
+
+        assertEquals(Set.of("category:books", "category:garden", "manufacturer:acme", "status:ACTIVE"),
+                CacheTagIndex.tagsOf(page, null, null, "ACTIVE"));
+    }
+
+    private static ProductDTO product(long id, String category, String manufacturer) {
+        return ProductDTO.builder()
+                .id(id)
+                .category(category)
+                .manufacturer(manufacturer)
+                .build();
+    }
+}
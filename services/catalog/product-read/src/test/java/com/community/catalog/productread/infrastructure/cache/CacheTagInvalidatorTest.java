@@ -0,0 +1,55 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheTagInvalidatorTest {
+
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+
+    private CacheTagInvalidator invalidator;
+
+    @AfterEach
+    void tearDown() {
+        invalidator.shutdown();
+    }
+
+    @Test
+    void testProjected_WhenRowsKeepArriving_ShouldInvalidateEachTagOnceAfterTheLast() {
+        // Arrange
+        invalidator = new CacheTagInvalidator(cacheTagIndex, Duration.ofMillis(200));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            invalidator.projected(List.of("category:Books", "status:INACTIVE"));
+        }
+
+        // Assert
+        verify(cacheTagIndex, never()).invalidate(any());
+        verify(cacheTagIndex, timeout(2000)).invalidate("category:Books");
+        verify(cacheTagIndex, timeout(2000)).invalidate("status:INACTIVE");
+        verify(cacheTagIndex, after(300).times(1)).invalidate("category:Books");
+    }
+
+    @Test
+    void testProjected_WhenQuietPeriodIsZero_ShouldInvalidateImmediately() {
+        // Arrange
+        invalidator = new CacheTagInvalidator(cacheTagIndex, Duration.ZERO);
+
+        // Act
+        invalidator.projected(List.of("category:Books"));
+
+        // Assert
+        verify(cacheTagIndex).invalidate("category:Books");
+    }
+}
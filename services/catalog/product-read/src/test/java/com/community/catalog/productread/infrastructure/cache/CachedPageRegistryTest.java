@@ -0,0 +1,129 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedPageRegistryTest {
+
+    private static final String BOOKS = "catalog:cached-pages:books|*|*:";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CachedPageRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CachedPageRegistry(redisTemplate, objectMapper, new CacheProperties());
+    }
+
+    @Test
+    void testIndexKeys_WhenPageHasMore_ShouldListTheBucketsItSpans() {
+        ProductCacheWriter.CachedPage page = books(1000L, page(true, 1500, 2100));
+
+        assertEquals(List.of(BOOKS + "0", BOOKS + "1", BOOKS + "2"), CachedPageRegistry.indexKeys(page));
+    }
+
+    @Test
+    void testIndexKeys_WhenLastPage_ShouldListItAsOpen() {
+        assertEquals(List.of(BOOKS + "open"), CachedPageRegistry.indexKeys(books(1000L, page(false, 1500))));
+        assertEquals(List.of(BOOKS + "open"),
+                CachedPageRegistry.indexKeys(ProductCacheWriter.CachedPage.of(null, 2, "books", null, null)));
+    }
+
+    @Test
+    void testIndexKeys_WhenPageSpansManyBuckets_ShouldListItAsWide() {
+        ProductCacheWriter.CachedPage page = books(null, page(true, 5, 100_000));
+
+        assertEquals(List.of(BOOKS + "wide"), CachedPageRegistry.indexKeys(page));
+    }
+
+    @Test
+    void testIndexKeys_ForProduct_ShouldCoverEveryFilterCombinationItMatches() {
+        ProductDTO product = ProductDTO.builder().id(2100L).category("books").manufacturer("acme").build();
+
+        Set<String> indexKeys = CachedPageRegistry.indexKeys(2100L, product);
+
+        // Status is unset, so only category and manufacturer combine: 4 combinations of 3 sets each
+        assertEquals(12, indexKeys.size());
+        assertTrue(indexKeys.contains("catalog:cached-pages:*|*|*:2"));
+        assertTrue(indexKeys.contains(BOOKS + "open"));
+        assertTrue(indexKeys.contains("catalog:cached-pages:books|acme|*:wide"));
+    }
+
+    @Test
+    void testFind_ShouldReturnRegisteredPagesAndPruneExpiredOnes() throws Exception {
+        // Arrange
+        ProductDTO product = ProductDTO.builder().id(5L).category("books").build();
+        ProductCacheWriter.CachedPage registered = books(null, page(false, 1));
+        List<String> queried = new ArrayList<>();
+        when(connection.sMembers(anyString())).thenAnswer(members -> {
+            queried.add(members.getArgument(0));
+            return null;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            queried.clear();
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return queried.stream()
+                    .map(indexKey -> (Object) (indexKey.equals(BOOKS + "open") ? new LinkedHashSet<>(List.of("live", "expired")) : Set.of()))
+                    .toList();
+        });
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList()))
+                .thenReturn(Arrays.asList(objectMapper.writeValueAsString(registered), null));
+
+        // Act
+        Map<String, ProductCacheWriter.CachedPage> pages = registry.find(5L, List.of(product));
+
+        // Assert
+        assertEquals(Map.of("live", registered), pages);
+        verify(connection).sRem(BOOKS + "open", "expired");
+    }
+
+    private static ProductCacheWriter.CachedPage books(Long afterId, ProductPageDTO page) {
+        return ProductCacheWriter.CachedPage.of(afterId, 2, "books", null, null).withContent(page);
+    }
+
+    private static ProductPageDTO page(boolean hasMore, long... ids) {
+        List<ProductDTO> items = new ArrayList<>();
+        for (long id : ids) {
+            items.add(ProductDTO.builder().id(id).category("books").build());
+        }
+        return ProductPageDTO.builder()
+                .items(items)
+                .nextCursor(hasMore ? "next" : null)
+                .build();
+    }
+}
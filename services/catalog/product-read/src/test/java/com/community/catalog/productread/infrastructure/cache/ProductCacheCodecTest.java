@@ -0,0 +1,88 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheCodecTest {
+
+    private final ProductCacheCodec codec = new ProductCacheCodec(getClass().getClassLoader(), 1024);
+
+    @Test
+    void testRoundTrip_Product_ShouldKeepNullsAndExactPrice() {
+        // Arrange
+        ProductDTO product = product(1L).toBuilder().description(null).price(new BigDecimal("19.90")).build();
+
+        // Act
+        byte[] bytes = codec.serialize(product);
+        Object decoded = codec.deserialize(bytes);
+
+        // Assert
+        assertEquals(ProductCacheCodec.PROTOBUF, bytes[0]);
+        assertEquals(product, decoded);
+        assertEquals("19.90", ((ProductDTO) decoded).getPrice().toString());
+    }
+
+    @Test
+    void testRoundTrip_LargeList_ShouldBeDeflated() {
+        // Arrange
+        List<ProductDTO> products = IntStream.range(0, 200).mapToObj(i -> product((long) i)).toList();
+
+        // Act
+        byte[] bytes = codec.serialize(products);
+        Object decoded = codec.deserialize(bytes);
+
+        // Assert
+        assertEquals(ProductCacheCodec.PROTOBUF_DEFLATED, bytes[0]);
+        assertEquals(products, decoded);
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) decoded).clear());
+    }
+
+    @Test
+    void testRoundTrip_Page_ShouldKeepCursor() {
+        // Arrange
+        ProductPageDTO page = ProductPageDTO.builder().items(List.of(product(1L), product(2L))).nextCursor("Mg").build();
+        ProductPageDTO lastPage = ProductPageDTO.builder().items(List.of()).build();
+
+        // Act & Assert
+        assertEquals(page, codec.deserialize(codec.serialize(page)));
+        assertEquals(lastPage, codec.deserialize(codec.serialize(lastPage)));
+    }
+
+    @Test
+    void testDeserialize_JdkEntries_ShouldStillBeReadable() {
+        // Arrange
+        JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+        ProductDTO product = product(3L);
+
+        // Act & Assert
+        assertEquals(product, codec.deserialize(jdk.serialize(product)));
+        assertEquals(NullValue.INSTANCE, codec.deserialize(codec.serialize(NullValue.INSTANCE)));
+    }
+
+    private static ProductDTO product(Long id) {
+        return ProductDTO.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description of product " + id)
+                .price(new BigDecimal("9.99"))
+                .quantity(10)
+                .sku("SKU-" + id)
+                .category("Electronics")
+                .manufacturer("Acme")
+                .status("ACTIVE")
+                .version(1)
+                .createdAt(new Date(1_700_000_000_000L))
+                .updatedAt(new Date(1_700_000_000_000L))
+                .build();
+    }
+}
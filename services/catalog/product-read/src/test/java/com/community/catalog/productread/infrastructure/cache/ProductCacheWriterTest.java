@@ -0,0 +1,327 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheWriterTest {
+
+    private static final String PAGE_KEY = "page:null:2:books:null:null";
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    @Mock
+    private CatalogVersionStore catalogVersionStore;
+
+    @Mock
+    private CacheTagIndex cacheTagIndex;
+
+    @Mock
+    private CachedPageRegistry cachedPageRegistry;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+    private ProductCacheWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("products", "product-pages");
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(cacheTagIndex.tag(anyString(), any(), anyCollection())).thenReturn(true);
+        lenient().when(cachedPageRegistry.register(anyString(), any(), any())).thenReturn("registration");
+        lenient().when(catalogVersionStore.advanceProductVersion(anyLong(), anyLong())).thenReturn(true);
+        writer = new ProductCacheWriter(cacheManager, cacheInvalidationPublisher, catalogVersionStore, cacheTagIndex,
+                cachedPageRegistry, meterRegistry);
+    }
+
+    @Test
+    void testPatch_WhenItemStillMatches_ShouldReplaceItInPlace() {
+        ProductPageDTO page = page(true, product(1, 1), product(2, 1));
+
+        ProductPageDTO patched = ProductCacheWriter.patch(page, books(null, 2, page), 2, product(2, 2));
+
+        assertEquals(List.of(1L, 2L), ids(patched));
+        assertEquals(2, patched.getItems().get(1).getVersion());
+        assertEquals(page.getNextCursor(), patched.getNextCursor());
+    }
+
+    @Test
+    void testPatch_WhenCachedItemIsNewer_ShouldLeavePageAlone() {
+        ProductPageDTO page = page(false, product(1, 3));
+
+        assertSame(page, ProductCacheWriter.patch(page, books(null, 2, page), 1, product(1, 2)));
+    }
+
+    @Test
+    void testPatch_WhenNewProductFitsLastPage_ShouldAppendIt() {
+        ProductPageDTO page = page(false, product(1, 1));
+
+        ProductPageDTO patched = ProductCacheWriter.patch(page, books(null, 2, page), 5, product(5, 0));
+
+        assertEquals(List.of(1L, 5L), ids(patched));
+        assertNull(patched.getNextCursor());
+    }
+
+    @Test
+    void testPatch_WhenNewProductWouldOverflowPage_ShouldEvict() {
+        ProductPageDTO full = page(false, product(1, 1), product(2, 1));
+        ProductPageDTO middle = page(true, product(1, 1), product(4, 1));
+
+        assertNull(ProductCacheWriter.patch(full, books(null, 2, full), 5, product(5, 0)));
+        assertNull(ProductCacheWriter.patch(middle, books(null, 2, middle), 3, product(3, 0)));
+    }
+
+    @Test
+    void testPatch_WhenItemLeaves_ShouldRemoveItFromLastPageOnly() {
+        ProductPageDTO last = page(false, product(1, 1), product(2, 1));
+        ProductPageDTO middle = page(true, product(1, 1), product(2, 1));
+        ProductDTO recategorized = product(1, 2).toBuilder().category("garden").build();
+
+        assertEquals(List.of(2L), ids(ProductCacheWriter.patch(last, books(null, 2, last), 1, recategorized)));
+        assertEquals(List.of(1L), ids(ProductCacheWriter.patch(last, books(null, 2, last), 2, null)));
+        assertNull(ProductCacheWriter.patch(middle, books(null, 2, middle), 1, null));
+    }
+
+    @Test
+    void testPatch_WhenProductDoesNotMatchFilters_ShouldLeavePageAlone() {
+        ProductPageDTO page = page(false, product(1, 1));
+        ProductDTO garden = product(5, 0).toBuilder().category("garden").build();
+
+        assertSame(page, ProductCacheWriter.patch(page, books(null, 2, page), 5, garden));
+    }
+
+    @Test
+    void testProductChanged_ShouldWriteEntryPatchPagesAndBumpVersion() {
+        // Arrange
+        ProductPageDTO page = page(false, product(1, 1));
+        ProductCacheWriter.CachedPage registration = books(null, 2, page);
+        cacheManager.getCache("product-pages").put(PAGE_KEY, page);
+        when(cachedPageRegistry.find(5L, List.of(product(5, 0)))).thenReturn(Map.of(PAGE_KEY, registration));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 0L)).thenReturn(11L);
+
+        // Act
+        writer.productChanged(null, product(5, 0));
+
+        // Assert
+        assertEquals(product(5, 0), cacheManager.getCache("products").get(5L).get());
+        ProductPageDTO patched = (ProductPageDTO) cacheManager.getCache("product-pages").get(PAGE_KEY).get();
+        assertEquals(List.of(1L, 5L), ids(patched));
+        verify(cachedPageRegistry).register(eq(PAGE_KEY), argThat(registered -> Long.valueOf(5L).equals(registered.lastId())),
+                eq(registration));
+        verify(cacheTagIndex).tag("products", 5L, Set.of("category:books"));
+        verify(cacheTagIndex).tag("product-pages", PAGE_KEY, Set.of("category:books"));
+        verify(cacheInvalidationPublisher).publishEvictLocal("products", 5L);
+        verify(cacheInvalidationPublisher).publishEvictLocal("product-pages", PAGE_KEY);
+        verify(cacheInvalidationPublisher, never()).publishClear(anyString());
+        assertEquals(1.0, writes("product-pages", "patched"));
+    }
+
+    @Test
+    void testProductChanged_ShouldLookUpPagesByOldAndNewValues() {
+        // Arrange
+        ProductDTO previous = product(5, 0).toBuilder().category("garden").build();
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 1L)).thenReturn(11L);
+
+        // Act
+        writer.productChanged(previous, product(5, 1));
+
+        // Assert
+        verify(cachedPageRegistry).find(5L, List.of(previous, product(5, 1)));
+    }
+
+    @Test
+    void testProductChanged_WhenRegisteredPageIsNotCached_ShouldDropRegistration() {
+        // Arrange
+        ProductCacheWriter.CachedPage registration = books(null, 2, page(false, product(1, 1)));
+        when(cachedPageRegistry.find(5L, List.of(product(5, 0)))).thenReturn(Map.of(PAGE_KEY, registration));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 0L)).thenReturn(11L);
+
+        // Act
+        writer.productChanged(null, product(5, 0));
+
+        // Assert
+        verify(cachedPageRegistry).unregister(PAGE_KEY, registration);
+        verify(cacheInvalidationPublisher).publishEvict("product-pages", PAGE_KEY);
+    }
+
+    @Test
+    void testProductChanged_WhenAnotherChangeWasCounted_ShouldClearPages() {
+        // Arrange
+        cacheManager.getCache("product-pages").put(PAGE_KEY, page(false, product(1, 1)));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 0L)).thenReturn(12L);
+
+        // Act
+        writer.productChanged(null, product(5, 0));
+
+        // Assert
+        assertNull(cacheManager.getCache("product-pages").get(PAGE_KEY));
+        verify(cacheInvalidationPublisher).publishClear("product-pages");
+    }
+
+    @Test
+    void testProductChanged_WhenCachedEntryIsNewer_ShouldKeepIt() {
+        // Arrange
+        cacheManager.getCache("products").put(5L, product(5, 3));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 2L)).thenReturn(11L);
+
+        // Act
+        writer.productChanged(null, product(5, 2));
+
+        // Assert
+        assertEquals(3, ((ProductDTO) cacheManager.getCache("products").get(5L).get()).getVersion());
+        verify(cacheInvalidationPublisher, never()).publishEvictLocal("products", 5L);
+    }
+
+    @Test
+    void testProductChanged_WhenNewerVersionWasClaimed_ShouldNotWriteEntry() {
+        // Arrange
+        when(catalogVersionStore.advanceProductVersion(5L, 2L)).thenReturn(false);
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productChanged(5L, 2L)).thenReturn(11L);
+
+        // Act
+        writer.productChanged(null, product(5, 2));
+
+        // Assert
+        assertNull(cacheManager.getCache("products").get(5L));
+        verify(cacheInvalidationPublisher, never()).publishEvictLocal("products", 5L);
+    }
+
+    @Test
+    void testCachePage_WhenStillRegisteredAfterLoad_ShouldCacheAndRegisterItsRange() {
+        // Arrange
+        ProductPageDTO page = page(true, product(1, 1), product(2, 1));
+        ProductCacheWriter.CachedPage query = ProductCacheWriter.CachedPage.of(null, 2, "books", null, null);
+        when(cachedPageRegistry.register(PAGE_KEY, query, null)).thenReturn("pending");
+        when(cachedPageRegistry.isRegistered(PAGE_KEY, "pending")).thenReturn(true);
+
+        // Act
+        ProductPageDTO loaded = writer.cachePage(PAGE_KEY, query, () -> page);
+
+        // Assert
+        assertSame(page, loaded);
+        assertSame(page, cacheManager.getCache("product-pages").get(PAGE_KEY).get());
+        verify(cachedPageRegistry).register(eq(PAGE_KEY),
+                argThat(registered -> Long.valueOf(2L).equals(registered.lastId()) && registered.hasMore()), eq(query));
+    }
+
+    @Test
+    void testCachePage_WhenChangeDroppedRegistrationDuringLoad_ShouldNotKeepPage() {
+        // Arrange
+        ProductPageDTO page = page(false, product(1, 1));
+        ProductCacheWriter.CachedPage query = ProductCacheWriter.CachedPage.of(null, 2, "books", null, null);
+        when(cachedPageRegistry.register(PAGE_KEY, query, null)).thenReturn("pending");
+        when(cachedPageRegistry.isRegistered(PAGE_KEY, "pending")).thenReturn(false);
+
+        // Act
+        ProductPageDTO loaded = writer.cachePage(PAGE_KEY, query, () -> page);
+
+        // Assert
+        assertSame(page, loaded);
+        assertNull(cacheManager.getCache("product-pages").get(PAGE_KEY));
+        assertEquals(1.0, writes("product-pages", "discarded"));
+    }
+
+    @Test
+    void testCachePage_WhenCached_ShouldNotLoad() {
+        // Arrange
+        ProductPageDTO page = page(false, product(1, 1));
+        cacheManager.getCache("product-pages").put(PAGE_KEY, page);
+
+        // Act
+        ProductPageDTO loaded = writer.cachePage(PAGE_KEY,
+                ProductCacheWriter.CachedPage.of(null, 2, "books", null, null),
+                () -> fail("Should not load a cached page"));
+
+        // Assert
+        assertSame(page, loaded);
+        verifyNoInteractions(cachedPageRegistry);
+    }
+
+    @Test
+    void testCachePage_WhenTaggingFails_ShouldNotCachePage() {
+        // Arrange
+        ProductPageDTO page = page(false, product(1, 1));
+        ProductCacheWriter.CachedPage query = ProductCacheWriter.CachedPage.of(null, 2, "books", null, null);
+        when(cachedPageRegistry.register(PAGE_KEY, query, null)).thenReturn("pending");
+        when(cacheTagIndex.tag(eq("product-pages"), eq(PAGE_KEY), anyCollection())).thenReturn(false);
+
+        // Act
+        writer.cachePage(PAGE_KEY, query, () -> page);
+
+        // Assert
+        assertNull(cacheManager.getCache("product-pages").get(PAGE_KEY));
+    }
+
+    @Test
+    void testProductRemoved_WhenPatchingFails_ShouldEvictProductAndClearPages() {
+        // Arrange
+        cacheManager.getCache("products").put(5L, product(5, 1));
+        when(cachedPageRegistry.find(eq(5L), anyCollection())).thenThrow(new IllegalStateException("redis down"));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+        when(catalogVersionStore.productRemoved(5L)).thenReturn(11L);
+
+        // Act
+        writer.productRemoved(5L, product(5, 1));
+
+        // Assert
+        assertNull(cacheManager.getCache("products").get(5L));
+        verify(cacheInvalidationPublisher, atLeastOnce()).publishEvict("products", 5L);
+        verify(cacheInvalidationPublisher).publishClear("product-pages");
+    }
+
+    private static ProductCacheWriter.CachedPage books(Long afterId, int size, ProductPageDTO page) {
+        return ProductCacheWriter.CachedPage.of(afterId, size, "books", null, null).withContent(page);
+    }
+
+    private static ProductPageDTO page(boolean hasMore, ProductDTO... items) {
+        return ProductPageDTO.builder()
+                .items(List.of(items))
+                .nextCursor(hasMore ? "next" : null)
+                .build();
+    }
+
+    private static ProductDTO product(long id, int version) {
+        return ProductDTO.builder()
+                .id(id)
+                .name("Book " + id)
+                .category("books")
+                .version(version)
+                .build();
+    }
+
+    private static List<Long> ids(ProductPageDTO page) {
+        return page.getItems().stream().map(ProductDTO::getId).toList();
+    }
+
+    private double writes(String cache, String result) {
+        return meterRegistry.get("cache.write.through").tag("cache", cache).tag("result", result).counter().count();
+    }
+}
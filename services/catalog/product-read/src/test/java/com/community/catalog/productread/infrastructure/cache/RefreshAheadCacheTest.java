@@ -0,0 +1,296 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+    private static final Duration MAX_STALE = Duration.ofSeconds(5);
+    private static final Duration LOAD_WAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong version = new AtomicLong(1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> pendingLoads = new CopyOnWriteArrayList<>();
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testGet_WhenVersionMovesOn_ShouldServeStaleValueAndRefreshOnce() {
+        // Arrange
+        RefreshAheadCache<String> cache = cache(pendingLoads::add, 0.5);
+        String initial = loadNow(cache);
+        version.set(2);
+
+        // Act
+        String first = cache.get();
+        String second = cache.get();
+        runPendingLoads();
+        String refreshed = cache.get();
+
+        // Assert
+        assertEquals("value-1", initial);
+        assertEquals("value-1", first);
+        assertEquals("value-1", second);
+        assertEquals("value-2", refreshed);
+        assertEquals(2, loads.get());
+        assertEquals(1.0, counter("cache.recomputations", "trigger", "changed"));
+        assertEquals(1.0, counter("cache.recomputations.avoided", null, null));
+        assertEquals(2.0, counter("cache.stale.served", null, null));
+    }
+
+    @Test
+    void testGet_WhenStaleLongerThanMaxStale_ShouldWaitForTheRefresh() {
+        // Arrange
+        RefreshAheadCache<String> cache = cache(Runnable::run, 0.5);
+        cache.get();
+        clock.addAndGet(TIME_TO_LIVE.plus(MAX_STALE).plusSeconds(1).toNanos());
+
+        // Act
+        String value = cache.get();
+
+        // Assert
+        assertEquals("value-2", value);
+        assertEquals(1.0, counter("cache.recomputations", "trigger", "expired"));
+        assertEquals(0.0, counter("cache.stale.served", null, null));
+    }
+
+    @Test
+    void testGet_NearExpiry_ShouldRefreshEarlyWhenTheDrawAllows() {
+        // Arrange - the load takes 1s of clock time; 59.5s later an unlucky draw (U close to 0) refreshes early
+        RefreshAheadCache<String> slowLoad = new RefreshAheadCache<>("all", sourceVersion -> {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            return "value-" + loads.incrementAndGet();
+        }, version::get, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 1.0, Runnable::run, meterRegistry,
+                clock::get, () -> 0.01);
+        slowLoad.get();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(59_500));
+
+        // Act
+        String value = slowLoad.get();
+
+        // Assert - served the current value, the refresh ran alongside
+        assertEquals("value-1", value);
+        assertEquals(2, loads.get());
+        assertEquals(1.0, counter("cache.recomputations", "trigger", "early"));
+    }
+
+    @Test
+    void testGet_WhenColdAndConcurrent_ShouldLoadOnce() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService loaders = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> {
+            await(release);
+            return "value-" + loads.incrementAndGet();
+        }, version::get, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 0.0, loaders, meterRegistry,
+                clock::get, () -> 0.5);
+
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(cache::get, callers));
+        }
+        while (counter("cache.recomputations.avoided", null, null) < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<String> result : results) {
+            assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, counter("cache.recomputations", "trigger", "miss"));
+        loaders.shutdown();
+        callers.shutdown();
+    }
+
+    @Test
+    void testGet_WhenColdLoadFails_ShouldThrowAndRetryNextTime() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            return "value";
+        }, version::get, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 0.0, Runnable::run, meterRegistry,
+                clock::get, () -> 0.5);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, cache::get);
+        assertEquals("value", cache.get());
+    }
+
+    @Test
+    void testGet_WhenCallersFillTheirPool_ShouldStillLoad() throws Exception {
+        // Arrange - every caller thread blocks on the cold list; the load must not need one of them
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService refresh = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> {
+            loading.countDown();
+            await(release);
+            return "value-" + loads.incrementAndGet();
+        }, version::get, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 0.0, refresh, meterRegistry,
+                clock::get, () -> 0.5);
+
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(CompletableFuture.supplyAsync(cache::get, callers));
+        }
+        await(loading);
+        while (counter("cache.recomputations.avoided", null, null) < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<String> result : results) {
+            assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        refresh.shutdown();
+        callers.shutdown();
+    }
+
+    @Test
+    void testGet_WhenColdLoadTakesTooLong_ShouldThrowLoadTimeoutException() {
+        // Arrange - the load is never run
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> "value", version::get,
+                TIME_TO_LIVE, MAX_STALE, Duration.ofMillis(50), Duration.ZERO, 0.0, pendingLoads::add, meterRegistry,
+                clock::get, () -> 0.5);
+
+        // Act & Assert
+        assertThrows(RefreshAheadCache.LoadTimeoutException.class, cache::get);
+    }
+
+    @Test
+    void testGet_WhenRefreshTakesTooLong_ShouldServeTheStaleValue() {
+        // Arrange
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all",
+                sourceVersion -> "value-" + loads.incrementAndGet(), version::get, TIME_TO_LIVE, MAX_STALE,
+                Duration.ofMillis(50), Duration.ZERO, 0.0, pendingLoads::add, meterRegistry, clock::get, () -> 0.5);
+        loadNow(cache);
+        clock.addAndGet(TIME_TO_LIVE.plus(MAX_STALE).plusSeconds(1).toNanos());
+
+        // Act
+        String value = cache.get();
+
+        // Assert
+        assertEquals("value-1", value);
+        assertEquals(1.0, counter("cache.stale.served", null, null));
+    }
+
+    @Test
+    void testGet_WhenLoadThrowsAnError_ShouldThrowAndRetryNextTime() throws Exception {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService refresh = Executors.newSingleThreadExecutor();
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AssertionError("out of memory");
+            }
+            return "value";
+        }, version::get, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 0.0, refresh, meterRegistry,
+                clock::get, () -> 0.5);
+
+        // Act & Assert
+        assertThrows(AssertionError.class, cache::get);
+        assertEquals("value", cache.get());
+        refresh.shutdown();
+    }
+
+    @Test
+    void testGet_WithinVersionCheckInterval_ShouldNotReadTheVersionAgain() {
+        // Arrange
+        AtomicInteger versionReads = new AtomicInteger();
+        RefreshAheadCache<String> cache = new RefreshAheadCache<>("all", sourceVersion -> "value-" + sourceVersion,
+                () -> {
+                    versionReads.incrementAndGet();
+                    return version.get();
+                }, TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ofSeconds(1), 0.0, Runnable::run,
+                meterRegistry, clock::get, () -> 0.5);
+        cache.get();
+        version.set(2);
+
+        // Act
+        String beforeCheck = cache.get();
+        String sameInterval = cache.get();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        String afterCheck = cache.get();
+
+        // Assert - one read per load, and one by the first get once the interval had passed
+        assertEquals("value-1", beforeCheck);
+        assertEquals("value-1", sameInterval);
+        assertEquals("value-1", afterCheck);
+        assertEquals("value-2", cache.get());
+        assertEquals(3, versionReads.get());
+        assertEquals(1.0, counter("cache.recomputations", "trigger", "changed"));
+    }
+
+    private RefreshAheadCache<String> cache(Executor executor, double random) {
+        return new RefreshAheadCache<>("all", sourceVersion -> "value-" + loads.incrementAndGet(), version::get,
+                TIME_TO_LIVE, MAX_STALE, LOAD_WAIT_TIMEOUT, Duration.ZERO, 1.0, executor, meterRegistry, clock::get,
+                () -> random);
+    }
+
+    private String loadNow(RefreshAheadCache<String> cache) {
+        CompletableFuture<String> value = CompletableFuture.supplyAsync(cache::get);
+        while (pendingLoads.isEmpty()) {
+            Thread.onSpinWait();
+        }
+        runPendingLoads();
+        return value.join();
+    }
+
+    private void runPendingLoads() {
+        List<Runnable> runs = new ArrayList<>(pendingLoads);
+        pendingLoads.clear();
+        runs.forEach(Runnable::run);
+    }
+
+    private double counter(String name, String tag, String value) {
+        var search = meterRegistry.find(name);
+        if (tag != null) {
+            search = search.tag(tag, value);
+        }
+        var counter = search.counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SharedValueLoaderTest {
+
+    private static final String LATEST = SharedValueLoader.LATEST_KEY_PREFIX + "products::all";
+    private static final String CLAIM = SharedValueLoader.CLAIM_KEY_PREFIX + "products::all";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private Cache products;
+    private SharedValueLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("products");
+        products = cacheManager.getCache("products");
+        loader = new SharedValueLoader(cacheManager, redisTemplate, new CacheProperties(), meterRegistry,
+                Duration.ofMillis(200), Duration.ofMillis(1));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void testLoad_WhenAnotherPodLoadedTheVersion_ShouldReturnItWithoutLoading() {
+        // Arrange
+        when(valueOperations.get(LATEST)).thenReturn("8");
+        products.put("all:8", "loaded at 8");
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert
+        assertEquals("loaded at 8", value);
+        assertEquals(0, loads.get());
+        assertEquals(1.0, counter("shared"));
+    }
+
+    @Test
+    void testLoad_WhenClaimed_ShouldLoadPublishAndRelease() {
+        // Arrange
+        when(valueOperations.get(LATEST)).thenReturn("6");
+        products.put("all:6", "loaded at 6");
+        when(valueOperations.setIfAbsent(eq(CLAIM), anyString(), eq(Duration.ofMillis(200)))).thenReturn(true);
+        when(redisTemplate.execute(eq(SharedValueLoader.ADVANCE), eq(List.of(LATEST)), eq("7"), anyString()))
+                .thenReturn("6");
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert - the new version is shared and the one it replaced is dropped
+        assertEquals("loaded here", value);
+        assertEquals("loaded here", products.get("all:7").get());
+        assertNull(products.get("all:6"));
+        verify(redisTemplate).execute(eq(SharedValueLoader.DELETE_IF_EQUAL), eq(List.of(CLAIM)), anyString());
+        assertEquals(1.0, counter("loaded"));
+    }
+
+    @Test
+    void testLoad_WhenAnotherPodHoldsTheClaim_ShouldWaitForItsValue() {
+        // Arrange
+        when(valueOperations.get(LATEST)).thenReturn(null, null, "7");
+        when(valueOperations.setIfAbsent(eq(CLAIM), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            products.put("all:7", "loaded elsewhere");
+            return false;
+        });
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert
+        assertEquals("loaded elsewhere", value);
+        assertEquals(0, loads.get());
+        assertEquals(1.0, counter("shared"));
+    }
+
+    @Test
+    void testLoad_WhenTheClaimIsNeverFulfilled_ShouldLoadAfterTheTimeout() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq(CLAIM), anyString(), any(Duration.class))).thenReturn(false);
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert
+        assertEquals("loaded here", value);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, counter("fallback"));
+    }
+
+    @Test
+    void testLoad_WhenTheLatestEntryIsGone_ShouldDropThePointerAndLoad() {
+        // Arrange
+        when(valueOperations.get(LATEST)).thenReturn("7");
+        when(valueOperations.setIfAbsent(eq(CLAIM), anyString(), any(Duration.class))).thenReturn(true);
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert
+        assertEquals("loaded here", value);
+        verify(redisTemplate).execute(SharedValueLoader.DELETE_IF_EQUAL, List.of(LATEST), "7");
+        assertEquals("loaded here", products.get("all:7").get());
+    }
+
+    @Test
+    void testLoad_WhenRedisIsDown_ShouldLoadHere() {
+        // Arrange
+        when(valueOperations.get(LATEST)).thenThrow(new RedisConnectionFailureException("down"));
+        when(valueOperations.setIfAbsent(eq(CLAIM), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        String value = loader.load("products", "all", 7L, this::loadHere);
+
+        // Assert
+        assertEquals("loaded here", value);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, counter("fallback"));
+    }
+
+    private String loadHere() {
+        loads.incrementAndGet();
+        return "loaded here";
+    }
+
+    private double counter(String source) {
+        var counter = meterRegistry.find("cache.shared.loads").tag("source", source).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+}
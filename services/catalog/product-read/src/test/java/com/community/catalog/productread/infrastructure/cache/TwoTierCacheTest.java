@@ -0,0 +1,308 @@
+package com.community.catalog.productread.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class TwoTierCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private ConcurrentMapCache remote;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remote = new ConcurrentMapCache("products");
+        cache = new TwoTierCache(remote, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), Runnable::run,
+                meterRegistry);
+    }
+
+    @Test
+    void testGet_WhenOnlyInRemote_ShouldPromoteToLocalTier() {
+        // Arrange
+        List<String> products = List.of("a", "b");
+        remote.put("all", products);
+
+        // Act
+        Object first = cache.get("all").get();
+        remote.evict("all");
+        Object second = cache.get("all").get();
+
+        // Assert
+        assertSame(products, first);
+        assertSame(products, second, "Second read should be served from the local tier");
+        assertEquals(1.0, gets("l1", "hit"));
+        assertEquals(1.0, gets("l1", "miss"));
+        assertEquals(1.0, gets("l2", "hit"));
+    }
+
+    @Test
+    void testGet_WhenMissingInBothTiers_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(cache.get("all"));
+        assertEquals(1.0, gets("l2", "miss"));
+    }
+
+    @Test
+    void testGet_WithLongKey_ShouldShareEntryWithStringKey() {
+        // Arrange
+        cache.put(42L, "product");
+
+        // Act
+        cache.evictLocal("42");
+
+        // Assert
+        assertEquals(0, cache.localSize());
+    }
+
+    @Test
+    void testEvictLocal_ShouldLeaveRemoteTierUntouched() {
+        // Arrange
+        cache.put("all", List.of("a"));
+
+        // Act
+        cache.evictLocal("all");
+
+        // Assert
+        assertEquals(0, cache.localSize());
+        assertEquals(List.of("a"), remote.get("all").get());
+    }
+
+    @Test
+    void testPut_WhenWeightExceeded_ShouldEvictBySize() {
+        // Act
+        cache.put("all", List.of(1, 2, 3, 4, 5, 6, 7, 8));
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.put(3L, "three");
+
+        // Assert
+        assertEquals(3, cache.localSize(), "Total weight 11 exceeds the maximum of 10");
+    }
+
+    @Test
+    void testInvalidationListener_ShouldEvictBothTiersOrClearCache() {
+        // Arrange
+        SimpleCacheManager remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(remote));
+        remoteManager.afterPropertiesSet();
+        TwoTierCacheManager cacheManager =
+                new TwoTierCacheManager(remoteManager, 10, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                        Runnable::run, meterRegistry);
+        CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager, mock(CacheTagIndex.class));
+        Cache products = cacheManager.getCache("products");
+        // Keys arrive as strings; unlike RedisCache, the in-memory remote does not convert them
+        products.put("7", "seven");
+        products.put("all", List.of("seven"));
+
+        // Act
+        listener.onMessage(message("products::7"), null);
+
+        // Assert
+        assertNull(products.get("7"));
+        assertEquals(List.of("seven"), products.get("all").get());
+
+        // Act
+        listener.onMessage(message("products::*"), null);
+
+        // Assert
+        assertNull(products.get("all"));
+    }
+
+    @Test
+    void testInvalidationListener_WhenLocalOnly_ShouldReloadRewrittenEntryFromRemote() {
+        // Arrange
+        SimpleCacheManager remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(remote));
+        remoteManager.afterPropertiesSet();
+        TwoTierCacheManager cacheManager =
+                new TwoTierCacheManager(remoteManager, 10, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                        Runnable::run, meterRegistry);
+        CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager, mock(CacheTagIndex.class));
+        Cache products = cacheManager.getCache("products");
+        products.put("7", "seven");
+        // Another pod rewrites the shared entry
+        remote.put("7", "seven, revised");
+
+        // Act
+        listener.onMessage(message("local:products::7"), null);
+
+        // Assert
+        assertEquals("seven, revised", products.get("7").get());
+    }
+
+    @Test
+    void testGetWithLoader_WhenMissesAreConcurrent_ShouldCallLoaderOnce() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            loaderStarted.countDown();
+            releaseLoader.await();
+            return "product";
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<String> first = executor.submit(() -> cache.get(5L, loader));
+        loaderStarted.await();
+        Future<String> second = executor.submit(() -> cache.get(5L, loader));
+        while (meterRegistry.get("cache.tier.loads").tag("result", "coalesced").counter().count() == 0) {
+            Thread.onSpinWait();
+        }
+        releaseLoader.countDown();
+
+        // Assert
+        assertEquals("product", first.get(5, TimeUnit.SECONDS));
+        assertEquals("product", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void testGetWithLoader_WhenLoaderReturnsNull_ShouldCacheNegativeResult() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            return null;
+        };
+
+        // Act
+        cache.get(9L, loader);
+        Object second = cache.get(9L, loader);
+
+        // Assert
+        assertNull(second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRetrieveWithLoader_WhenMissesAreConcurrent_ShouldShareOnePendingLoad() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> first = cache.retrieve(7L, () -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = cache.retrieve(7L, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        pending.complete("product");
+
+        // Assert
+        assertEquals("product", first.get(5, TimeUnit.SECONDS));
+        assertEquals("product", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals("product", cache.get(7L).get(), "Loaded value should be cached");
+    }
+
+    @Test
+    void testGetWithLoader_WhenJoinedLoadOutlivesTheWaitTimeout_ShouldFailTheWaiter() throws Exception {
+        // Arrange
+        cache = new TwoTierCache(remote, 10, Duration.ofMinutes(1), Duration.ofMillis(50), Runnable::run,
+                meterRegistry);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loaderStarted.countDown();
+            releaseLoader.await();
+            return "product";
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> first = executor.submit(() -> cache.get(5L, loader));
+        loaderStarted.await();
+
+        try {
+            // Act & Assert
+            Cache.ValueRetrievalException thrown = assertThrows(Cache.ValueRetrievalException.class,
+                    () -> cache.get(5L, loader));
+            assertInstanceOf(TimeoutException.class, thrown.getCause());
+        } finally {
+            releaseLoader.countDown();
+        }
+        assertEquals("product", first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void testRetrieveWithLoader_WhenJoinedLoadOutlivesTheWaitTimeout_ShouldFailTheWaiter() {
+        // Arrange
+        cache = new TwoTierCache(remote, 10, Duration.ofMinutes(1), Duration.ofMillis(50), Runnable::run,
+                meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.retrieve(7L, () -> pending);
+
+        // Act
+        CompletableFuture<String> second = cache.retrieve(7L, () -> CompletableFuture.completedFuture("other"));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, thrown.getCause());
+        pending.complete("product");
+        assertEquals("product", first.join());
+    }
+
+    @Test
+    void testRetrieveWithLoader_ShouldWriteTheValueOnTheWriteExecutor() {
+        // Arrange
+        List<Runnable> writes = new ArrayList<>();
+        cache = new TwoTierCache(remote, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), writes::add,
+                meterRegistry);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> result = cache.retrieve(7L, () -> pending);
+
+        // Act - completing the load, as a gRPC callback would, writes nothing itself
+        pending.complete("product");
+
+        // Assert
+        assertNull(remote.get(7L));
+        assertEquals(1, writes.size());
+        writes.get(0).run();
+        assertEquals("product", remote.get(7L).get());
+        assertEquals("product", result.join());
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("catalog:cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+package com.community.catalog.productread.infrastructure.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import product_lookup.ProductLookupOuterClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class ProductExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Statement> statements = new ArrayList<>();
+    private JdbcDataSource database;
+    private Connection keepAlive;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL");
+        // The in-memory database lives as long as one connection to it is open
+        keepAlive = database.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE product_views (id BIGINT PRIMARY KEY, name VARCHAR(255),"
+                + " description VARCHAR(255), price DECIMAL(19, 2), stock_quantity INT, sku VARCHAR(255),"
+                + " image_url VARCHAR(255), category VARCHAR(255), manufacturer VARCHAR(255), status VARCHAR(255),"
+                + " version INT, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO product_views VALUES (?, ?, NULL, ?, ?, ?, NULL, 'books', 'acme',"
+                            + " 'ACTIVE', 3, TIMESTAMP '2026-01-02 03:04:05.678', NULL)",
+                    id, "Product " + id, 10 + id, id == 3 ? null : (int) id * 10, "SKU-" + id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void testExportNdjson_ShouldWriteOneObjectPerRowInIdOrder() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exporter(100, 100).exportNdjson(output);
+
+        // Assert
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(5, rows);
+        assertEquals(5, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("Product 1", first.get("name").asText());
+        assertTrue(first.get("description").isNull());
+        assertEquals(11.0, first.get("price").asDouble());
+        assertEquals(10, first.get("quantity").asInt());
+        assertEquals("SKU-1", first.get("sku").asText());
+        assertEquals("books", first.get("category").asText());
+        assertEquals(3, first.get("version").asInt());
+        assertEquals("2026-01-02T03:04:05.678Z", first.get("createdAt").asText());
+        assertTrue(first.get("updatedAt").isNull());
+        assertEquals(5, objectMapper.readTree(lines.get(4)).get("id").asLong());
+    }
+
+    @Test
+    void testExportNdjson_WhenQuantityIsNull_ShouldWriteNullRatherThanZero() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        exporter(100, 100).exportNdjson(output);
+
+        // Assert
+        JsonNode third = objectMapper.readTree(output.toString(StandardCharsets.UTF_8).lines().toList().get(2));
+        assertTrue(third.has("quantity"));
+        assertTrue(third.get("quantity").isNull());
+    }
+
+    @Test
+    void testExportProtobuf_ShouldWriteLengthDelimitedProducts() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exporter(100, 100).exportProtobuf(output);
+
+        // Assert
+        List<ProductLookupOuterClass.Product> products = parseProducts(output.toByteArray());
+        assertEquals(5, rows);
+        assertEquals(5, products.size());
+        ProductLookupOuterClass.Product first = products.get(0);
+        assertEquals("1", first.getId());
+        assertEquals("Product 1", first.getName());
+        assertEquals("", first.getDescription());
+        assertEquals(11.0, first.getPrice());
+        assertEquals(10, first.getQuantity());
+        assertEquals(3, first.getVersion());
+        assertEquals("2026-01-02T03:04:05.678Z", first.getCreatedAt());
+        assertEquals("", first.getUpdatedAt());
+        assertEquals(0, products.get(2).getQuantity());
+    }
+
+    @Test
+    void testExportNdjson_ShouldFlushToTheClientEveryFlushEveryRows() {
+        // Arrange
+        FlushRecordingOutputStream output = new FlushRecordingOutputStream();
+
+        // Act
+        exporter(100, 2).exportNdjson(output);
+
+        // Assert - rows reach the client while the cursor is still open, not only at the end
+        assertEquals(List.of(2, 4, 5), output.linesAtFlush());
+    }
+
+    @Test
+    void testExportProtobuf_ShouldFlushToTheClientEveryFlushEveryRows() {
+        // Arrange
+        FlushRecordingOutputStream output = new FlushRecordingOutputStream();
+
+        // Act
+        exporter(100, 2).exportProtobuf(output);
+
+        // Assert
+        assertEquals(List.of(2, 4, 5), output.productsAtFlush());
+    }
+
+    @Test
+    void testExport_ShouldReadTheCursorWithTheConfiguredFetchSize() throws SQLException {
+        // Act
+        exporter(250, 100).exportNdjson(new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(1, statements.size());
+        verify(statements.get(0)).setFetchSize(250);
+    }
+
+    private ProductExporter exporter(int fetchSize, int flushEvery) {
+        return new ProductExporter(new StatementRecordingDataSource(), objectMapper, fetchSize, flushEvery);
+    }
+
+    private static List<ProductLookupOuterClass.Product> parseProducts(byte[] bytes) throws IOException {
+        List<ProductLookupOuterClass.Product> products = new ArrayList<>();
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes);
+        ProductLookupOuterClass.Product product;
+        while ((product = ProductLookupOuterClass.Product.parseDelimitedFrom(input)) != null) {
+            products.add(product);
+        }
+        return products;
+    }
+
+    // Hands out connections whose statements are spied on, to check the settings the export applies
+    private class StatementRecordingDataSource extends DelegatingDataSource {
+
+        StatementRecordingDataSource() {
+            super(database);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = spy(database.getConnection());
+            doAnswer(invocation -> {
+                Statement statement = spy((Statement) invocation.callRealMethod());
+                statements.add(statement);
+                return statement;
+            }).when(connection).createStatement();
+            return connection;
+        }
+    }
+
+    private static class FlushRecordingOutputStream extends ByteArrayOutputStream {
+
+        private final List<byte[]> flushed = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushed.add(toByteArray());
+        }
+
+        List<Integer> linesAtFlush() {
+            return flushed.stream()
+                    .map(bytes -> (int) new String(bytes, StandardCharsets.UTF_8).lines().count())
+                    .distinct()
+                    .toList();
+        }
+
+        List<Integer> productsAtFlush() {
+            List<Integer> counts = new ArrayList<>();
+            for (byte[] bytes : flushed) {
+                try {
+                    counts.add(parseProducts(bytes).size());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return counts.stream().distinct().toList();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTest {
+
+    private static final FacetIndex.Criteria ALL = new FacetIndex.Criteria(null, null, null, null, null);
+
+    @Test
+    void testSearch_WithFacetAndPriceFilters_ShouldReturnMatchesAndDisjunctiveCounts() {
+        // Arrange
+        FacetIndex index = FacetIndex.of(List.of(
+                product(1L, "Books", "Acme", "9.99"),
+                product(2L, "Books", "Globex", "25.00"),
+                product(3L, "Games", "Acme", "59.99"),
+                product(4L, "Games", "Acme", "19.99"),
+                product(5L, "Music", "Globex", "12.50")));
+        FacetIndex.Criteria criteria = new FacetIndex.Criteria(List.of("Books", "Games"), List.of("Acme"), null,
+                new BigDecimal("5"), new BigDecimal("20"));
+
+        // Act
+        FacetIndex.Result result = index.search(criteria, 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 4L), ids(result));
+        assertEquals(2, result.total());
+        // Category counts ignore the category filter but keep manufacturer and price
+        assertEquals(Map.of("Books", 1, "Games", 1), result.facets().get(FacetIndex.CATEGORY));
+        // Manufacturer counts ignore the manufacturer filter: Globex has no Books/Games product in range
+        assertEquals(Map.of("Acme", 2), result.facets().get(FacetIndex.MANUFACTURER));
+        assertEquals(Map.of("ACTIVE", 2), result.facets().get(FacetIndex.STATUS));
+    }
+
+    @Test
+    void testUpsertAndRemove_ShouldMoveProductBetweenFacetValuesAndPrices() {
+        // Arrange
+        FacetIndex index = FacetIndex.of(List.of(product(1L, "Books", "Acme", "10.00"), product(2L, "Books", "Acme", "30.00")));
+
+        // Act
+        index.upsert(product(1L, "Games", "Acme", "50.00").toBuilder().version(2).build());
+        index.upsert(product(1L, "Books", "Acme", "10.00").toBuilder().version(1).build()); // stale, ignored
+        index.remove(2L);
+        index.upsert(product(3L, "Books", "Acme", "15.00"));
+
+        // Assert
+        assertEquals(Map.of("Games", 1, "Books", 1), index.search(ALL, 0, 10).facets().get(FacetIndex.CATEGORY));
+        FacetIndex.Result cheap = index.search(new FacetIndex.Criteria(null, null, null, null, new BigDecimal("20")), 0, 10);
+        assertEquals(List.of(3L), ids(cheap));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testSearch_WithOffset_ShouldPageInDocumentOrder() {
+        // Arrange
+        FacetIndex index = new FacetIndex(0);
+        for (long id = 1; id <= 150; id++) {
+            index.upsert(product(id, "Books", id % 2 == 0 ? "Acme" : "Globex", "1.00"));
+        }
+        FacetIndex.Criteria acme = new FacetIndex.Criteria(null, List.of("Acme"), null, null, null);
+
+        // Act
+        FacetIndex.Result second = index.search(acme, 50, 50);
+
+        // Assert
+        assertEquals(75, second.total());
+        assertEquals(25, second.items().size());
+        assertEquals(102L, second.items().get(0).getId());
+        assertEquals(150L, second.items().get(24).getId());
+    }
+
+    private static List<Long> ids(FacetIndex.Result result) {
+        return result.items().stream().map(ProductDTO::getId).toList();
+    }
+
+    private static ProductDTO product(Long id, String category, String manufacturer, String price) {
+        return ProductDTO.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(new BigDecimal(price))
+                .category(category)
+                .manufacturer(manufacturer)
+                .status("ACTIVE")
+                .build();
+    }
+}
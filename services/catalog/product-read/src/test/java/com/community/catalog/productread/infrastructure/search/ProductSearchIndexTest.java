@@ -0,0 +1,135 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.domain.model.ProductView;
+import com.community.catalog.productread.domain.repository.ProductViewRepository;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.snapshot.CatalogSnapshot;
+import com.community.catalog.productread.infrastructure.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    private static final FacetIndex.Criteria ALL = new FacetIndex.Criteria(null, null, null, null, null);
+
+    @Mock
+    private ProductViewRepository productViewRepository;
+
+    @Mock
+    private CatalogVersionStore catalogVersionStore;
+
+    @TempDir
+    Path directory;
+
+    private Path snapshotPath;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = directory.resolve("catalog.snapshot");
+        index = new ProductSearchIndex(productViewRepository, catalogVersionStore,
+                new CatalogSnapshotStore(snapshotPath.toString()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testBuild_WhenSnapshotMatchesCatalogVersion_ShouldNotReadTheStore() throws IOException {
+        // Arrange
+        CatalogSnapshot.write(snapshotPath, 10L, List.of(dto(1L, "Books", 1), dto(2L, "Games", 1)));
+        when(catalogVersionStore.catalogVersion()).thenReturn(10L);
+
+        // Act
+        index.build();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertEquals(2, index.search(ALL, 0, 10).total());
+        verifyNoInteractions(productViewRepository);
+    }
+
+    @Test
+    void testBuild_WhenCatalogMovedOn_ShouldReloadChangedAndDropRemovedProducts() throws IOException {
+        // Arrange
+        CatalogSnapshot.write(snapshotPath, 10L, List.of(dto(1L, "Books", 1), dto(2L, "Games", 1), dto(3L, "Music", 1)));
+        when(catalogVersionStore.catalogVersion()).thenReturn(12L);
+        when(productViewRepository.findAllVersions()).thenReturn(List.of(version(1L, 2), version(3L, 1), version(4L, 1)));
+        when(productViewRepository.findAllById(List.of(1L, 4L)))
+                .thenReturn(List.of(view(1L, "Garden", 2), view(4L, "Toys", 1)));
+
+        // Act
+        index.build();
+
+        // Assert
+        FacetIndex.Result result = index.search(ALL, 0, 10);
+        assertEquals(List.of(1L, 3L, 4L), result.items().stream().map(ProductDTO::getId).sorted().toList());
+        assertEquals(List.of("Garden", "Music", "Toys"),
+                result.facets().get(FacetIndex.CATEGORY).keySet().stream().sorted().toList());
+        verify(productViewRepository, never()).findAll(any(Sort.class));
+    }
+
+    @Test
+    void testBuild_WithoutSnapshot_ShouldBuildFromStoreAndSaveSnapshot() throws IOException {
+        // Arrange
+        when(catalogVersionStore.catalogVersion()).thenReturn(5L);
+        when(productViewRepository.findAll(any(Sort.class))).thenReturn(List.of(view(1L, "Books", 1)));
+
+        // Act
+        index.build();
+
+        // Assert
+        assertEquals(1, index.search(ALL, 0, 10).total());
+        CatalogSnapshot saved = CatalogSnapshot.open(snapshotPath);
+        assertEquals(5L, saved.catalogVersion());
+        assertEquals(1, saved.size());
+    }
+
+    private static ProductViewRepository.ProductVersion version(Long id, int version) {
+        return new ProductViewRepository.ProductVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static ProductDTO dto(Long id, String category, int version) {
+        return ProductDTO.from(view(id, category, version));
+    }
+
+    private static ProductView view(Long id, String category, int version) {
+        return ProductView.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(new BigDecimal("9.99"))
+                .quantity(1)
+                .sku("SKU-" + id)
+                .category(category)
+                .status("ACTIVE")
+                .version(version)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build();
+    }
+}
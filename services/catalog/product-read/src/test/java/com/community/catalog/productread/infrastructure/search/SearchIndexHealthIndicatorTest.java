@@ -0,0 +1,39 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexHealthIndicatorTest {
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @InjectMocks
+    private SearchIndexHealthIndicator healthIndicator;
+
+    @Test
+    void testHealth_WhenIndexNotBuilt_ShouldBeOutOfService() {
+        // Arrange
+        when(productSearchIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void testHealth_WhenIndexBuilt_ShouldBeUp() {
+        // Arrange
+        when(productSearchIndex.isReady()).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+}
@@ -0,0 +1,69 @@
+package com.community.catalog.productread.infrastructure.search;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    @Test
+    void testSearch_ShouldMatchWordPrefixesOfNameAndSku() {
+        // Arrange
+        SuggestionIndex index = new SuggestionIndex(0);
+        index.upsert(product(1L, "Wireless Mouse", "ACC-1001"), 0);
+        index.upsert(product(2L, "Wired Keyboard", "ACC-1002"), 0);
+        index.upsert(product(3L, "Mouse Pad", "ACC-2001"), 0);
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L), ids(index.search("wir", 10)));
+        assertEquals(List.of(1L), ids(index.search("MOUSE wire", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("acc-100", 10)));
+        assertEquals(List.of(), ids(index.search("ouse", 10)));
+        assertEquals(List.of(), ids(index.search("  - ", 10)));
+    }
+
+    @Test
+    void testSearch_ShouldKeepTheMostPopularFirst() {
+        // Arrange
+        SuggestionIndex index = new SuggestionIndex(0);
+        index.upsert(product(1L, "Phone Case", "P-1"), 5);
+        index.upsert(product(2L, "Phone", "P-2"), 5);
+        index.upsert(product(3L, "Phone Charger", "P-3"), 40);
+        index.upsert(product(4L, "Phone Stand", "P-4"), 1);
+
+        // Act
+        List<ProductDTO> results = index.search("pho", 3);
+
+        // Assert - equal popularity falls back to the shorter name
+        assertEquals(List.of(3L, 2L, 1L), ids(results));
+    }
+
+    @Test
+    void testUpsertAndRemove_ShouldReindexChangedWords() {
+        // Arrange
+        SuggestionIndex index = new SuggestionIndex(0);
+        index.upsert(product(1L, "Desk Lamp", "L-1"), 0);
+        index.upsert(product(2L, "Floor Lamp", "L-2"), 0);
+
+        // Act
+        index.upsert(product(1L, "Desk Light", "L-1").toBuilder().version(2).build(), 0);
+        index.upsert(product(1L, "Desk Lamp", "L-1").toBuilder().version(1).build(), 0); // stale, ignored
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(), ids(index.search("lamp", 10)));
+        assertEquals(List.of(1L), ids(index.search("lig", 10)));
+        assertEquals(1, index.size());
+    }
+
+    private static List<Long> ids(List<ProductDTO> products) {
+        return products.stream().map(ProductDTO::getId).toList();
+    }
+
+    private static ProductDTO product(Long id, String name, String sku) {
+        return ProductDTO.builder().id(id).name(name).sku(sku).version(1).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.community.catalog.productread.infrastructure.snapshot;
+
+import com.community.catalog.productread.application.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndOpen_ShouldRoundTripProductsInIdOrder() throws IOException {
+        // Arrange
+        Path path = directory.resolve("snapshots/catalog.snapshot");
+        ProductDTO first = product(7L, 3);
+        ProductDTO second = product(2L, 1).toBuilder().description(null).build();
+
+        // Act
+        CatalogSnapshot.write(path, 1234L, List.of(first, second));
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+
+        // Assert
+        assertEquals(1234L, snapshot.catalogVersion());
+        assertEquals(2, snapshot.size());
+        assertEquals(Map.of(2L, 1, 7L, 3), snapshot.versions());
+        assertEquals(List.of(second, first), snapshot.products());
+    }
+
+    @Test
+    void testWrite_ShouldReplaceAnEarlierSnapshot() throws IOException {
+        // Arrange
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, 1L, List.of(product(1L, 1), product(2L, 1)));
+
+        // Act
+        CatalogSnapshot.write(path, 2L, List.of(product(3L, 1)));
+
+        // Assert
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertEquals(2L, snapshot.catalogVersion());
+        assertEquals(Map.of(3L, 1), snapshot.versions());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void testOpen_WhenNotASnapshot_ShouldThrow() throws IOException {
+        // Arrange
+        Path path = Files.write(directory.resolve("catalog.snapshot"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(path));
+    }
+
+    private static ProductDTO product(Long id, int version) {
+        return ProductDTO.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description " + id)
+                .price(new BigDecimal("19.90"))
+                .quantity(5)
+                .sku("SKU-" + id)
+                .category("Books")
+                .status("ACTIVE")
+                .version(version)
+                .createdAt(new Date(1_700_000_000_000L))
+                .updatedAt(new Date(1_700_000_000_000L))
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.community.catalog.productread.interfaces.controller;
+
+import com.community.catalog.productread.application.command.GetAllProductsQuery;
+import com.community.catalog.productread.application.command.GetProductByIdQuery;
+import com.community.catalog.productread.application.command.GetProductsByIdsQuery;
+import com.community.catalog.productread.application.dto.ProductDTO;
+import com.community.catalog.productread.application.dto.ProductPageDTO;
+import com.community.catalog.productread.application.error.MediatorBusyException;
+import com.community.catalog.productread.application.error.TooManyProductIdsException;
+import com.community.catalog.productread.application.mediator.Mediator;
+import com.community.catalog.productread.infrastructure.cache.CatalogVersionStore;
+import com.community.catalog.productread.infrastructure.search.ProductSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReadControllerTest {
+
+    @Mock
+    private Mediator mediator;
+
+    @Mock
+    private CatalogVersionStore catalogVersionStore;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    private MeterRegistry meterRegistry;
+    private ProductReadController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        controller = new ProductReadController(mediator, catalogVersionStore, new ConditionalRequests(meterRegistry),
+                productSearchIndex);
+    }
+
+    @Test
+    void testGetProductById_WhenETagMatchesKnownVersion_ShouldReturn304WithoutLoading() {
+        // Arrange
+        when(catalogVersionStore.productVersion(1L)).thenReturn(3L);
+
+        // Act
+        ResponseEntity<ProductDTO> response = controller.getProductById(1L, "\"p1-3\"", null).join();
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"p1-3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(mediator);
+        verify(productSearchIndex).recordView(1L);
+        assertEquals(1.0, requests("product", "not_modified"));
+    }
+
+    @Test
+    void testGetProductById_WhenVersionUnknown_ShouldCompareLoadedVersion() {
+        // Arrange
+        when(catalogVersionStore.productVersion(1L)).thenReturn(null);
+        ProductDTO product = ProductDTO.builder().id(1L).name("Lamp").version(4).build();
+        when(mediator.sendAsync(any(GetProductByIdQuery.class))).thenReturn(CompletableFuture.completedFuture(product));
+
+        // Act
+        ResponseEntity<ProductDTO> stale = controller.getProductById(1L, "\"p1-3\"", null).join();
+        ResponseEntity<ProductDTO> current = controller.getProductById(1L, "W/\"p1-4\"", null).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertEquals("\"p1-4\"", stale.getHeaders().getETag());
+        assertSame(product, stale.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, current.getStatusCode());
+        assertEquals(1.0, requests("product", "modified"));
+        assertEquals(1.0, requests("product", "not_modified"));
+    }
+
+    @Test
+    void testGetProductById_WhenProjectionBehindConsistencyToken_ShouldLoadInsteadOfReturning304() {
+        // Arrange
+        when(catalogVersionStore.productVersion(1L)).thenReturn(3L);
+        ProductDTO product = ProductDTO.builder().id(1L).name("Lamp").version(4).build();
+        when(mediator.sendAsync(any(GetProductByIdQuery.class))).thenReturn(CompletableFuture.completedFuture(product));
+
+        // Act
+        ResponseEntity<ProductDTO> response = controller.getProductById(1L, "\"p1-3\"", 4L).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(product, response.getBody());
+        verify(mediator).sendAsync(new GetProductByIdQuery(1L, 4L));
+    }
+
+    @Test
+    void testGetProducts_WhenServedPageUnchanged_ShouldReturn304() {
+        // Arrange
+        ProductPageDTO page = ProductPageDTO.builder()
+                .items(List.of(ProductDTO.builder().id(1L).name("Lamp").version(2).build()))
+                .nextCursor("abc")
+                .build();
+        when(mediator.sendAsync(any())).thenReturn(CompletableFuture.completedFuture(page));
+
+        // Act
+        ResponseEntity<ProductPageDTO> first = controller.getProducts(null, null, null, null, null, null).join();
+        ResponseEntity<ProductPageDTO> second = controller.getProducts(null, null, null, null, null,
+                first.getHeaders().getETag()).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(1.0, requests("page", "unconditional"));
+        assertEquals(1.0, requests("page", "not_modified"));
+    }
+
+    @Test
+    void testGetProducts_WhenPodServesStaleCopy_ShouldTagItWithItsOwnETag() {
+        // Arrange
+        ProductPageDTO stale = ProductPageDTO.builder()
+                .items(List.of(ProductDTO.builder().id(1L).name("Lamp").version(2).build()))
+                .build();
+        ProductPageDTO current = ProductPageDTO.builder()
+                .items(List.of(ProductDTO.builder().id(1L).name("Desk Lamp").version(3).build()))
+                .build();
+        when(mediator.sendAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(stale))
+                .thenReturn(CompletableFuture.completedFuture(current));
+
+        // Act
+        ResponseEntity<ProductPageDTO> fromStalePod = controller.getProducts(null, null, null, null, null, null).join();
+        ResponseEntity<ProductPageDTO> revalidated = controller.getProducts(null, null, null, null, null,
+                fromStalePod.getHeaders().getETag()).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertSame(current, revalidated.getBody());
+        assertNotEquals(fromStalePod.getHeaders().getETag(), revalidated.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetAllProducts_ShouldKeepReturningTheWholeCatalogAsAList() {
+        // Arrange
+        List<ProductDTO> products = List.of(ProductDTO.builder().id(1L).name("Lamp").version(1).build());
+        when(mediator.sendAsync(any(GetAllProductsQuery.class))).thenReturn(CompletableFuture.completedFuture(products));
+
+        // Act
+        ResponseEntity<List<ProductDTO>> response = controller.getAllProducts(null).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(products, response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetAllProducts_WhenMediatorIsBusy_ShouldReturn503() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        when(mediator.sendAsync(any(GetAllProductsQuery.class))).thenReturn(CompletableFuture.failedFuture(
+                new MediatorBusyException("Too many queries in flight", new TaskRejectedException("full"))));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/products")).andExpect(request().asyncStarted()).andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testGetProductsByIds_WhenTooManyIds_ShouldReturn400() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        when(mediator.sendAsync(any(GetProductsByIdsQuery.class))).thenReturn(CompletableFuture.failedFuture(
+                new TooManyProductIdsException("At most 1000 product ids may be requested at once")));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/products").param("ids", "1", "2"))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isBadRequest());
+    }
+
+    private double requests(String endpoint, String result) {
+        return meterRegistry.get("http.conditional.requests").tag("endpoint", endpoint).tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.community.catalog.productread.interfaces.kafka;
+
+import com.community.catalog.events.CatalogEventsProto.ProductDeletedEvent;
+import com.community.catalog.productread.application.mediator.Mediator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogEventListenerTest {
+
+    @Mock
+    private Mediator mediator;
+
+    @InjectMocks
+    private CatalogEventListener listener;
+
+    @Test
+    void testConsume_WhenEventIsKnown_ShouldSendItToTheProjection() {
+        // Arrange
+        ProductDeletedEvent event = ProductDeletedEvent.newBuilder().setProductId("42").setVersion(3).build();
+
+        // Act
+        listener.consume(record("catalog_events.ProductDeletedEvent", event.toByteArray()));
+
+        // Assert
+        verify(mediator).send(event);
+    }
+
+    @Test
+    void testConsume_WhenPayloadIsMalformed_ShouldFailForTheDeadLetterTopic() {
+        // Arrange
+        ConsumerRecord<String, byte[]> record = record("catalog_events.ProductDeletedEvent", new byte[]{(byte) 0xff});
+
+        // Act & Assert
+        assertThrows(UnprojectableEventException.class, () -> listener.consume(record));
+        verifyNoInteractions(mediator);
+    }
+
+    @Test
+    void testConsume_WhenEventTypeIsUnknown_ShouldFailForTheDeadLetterTopic() {
+        // Arrange
+        ConsumerRecord<String, byte[]> record = record("catalog_events.ProductArchivedEvent", new byte[0]);
+
+        // Act & Assert
+        assertThrows(UnprojectableEventException.class, () -> listener.consume(record));
+        verifyNoInteractions(mediator);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String eventType, byte[] payload) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("catalog.product-events", 0, 0L, "42", payload);
+        record.headers().add(CatalogEventListener.EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
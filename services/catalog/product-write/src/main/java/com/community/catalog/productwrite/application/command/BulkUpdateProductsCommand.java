@@ -0,0 +1,20 @@
+package com.community.catalog.productwrite.application.command;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class BulkUpdateProductsCommand {
+    // Which products: those in the category and/or from the manufacturer
+    private final String category;
+    private final String manufacturer;
+    // What to change: a new status and/or a price change in percent, such as -10 for ten percent off
+    private final String status;
+    private final BigDecimal priceChangePercent;
+    private final String userId;
+    private final List<String> userRoles;
+}
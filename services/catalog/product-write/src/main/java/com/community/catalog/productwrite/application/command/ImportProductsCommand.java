@@ -0,0 +1,41 @@
+package com.community.catalog.productwrite.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportProductsCommand {
+    // Read lazily from the request body, one chunk at a time
+    private final Iterator<Row> rows;
+
+    // User identity for authorization
+    private final String userId;
+    private final List<String> userRoles;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        // 1-based position in the import, used to report errors
+        private final int number;
+        private final String name;
+        private final String description;
+        private final BigDecimal price;
+        private final Integer stockQuantity;
+        private final String sku;
+        private final String imageUrl;
+        private final String category;
+        private final String manufacturer;
+        private final String status;
+        // Why the row could not be parsed or failed validation; null for a valid row
+        private final String error;
+
+        public static Row invalid(int number, String sku, String error) {
+            return new Row(number, null, null, null, null, sku, null, null, null, null, error);
+        }
+    }
+}
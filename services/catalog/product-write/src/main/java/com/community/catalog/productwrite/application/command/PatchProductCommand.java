@@ -0,0 +1,27 @@
+package com.community.catalog.productwrite.application.command;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Data
+@RequiredArgsConstructor
+public class PatchProductCommand {
+    private final Long productId;
+    private final String name;
+    // Null leaves the field as it is; empty or blank clears it
+    private final Optional<String> description;
+    private final BigDecimal price;
+    private final Integer stockQuantity;
+    private final Optional<String> imageUrl;
+    private final String category;
+    private final String manufacturer;
+    private final String status;
+    // Version the caller last read, or null to patch whatever is stored
+    private final Integer expectedVersion;
+    private final String userId;
+    private final List<String> userRoles;
+}
@@ -0,0 +1,15 @@
+package com.community.catalog.productwrite.application.command;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class ReserveStockCommand {
+    private final Long productId;
+    private final int quantity;
+    private final String userId;
+    private final List<String> userRoles;
+}
@@ -0,0 +1,14 @@
+package com.community.catalog.productwrite.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkUpdateProductsResult {
+    int updated;
+    // Cache tags invalidated in product-read once the update committed
+    List<String> invalidatedTags;
+}
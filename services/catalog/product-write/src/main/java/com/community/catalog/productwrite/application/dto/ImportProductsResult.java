@@ -0,0 +1,22 @@
+package com.community.catalog.productwrite.application.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ImportProductsResult {
+    int received;
+    int imported;
+    // Rows that were not imported, in import order
+    List<RowError> errors;
+
+    @Value
+    public static class RowError {
+        int row;
+        String sku;
+        String message;
+    }
+}
@@ -0,0 +1,11 @@
+package com.community.catalog.productwrite.application.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ProductVersionConflictException extends RuntimeException {
+    public ProductVersionConflictException(String message) {
+        super(message);
+    }
+}
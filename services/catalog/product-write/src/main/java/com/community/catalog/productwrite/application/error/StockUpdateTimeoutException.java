@@ -0,0 +1,15 @@
+package com.community.catalog.productwrite.application.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A stock change was not confirmed in time. It may still be applied afterwards, so the caller
+ * should read the product before retrying.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StockUpdateTimeoutException extends RuntimeException {
+    public StockUpdateTimeoutException(String message) {
+        super(message);
+    }
+}
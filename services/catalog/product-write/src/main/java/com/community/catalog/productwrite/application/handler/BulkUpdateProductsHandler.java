@@ -0,0 +1,100 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.BulkUpdateProductsCommand;
+import com.community.catalog.productwrite.application.dto.BulkUpdateProductsResult;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductBulkWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Sets the status or changes the price of a whole category or manufacturer with one UPDATE. The
+ * updated rows are then read back and published in chunks, so neither they nor their events are
+ * held for the whole edit. Each event carries the tags of the edit's scope, which product-read
+ * invalidates once it has projected the rows, instead of evicting every updated product.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkUpdateProductsHandler {
+
+    // Rows read back and published at a time
+    static final int PUBLISH_CHUNK_SIZE = 500;
+
+    private final ProductBulkWriter productBulkWriter;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
+
+    // Not @Transactional: the single UPDATE commits on its own, and the events are sent once it has
+    public BulkUpdateProductsResult handle(BulkUpdateProductsCommand command) {
+        // 1. Authorize
+        if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
+            throw new ForbiddenException("User does not have the required role to update products.");
+        }
+
+        // 2. Update every matching product in one statement
+        String category = emptyToNull(command.getCategory());
+        String manufacturer = emptyToNull(command.getManufacturer());
+        String status = emptyToNull(command.getStatus());
+        BigDecimal percent = command.getPriceChangePercent();
+        BigDecimal priceFactor = percent == null || percent.signum() == 0
+                ? null
+                : BigDecimal.ONE.add(percent.movePointLeft(2));
+        Date updatedAt = new Date();
+        int updated = productBulkWriter.updateMatching(category, manufacturer, status, priceFactor, updatedAt);
+
+        // 3. Publish the changes
+        List<String> changedFields = new ArrayList<>();
+        if (status != null) {
+            changedFields.add("status");
+        }
+        if (priceFactor != null) {
+            changedFields.add("price");
+        }
+        List<String> tags = updated == 0 ? List.of() : tags(category, manufacturer, status);
+        if (updated > 0) {
+            publishUpdated(category, manufacturer, updatedAt, changedFields, tags);
+        }
+
+        return BulkUpdateProductsResult.builder()
+                .updated(updated)
+                .invalidatedTags(tags)
+                .build();
+    }
+
+    private void publishUpdated(String category, String manufacturer, Date updatedAt, List<String> changedFields,
+                                List<String> tags) {
+        Long afterId = null;
+        List<Product> chunk;
+        do {
+            chunk = productBulkWriter.findUpdated(category, manufacturer, updatedAt, afterId, PUBLISH_CHUNK_SIZE);
+            chunk.forEach(product -> catalogEventPublisher.productUpdated(product, changedFields, tags));
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == PUBLISH_CHUNK_SIZE);
+    }
+
+    // Every updated product has both the category and the manufacturer of the scope, so either tag
+    // reaches every entry holding one of them. A new status can also move products into pages
+    // filtered on it that hold none of them yet.
+    private static List<String> tags(String category, String manufacturer, String status) {
+        List<String> tags = new ArrayList<>();
+        tags.add(category != null ? "category:" + category : "manufacturer:" + manufacturer);
+        if (status != null) {
+            tags.add("status:" + status);
+        }
+        return tags;
+    }
+
+    private static String emptyToNull(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+}
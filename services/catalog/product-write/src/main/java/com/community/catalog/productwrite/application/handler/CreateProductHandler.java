@@ -5,12 +5,16 @@ import com.community.catalog.productwrite.application.error.ForbiddenException;
 import com.community.catalog.productwrite.application.error.ProductAlreadyExistsException;
 import com.community.catalog.productwrite.domain.model.Product;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
-import org.springframework.cache.annotation.CacheEvict; // <--- Add this import
 
+import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 
@@ -19,20 +23,29 @@ import java.util.List;
 public class CreateProductHandler {
 
     private final ProductRepository productRepository;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final SkuFilter skuFilter;
     private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
+    // PostgreSQL's SQLSTATE for unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
 
+    // No cache eviction: a new id has no cached entry yet, and product-read writes the product into its
+    // cached entry and pages when it projects the created event
     @Transactional
-    @CacheEvict(value = "products", allEntries = true) // <--- Add this annotation
     public Product handle(CreateProductCommand command) {
         // 1. Authorize
         if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
             throw new ForbiddenException("User does not have the required role to create a product.");
         }
 
-        // 2. Check for conflicts
-        productRepository.findBySku(command.getSku()).ifPresent(p -> {
-            throw new ProductAlreadyExistsException("Product with SKU '" + command.getSku() + "' already exists.");
-        });
+        // 2. Check for conflicts; a SKU the filter has never seen skips the lookup
+        if (skuFilter.mightContain(command.getSku())) {
+            boolean exists = productRepository.findBySku(command.getSku()).isPresent();
+            skuFilter.lookedUp(exists);
+            if (exists) {
+                throw alreadyExists(command);
+            }
+        }
 
         // 3. Enrich and Map
         Product product = Product.builder()
@@ -49,7 +62,36 @@ public class CreateProductHandler {
                 .updatedAt(new Date())
                 .build();
 
-        // 4. Persist
-        return productRepository.save(product);
+        // 4. Persist; the id is generated by the insert, so a taken SKU fails the unique constraint here
+        Product saved;
+        try {
+            saved = productRepository.save(product);
+        } catch (DataIntegrityViolationException e) {
+            // The SKU is the only unique column besides the generated id; other violations
+            // (a NOT NULL or length constraint) are not conflicts and must not become a 409
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            throw alreadyExists(command);
+        }
+        skuFilter.added(saved.getSku());
+        catalogEventPublisher.productCreated(saved);
+        return saved;
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ProductAlreadyExistsException alreadyExists(CreateProductCommand command) {
+        return new ProductAlreadyExistsException("Product with SKU '" + command.getSku() + "' already exists.");
     }
-}
\ No newline at end of file
+}
@@ -3,9 +3,10 @@ package com.community.catalog.productwrite.application.handler;
 import com.community.catalog.productwrite.application.command.DeleteProductCommand;
 import com.community.catalog.productwrite.application.error.ForbiddenException;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,20 +17,25 @@ import java.util.List;
 public class DeleteProductHandler {
 
     private final ProductRepository productRepository;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final SkuFilter skuFilter;
     private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
 
+    // Only the product's own entry, so the next read goes to ProductLookup; product-read patches
+    // its cached pages when it projects the event
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "products", key = "#command.productId"),
-        @CacheEvict(value = "products", key = "'all'")
-    })
+    @CacheEvict(value = "products", key = "#command.productId")
     public void handle(DeleteProductCommand command) {
         // 1. Authorize
         if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
             throw new ForbiddenException("User does not have the required role to delete a product.");
         }
 
-        // 2. Delete
-        productRepository.deleteById(command.getProductId());
+        // 2. Delete; the event needs the SKU, so load the product first (as deleteById would)
+        productRepository.findById(command.getProductId()).ifPresent(product -> {
+            productRepository.delete(product);
+            catalogEventPublisher.productDeleted(product);
+            skuFilter.removed(product.getSku());
+        });
     }
 }
@@ -0,0 +1,172 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.ImportProductsCommand;
+import com.community.catalog.productwrite.application.dto.ImportProductsResult;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductBulkWriter;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates many products at once. Rows are committed in chunks of {@code catalog.import.chunk-size}:
+ * each chunk checks its SKUs in one query, allocates its ids in one query and inserts with one JDBC
+ * batch. A failing row is reported and skipped; a failing chunk is rolled back and reported row by
+ * row, and the import goes on with the next one. Caches are left alone, as for single creates:
+ * product-read writes each product into its caches when it projects the created event.
+ */
+@Slf4j
+@Component
+public class ImportProductsHandler {
+
+    private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
+
+    private final ProductBulkWriter productBulkWriter;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final SkuFilter skuFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ImportProductsHandler(ProductBulkWriter productBulkWriter, CatalogEventPublisher catalogEventPublisher,
+                                 SkuFilter skuFilter, PlatformTransactionManager transactionManager,
+                                 @Value("${catalog.import.chunk-size:500}") int chunkSize) {
+        this.productBulkWriter = productBulkWriter;
+        this.catalogEventPublisher = catalogEventPublisher;
+        this.skuFilter = skuFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportProductsResult handle(ImportProductsCommand command) {
+        if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
+            throw new ForbiddenException("User does not have the required role to import products.");
+        }
+
+        List<ImportProductsResult.RowError> errors = new ArrayList<>();
+        Set<String> skusInImport = new HashSet<>();
+        int received = 0;
+        int imported = 0;
+        Iterator<ImportProductsCommand.Row> rows = command.getRows();
+        List<ImportProductsCommand.Row> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            received++;
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                imported += importChunk(chunk, skusInImport, errors);
+                chunk.clear();
+            }
+        }
+        log.info("Imported {} of {} products for user {}", imported, received, command.getUserId());
+        return ImportProductsResult.builder()
+                .received(received)
+                .imported(imported)
+                .errors(errors)
+                .build();
+    }
+
+    private int importChunk(List<ImportProductsCommand.Row> chunk, Set<String> skusInImport,
+                            List<ImportProductsResult.RowError> errors) {
+        List<ImportProductsCommand.Row> candidates = new ArrayList<>(chunk.size());
+        for (ImportProductsCommand.Row row : chunk) {
+            if (row.getError() != null) {
+                errors.add(error(row, row.getError()));
+            } else if (!skusInImport.add(row.getSku())) {
+                errors.add(error(row, "SKU '" + row.getSku() + "' appears more than once in this import."));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<ImportProductsResult.RowError> chunkErrors = new ArrayList<>();
+        List<Product> inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> insert(candidates, chunkErrors));
+        } catch (DataAccessException e) {
+            String message = "Chunk was rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Failed to import a chunk of {} products", candidates.size(), e);
+            candidates.forEach(row -> errors.add(error(row, message)));
+            return 0;
+        }
+        errors.addAll(chunkErrors);
+        return inserted.size();
+    }
+
+    private List<Product> insert(List<ImportProductsCommand.Row> candidates,
+                                 List<ImportProductsResult.RowError> errors) {
+        Set<String> existing = productBulkWriter.findExistingSkus(candidates.stream()
+                .map(ImportProductsCommand.Row::getSku)
+                .toList());
+        List<ImportProductsCommand.Row> rows = new ArrayList<>(candidates.size());
+        for (ImportProductsCommand.Row row : candidates) {
+            if (existing.contains(row.getSku())) {
+                errors.add(error(row, alreadyExists(row)));
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = productBulkWriter.allocateIds(rows.size());
+        Date now = new Date();
+        List<Product> products = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportProductsCommand.Row row = rows.get(i);
+            products.add(Product.builder()
+                    .id(ids.get(i))
+                    .name(row.getName())
+                    .description(row.getDescription())
+                    .price(row.getPrice())
+                    .stockQuantity(row.getStockQuantity())
+                    .sku(row.getSku())
+                    .imageUrl(row.getImageUrl())
+                    .category(row.getCategory())
+                    .manufacturer(row.getManufacturer())
+                    .status(StringUtils.hasText(row.getStatus()) ? row.getStatus() : "ACTIVE")
+                    .version(0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        boolean[] written = productBulkWriter.insert(products);
+        List<Product> inserted = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            if (written[i]) {
+                inserted.add(products.get(i));
+                skuFilter.added(products.get(i).getSku());
+                catalogEventPublisher.productCreated(products.get(i));
+            } else {
+                errors.add(error(rows.get(i), alreadyExists(rows.get(i))));
+            }
+        }
+        return inserted;
+    }
+
+    private static String alreadyExists(ImportProductsCommand.Row row) {
+        return "Product with SKU '" + row.getSku() + "' already exists.";
+    }
+
+    private static ImportProductsResult.RowError error(ImportProductsCommand.Row row, String message) {
+        return new ImportProductsResult.RowError(row.getNumber(), row.getSku(), message);
+    }
+}
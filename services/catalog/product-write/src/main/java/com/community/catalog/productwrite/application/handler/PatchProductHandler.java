@@ -0,0 +1,109 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.PatchProductCommand;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.application.error.ProductNotFoundException;
+import com.community.catalog.productwrite.application.error.ProductVersionConflictException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Applies only the fields of a patch that differ from the stored product. The entity is updated
+ * dynamically, so the UPDATE carries just the changed columns plus the version check, and a patch
+ * that changes nothing writes nothing, publishes no event and leaves the caches alone. The updated
+ * event lists the changed fields. Description and image URL can be cleared; the other text fields
+ * are only ever replaced.
+ */
+@Component
+@RequiredArgsConstructor
+public class PatchProductHandler {
+
+    private final ProductRepository productRepository;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final CacheManager cacheManager;
+    private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
+
+    @Transactional
+    public Product handle(PatchProductCommand command) {
+        // 1. Authorize
+        if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
+            throw new ForbiddenException("User does not have the required role to update a product.");
+        }
+
+        // 2. Find existing product
+        Product product = productRepository.findById(command.getProductId())
+                .orElseThrow(() -> new ProductNotFoundException("Product with ID '" + command.getProductId() + "' not found."));
+        if (command.getExpectedVersion() != null && command.getExpectedVersion() != product.getVersion()) {
+            throw new ProductVersionConflictException("Product with ID '" + command.getProductId()
+                    + "' is at version " + product.getVersion() + ", not " + command.getExpectedVersion() + ".");
+        }
+
+        // 3. Apply the fields that are provided and differ, named as in the catalog events
+        List<String> changedFields = new ArrayList<>();
+        applyText(command.getName(), product.getName(), product::setName, "name", changedFields);
+        applyClearable(command.getDescription(), product.getDescription(), product::setDescription, "description",
+                changedFields);
+        if (command.getPrice() != null
+                && (product.getPrice() == null || command.getPrice().compareTo(product.getPrice()) != 0)) {
+            product.setPrice(command.getPrice());
+            changedFields.add("price");
+        }
+        if (command.getStockQuantity() != null && !command.getStockQuantity().equals(product.getStockQuantity())) {
+            product.setStockQuantity(command.getStockQuantity());
+            changedFields.add("quantity");
+        }
+        applyClearable(command.getImageUrl(), product.getImageUrl(), product::setImageUrl, "image_url", changedFields);
+        applyText(command.getCategory(), product.getCategory(), product::setCategory, "category", changedFields);
+        applyText(command.getManufacturer(), product.getManufacturer(), product::setManufacturer, "manufacturer", changedFields);
+        applyText(command.getStatus(), product.getStatus(), product::setStatus, "status", changedFields);
+
+        if (changedFields.isEmpty()) {
+            return product;
+        }
+        product.setUpdatedAt(new Date());
+
+        // 4. Persist; the eviction is deferred until commit by the cache manager
+        Product saved = productRepository.save(product);
+        catalogEventPublisher.productUpdated(saved, changedFields);
+        Cache products = cacheManager.getCache("products");
+        if (products != null) {
+            products.evict(command.getProductId());
+        }
+        return saved;
+    }
+
+    private static void applyText(String value, String current, Consumer<String> setter, String field,
+                                  List<String> changedFields) {
+        if (StringUtils.hasText(value) && !Objects.equals(value, current)) {
+            setter.accept(value);
+            changedFields.add(field);
+        }
+    }
+
+    // An optional field is cleared by an empty or blank value rather than left alone
+    private static void applyClearable(Optional<String> value, String current, Consumer<String> setter, String field,
+                                       List<String> changedFields) {
+        if (value == null) {
+            return;
+        }
+        String updated = value.filter(StringUtils::hasText).orElse(null);
+        if (!Objects.equals(updated, current)) {
+            setter.accept(updated);
+            changedFields.add(field);
+        }
+    }
+}
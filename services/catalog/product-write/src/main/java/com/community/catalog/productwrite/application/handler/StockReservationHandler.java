@@ -0,0 +1,64 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.ReleaseStockCommand;
+import com.community.catalog.productwrite.application.command.ReserveStockCommand;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.application.error.InsufficientStockException;
+import com.community.catalog.productwrite.application.error.ProductNotFoundException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductStockWriter;
+import com.community.catalog.productwrite.infrastructure.persistence.StockUpdateCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reserves and releases stock with a conditional update of the row rather than a load-and-save,
+ * so concurrent checkouts of one product never fail on the optimistic lock. The products cache is
+ * left alone: product-read writes the updated row through when it projects the event, and evicting
+ * on every reservation of a hot product would keep its entry permanently cold.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReservationHandler {
+
+    private final StockUpdateCoalescer stockUpdateCoalescer;
+    private final ProductStockWriter productStockWriter;
+    private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
+
+    public Product handle(ReserveStockCommand command) {
+        authorize(command.getUserRoles(), "reserve");
+        Product product = stockUpdateCoalescer.adjust(command.getProductId(), -command.getQuantity());
+        if (product == null) {
+            requireExists(command.getProductId());
+            throw new InsufficientStockException("Not enough stock to reserve " + command.getQuantity()
+                    + " of product with ID '" + command.getProductId() + "'.");
+        }
+        return product;
+    }
+
+    public Product handle(ReleaseStockCommand command) {
+        authorize(command.getUserRoles(), "release");
+        Product product = stockUpdateCoalescer.adjust(command.getProductId(), command.getQuantity());
+        if (product == null) {
+            requireExists(command.getProductId());
+            // Only an existing product with negative stock could refuse an increment
+            throw new InsufficientStockException("Stock of product with ID '" + command.getProductId()
+                    + "' could not be released.");
+        }
+        return product;
+    }
+
+    private static void authorize(List<String> userRoles, String action) {
+        if (userRoles.stream().noneMatch(REQUIRED_ROLES::contains)) {
+            throw new ForbiddenException("User does not have the required role to " + action + " stock.");
+        }
+    }
+
+    private void requireExists(Long productId) {
+        if (!productStockWriter.exists(productId)) {
+            throw new ProductNotFoundException("Product with ID '" + productId + "' not found.");
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.community.catalog.productwrite.application.error.ForbiddenException;
 import com.community.catalog.productwrite.application.error.ProductNotFoundException;
 import com.community.catalog.productwrite.domain.model.Product;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -20,13 +20,13 @@ import java.util.List;
 public class UpdateProductHandler {
 
     private final ProductRepository productRepository;
+    private final CatalogEventPublisher catalogEventPublisher;
     private static final List<String> REQUIRED_ROLES = List.of("ADMIN", "PRODUCT_MANAGER");
 
+    // Only the product's own entry, so the next read goes to ProductLookup; product-read patches
+    // its cached pages when it projects the event
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "products", key = "#command.productId"),
-        @CacheEvict(value = "products", key = "'all'")
-    })
+    @CacheEvict(value = "products", key = "#command.productId")
     public Product handle(UpdateProductCommand command) {
         // 1. Authorize
         if (command.getUserRoles().stream().noneMatch(REQUIRED_ROLES::contains)) {
@@ -66,6 +66,8 @@ public class UpdateProductHandler {
         product.setUpdatedAt(new Date());
 
         // 4. Persist
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        catalogEventPublisher.productUpdated(saved);
+        return saved;
     }
 }
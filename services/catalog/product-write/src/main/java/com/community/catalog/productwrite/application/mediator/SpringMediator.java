@@ -1,45 +1,112 @@
 package com.community.catalog.productwrite.application.mediator;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
-public class SpringMediator implements Mediator {
+public class SpringMediator implements Mediator, SmartInitializingSingleton {
+
+    private static final MethodType DISPATCH_TYPE = MethodType.methodType(Object.class, Object.class);
 
     private final ApplicationContext applicationContext;
+    private final List<PipelineBehavior> behaviors;
+
+    // Command class -> handle method bound to its handler bean. Built once when the context is refreshed.
+    private volatile Map<Class<?>, MethodHandle> handlers;
 
-    public SpringMediator(ApplicationContext applicationContext) {
+    public SpringMediator(ApplicationContext applicationContext, List<PipelineBehavior> behaviors) {
         this.applicationContext = applicationContext;
+        this.behaviors = List.copyOf(behaviors);
     }
 
     @Override
-    public <R, T> R send(T command) {
-        try {
-            String[] beanNames = applicationContext.getBeanDefinitionNames();
-            for (String beanName : beanNames) {
-                Object bean = applicationContext.getBean(beanName);
-                Method handleMethod = findHandleMethod(bean.getClass(), command.getClass());
-                if (handleMethod != null) {
-                    return (R) handleMethod.invoke(bean, command);
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, MethodHandle> resolved = new HashMap<>();
+        Map<Class<?>, String> owners = new HashMap<>();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType == null) {
+                continue;
+            }
+            // Only application components can be handlers; this keeps framework beans out of the table
+            Class<?> handlerClass = ClassUtils.getUserClass(beanType);
+            if (!AnnotatedElementUtils.hasAnnotation(handlerClass, Component.class)) {
+                continue;
+            }
+            for (Method method : handlerClass.getMethods()) {
+                if (!isHandleMethod(method)) {
+                    continue;
+                }
+                Class<?> commandClass = method.getParameterTypes()[0];
+                String existing = owners.putIfAbsent(commandClass, beanName);
+                if (existing != null) {
+                    throw new IllegalStateException("Multiple handlers found for command: " + commandClass.getName()
+                            + " (" + existing + ", " + beanName + ")");
                 }
+                resolved.put(commandClass, bind(method, applicationContext.getBean(beanName)));
             }
+        }
+        this.handlers = Map.copyOf(resolved);
+    }
+
+    @Override
+    public <R, T> R send(T command) {
+        Map<Class<?>, MethodHandle> table = handlers;
+        if (table == null) {
+            throw new IllegalStateException("Mediator is not initialized yet");
+        }
+        MethodHandle handler = table.get(command.getClass());
+        if (handler == null) {
             throw new IllegalStateException("No handler found for command: " + command.getClass().getName());
-        } catch (Exception e) {
-            // Unwrap invocation target exceptions to get the real business exception
-            if (e.getCause() != null && e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            }
-            throw new RuntimeException("Error dispatching command", e);
         }
+        return invoke(0, command, handler);
+    }
+
+    private <R> R invoke(int index, Object command, MethodHandle handler) {
+        if (index == behaviors.size()) {
+            return dispatch(handler, command);
+        }
+        return behaviors.get(index).handle(command, () -> invoke(index + 1, command, handler));
+    }
+
+    private <R> R dispatch(MethodHandle handler, Object command) {
+        try {
+            return (R) handler.invokeExact(command);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Error dispatching command", t);
+        }
+    }
+
+    private boolean isHandleMethod(Method method) {
+        return method.getName().equals("handle")
+                && method.getParameterCount() == 1
+                && !method.isBridge()
+                && !Modifier.isStatic(method.getModifiers())
+                && method.getParameterTypes()[0] != Object.class;
     }
 
-    private Method findHandleMethod(Class<?> handlerClass, Class<?> commandClass) {
-        return Arrays.stream(handlerClass.getMethods())
-                .filter(method -> method.getName().equals("handle") && method.getParameterCount() == 1 && method.getParameterTypes()[0].equals(commandClass))
-                .findFirst()
-                .orElse(null);
+    private MethodHandle bind(Method method, Object bean) {
+        try {
+            return MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .bindTo(bean)
+                    .asType(DISPATCH_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Handler method is not accessible: " + method, e);
+        }
     }
 }
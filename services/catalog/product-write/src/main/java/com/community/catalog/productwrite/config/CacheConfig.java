@@ -0,0 +1,58 @@
+package com.community.catalog.productwrite.config;
+
+import com.community.catalog.productwrite.infrastructure.cache.CacheInvalidationPublisher;
+import com.community.catalog.productwrite.infrastructure.cache.InvalidationPublishingCacheManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${catalog.cache.invalidation-channel:catalog:cache-invalidation}") String channel) {
+        return new CacheInvalidationPublisher(redisTemplate, channel);
+    }
+
+    /**
+     * Redis-backed cache manager whose evictions are also published to product-read, which caches
+     * under its own key prefix and keeps an in-process tier. Replaces Boot's auto-configured
+     * manager, so the {@code spring.cache.redis.*} properties are applied here.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties,
+                                     CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration(cacheProperties.getRedis()))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new InvalidationPublishingCacheManager(redisCacheManager, cacheInvalidationPublisher);
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(CacheProperties.Redis redis) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader());
+        if (redis.getTimeToLive() != null) {
+            config = config.entryTtl(redis.getTimeToLive());
+        }
+        if (redis.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+}
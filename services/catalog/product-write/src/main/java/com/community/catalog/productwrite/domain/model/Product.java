@@ -5,12 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.Date;
 
 @Entity
 @Table(name = "products")
+// Updates write only the columns that changed, still guarded by the version check
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
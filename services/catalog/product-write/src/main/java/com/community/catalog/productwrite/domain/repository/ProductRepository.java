@@ -1,12 +1,23 @@
 package com.community.catalog.productwrite.domain.repository;
 
 import com.community.catalog.productwrite.domain.model.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findBySku(String sku);
+
+    // Fetched in batches rather than all at once; consume within a transaction and close the stream
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.sku from Product p")
+    Stream<String> streamAllSkus();
 }
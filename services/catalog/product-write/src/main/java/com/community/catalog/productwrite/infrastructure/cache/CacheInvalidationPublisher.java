@@ -0,0 +1,40 @@
+package com.community.catalog.productwrite.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Publishes cache evictions so product-read pods can drop them from their caches.
+ * Messages are {@code <cache>::<key>}, or {@code <cache>::*} when the whole cache is cleared.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String KEY_SEPARATOR = "::";
+    static final String ALL_KEYS = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(cacheName + KEY_SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(cacheName + KEY_SEPARATOR + ALL_KEYS);
+    }
+
+    private void publish(String message) {
+        // The write has already happened; a lost message only leaves readers stale until their local TTL
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation '{}' on channel '{}'", message, channel, e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.community.catalog.productwrite.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator that announces every eviction through a {@link CacheInvalidationPublisher}.
+ * Inside a transaction, evictions and their messages are deferred until after commit, so
+ * readers cannot re-populate their caches from data that is about to change.
+ */
+public class InvalidationPublishingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheInvalidationPublisher publisher;
+
+    public InvalidationPublishingCache(Cache delegate, CacheInvalidationPublisher publisher) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        afterCommit(() -> {
+            delegate.evict(key);
+            publisher.publishEvict(getName(), key);
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        publisher.publishEvict(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        afterCommit(() -> {
+            delegate.clear();
+            publisher.publishClear(getName());
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        publisher.publishClear(getName());
+        return invalidated;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.community.catalog.productwrite.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of a {@link CacheManager} in an {@link InvalidationPublishingCache}.
+ */
+public class InvalidationPublishingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheInvalidationPublisher publisher;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public InvalidationPublishingCacheManager(CacheManager delegate, CacheInvalidationPublisher publisher) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null ? new InvalidationPublishingCache(cache, publisher) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,189 @@
+package com.community.catalog.productwrite.infrastructure.event;
+
+import com.community.catalog.events.CatalogEventsProto;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.google.protobuf.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes catalog events as protobuf messages, keyed by product id so that all events for one
+ * product land on the same partition in order. The message type is carried in the
+ * {@value #EVENT_TYPE_HEADER} header as the protobuf full name.
+ * <p>
+ * Inside a transaction, events are built and sent after commit, so consumers never see a change
+ * that was rolled back and {@code version} already reflects the flushed row.
+ * <p>
+ * A send that fails once the producer has given up is retried up to
+ * {@code catalog.events.publish.max-attempts} times with doubling backoff. An event that still
+ * cannot be sent is counted in {@code catalog.events.publish.failures}; product-read's periodic
+ * reconcile against the products table repairs what it would have changed.
+ */
+@Slf4j
+@Component
+public class CatalogEventPublisher {
+
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    // Same timestamp format as the ProductLookup service
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final String topic;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final ScheduledExecutorService retryScheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("catalog-event-retry-"));
+    private final Counter failures;
+
+    public CatalogEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                 @Value("${topic.catalog.product-events}") String topic,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${catalog.events.publish.max-attempts:3}") int maxAttempts,
+                                 @Value("${catalog.events.publish.backoff:1s}") Duration backoff) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.failures = Counter.builder("catalog.events.publish.failures")
+                .description("Catalog events dropped after every send attempt failed")
+                .register(meterRegistry);
+    }
+
+    public void productCreated(Product product) {
+        afterCommit(product.getId(), () -> CatalogEventsProto.ProductCreatedEvent.newBuilder()
+                .setProductId(String.valueOf(product.getId()))
+                .setName(nullToEmpty(product.getName()))
+                .setDescription(nullToEmpty(product.getDescription()))
+                .setPrice(product.getPrice().doubleValue())
+                .setQuantity(product.getStockQuantity())
+                .setSku(nullToEmpty(product.getSku()))
+                .setImageUrl(nullToEmpty(product.getImageUrl()))
+                .setCategory(nullToEmpty(product.getCategory()))
+                .setManufacturer(nullToEmpty(product.getManufacturer()))
+                .setStatus(nullToEmpty(product.getStatus()))
+                .setVersion(product.getVersion())
+                .setCreatedAt(format(product.getCreatedAt()))
+                .build());
+    }
+
+    public void productUpdated(Product product) {
+        productUpdated(product, List.of());
+    }
+
+    /**
+     * @param changedFields the event fields this update changed, such as {@code price} or
+     *                      {@code quantity}, so consumers can patch what they hold instead of
+     *                      reloading the product
+     */
+    public void productUpdated(Product product, Collection<String> changedFields) {
+        productUpdated(product, changedFields, List.of());
+    }
+
+    /**
+     * Publishes an update made by a bulk edit, with the cache tags product-read should invalidate
+     * once the edit's rows are projected.
+     */
+    public void productUpdated(Product product, Collection<String> changedFields, Collection<String> invalidatedTags) {
+        afterCommit(product.getId(), () -> CatalogEventsProto.ProductUpdatedEvent.newBuilder()
+                .setProductId(String.valueOf(product.getId()))
+                .setName(nullToEmpty(product.getName()))
+                .setDescription(nullToEmpty(product.getDescription()))
+                .setPrice(product.getPrice().doubleValue())
+                .setQuantity(product.getStockQuantity())
+                .setSku(nullToEmpty(product.getSku()))
+                .setImageUrl(nullToEmpty(product.getImageUrl()))
+                .setCategory(nullToEmpty(product.getCategory()))
+                .setManufacturer(nullToEmpty(product.getManufacturer()))
+                .setStatus(nullToEmpty(product.getStatus()))
+                .setVersion(product.getVersion())
+                .setUpdatedAt(format(product.getUpdatedAt()))
+                .addAllChangedFields(changedFields)
+                .addAllInvalidatedTags(invalidatedTags)
+                .build());
+    }
+
+    public void productDeleted(Product product) {
+        afterCommit(product.getId(), () -> CatalogEventsProto.ProductDeletedEvent.newBuilder()
+                .setProductId(String.valueOf(product.getId()))
+                .setSku(nullToEmpty(product.getSku()))
+                .setVersion(product.getVersion())
+                .build());
+    }
+
+    private void afterCommit(Long productId, Supplier<? extends Message> event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(productId, event.get());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(productId, event.get());
+            }
+        });
+    }
+
+    private void send(Long productId, Message event) {
+        send(productId, event, 1);
+    }
+
+    private void send(Long productId, Message event, int attempt) {
+        String eventType = event.getDescriptorForType().getFullName();
+        ProducerRecord<String, byte[]> record =
+                new ProducerRecord<>(topic, String.valueOf(productId), event.toByteArray());
+        record.headers().add(EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8));
+        // The write has already committed, so the event must not be dropped on the first failure.
+        // A retried event can overtake a later one for the same product; the projection keeps the
+        // newer version either way
+        kafkaTemplate.send(record).whenComplete((result, failure) -> {
+            if (failure == null) {
+                return;
+            }
+            if (attempt < maxAttempts && !retryScheduler.isShutdown()) {
+                log.warn("Failed to publish {} for product {}, attempt {} of {}", eventType, productId, attempt,
+                        maxAttempts, failure);
+                retryScheduler.schedule(() -> send(productId, event, attempt + 1),
+                        backoff.toMillis() << (attempt - 1), TimeUnit.MILLISECONDS);
+            } else {
+                log.error("Dropped {} for product {} after {} attempts", eventType, productId, attempt, failure);
+                failures.increment();
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdown();
+    }
+
+    private static String format(Date date) {
+        return date != null ? TIMESTAMP_FORMAT.format(date.toInstant()) : "";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
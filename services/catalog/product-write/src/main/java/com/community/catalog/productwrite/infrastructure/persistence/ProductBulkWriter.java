@@ -0,0 +1,163 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.model.Product;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based writes to the {@code products} table for bulk imports and bulk edits. Ids come from the
+ * sequence behind the identity column, allocated for a whole chunk in one query, so inserts can be
+ * sent as one JDBC batch instead of one round trip per row for the generated key.
+ */
+@Component
+public class ProductBulkWriter {
+
+    private static final String EXISTING_SKUS_SQL = "SELECT sku FROM products WHERE sku = ANY (?)";
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('products', 'id')) FROM generate_series(1, ?)";
+
+    // A SKU taken by a concurrent create since the conflict check skips the row instead of failing the batch
+    private static final String INSERT_SQL = "INSERT INTO products (id, name, description, price, stock_quantity,"
+            + " sku, image_url, category, manufacturer, status, version, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (sku) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductBulkWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXISTING_SKUS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", skus.toArray()));
+            return statement;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    public List<Long> allocateIds(int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, count);
+    }
+
+    /**
+     * Inserts products that already carry their ids.
+     *
+     * @return for each product, whether it was inserted; false means its SKU was taken meanwhile
+     */
+    public boolean[] insert(List<Product> products) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Product product = products.get(i);
+                statement.setLong(1, product.getId());
+                statement.setString(2, product.getName());
+                statement.setString(3, product.getDescription());
+                statement.setBigDecimal(4, product.getPrice());
+                statement.setInt(5, product.getStockQuantity());
+                statement.setString(6, product.getSku());
+                statement.setString(7, product.getImageUrl());
+                statement.setString(8, product.getCategory());
+                statement.setString(9, product.getManufacturer());
+                statement.setString(10, product.getStatus());
+                statement.setInt(11, product.getVersion());
+                statement.setTimestamp(12, new Timestamp(product.getCreatedAt().getTime()));
+                statement.setTimestamp(13, new Timestamp(product.getUpdatedAt().getTime()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+        boolean[] inserted = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            // The driver reports per-row counts unless reWriteBatchedInserts is enabled
+            inserted[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return inserted;
+    }
+
+    /**
+     * Sets the status and/or scales the price of every product in a category and/or from a
+     * manufacturer with one statement, bumping each row's version and stamping it with
+     * {@code updatedAt}.
+     *
+     * @param status      the new status, or null to keep it
+     * @param priceFactor what to multiply prices by, rounded to cents, or null to keep them
+     * @return how many products were updated; products already in the new status are skipped when
+     * the price is kept
+     */
+    public int updateMatching(String category, String manufacturer, String status, BigDecimal priceFactor,
+                              Date updatedAt) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET version = version + 1, updated_at = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(new Timestamp(updatedAt.getTime()));
+        if (status != null) {
+            sql.append(", status = ?");
+            args.add(status);
+        }
+        if (priceFactor != null) {
+            sql.append(", price = ROUND(price * ?, 2)");
+            args.add(priceFactor);
+        }
+        sql.append(" WHERE TRUE");
+        appendScope(sql, args, category, manufacturer);
+        if (status != null && priceFactor == null) {
+            sql.append(" AND status IS DISTINCT FROM ?");
+            args.add(status);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Reads back one chunk of the products {@link #updateMatching} stamped with {@code updatedAt},
+     * in id order. A product changed again since then no longer carries the stamp and is skipped.
+     *
+     * @param afterId the last id of the previous chunk, or null for the first
+     */
+    public List<Product> findUpdated(String category, String manufacturer, Date updatedAt, Long afterId,
+                                     int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(ProductRowMapper.COLUMNS)
+                .append(" FROM products WHERE updated_at = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(new Timestamp(updatedAt.getTime()));
+        appendScope(sql, args, category, manufacturer);
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), new ProductRowMapper(), args.toArray());
+    }
+
+    private static void appendScope(StringBuilder sql, List<Object> args, String category, String manufacturer) {
+        if (category != null) {
+            sql.append(" AND category = ?");
+            args.add(category);
+        }
+        if (manufacturer != null) {
+            sql.append(" AND manufacturer = ?");
+            args.add(manufacturer);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.model.Product;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a {@code products} row selected or returned with {@link #COLUMNS} for set-based writes that
+ * bypass JPA.
+ */
+class ProductRowMapper implements RowMapper<Product> {
+
+    static final String COLUMNS = "id, name, description, price, stock_quantity, sku, image_url, category,"
+            + " manufacturer, status, version, created_at, updated_at";
+
+    @Override
+    public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Product.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .stockQuantity(rs.getInt("stock_quantity"))
+                .sku(rs.getString("sku"))
+                .imageUrl(rs.getString("image_url"))
+                .category(rs.getString("category"))
+                .manufacturer(rs.getString("manufacturer"))
+                .status(rs.getString("status"))
+                .version(rs.getInt("version"))
+                .createdAt(rs.getTimestamp("created_at"))
+                .updatedAt(rs.getTimestamp("updated_at"))
+                .build();
+    }
+}
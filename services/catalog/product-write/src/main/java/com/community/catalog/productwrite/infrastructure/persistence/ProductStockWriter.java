@@ -0,0 +1,53 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Set-based stock changes on the {@code products} table. A change is a single conditional
+ * {@code UPDATE} that the database applies atomically against the current row, so concurrent
+ * reservations of one product queue on the row lock instead of failing the optimistic lock of a
+ * load-and-save and being retried.
+ * <p>
+ * The version is still bumped, so a load-and-save that read the row before a stock change fails
+ * on its optimistic lock rather than writing the old quantity back, and the projection sees the
+ * change as a newer version.
+ */
+@Component
+public class ProductStockWriter {
+
+    private static final String ADJUST_SQL = "UPDATE products"
+            + " SET stock_quantity = stock_quantity + ?, version = version + 1, updated_at = ?"
+            + " WHERE id = ? AND stock_quantity + ? >= 0"
+            + " RETURNING " + ProductRowMapper.COLUMNS;
+
+    private static final String EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM products WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds {@code delta} to a product's stock, which is negative to take stock away, unless that
+     * would leave less than nothing.
+     *
+     * @return the product as updated, or null if it does not exist or has too little stock
+     */
+    public Product adjust(long productId, int delta) {
+        List<Product> updated = jdbcTemplate.query(ADJUST_SQL, new ProductRowMapper(),
+                delta, new Timestamp(new Date().getTime()), productId, delta);
+        return updated.isEmpty() ? null : updated.get(0);
+    }
+
+    public boolean exists(long productId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, productId));
+    }
+}
@@ -0,0 +1,86 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size bloom filter over SKUs. Adding is lock-free and may run concurrently with lookups;
+ * nothing can be removed.
+ */
+final class SkuBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+
+    /**
+     * @param capacity                 how many SKUs the filter is sized for
+     * @param falsePositiveProbability the rate of false positives once {@code capacity} SKUs are in
+     */
+    SkuBloomFilter(long capacity, double falsePositiveProbability) {
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (bits + 63) / 64)));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    void put(String sku) {
+        long hash1 = hash(sku);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndUpdate(word, value -> value | mask);
+            }
+        }
+    }
+
+    boolean mightContain(String sku) {
+        long hash1 = hash(sku);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * The false-positive probability at the current fill, from the share of bits set.
+     */
+    double expectedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the murmur3 mixer so nearby SKUs spread out
+    private static long hash(String sku) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < sku.length(); i++) {
+            hash ^= sku.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,175 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bloom filter of the SKUs in the {@code products} table, so creates can skip the SKU
+ * lookup for a SKU that is certainly new. A "might exist" answer still needs the lookup. The filter
+ * only knows this pod's writes since it was built, so a SKU taken through another pod can be missed;
+ * the unique constraint on the column stays the final guard.
+ * <p>
+ * The filter is built from a streaming scan once the application is ready, and answers "might
+ * exist" until then. Deleted SKUs cannot be taken out and only cost false positives; once they make
+ * up a tenth of the filter, or it holds more SKUs than it was sized for, it is rebuilt in the
+ * background.
+ * <p>
+ * {@code catalog.sku.filter.checks} counts answers by result: {@code absent} skipped the lookup,
+ * {@code present} found the SKU and {@code false_positive} did not. The false-positive rate is
+ * false_positive / (absent + false_positive).
+ */
+@Slf4j
+@Component
+public class SkuFilter {
+
+    // Room to grow before the filter is over capacity and rebuilt
+    private static final long HEADROOM = 2;
+    private static final long MIN_CAPACITY = 10_000;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveProbability;
+    private final ExecutorService rebuilder =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("sku-filter-"));
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositives;
+
+    // Null until the first build has finished
+    private volatile SkuBloomFilter filter;
+    // Also receives additions while a rebuild scans, since the scan may not see them
+    private volatile SkuBloomFilter building;
+
+    public SkuFilter(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     @Value("${catalog.sku-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.absent = checks(meterRegistry, "absent");
+        this.present = checks(meterRegistry, "present");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+        Gauge.builder("catalog.sku.filter.expected.false.positive.rate", this,
+                        skuFilter -> skuFilter.filter != null ? skuFilter.filter.expectedFalsePositiveRate() : Double.NaN)
+                .description("False-positive probability of the SKU filter at its current fill")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false only if no product has the SKU, as far as this pod knows
+     */
+    public boolean mightContain(String sku) {
+        SkuBloomFilter current = filter;
+        if (current == null || current.mightContain(sku)) {
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records the outcome of the lookup a "might exist" answer led to.
+     */
+    public void lookedUp(boolean found) {
+        if (filter != null) {
+            (found ? present : falsePositives).increment();
+        }
+    }
+
+    public void added(String sku) {
+        SkuBloomFilter current = filter;
+        if (current != null) {
+            current.put(sku);
+        }
+        SkuBloomFilter next = building;
+        if (next != null) {
+            next.put(sku);
+        }
+        if (current != null && entries.incrementAndGet() > current.capacity()) {
+            rebuildInBackground();
+        }
+    }
+
+    public void removed(String sku) {
+        if (filter != null && removed.incrementAndGet() * 10 > entries.get()) {
+            rebuildInBackground();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuildInBackground();
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        long capacity = Math.max(MIN_CAPACITY, productRepository.count() * HEADROOM);
+        SkuBloomFilter next = new SkuBloomFilter(capacity, falsePositiveProbability);
+        building = next;
+        try {
+            AtomicLong scanned = new AtomicLong();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> skus = productRepository.streamAllSkus()) {
+                    skus.forEach(sku -> {
+                        next.put(sku);
+                        scanned.incrementAndGet();
+                    });
+                }
+            });
+            entries.set(scanned.get());
+            removed.set(0);
+            filter = next;
+            log.info("Built SKU filter over {} products in {} ms", scanned, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            building = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Failed to build the SKU filter", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.sku.filter.checks")
+                .description("SKU filter answers on product creation, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,182 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.application.error.StockUpdateTimeoutException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies stock changes through {@link ProductStockWriter} and publishes an updated event for
+ * every statement that changed a row.
+ * <p>
+ * With {@code catalog.stock.coalescing.window} above zero, changes to one product arriving within
+ * the window are merged into a single statement for their summed delta, so a hot product costs one
+ * row lock and one event per window rather than per request. Every caller waits for the flush and
+ * gets the row as it stood after the statement that applied its change. If the merged change would
+ * take more stock than is left, the changes are applied one by one in arrival order instead, so
+ * each reservation still succeeds or fails on its own.
+ * <p>
+ * A caller waits at most the window plus {@code catalog.stock.coalescing.flush-timeout} for its
+ * batch, so a flush stuck on a row lock or a saturated connection pool cannot hold request threads
+ * indefinitely.
+ */
+@Component
+public class StockUpdateCoalescer {
+
+    private final ProductStockWriter stockWriter;
+    private final CatalogEventPublisher catalogEventPublisher;
+    private final Duration window;
+    private final int maxBatch;
+    private final Duration flushTimeout;
+    // Null when coalescing is disabled
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<Long, Batch> pending = new ConcurrentHashMap<>();
+    private final Counter statements;
+    private final DistributionSummary batchSize;
+
+    public StockUpdateCoalescer(ProductStockWriter stockWriter,
+                                CatalogEventPublisher catalogEventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.stock.coalescing.window:0ms}") Duration window,
+                                @Value("${catalog.stock.coalescing.max-batch:100}") int maxBatch,
+                                @Value("${catalog.stock.coalescing.flush-threads:4}") int flushThreads,
+                                @Value("${catalog.stock.coalescing.flush-timeout:5s}") Duration flushTimeout) {
+        this.stockWriter = stockWriter;
+        this.catalogEventPublisher = catalogEventPublisher;
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.flushTimeout = flushTimeout;
+        this.scheduler = window.isZero() || window.isNegative()
+                ? null
+                : Executors.newScheduledThreadPool(flushThreads, new CustomizableThreadFactory("stock-flush-"));
+        this.statements = Counter.builder("catalog.stock.statements")
+                .description("Stock update statements sent to the database")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("catalog.stock.batch.size")
+                .description("Stock changes to one product flushed together")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds {@code delta} to a product's stock unless that would leave less than nothing.
+     *
+     * @return the product as updated, or null if it does not exist or has too little stock
+     * @throws StockUpdateTimeoutException if the change was not flushed in time; it may still be applied
+     */
+    public Product adjust(long productId, int delta) {
+        if (scheduler == null) {
+            return apply(productId, delta);
+        }
+        CompletableFuture<Product> result = new CompletableFuture<>();
+        Batch[] full = new Batch[1];
+        pending.compute(productId, (id, batch) -> {
+            if (batch == null) {
+                Batch created = new Batch();
+                created.timer = scheduler.schedule(() -> flush(id, created), window.toNanos(), TimeUnit.NANOSECONDS);
+                batch = created;
+            }
+            batch.requests.add(new Request(delta, result));
+            if (batch.requests.size() >= maxBatch) {
+                full[0] = batch;
+            }
+            return batch;
+        });
+        if (full[0] != null) {
+            Batch batch = full[0];
+            batch.timer.cancel(false);
+            scheduler.execute(() -> flush(productId, batch));
+        }
+        try {
+            return result.get(window.plus(flushTimeout).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new StockUpdateTimeoutException("Stock change of product with ID '" + productId
+                    + "' was not confirmed in time.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockUpdateTimeoutException("Interrupted while waiting for the stock change of product with ID '"
+                    + productId + "'.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (scheduler != null) {
+            // Batches already waiting are still flushed
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void flush(long productId, Batch batch) {
+        // A batch that filled up is flushed early; its timer may already have fired and find it gone
+        if (!pending.remove(productId, batch)) {
+            return;
+        }
+        List<Request> requests = batch.requests;
+        batchSize.record(requests.size());
+        try {
+            long total = requests.stream().mapToLong(Request::delta).sum();
+            if (requests.size() > 1 && total == (int) total) {
+                Product updated = apply(productId, (int) total);
+                if (updated != null) {
+                    requests.forEach(request -> request.result.complete(updated));
+                    return;
+                }
+            }
+            for (Request request : requests) {
+                request.result.complete(apply(productId, request.delta));
+            }
+        } catch (Throwable e) {
+            // Requests already answered keep their result; an Error must not leave the rest waiting
+            requests.forEach(request -> request.result.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private Product apply(long productId, int delta) {
+        statements.increment();
+        Product updated = stockWriter.adjust(productId, delta);
+        if (updated != null) {
+            catalogEventPublisher.productUpdated(updated);
+        }
+        return updated;
+    }
+
+    private static final class Batch {
+        // Only added to while the batch is mapped in pending, and only read once it has been removed
+        final List<Request> requests = new ArrayList<>();
+        ScheduledFuture<?> timer;
+    }
+
+    private record Request(int delta, CompletableFuture<Product> result) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.community.catalog.productwrite.interfaces.controller;
+
+import com.community.catalog.productwrite.application.command.ImportProductsCommand;
+import com.community.catalog.productwrite.interfaces.dto.CreateProductRequestDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns an import request body into rows as they are read, so the body is never held in memory
+ * as a whole. Each row is validated like a single {@code POST /api/products}; a row that cannot be
+ * parsed or fails validation is passed on carrying its error, to be reported rather than imported.
+ */
+@Component
+@RequiredArgsConstructor
+class ProductImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Reads a JSON array of products. A syntax error ends the import at that element, since the
+     * rest of the array cannot be located reliably.
+     */
+    Iterator<ImportProductsCommand.Row> readArray(InputStream body) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of products");
+        }
+        return new RowIterator() {
+            @Override
+            ImportProductsCommand.Row read(int number) throws IOException {
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        return null;
+                    }
+                    return toRow(number, parser.readValueAsTree());
+                } catch (JsonProcessingException e) {
+                    done = true;
+                    return ImportProductsCommand.Row.invalid(number, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads newline-delimited JSON, one product per line. Blank lines are skipped; a malformed line
+     * is reported and the import goes on with the next one.
+     */
+    Iterator<ImportProductsCommand.Row> readLines(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return new RowIterator() {
+            @Override
+            ImportProductsCommand.Row read(int number) throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                } while (line.isBlank());
+                try {
+                    return toRow(number, objectMapper.readTree(line));
+                } catch (JsonProcessingException e) {
+                    return ImportProductsCommand.Row.invalid(number, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    private ImportProductsCommand.Row toRow(int number, JsonNode node) {
+        String sku = node.path("sku").isTextual() ? node.get("sku").asText() : null;
+        if (!node.isObject()) {
+            return ImportProductsCommand.Row.invalid(number, null, "Expected a JSON object");
+        }
+        CreateProductRequestDTO request;
+        try {
+            request = objectMapper.treeToValue(node, CreateProductRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            return ImportProductsCommand.Row.invalid(number, sku, e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<CreateProductRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; "));
+            return ImportProductsCommand.Row.invalid(number, sku, error);
+        }
+        return new ImportProductsCommand.Row(
+                number,
+                request.getName(),
+                request.getDescription(),
+                request.getPrice(),
+                request.getStockQuantity(),
+                request.getSku(),
+                request.getImageUrl(),
+                request.getCategory(),
+                request.getManufacturer(),
+                request.getStatus(),
+                null
+        );
+    }
+
+    private abstract static class RowIterator implements Iterator<ImportProductsCommand.Row> {
+
+        boolean done;
+        private ImportProductsCommand.Row next;
+        private int number;
+
+        // Returns the row with the given number, or null at the end of the body
+        abstract ImportProductsCommand.Row read(int number) throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = read(number + 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (next == null) {
+                    done = true;
+                } else {
+                    number++;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ImportProductsCommand.Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ImportProductsCommand.Row row = next;
+            next = null;
+            return row;
+        }
+    }
+}
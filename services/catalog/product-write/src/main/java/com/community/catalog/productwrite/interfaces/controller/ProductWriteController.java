@@ -1,19 +1,33 @@
 package com.community.catalog.productwrite.interfaces.controller;
 
+import com.community.catalog.productwrite.application.command.BulkUpdateProductsCommand;
 import com.community.catalog.productwrite.application.command.CreateProductCommand;
 import com.community.catalog.productwrite.application.command.DeleteProductCommand;
+import com.community.catalog.productwrite.application.command.ImportProductsCommand;
+import com.community.catalog.productwrite.application.command.PatchProductCommand;
+import com.community.catalog.productwrite.application.command.ReleaseStockCommand;
+import com.community.catalog.productwrite.application.command.ReserveStockCommand;
 import com.community.catalog.productwrite.application.command.UpdateProductCommand;
+import com.community.catalog.productwrite.application.dto.BulkUpdateProductsResult;
+import com.community.catalog.productwrite.application.dto.ImportProductsResult;
 import com.community.catalog.productwrite.application.mediator.Mediator;
 import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.interfaces.dto.BulkUpdateProductsRequestDTO;
 import com.community.catalog.productwrite.interfaces.dto.CreateProductRequestDTO;
+import com.community.catalog.productwrite.interfaces.dto.PatchProductRequestDTO;
+import com.community.catalog.productwrite.interfaces.dto.StockRequestDTO;
 import com.community.catalog.productwrite.interfaces.dto.UpdateProductRequestDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -21,7 +35,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductWriteController {
 
+    // The product's version after the write. product-read accepts it back on a read and skips any
+    // cached copy older than it, so the writer sees its own change before the projection catches up.
+    static final String CONSISTENCY_TOKEN_HEADER = "X-Consistency-Token";
+
     private final Mediator mediator;
+    private final ProductImportReader productImportReader;
 
     @PostMapping
     public ResponseEntity<Product> createProduct(
@@ -46,7 +65,47 @@ public class ProductWriteController {
         );
 
         Product createdProduct = mediator.send(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        return withConsistencyToken(ResponseEntity.status(HttpStatus.CREATED), createdProduct);
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportProductsResult> importProducts(
+            HttpServletRequest request,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader("X-User-Roles") String userRolesHeader) throws IOException {
+
+        List<String> userRoles = Arrays.asList(userRolesHeader.split(","));
+
+        // Rows are parsed as the handler consumes them, so the body is streamed rather than buffered
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        Iterator<ImportProductsCommand.Row> rows = ndjson
+                ? productImportReader.readLines(request.getInputStream())
+                : productImportReader.readArray(request.getInputStream());
+
+        ImportProductsCommand command = new ImportProductsCommand(rows, userId, userRoles);
+        ImportProductsResult result = mediator.send(command);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulk-update")
+    public ResponseEntity<BulkUpdateProductsResult> bulkUpdateProducts(
+            @Valid @RequestBody BulkUpdateProductsRequestDTO requestDTO,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader("X-User-Roles") String userRolesHeader) {
+
+        List<String> userRoles = Arrays.asList(userRolesHeader.split(","));
+
+        BulkUpdateProductsCommand command = new BulkUpdateProductsCommand(
+                requestDTO.getCategory(),
+                requestDTO.getManufacturer(),
+                requestDTO.getStatus(),
+                requestDTO.getPriceChangePercent(),
+                userId,
+                userRoles
+        );
+
+        BulkUpdateProductsResult result = mediator.send(command);
+        return ResponseEntity.ok(result);
     }
 
     @PutMapping("/{id}")
@@ -73,7 +132,63 @@ public class ProductWriteController {
         );
 
         Product updatedProduct = mediator.send(command);
-        return ResponseEntity.ok(updatedProduct);
+        return withConsistencyToken(ResponseEntity.ok(), updatedProduct);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Product> patchProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody PatchProductRequestDTO requestDTO,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader("X-User-Roles") String userRolesHeader) {
+
+        List<String> userRoles = Arrays.asList(userRolesHeader.split(","));
+
+        PatchProductCommand command = new PatchProductCommand(
+                id,
+                requestDTO.getName(),
+                requestDTO.getDescription(),
+                requestDTO.getPrice(),
+                requestDTO.getStockQuantity(),
+                requestDTO.getImageUrl(),
+                requestDTO.getCategory(),
+                requestDTO.getManufacturer(),
+                requestDTO.getStatus(),
+                requestDTO.getVersion(),
+                userId,
+                userRoles
+        );
+
+        Product patchedProduct = mediator.send(command);
+        return withConsistencyToken(ResponseEntity.ok(), patchedProduct);
+    }
+
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<Product> reserveStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockRequestDTO requestDTO,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader("X-User-Roles") String userRolesHeader) {
+
+        List<String> userRoles = Arrays.asList(userRolesHeader.split(","));
+
+        ReserveStockCommand command = new ReserveStockCommand(id, requestDTO.getQuantity(), userId, userRoles);
+        Product product = mediator.send(command);
+        return withConsistencyToken(ResponseEntity.ok(), product);
+    }
+
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<Product> releaseStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockRequestDTO requestDTO,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader("X-User-Roles") String userRolesHeader) {
+
+        List<String> userRoles = Arrays.asList(userRolesHeader.split(","));
+
+        ReleaseStockCommand command = new ReleaseStockCommand(id, requestDTO.getQuantity(), userId, userRoles);
+        Product product = mediator.send(command);
+        return withConsistencyToken(ResponseEntity.ok(), product);
     }
 
     @DeleteMapping("/{id}")
@@ -89,4 +204,8 @@ public class ProductWriteController {
 
         return ResponseEntity.noContent().build();
     }
+
+    private static ResponseEntity<Product> withConsistencyToken(ResponseEntity.BodyBuilder builder, Product product) {
+        return builder.header(CONSISTENCY_TOKEN_HEADER, String.valueOf(product.getVersion())).body(product);
+    }
 }
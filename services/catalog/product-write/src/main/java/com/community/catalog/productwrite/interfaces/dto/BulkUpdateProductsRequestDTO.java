@@ -0,0 +1,31 @@
+package com.community.catalog.productwrite.interfaces.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+
+@Data
+public class BulkUpdateProductsRequestDTO {
+
+    private String category;
+    private String manufacturer;
+
+    private String status;
+
+    @DecimalMin(value = "-100.0", inclusive = false, message = "Price change must be above -100 percent")
+    private BigDecimal priceChangePercent;
+
+    @AssertTrue(message = "Category or manufacturer is required")
+    public boolean isScoped() {
+        return StringUtils.hasText(category) || StringUtils.hasText(manufacturer);
+    }
+
+    @AssertTrue(message = "Status or price change is required")
+    public boolean isChanging() {
+        return StringUtils.hasText(status)
+                || (priceChangePercent != null && priceChangePercent.signum() != 0);
+    }
+}
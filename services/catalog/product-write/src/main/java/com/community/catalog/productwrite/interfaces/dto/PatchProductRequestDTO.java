@@ -0,0 +1,30 @@
+package com.community.catalog.productwrite.interfaces.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Data
+public class PatchProductRequestDTO {
+
+    private String name;
+    // Null when the field is absent; empty when it is sent as null, which clears it
+    private Optional<String> description;
+
+    @DecimalMin(value = "0.0", inclusive = false)
+    private BigDecimal price;
+
+    @PositiveOrZero
+    private Integer stockQuantity;
+
+    private Optional<String> imageUrl;
+    private String category;
+    private String manufacturer;
+    private String status;
+
+    // Optional; when given, the patch is refused if the product has changed since this version
+    private Integer version;
+}
@@ -0,0 +1,13 @@
+package com.community.catalog.productwrite.interfaces.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class StockRequestDTO {
+
+    @NotNull(message = "Quantity cannot be null")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+}
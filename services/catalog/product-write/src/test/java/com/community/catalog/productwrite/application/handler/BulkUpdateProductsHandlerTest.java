@@ -0,0 +1,112 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.BulkUpdateProductsCommand;
+import com.community.catalog.productwrite.application.dto.BulkUpdateProductsResult;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductBulkWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpdateProductsHandlerTest {
+
+    @Mock
+    private ProductBulkWriter productBulkWriter;
+
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    @InjectMocks
+    private BulkUpdateProductsHandler handler;
+
+    @Test
+    void testHandle_WhenRepricingCategory_ShouldUpdateInOneStatementAndPublishRowsWithItsTag() {
+        // Arrange
+        List<Product> updated = List.of(product(1L), product(2L));
+        when(productBulkWriter.updateMatching(eq("Books"), isNull(), isNull(), eq(new BigDecimal("0.90")), any(Date.class)))
+                .thenReturn(2);
+        when(productBulkWriter.findUpdated(eq("Books"), isNull(), any(Date.class), isNull(), anyInt())).thenReturn(updated);
+
+        // Act
+        BulkUpdateProductsResult result = handler.handle(new BulkUpdateProductsCommand(
+                "Books", "", null, new BigDecimal("-10"), "user-123", List.of("ADMIN")));
+
+        // Assert
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of("category:Books"), result.getInvalidatedTags());
+        verify(catalogEventPublisher).productUpdated(updated.get(0), List.of("price"), List.of("category:Books"));
+        verify(catalogEventPublisher).productUpdated(updated.get(1), List.of("price"), List.of("category:Books"));
+    }
+
+    @Test
+    void testHandle_WhenManyRowsUpdated_ShouldReadThemBackInChunks() {
+        // Arrange
+        int chunk = BulkUpdateProductsHandler.PUBLISH_CHUNK_SIZE;
+        List<Product> first = LongStream.rangeClosed(1, chunk).mapToObj(BulkUpdateProductsHandlerTest::product).toList();
+        List<Product> second = List.of(product(chunk + 1L));
+        when(productBulkWriter.updateMatching(isNull(), eq("Acme"), eq("INACTIVE"), isNull(), any(Date.class)))
+                .thenReturn(chunk + 1);
+        when(productBulkWriter.findUpdated(isNull(), eq("Acme"), any(Date.class), isNull(), eq(chunk))).thenReturn(first);
+        when(productBulkWriter.findUpdated(isNull(), eq("Acme"), any(Date.class), eq((long) chunk), eq(chunk)))
+                .thenReturn(second);
+
+        // Act
+        BulkUpdateProductsResult result = handler.handle(new BulkUpdateProductsCommand(
+                null, "Acme", "INACTIVE", null, "user-123", List.of("PRODUCT_MANAGER")));
+
+        // Assert
+        assertEquals(List.of("manufacturer:Acme", "status:INACTIVE"), result.getInvalidatedTags());
+        verify(catalogEventPublisher, times(chunk + 1))
+                .productUpdated(any(Product.class), eq(List.of("status")), eq(List.of("manufacturer:Acme", "status:INACTIVE")));
+        verify(productBulkWriter, times(2)).findUpdated(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testHandle_WhenNothingMatches_ShouldPublishNothing() {
+        // Arrange
+        when(productBulkWriter.updateMatching(isNull(), eq("Acme"), eq("INACTIVE"), isNull(), any(Date.class)))
+                .thenReturn(0);
+
+        // Act
+        BulkUpdateProductsResult result = handler.handle(new BulkUpdateProductsCommand(
+                null, "Acme", "INACTIVE", null, "user-123", List.of("ADMIN")));
+
+        // Assert
+        assertEquals(0, result.getUpdated());
+        assertEquals(List.of(), result.getInvalidatedTags());
+        verify(productBulkWriter, never()).findUpdated(any(), any(), any(), any(), anyInt());
+        verifyNoInteractions(catalogEventPublisher);
+    }
+
+    @Test
+    void testHandle_WhenUserIsNotAuthorized_ShouldThrowForbiddenException() {
+        // Arrange
+        BulkUpdateProductsCommand command = new BulkUpdateProductsCommand(
+                "Books", null, "INACTIVE", null, "user-123", List.of("USER"));
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> handler.handle(command));
+        verifyNoInteractions(productBulkWriter, catalogEventPublisher);
+    }
+
+    private static Product product(long id) {
+        return Product.builder().id(id).price(new BigDecimal("9.00")).build();
+    }
+}
@@ -5,14 +5,18 @@ import com.community.catalog.productwrite.application.error.ForbiddenException;
 import com.community.catalog.productwrite.application.error.ProductAlreadyExistsException;
 import com.community.catalog.productwrite.domain.model.Product;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +30,12 @@ class CreateProductHandlerTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    @Mock
+    private SkuFilter skuFilter;
+
     @InjectMocks
     private CreateProductHandler handler;
 
@@ -34,6 +44,7 @@ class CreateProductHandlerTest {
         // Arrange
         CreateProductCommand command = new CreateProductCommand("New Gadget", "It's new!", new BigDecimal("199.99"), 50, "GADGET-001", "/img.png", "Electronics", "GadgetCorp", "ACTIVE", "user-123", List.of("ADMIN"));
 
+        when(skuFilter.mightContain("GADGET-001")).thenReturn(true);
         when(productRepository.findBySku("GADGET-001")).thenReturn(Optional.empty());
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -46,6 +57,9 @@ class CreateProductHandlerTest {
         assertEquals("ACTIVE", result.getStatus());
         verify(productRepository, times(1)).findBySku("GADGET-001");
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(catalogEventPublisher, times(1)).productCreated(result);
+        verify(skuFilter).lookedUp(false);
+        verify(skuFilter).added("GADGET-001");
     }
 
     @Test
@@ -65,6 +79,7 @@ class CreateProductHandlerTest {
     void testHandle_WhenSkuAlreadyExists_ShouldThrowProductAlreadyExistsException() {
         // Arrange
         CreateProductCommand command = new CreateProductCommand("Another Gadget", "desc", BigDecimal.ONE, 1, "SKU-EXIST", null, null, null, null, "user-123", List.of("ADMIN"));
+        when(skuFilter.mightContain("SKU-EXIST")).thenReturn(true);
         when(productRepository.findBySku("SKU-EXIST")).thenReturn(Optional.of(new Product()));
 
         // Act & Assert
@@ -81,6 +96,7 @@ class CreateProductHandlerTest {
         CreateProductCommand command = new CreateProductCommand("Default Status Gadget", "desc", BigDecimal.TEN, 10, "DEFAULT-SKU", null, null, null, "", "user-456", List.of("PRODUCT_MANAGER"));
         ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
 
+        when(skuFilter.mightContain("DEFAULT-SKU")).thenReturn(true);
         when(productRepository.findBySku("DEFAULT-SKU")).thenReturn(Optional.empty());
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -92,4 +108,50 @@ class CreateProductHandlerTest {
         Product savedProduct = productCaptor.getValue();
         assertEquals("ACTIVE", savedProduct.getStatus(), "Status should default to ACTIVE if not provided");
     }
+
+    @Test
+    void testHandle_WhenSkuFilterRulesSkuOut_ShouldSkipLookup() {
+        // Arrange
+        CreateProductCommand command = new CreateProductCommand("Feed Gadget", "desc", BigDecimal.TEN, 5, "FEED-001", null, null, null, null, "user-123", List.of("ADMIN"));
+        when(skuFilter.mightContain("FEED-001")).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        handler.handle(command);
+
+        // Assert
+        verify(productRepository, never()).findBySku(any());
+        verify(productRepository).save(any(Product.class));
+        verify(skuFilter).added("FEED-001");
+    }
+
+    @Test
+    void testHandle_WhenUniqueConstraintRejectsSku_ShouldThrowProductAlreadyExistsException() {
+        // Arrange
+        CreateProductCommand command = new CreateProductCommand("Feed Gadget", "desc", BigDecimal.TEN, 5, "FEED-002", null, null, null, null, "user-123", List.of("ADMIN"));
+        when(skuFilter.mightContain("FEED-002")).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new SQLException("duplicate key value violates unique constraint", "23505")));
+
+        // Act & Assert
+        assertThrows(ProductAlreadyExistsException.class, () -> handler.handle(command));
+        verify(catalogEventPublisher, never()).productCreated(any());
+        verify(skuFilter, never()).added(any());
+    }
+
+    @Test
+    void testHandle_WhenOtherConstraintIsViolated_ShouldRethrowInsteadOfConflict() {
+        // Arrange
+        CreateProductCommand command = new CreateProductCommand("Feed Gadget", "desc", BigDecimal.TEN, 5, "FEED-003", null, null, null, null, "user-123", List.of("ADMIN"));
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("null value",
+                new SQLException("null value in column \"name\" violates not-null constraint", "23502"));
+        when(skuFilter.mightContain("FEED-003")).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenThrow(notNull);
+
+        // Act & Assert
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> handler.handle(command));
+        assertSame(notNull, thrown);
+        verify(catalogEventPublisher, never()).productCreated(any());
+    }
 }
@@ -2,7 +2,10 @@ package com.community.catalog.productwrite.application.handler;
 
 import com.community.catalog.productwrite.application.command.DeleteProductCommand;
 import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.domain.model.Product;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -20,6 +24,12 @@ class DeleteProductHandlerTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    @Mock
+    private SkuFilter skuFilter;
+
     @InjectMocks
     private DeleteProductHandler handler;
 
@@ -28,13 +38,31 @@ class DeleteProductHandlerTest {
         // Arrange
         Long productId = 1L;
         DeleteProductCommand command = new DeleteProductCommand(productId, "admin-user", List.of("ADMIN"));
-        doNothing().when(productRepository).deleteById(productId);
+        Product product = Product.builder().id(productId).sku("SKU-1").build();
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Act
+        handler.handle(command);
+
+        // Assert
+        verify(productRepository, times(1)).delete(product);
+        verify(catalogEventPublisher, times(1)).productDeleted(product);
+        verify(skuFilter).removed("SKU-1");
+    }
+
+    @Test
+    void testHandle_WhenProductDoesNotExist_ShouldNotPublishEvent() {
+        // Arrange
+        Long productId = 2L;
+        DeleteProductCommand command = new DeleteProductCommand(productId, "admin-user", List.of("ADMIN"));
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
         // Act
         handler.handle(command);
 
         // Assert
-        verify(productRepository, times(1)).deleteById(productId);
+        verify(productRepository, never()).delete(any());
+        verifyNoInteractions(catalogEventPublisher);
     }
 
     @Test
@@ -45,6 +73,6 @@ class DeleteProductHandlerTest {
 
         // Act & Assert
         assertThrows(ForbiddenException.class, () -> handler.handle(command));
-        verify(productRepository, never()).deleteById(any());
+        verify(productRepository, never()).delete(any());
     }
 }
@@ -0,0 +1,176 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.ImportProductsCommand;
+import com.community.catalog.productwrite.application.dto.ImportProductsResult;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductBulkWriter;
+import com.community.catalog.productwrite.infrastructure.persistence.SkuFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportProductsHandlerTest {
+
+    @Mock
+    private ProductBulkWriter productBulkWriter;
+
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    @Mock
+    private SkuFilter skuFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportProductsHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(productBulkWriter.allocateIds(anyInt())).thenAnswer(invocation ->
+                IntStream.rangeClosed(1, invocation.<Integer>getArgument(0)).mapToObj(Long::valueOf).toList());
+        handler = new ImportProductsHandler(productBulkWriter, catalogEventPublisher, skuFilter, transactionManager, 2);
+    }
+
+    @Test
+    void testHandle_WhenRowsAreValid_ShouldInsertInChunks() {
+        // Arrange
+        when(productBulkWriter.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        when(productBulkWriter.insert(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+        // Act
+        ImportProductsResult result = handler.handle(command(List.of(row(1, "SKU-1"), row(2, "SKU-2"), row(3, "SKU-3")), "ADMIN"));
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        verify(productBulkWriter, times(2)).insert(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(catalogEventPublisher, times(3)).productCreated(any(Product.class));
+    }
+
+    @Test
+    void testHandle_WhenStatusIsEmpty_ShouldDefaultToActive() {
+        // Arrange
+        when(productBulkWriter.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        ArgumentCaptor<List<Product>> captor = ArgumentCaptor.forClass(List.class);
+        when(productBulkWriter.insert(captor.capture())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+        // Act
+        handler.handle(command(List.of(row(1, "SKU-1")), "PRODUCT_MANAGER"));
+
+        // Assert
+        Product product = captor.getValue().get(0);
+        assertEquals(1L, product.getId());
+        assertEquals("ACTIVE", product.getStatus());
+        assertEquals(0, product.getVersion());
+    }
+
+    @Test
+    void testHandle_WhenRowsConflictOrAreInvalid_ShouldReportThemAndImportTheRest() {
+        // Arrange
+        when(productBulkWriter.findExistingSkus(anyCollection())).thenReturn(Set.of("SKU-TAKEN"));
+        // SKU-RACED is taken by a concurrent create between the check and the insert
+        when(productBulkWriter.insert(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            boolean[] inserted = allInserted(products);
+            for (int i = 0; i < products.size(); i++) {
+                inserted[i] = !products.get(i).getSku().equals("SKU-RACED");
+            }
+            return inserted;
+        });
+        List<ImportProductsCommand.Row> rows = List.of(
+                row(1, "SKU-1"),
+                row(2, "SKU-TAKEN"),
+                ImportProductsCommand.Row.invalid(3, "SKU-BAD", "price: Price cannot be null"),
+                row(4, "SKU-1"),
+                row(5, "SKU-RACED"),
+                row(6, "SKU-2"));
+
+        // Act
+        ImportProductsResult result = handler.handle(command(rows, "ADMIN"));
+
+        // Assert
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2, 3, 4, 5), result.getErrors().stream().map(ImportProductsResult.RowError::getRow).sorted().toList());
+        assertEquals("Product with SKU 'SKU-TAKEN' already exists.", errorFor(result, 2).getMessage());
+        assertEquals("price: Price cannot be null", errorFor(result, 3).getMessage());
+        assertEquals("SKU 'SKU-1' appears more than once in this import.", errorFor(result, 4).getMessage());
+        assertEquals("Product with SKU 'SKU-RACED' already exists.", errorFor(result, 5).getMessage());
+        verify(catalogEventPublisher, times(2)).productCreated(any(Product.class));
+    }
+
+    @Test
+    void testHandle_WhenChunkFails_ShouldRollBackReportItsRowsAndContinue() {
+        // Arrange
+        when(productBulkWriter.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        when(productBulkWriter.insert(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+        // Act
+        ImportProductsResult result = handler.handle(command(List.of(row(1, "SKU-1"), row(2, "SKU-2"), row(3, "SKU-3")), "ADMIN"));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(1, 2), result.getErrors().stream().map(ImportProductsResult.RowError::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Chunk was rolled back"));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(catalogEventPublisher, times(1)).productCreated(any(Product.class));
+    }
+
+    @Test
+    void testHandle_WhenUserIsNotAuthorized_ShouldThrowForbiddenException() {
+        // Arrange
+        ImportProductsCommand command = command(List.of(row(1, "SKU-1")), "USER");
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> handler.handle(command));
+        verifyNoInteractions(productBulkWriter);
+    }
+
+    private static ImportProductsCommand command(List<ImportProductsCommand.Row> rows, String role) {
+        return new ImportProductsCommand(new ArrayList<>(rows).iterator(), "user-123", List.of(role));
+    }
+
+    private static ImportProductsCommand.Row row(int number, String sku) {
+        return new ImportProductsCommand.Row(number, "Gadget " + number, "desc", new BigDecimal("9.99"), 5, sku,
+                null, "Electronics", "GadgetCorp", null, null);
+    }
+
+    private static boolean[] allInserted(List<Product> products) {
+        boolean[] inserted = new boolean[products.size()];
+        Arrays.fill(inserted, true);
+        return inserted;
+    }
+
+    private static ImportProductsResult.RowError errorFor(ImportProductsResult result, int row) {
+        return result.getErrors().stream().filter(error -> error.getRow() == row).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,153 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.PatchProductCommand;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.application.error.ProductVersionConflictException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatchProductHandlerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private PatchProductHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("products");
+        cacheManager.getCache("products").put(1L, "cached");
+        handler = new PatchProductHandler(productRepository, catalogEventPublisher, cacheManager);
+    }
+
+    @Test
+    void testHandle_WhenFieldsDiffer_ShouldSaveOnlyThemAndPublishChangeSet() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct()));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Same name and an equal price at another scale, so only the stock changes
+        PatchProductCommand command = command("Widget", new BigDecimal("9.9"), 4, null, List.of("ADMIN"));
+
+        // Act
+        Product result = handler.handle(command);
+
+        // Assert
+        assertEquals(4, result.getStockQuantity());
+        assertEquals(new BigDecimal("9.90"), result.getPrice());
+        verify(catalogEventPublisher).productUpdated(result, List.of("quantity"));
+        assertNull(cacheManager.getCache("products").get(1L));
+    }
+
+    @Test
+    void testHandle_WhenNothingChanges_ShouldSkipPersistenceEventAndEviction() {
+        // Arrange
+        Product existing = existingProduct();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+        PatchProductCommand command = command("Widget", new BigDecimal("9.90"), 3, 2, List.of("PRODUCT_MANAGER"));
+
+        // Act
+        Product result = handler.handle(command);
+
+        // Assert
+        assertSame(existing, result);
+        verify(productRepository, never()).save(any());
+        verify(catalogEventPublisher, never()).productUpdated(any(), anyCollection());
+        assertNotNull(cacheManager.getCache("products").get(1L));
+    }
+
+    @Test
+    void testHandle_WhenDescriptionIsSentEmpty_ShouldClearIt() {
+        // Arrange
+        Product existing = existingProduct();
+        existing.setDescription("Blue");
+        existing.setImageUrl("https://img/w-1.png");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PatchProductCommand command = new PatchProductCommand(1L, null, Optional.empty(), null, null, null, null,
+                null, null, null, "user-id", List.of("ADMIN"));
+
+        // Act
+        Product result = handler.handle(command);
+
+        // Assert - an absent image URL is left alone
+        assertNull(result.getDescription());
+        assertEquals("https://img/w-1.png", result.getImageUrl());
+        verify(catalogEventPublisher).productUpdated(result, List.of("description"));
+    }
+
+    @Test
+    void testHandle_WhenImageUrlIsBlankAndAlreadyUnset_ShouldChangeNothing() {
+        // Arrange
+        Product existing = existingProduct();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
+        PatchProductCommand command = new PatchProductCommand(1L, null, null, null, null, Optional.of(" "), null,
+                null, null, null, "user-id", List.of("ADMIN"));
+
+        // Act
+        Product result = handler.handle(command);
+
+        // Assert
+        assertSame(existing, result);
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void testHandle_WhenVersionIsStale_ShouldThrowProductVersionConflictException() {
+        // Arrange
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct()));
+        PatchProductCommand command = command(null, new BigDecimal("12.00"), null, 1, List.of("ADMIN"));
+
+        // Act & Assert
+        assertThrows(ProductVersionConflictException.class, () -> handler.handle(command));
+        verify(productRepository, never()).save(any());
+        verifyNoInteractions(catalogEventPublisher);
+    }
+
+    @Test
+    void testHandle_WhenUserLacksRole_ShouldThrowForbiddenException() {
+        // Arrange
+        PatchProductCommand command = command("Upd", null, null, null, List.of("USER"));
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> handler.handle(command));
+        verifyNoInteractions(productRepository, catalogEventPublisher);
+    }
+
+    private static PatchProductCommand command(String name, BigDecimal price, Integer stockQuantity,
+                                               Integer expectedVersion, List<String> roles) {
+        return new PatchProductCommand(1L, name, null, price, stockQuantity, null, null, null, null,
+                expectedVersion, "user-id", roles);
+    }
+
+    private static Product existingProduct() {
+        return Product.builder()
+                .id(1L)
+                .name("Widget")
+                .price(new BigDecimal("9.90"))
+                .stockQuantity(3)
+                .sku("W-1")
+                .version(2)
+                .build();
+    }
+}
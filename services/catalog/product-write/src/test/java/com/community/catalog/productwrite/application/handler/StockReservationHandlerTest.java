@@ -0,0 +1,81 @@
+package com.community.catalog.productwrite.application.handler;
+
+import com.community.catalog.productwrite.application.command.ReleaseStockCommand;
+import com.community.catalog.productwrite.application.command.ReserveStockCommand;
+import com.community.catalog.productwrite.application.error.ForbiddenException;
+import com.community.catalog.productwrite.application.error.InsufficientStockException;
+import com.community.catalog.productwrite.application.error.ProductNotFoundException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.persistence.ProductStockWriter;
+import com.community.catalog.productwrite.infrastructure.persistence.StockUpdateCoalescer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationHandlerTest {
+
+    @Mock
+    private StockUpdateCoalescer stockUpdateCoalescer;
+
+    @Mock
+    private ProductStockWriter productStockWriter;
+
+    @InjectMocks
+    private StockReservationHandler handler;
+
+    @Test
+    void testHandle_WhenStockIsAvailable_ShouldReserveIt() {
+        // Arrange
+        Product updated = Product.builder().id(1L).stockQuantity(7).version(4).build();
+        when(stockUpdateCoalescer.adjust(1L, -3)).thenReturn(updated);
+
+        // Act
+        Product result = handler.handle(new ReserveStockCommand(1L, 3, "user-123", List.of("ADMIN")));
+
+        // Assert
+        assertSame(updated, result);
+        verifyNoInteractions(productStockWriter);
+    }
+
+    @Test
+    void testHandle_WhenStockIsInsufficient_ShouldThrowInsufficientStockException() {
+        // Arrange
+        when(stockUpdateCoalescer.adjust(1L, -30)).thenReturn(null);
+        when(productStockWriter.exists(1L)).thenReturn(true);
+        ReserveStockCommand command = new ReserveStockCommand(1L, 30, "user-123", List.of("ADMIN"));
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> handler.handle(command));
+    }
+
+    @Test
+    void testHandle_WhenProductDoesNotExist_ShouldThrowProductNotFoundException() {
+        // Arrange
+        when(stockUpdateCoalescer.adjust(99L, 2)).thenReturn(null);
+        when(productStockWriter.exists(99L)).thenReturn(false);
+        ReleaseStockCommand command = new ReleaseStockCommand(99L, 2, "user-123", List.of("PRODUCT_MANAGER"));
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> handler.handle(command));
+    }
+
+    @Test
+    void testHandle_WhenUserIsNotAuthorized_ShouldThrowForbiddenException() {
+        // Arrange
+        ReserveStockCommand command = new ReserveStockCommand(1L, 1, "user-123", List.of("USER"));
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> handler.handle(command));
+        verify(stockUpdateCoalescer, never()).adjust(anyLong(), anyInt());
+    }
+}
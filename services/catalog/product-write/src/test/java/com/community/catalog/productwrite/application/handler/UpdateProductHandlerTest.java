@@ -5,6 +5,7 @@ import com.community.catalog.productwrite.application.error.ForbiddenException;
 import com.community.catalog.productwrite.application.error.ProductNotFoundException;
 import com.community.catalog.productwrite.domain.model.Product;
 import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,6 +25,9 @@ class UpdateProductHandlerTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
     @InjectMocks
     private UpdateProductHandler handler;
 
@@ -50,6 +54,7 @@ class UpdateProductHandlerTest {
         assertEquals(new BigDecimal("129.99"), updatedProduct.getPrice());
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(catalogEventPublisher, times(1)).productUpdated(any(Product.class));
     }
 
     @Test
@@ -65,6 +70,7 @@ class UpdateProductHandlerTest {
         assertThrows(ProductNotFoundException.class, () -> handler.handle(command));
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, never()).save(any());
+        verifyNoInteractions(catalogEventPublisher);
     }
 
     @Test
@@ -79,5 +85,6 @@ class UpdateProductHandlerTest {
         assertThrows(ForbiddenException.class, () -> handler.handle(command));
         verify(productRepository, never()).findById(any());
         verify(productRepository, never()).save(any());
+        verifyNoInteractions(catalogEventPublisher);
     }
 }
@@ -0,0 +1,154 @@
+package com.community.catalog.productwrite.application.mediator;
+
+import com.community.catalog.productwrite.application.command.DeleteProductCommand;
+import com.community.catalog.productwrite.application.command.ReleaseStockCommand;
+import com.community.catalog.productwrite.application.command.ReserveStockCommand;
+import com.community.catalog.productwrite.application.error.ProductNotFoundException;
+import com.community.catalog.productwrite.application.handler.DeleteProductHandler;
+import com.community.catalog.productwrite.application.handler.StockReservationHandler;
+import com.community.catalog.productwrite.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpringMediatorTest {
+
+    private static final List<String> ROLES = List.of("ADMIN");
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private StockReservationHandler stockReservationHandler;
+
+    @Mock
+    private DeleteProductHandler deleteProductHandler;
+
+    private SpringMediator mediator;
+
+    @BeforeEach
+    void setUp() {
+        mediator = new SpringMediator(applicationContext, List.of());
+    }
+
+    @Test
+    void testSend_ShouldDispatchEachCommandToItsHandleMethod() {
+        // Arrange
+        ReserveStockCommand reserve = new ReserveStockCommand(1L, 2, "user-id", ROLES);
+        ReleaseStockCommand release = new ReleaseStockCommand(1L, 2, "user-id", ROLES);
+        Product reserved = Product.builder().id(1L).stockQuantity(3).build();
+        Product released = Product.builder().id(1L).stockQuantity(5).build();
+        registerStockReservationHandler();
+        when(stockReservationHandler.handle(reserve)).thenReturn(reserved);
+        when(stockReservationHandler.handle(release)).thenReturn(released);
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert - one bean handles both commands
+        assertSame(reserved, mediator.send(reserve));
+        assertSame(released, mediator.send(release));
+    }
+
+    @Test
+    void testSend_WhenHandlerReturnsNothing_ShouldReturnNull() {
+        // Arrange
+        DeleteProductCommand command = new DeleteProductCommand(1L, "user-id", ROLES);
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{"deleteProductHandler"});
+        doReturn(DeleteProductHandler.class).when(applicationContext).getType("deleteProductHandler");
+        when(applicationContext.getBean("deleteProductHandler")).thenReturn(deleteProductHandler);
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        Object result = mediator.send(command);
+
+        // Assert
+        assertNull(result);
+        verify(deleteProductHandler).handle(command);
+    }
+
+    @Test
+    void testSend_WhenNoHandlerIsRegistered_ShouldThrowIllegalStateException() {
+        // Arrange
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{});
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> mediator.send(new DeleteProductCommand(1L, "user-id", ROLES)));
+        assertTrue(exception.getMessage().contains("No handler found for command"));
+    }
+
+    @Test
+    void testSend_WhenHandlerThrows_ShouldPropagateTheExceptionUnwrapped() {
+        // Arrange
+        ReserveStockCommand command = new ReserveStockCommand(1L, 2, "user-id", ROLES);
+        registerStockReservationHandler();
+        when(stockReservationHandler.handle(command)).thenThrow(new ProductNotFoundException("Product 1 not found."));
+        mediator.afterSingletonsInstantiated();
+
+        // Act & Assert
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> mediator.send(command));
+        assertEquals("Product 1 not found.", exception.getMessage());
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_WhenTwoHandlersTakeTheSameCommand_ShouldFail() {
+        // Arrange
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[]{"stockReservationHandler", "otherHandler"});
+        doReturn(StockReservationHandler.class).when(applicationContext).getType("stockReservationHandler");
+        doReturn(StockReservationHandler.class).when(applicationContext).getType("otherHandler");
+        when(applicationContext.getBean("stockReservationHandler")).thenReturn(stockReservationHandler);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> mediator.afterSingletonsInstantiated());
+        assertTrue(exception.getMessage().contains("Multiple handlers found for command"));
+    }
+
+    @Test
+    void testSend_ShouldRunPipelineBehaviorsInOrderAroundTheHandler() {
+        // Arrange
+        List<String> calls = new ArrayList<>();
+        mediator = new SpringMediator(applicationContext, List.of(recording("outer", calls), recording("inner", calls)));
+        ReserveStockCommand command = new ReserveStockCommand(1L, 2, "user-id", ROLES);
+        registerStockReservationHandler();
+        when(stockReservationHandler.handle(command)).thenAnswer(invocation -> {
+            calls.add("handler");
+            return null;
+        });
+        mediator.afterSingletonsInstantiated();
+
+        // Act
+        mediator.send(command);
+
+        // Assert
+        assertEquals(List.of("outer", "inner", "handler"), calls);
+    }
+
+    private void registerStockReservationHandler() {
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{"stockReservationHandler"});
+        doReturn(StockReservationHandler.class).when(applicationContext).getType("stockReservationHandler");
+        when(applicationContext.getBean("stockReservationHandler")).thenReturn(stockReservationHandler);
+    }
+
+    private static PipelineBehavior recording(String name, List<String> calls) {
+        return new PipelineBehavior() {
+            @Override
+            public <R> R handle(Object request, Next<R> next) {
+                calls.add(name);
+                return next.invoke();
+            }
+        };
+    }
+}
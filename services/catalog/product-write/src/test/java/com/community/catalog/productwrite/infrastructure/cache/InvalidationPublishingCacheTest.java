@@ -0,0 +1,88 @@
+package com.community.catalog.productwrite.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationPublishingCacheTest {
+
+    private static final String CHANNEL = "catalog:cache-invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCache delegate;
+    private InvalidationPublishingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("products");
+        cache = new InvalidationPublishingCache(delegate, new CacheInvalidationPublisher(redisTemplate, CHANNEL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvict_WithoutTransaction_ShouldEvictAndPublishImmediately() {
+        // Arrange
+        delegate.put(1L, "product");
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNull(delegate.get(1L));
+        verify(redisTemplate).convertAndSend(CHANNEL, "products::1");
+    }
+
+    @Test
+    void testClear_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        delegate.put("all", "products");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertNotNull(delegate.get("all"));
+        verifyNoInteractions(redisTemplate);
+
+        // Act
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertNull(delegate.get("all"));
+        verify(redisTemplate).convertAndSend(CHANNEL, "products::*");
+    }
+
+    @Test
+    void testEvict_WhenPublishFails_ShouldStillEvict() {
+        // Arrange
+        delegate.put(1L, "product");
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new IllegalStateException("down"));
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNull(delegate.get(1L));
+    }
+}
@@ -0,0 +1,138 @@
+package com.community.catalog.productwrite.infrastructure.event;
+
+import com.community.catalog.events.CatalogEventsProto;
+import com.community.catalog.productwrite.domain.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogEventPublisherTest {
+
+    private static final String TOPIC = "catalog.product-events";
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    private MeterRegistry meterRegistry;
+    private CatalogEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new CatalogEventPublisher(kafkaTemplate, TOPIC, meterRegistry, 3, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProductUpdated_InsideTransaction_ShouldSendVersionAfterCommit() throws Exception {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        Product product = product();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        publisher.productUpdated(product);
+        verifyNoInteractions(kafkaTemplate);
+        product.setVersion(4); // bumped when the transaction flushes
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, byte[]> record = captor.getValue();
+        assertEquals(TOPIC, record.topic());
+        assertEquals("7", record.key());
+        assertEquals("catalog_events.ProductUpdatedEvent", new String(
+                record.headers().lastHeader(CatalogEventPublisher.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+        CatalogEventsProto.ProductUpdatedEvent event = CatalogEventsProto.ProductUpdatedEvent.parseFrom(record.value());
+        assertEquals(4, event.getVersion());
+        assertEquals("Widget", event.getName());
+        assertEquals("", event.getDescription());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProductDeleted_WhenSendFails_ShouldRetryThenCountTheDrop() {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        // Act
+        publisher.productDeleted(product());
+
+        // Assert
+        verify(kafkaTemplate, timeout(1_000).times(3)).send(any(ProducerRecord.class));
+        await(() -> meterRegistry.get("catalog.events.publish.failures").counter().count() == 1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProductDeleted_WhenRetrySucceeds_ShouldNotCountADrop() throws Exception {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")))
+                .thenReturn(new CompletableFuture<>());
+
+        // Act
+        publisher.productDeleted(product());
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, timeout(1_000).times(2)).send(captor.capture());
+        assertEquals(3, CatalogEventsProto.ProductDeletedEvent.parseFrom(captor.getValue().value()).getVersion());
+        assertEquals(0.0, meterRegistry.get("catalog.events.publish.failures").counter().count());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 1_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Product product() {
+        return Product.builder()
+                .id(7L)
+                .name("Widget")
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(3)
+                .sku("W-7")
+                .version(3)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build();
+    }
+}
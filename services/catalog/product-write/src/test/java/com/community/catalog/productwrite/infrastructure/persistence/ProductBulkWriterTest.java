@@ -0,0 +1,202 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bulk SQL against PostgreSQL itself; H2 supports neither {@code ON CONFLICT} nor
+ * {@code pg_get_serial_sequence}. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductBulkWriterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Date CREATED_AT = new Date(1_700_000_000_000L);
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductBulkWriter bulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS products");
+        new ResourceDatabasePopulator(new ClassPathResource("db/products-schema.sql")).execute(dataSource);
+        bulkWriter = new ProductBulkWriter(dataSource);
+    }
+
+    @Test
+    void testAllocateIds_ShouldReturnDistinctIdsTheIdentityColumnWillNotReuse() {
+        // Act
+        List<Long> ids = bulkWriter.allocateIds(3);
+        bulkWriter.insert(ids.stream().map(id -> product(id, "SKU-" + id, "books", "acme", "ACTIVE")).toList());
+        Long generated = jdbcTemplate.queryForObject("INSERT INTO products (name, price, stock_quantity, sku,"
+                + " version, created_at, updated_at) VALUES ('Other', 1, 1, 'SKU-OTHER', 0, now(), now())"
+                + " RETURNING id", Long.class);
+
+        // Assert
+        assertEquals(3, Set.copyOf(ids).size());
+        assertFalse(ids.contains(generated));
+        assertEquals(4, count());
+    }
+
+    @Test
+    void testInsert_ShouldWriteEveryColumn() {
+        // Arrange
+        long id = bulkWriter.allocateIds(1).get(0);
+        Product product = product(id, "SKU-1", "books", "acme", "ACTIVE");
+        product.setDescription("Reading lamp");
+        product.setImageUrl("https://img/1.png");
+
+        // Act
+        boolean[] inserted = bulkWriter.insert(List.of(product));
+
+        // Assert
+        assertArrayEquals(new boolean[]{true}, inserted);
+        Product stored = jdbcTemplate.queryForObject("SELECT " + ProductRowMapper.COLUMNS
+                + " FROM products WHERE id = ?", new ProductRowMapper(), id);
+        assertEquals("Product SKU-1", stored.getName());
+        assertEquals("Reading lamp", stored.getDescription());
+        assertEquals(0, new BigDecimal("10.50").compareTo(stored.getPrice()));
+        assertEquals(7, stored.getStockQuantity());
+        assertEquals("https://img/1.png", stored.getImageUrl());
+        assertEquals("books", stored.getCategory());
+        assertEquals("acme", stored.getManufacturer());
+        assertEquals("ACTIVE", stored.getStatus());
+        assertEquals(0, stored.getVersion());
+        assertEquals(CREATED_AT.getTime(), stored.getCreatedAt().getTime());
+    }
+
+    @Test
+    void testInsert_WhenSkuIsTaken_ShouldSkipThatRowAndInsertTheRest() {
+        // Arrange
+        List<Long> ids = bulkWriter.allocateIds(3);
+        bulkWriter.insert(List.of(product(ids.get(0), "SKU-TAKEN", "books", "acme", "ACTIVE")));
+
+        // Act
+        boolean[] inserted = bulkWriter.insert(List.of(
+                product(ids.get(1), "SKU-TAKEN", "books", "acme", "ACTIVE"),
+                product(ids.get(2), "SKU-FREE", "books", "acme", "ACTIVE")));
+
+        // Assert
+        assertArrayEquals(new boolean[]{false, true}, inserted);
+        assertEquals(2, count());
+    }
+
+    @Test
+    void testFindExistingSkus_ShouldReturnOnlyTheSkusAlreadyStored() {
+        // Arrange
+        List<Long> ids = bulkWriter.allocateIds(2);
+        bulkWriter.insert(List.of(product(ids.get(0), "SKU-1", "books", "acme", "ACTIVE"),
+                product(ids.get(1), "SKU-2", "books", "acme", "ACTIVE")));
+
+        // Act
+        Set<String> existing = bulkWriter.findExistingSkus(List.of("SKU-2", "SKU-3"));
+
+        // Assert
+        assertEquals(Set.of("SKU-2"), existing);
+    }
+
+    @Test
+    void testUpdateMatching_ShouldUpdateOnlyTheScopeAndSkipRowsAlreadyInTheStatus() {
+        // Arrange
+        List<Long> ids = bulkWriter.allocateIds(4);
+        bulkWriter.insert(List.of(
+                product(ids.get(0), "SKU-1", "books", "acme", "ACTIVE"),
+                product(ids.get(1), "SKU-2", "books", "acme", "ARCHIVED"),
+                product(ids.get(2), "SKU-3", "books", "globex", "ACTIVE"),
+                product(ids.get(3), "SKU-4", "toys", "acme", "ACTIVE")));
+        Date updatedAt = new Date(CREATED_AT.getTime() + 60_000);
+
+        // Act
+        int updated = bulkWriter.updateMatching("books", "acme", "ARCHIVED", null, updatedAt);
+
+        // Assert
+        assertEquals(1, updated);
+        List<Product> stamped = bulkWriter.findUpdated("books", "acme", updatedAt, null, 10);
+        assertEquals(List.of(ids.get(0)), stamped.stream().map(Product::getId).toList());
+        assertEquals("ARCHIVED", stamped.get(0).getStatus());
+        assertEquals(1, stamped.get(0).getVersion());
+        assertEquals(0, version(ids.get(1)));
+        assertEquals(0, version(ids.get(2)));
+        assertEquals(0, version(ids.get(3)));
+    }
+
+    @Test
+    void testUpdateMatching_WhenScalingPrices_ShouldRoundToCentsAndUpdateEveryRowInScope() {
+        // Arrange
+        List<Long> ids = bulkWriter.allocateIds(2);
+        bulkWriter.insert(List.of(product(ids.get(0), "SKU-1", null, "acme", "ACTIVE"),
+                product(ids.get(1), "SKU-2", null, "globex", "ACTIVE")));
+
+        // Act
+        int updated = bulkWriter.updateMatching(null, "acme", "ACTIVE", new BigDecimal("1.1"),
+                new Date(CREATED_AT.getTime() + 60_000));
+
+        // Assert - the status is unchanged, but the price change still applies
+        assertEquals(1, updated);
+        BigDecimal price = jdbcTemplate.queryForObject("SELECT price FROM products WHERE id = ?",
+                BigDecimal.class, ids.get(0));
+        assertEquals(0, new BigDecimal("11.55").compareTo(price));
+    }
+
+    @Test
+    void testFindUpdated_ShouldPageInIdOrderAndSkipRowsChangedSince() {
+        // Arrange
+        List<Long> ids = bulkWriter.allocateIds(3);
+        bulkWriter.insert(ids.stream().map(id -> product(id, "SKU-" + id, "books", null, "ACTIVE")).toList());
+        Date updatedAt = new Date(CREATED_AT.getTime() + 60_000);
+        bulkWriter.updateMatching("books", null, "ARCHIVED", null, updatedAt);
+        jdbcTemplate.update("UPDATE products SET updated_at = now() WHERE id = ?", ids.get(1));
+
+        // Act
+        List<Product> first = bulkWriter.findUpdated("books", null, updatedAt, null, 1);
+        List<Product> rest = bulkWriter.findUpdated("books", null, updatedAt, first.get(0).getId(), 10);
+
+        // Assert
+        assertEquals(List.of(ids.get(0)), first.stream().map(Product::getId).toList());
+        assertEquals(List.of(ids.get(2)), rest.stream().map(Product::getId).toList());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class);
+    }
+
+    private int version(long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Integer.class, id);
+    }
+
+    private static Product product(long id, String sku, String category, String manufacturer, String status) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + sku)
+                .price(new BigDecimal("10.50"))
+                .stockQuantity(7)
+                .sku(sku)
+                .category(category)
+                .manufacturer(manufacturer)
+                .status(status)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+}
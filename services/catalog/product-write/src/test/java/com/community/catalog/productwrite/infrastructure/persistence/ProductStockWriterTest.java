@@ -0,0 +1,110 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the conditional {@code UPDATE ... RETURNING} against PostgreSQL itself; H2 does not support
+ * {@code RETURNING}. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductStockWriterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductStockWriter stockWriter;
+    private long productId;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS products");
+        new ResourceDatabasePopulator(new ClassPathResource("db/products-schema.sql")).execute(dataSource);
+        productId = jdbcTemplate.queryForObject("INSERT INTO products (name, price, stock_quantity, sku, status,"
+                + " version, created_at, updated_at) VALUES ('Lamp', 19.99, 5, 'SKU-1', 'ACTIVE', 3,"
+                + " TIMESTAMP '2026-01-02 03:04:05', TIMESTAMP '2026-01-02 03:04:05') RETURNING id", Long.class);
+        stockWriter = new ProductStockWriter(dataSource);
+    }
+
+    @Test
+    void testAdjust_WhenEnoughStock_ShouldReturnTheUpdatedRowWithBumpedVersion() {
+        // Act
+        Product updated = stockWriter.adjust(productId, -2);
+
+        // Assert
+        assertNotNull(updated);
+        assertEquals(productId, updated.getId());
+        assertEquals("Lamp", updated.getName());
+        assertEquals("SKU-1", updated.getSku());
+        assertEquals(3, updated.getStockQuantity());
+        assertEquals(4, updated.getVersion());
+        assertTrue(updated.getUpdatedAt().after(updated.getCreatedAt()));
+        assertEquals(3, stockQuantity());
+    }
+
+    @Test
+    void testAdjust_WhenTakingAllStock_ShouldLeaveZero() {
+        // Act
+        Product updated = stockWriter.adjust(productId, -5);
+
+        // Assert
+        assertNotNull(updated);
+        assertEquals(0, updated.getStockQuantity());
+    }
+
+    @Test
+    void testAdjust_WhenNotEnoughStock_ShouldReturnNullAndLeaveTheRowAlone() {
+        // Act
+        Product updated = stockWriter.adjust(productId, -6);
+
+        // Assert
+        assertNull(updated);
+        assertEquals(5, stockQuantity());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Integer.class,
+                productId));
+    }
+
+    @Test
+    void testAdjust_WhenReleasingStock_ShouldAddIt() {
+        // Act
+        Product updated = stockWriter.adjust(productId, 4);
+
+        // Assert
+        assertNotNull(updated);
+        assertEquals(9, updated.getStockQuantity());
+    }
+
+    @Test
+    void testAdjust_WhenProductDoesNotExist_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(stockWriter.adjust(productId + 1, 1));
+    }
+
+    @Test
+    void testExists_ShouldReportWhetherTheRowExists() {
+        // Act & Assert
+        assertTrue(stockWriter.exists(productId));
+        assertFalse(stockWriter.exists(productId + 1));
+    }
+
+    private int stockQuantity() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+                productId);
+    }
+}
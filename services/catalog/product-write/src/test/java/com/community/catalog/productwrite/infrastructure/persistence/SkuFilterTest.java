@@ -0,0 +1,93 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkuFilterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private SkuFilter skuFilter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        skuFilter = new SkuFilter(productRepository, transactionManager, meterRegistry, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        skuFilter.shutdown();
+    }
+
+    @Test
+    void testMightContain_WhenNotBuilt_ShouldAnswerMaybe() {
+        // Act & Assert
+        assertTrue(skuFilter.mightContain("SKU-1"));
+        assertEquals(0.0, checks("absent"));
+    }
+
+    @Test
+    void testMightContain_WhenBuilt_ShouldRuleOutUnknownSkus() {
+        // Arrange
+        when(productRepository.count()).thenReturn(1_000L);
+        when(productRepository.streamAllSkus()).thenReturn(IntStream.range(0, 1_000).mapToObj(i -> "SKU-" + i));
+
+        // Act
+        skuFilter.rebuild();
+        skuFilter.added("NEW-1");
+
+        // Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(skuFilter.mightContain("SKU-" + i), "A stored SKU must never be ruled out");
+        }
+        assertTrue(skuFilter.mightContain("NEW-1"));
+        long ruledOut = IntStream.range(0, 1_000).filter(i -> !skuFilter.mightContain("OTHER-" + i)).count();
+        assertTrue(ruledOut > 950, "Most unknown SKUs should be ruled out, were " + ruledOut);
+        assertEquals(ruledOut, checks("absent"));
+    }
+
+    @Test
+    void testLookedUp_WhenBuilt_ShouldCountFalsePositives() {
+        // Arrange
+        when(productRepository.count()).thenReturn(0L);
+        when(productRepository.streamAllSkus()).thenReturn(Stream.empty());
+        skuFilter.rebuild();
+
+        // Act
+        skuFilter.lookedUp(false);
+        skuFilter.lookedUp(true);
+        skuFilter.lookedUp(false);
+
+        // Assert
+        assertEquals(2.0, checks("false_positive"));
+        assertEquals(1.0, checks("present"));
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("catalog.sku.filter.checks").tag("result", result).counter().count();
+    }
+}
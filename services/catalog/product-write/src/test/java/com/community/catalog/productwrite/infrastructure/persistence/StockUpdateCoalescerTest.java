@@ -0,0 +1,171 @@
+package com.community.catalog.productwrite.infrastructure.persistence;
+
+import com.community.catalog.productwrite.application.error.StockUpdateTimeoutException;
+import com.community.catalog.productwrite.domain.model.Product;
+import com.community.catalog.productwrite.infrastructure.event.CatalogEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockUpdateCoalescerTest {
+
+    @Mock
+    private ProductStockWriter stockWriter;
+
+    @Mock
+    private CatalogEventPublisher catalogEventPublisher;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private StockUpdateCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void testAdjust_WhenCoalescingIsDisabled_ShouldApplyEachChangeAlone() {
+        // Arrange
+        coalescer = coalescer(Duration.ZERO, 100);
+        Product updated = product(7);
+        when(stockWriter.adjust(1L, -3)).thenReturn(updated);
+
+        // Act
+        Product result = coalescer.adjust(1L, -3);
+
+        // Assert
+        assertSame(updated, result);
+        verify(catalogEventPublisher).productUpdated(updated);
+    }
+
+    @Test
+    void testAdjust_WhenChangesArriveWithinWindow_ShouldMergeThemIntoOneStatement() {
+        // Arrange
+        coalescer = coalescer(Duration.ofSeconds(5), 4);
+        Product updated = product(6);
+        when(stockWriter.adjust(1L, -4)).thenReturn(updated);
+
+        // Act
+        List<Product> results = adjustConcurrently(1L, -1, -1, -1, -1);
+
+        // Assert
+        results.forEach(result -> assertSame(updated, result));
+        verify(stockWriter).adjust(1L, -4);
+        verify(stockWriter, never()).adjust(1L, -1);
+        verify(catalogEventPublisher).productUpdated(updated);
+        assertEquals(1.0, meterRegistry.get("catalog.stock.statements").counter().count());
+    }
+
+    @Test
+    void testAdjust_WhenMergedChangeExceedsStock_ShouldApplyChangesOneByOne() {
+        // Arrange
+        coalescer = coalescer(Duration.ofSeconds(5), 3);
+        when(stockWriter.adjust(1L, -6)).thenReturn(null);
+        // Four units are left, so the first two reservations fit and the third does not
+        when(stockWriter.adjust(1L, -2)).thenReturn(product(2), product(0), null);
+
+        // Act
+        List<Product> results = adjustConcurrently(1L, -2, -2, -2);
+
+        // Assert
+        assertEquals(2, results.stream().filter(result -> result != null).count());
+        verify(stockWriter, times(3)).adjust(1L, -2);
+        verify(catalogEventPublisher, times(2)).productUpdated(any());
+    }
+
+    @Test
+    void testAdjust_WhenStatementFails_ShouldRethrowToEveryCaller() {
+        // Arrange
+        coalescer = coalescer(Duration.ofSeconds(5), 2);
+        when(stockWriter.adjust(eq(1L), anyInt())).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        List<CompletableFuture<Product>> futures = submit(1L, -1, -1);
+
+        // Assert
+        for (CompletableFuture<Product> future : futures) {
+            Exception e = assertThrows(Exception.class, future::join);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testAdjust_WhenStatementThrowsError_ShouldStillAnswerEveryCaller() {
+        // Arrange
+        coalescer = coalescer(Duration.ofSeconds(5), 2);
+        when(stockWriter.adjust(eq(1L), anyInt())).thenThrow(new OutOfMemoryError("heap"));
+
+        // Act
+        List<CompletableFuture<Product>> futures = submit(1L, -1, -1);
+
+        // Assert
+        for (CompletableFuture<Product> future : futures) {
+            Exception e = assertThrows(Exception.class, future::join);
+            assertInstanceOf(OutOfMemoryError.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testAdjust_WhenFlushDoesNotFinishInTime_ShouldFailWithTimeout() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        coalescer = new StockUpdateCoalescer(stockWriter, catalogEventPublisher, meterRegistry,
+                Duration.ofMillis(10), 100, 1, Duration.ofMillis(50));
+        when(stockWriter.adjust(1L, -1)).thenAnswer(invocation -> {
+            release.await();
+            return product(0);
+        });
+
+        try {
+            // Act & Assert
+            assertThrows(StockUpdateTimeoutException.class, () -> coalescer.adjust(1L, -1));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private StockUpdateCoalescer coalescer(Duration window, int maxBatch) {
+        return new StockUpdateCoalescer(stockWriter, catalogEventPublisher, meterRegistry, window, maxBatch, 1,
+                Duration.ofSeconds(5));
+    }
+
+    // The window is long, so the batch is flushed by reaching max-batch once every caller has joined
+    private List<Product> adjustConcurrently(long productId, int... deltas) {
+        return submit(productId, deltas).stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<CompletableFuture<Product>> submit(long productId, int... deltas) {
+        List<CompletableFuture<Product>> futures = new ArrayList<>();
+        for (int delta : deltas) {
+            futures.add(CompletableFuture.supplyAsync(() -> coalescer.adjust(productId, delta), callers));
+        }
+        return futures;
+    }
+
+    private static Product product(int stockQuantity) {
+        return Product.builder().id(1L).stockQuantity(stockQuantity).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.community.catalog.productwrite.interfaces.controller;
+
+import com.community.catalog.productwrite.application.command.ImportProductsCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImportReaderTest {
+
+    private static final String VALID = "{\"name\":\"Gadget\",\"price\":9.99,\"stockQuantity\":5,\"sku\":\"SKU-1\"}";
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final ProductImportReader reader = new ProductImportReader(new ObjectMapper(), validatorFactory.getValidator());
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testReadArray_ShouldNumberRowsAndReportInvalidOnes() throws IOException {
+        List<ImportProductsCommand.Row> rows = drain(reader.readArray(body(
+                "[" + VALID + ", {\"name\":\"\",\"price\":1,\"stockQuantity\":-1,\"sku\":\"SKU-2\"}]")));
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).getError());
+        assertEquals(new BigDecimal("9.99"), rows.get(0).getPrice());
+        assertEquals(2, rows.get(1).getNumber());
+        assertEquals("SKU-2", rows.get(1).getSku());
+        assertEquals("name: Product name cannot be empty; stockQuantity: Stock quantity must be non-negative",
+                rows.get(1).getError());
+    }
+
+    @Test
+    void testReadArray_WhenElementIsMalformed_ShouldReportItAndStop() throws IOException {
+        List<ImportProductsCommand.Row> rows = drain(reader.readArray(body("[" + VALID + ", {\"name\": ]")));
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(1).getError().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testReadLines_ShouldSkipBlankLinesAndContinuePastMalformedOnes() {
+        List<ImportProductsCommand.Row> rows = drain(reader.readLines(body(
+                VALID + "\n\nnot json\n{\"name\":\"Other\",\"price\":\"abc\",\"stockQuantity\":1,\"sku\":\"SKU-3\"}\n")));
+
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0).getError());
+        assertEquals(2, rows.get(1).getNumber());
+        assertTrue(rows.get(1).getError().startsWith("Malformed JSON"));
+        assertEquals("SKU-3", rows.get(2).getSku());
+        assertNotNull(rows.get(2).getError());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<ImportProductsCommand.Row> drain(Iterator<ImportProductsCommand.Row> iterator) {
+        List<ImportProductsCommand.Row> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+}
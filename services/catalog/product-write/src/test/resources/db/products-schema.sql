@@ -0,0 +1,16 @@
+-- The products table as Hibernate creates it from Product, for tests of the SQL that bypasses JPA
+CREATE TABLE products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    price NUMERIC(38, 2) NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    sku VARCHAR(255) NOT NULL UNIQUE,
+    image_url VARCHAR(255),
+    category VARCHAR(255),
+    manufacturer VARCHAR(255),
+    status VARCHAR(255),
+    version INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,47 @@
+package com.community.users.userservice.mediator;
+
+import com.community.platform.shared.mediator.MediatorMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every command through the shared {@link MediatorMetrics}: a latency histogram per command
+ * type, a log of commands slower than {@code mediator.metrics.slow-threshold} and sampled
+ * allocation counts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(
+        name = "mediator.metrics.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public final class MetricsPipelineBehavior implements PipelineBehavior {
+
+    /** Meters and slow-command log shared with the other services. */
+    private final MediatorMetrics metrics;
+
+    /**
+     * Constructs a new MetricsPipelineBehavior.
+     *
+     * @param theMeterRegistry The meter registry.
+     * @param slowThreshold Threshold above which commands are logged.
+     * @param theAllocationSampleRate Fraction of commands whose allocations are measured.
+     */
+    public MetricsPipelineBehavior(
+            final MeterRegistry theMeterRegistry,
+            @Value("${mediator.metrics.slow-threshold:0ms}") final Duration slowThreshold,
+            @Value("${mediator.metrics.allocation-sample-rate:0}")
+                    final double theAllocationSampleRate) {
+        this.metrics = new MediatorMetrics(theMeterRegistry, slowThreshold, theAllocationSampleRate);
+    }
+
+    @Override
+    public <R> R handle(final Object command, final Next<R> next) {
+        return metrics.record(command, next::invoke);
+    }
+}
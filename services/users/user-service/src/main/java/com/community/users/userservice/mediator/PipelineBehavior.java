@@ -0,0 +1,32 @@
+package com.community.users.userservice.mediator;
+
+/**
+ * Cross-cutting step wrapped around every command dispatched by the {@link Mediator}. Behaviors
+ * are applied in {@link org.springframework.core.annotation.Order} order, outermost first.
+ */
+public interface PipelineBehavior {
+    /**
+     * Handles a command, delegating to the rest of the pipeline through {@code next}.
+     *
+     * @param <R> The type of the response.
+     * @param command The command being dispatched.
+     * @param next The remaining pipeline, ending with the command handler.
+     * @return The response from the rest of the pipeline.
+     */
+    <R> R handle(Object command, Next<R> next);
+
+    /**
+     * The remaining part of the pipeline.
+     *
+     * @param <R> The type of the response.
+     */
+    @FunctionalInterface
+    interface Next<R> {
+        /**
+         * Invokes the next behavior, or the handler when none is left.
+         *
+         * @return The response from the rest of the pipeline.
+         */
+        R invoke();
+    }
+}
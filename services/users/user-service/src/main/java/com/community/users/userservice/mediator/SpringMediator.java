@@ -1,62 +1,166 @@
 package com.community.users.userservice.mediator;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 @Component
-public final class SpringMediator implements Mediator {
+public final class SpringMediator implements Mediator, SmartInitializingSingleton {
+
+    /** Call-site type every bound handler is adapted to. */
+    private static final MethodType DISPATCH_TYPE =
+            MethodType.methodType(Object.class, Object.class);
 
     /** The Spring application context. */
     private final ApplicationContext applicationContext;
 
+    /** Behaviors wrapped around every command, outermost first. */
+    private final List<PipelineBehavior> behaviors;
+
+    /** Command class to bound handle method, built once when the context is refreshed. */
+    private volatile Map<Class<?>, MethodHandle> handlers;
+
     /**
      * Constructs a new SpringMediator.
      *
      * @param theApplicationContext The Spring application context.
+     * @param theBehaviors Pipeline behaviors to apply to every command.
      */
-    public SpringMediator(final ApplicationContext theApplicationContext) {
+    public SpringMediator(
+            final ApplicationContext theApplicationContext,
+            final List<PipelineBehavior> theBehaviors) {
         this.applicationContext = theApplicationContext;
+        this.behaviors = List.copyOf(theBehaviors);
     }
 
+    /**
+     * Builds the dispatch table from the application's handler components.
+     *
+     * @throws IllegalStateException if two handlers accept the same command type.
+     */
     @Override
-    public <R, T> R send(final T command) {
-        try {
-            String[] beanNames = applicationContext.getBeanDefinitionNames();
-            for (String beanName : beanNames) {
-                Object bean = applicationContext.getBean(beanName);
-                Method handleMethod = findHandleMethod(bean.getClass(), command.getClass());
-                if (handleMethod != null) {
-                    return (R) handleMethod.invoke(bean, command);
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, MethodHandle> resolved = new HashMap<>();
+        Map<Class<?>, String> owners = new HashMap<>();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType == null) {
+                continue;
+            }
+            // Only application components can be handlers; framework beans stay out of the table
+            Class<?> handlerClass = ClassUtils.getUserClass(beanType);
+            if (!AnnotatedElementUtils.hasAnnotation(handlerClass, Component.class)) {
+                continue;
+            }
+            for (Method method : handlerClass.getMethods()) {
+                if (!isHandleMethod(method)) {
+                    continue;
                 }
+                Class<?> commandClass = method.getParameterTypes()[0];
+                String existing = owners.putIfAbsent(commandClass, beanName);
+                if (existing != null) {
+                    throw new IllegalStateException(
+                            "Multiple handlers found for command: "
+                                    + commandClass.getName()
+                                    + " ("
+                                    + existing
+                                    + ", "
+                                    + beanName
+                                    + ")");
+                }
+                resolved.put(commandClass, bind(method, applicationContext.getBean(beanName)));
             }
+        }
+        this.handlers = Map.copyOf(resolved);
+    }
+
+    @Override
+    public <R, T> R send(final T command) {
+        Map<Class<?>, MethodHandle> table = handlers;
+        if (table == null) {
+            throw new IllegalStateException("Mediator is not initialized yet");
+        }
+        MethodHandle handler = table.get(command.getClass());
+        if (handler == null) {
             throw new IllegalStateException(
                     "No handler found for command: " + command.getClass().getName());
-        } catch (final Exception e) {
-            // Unwrap invocation target exceptions
-            if (e.getCause() != null && e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            }
-            throw new RuntimeException("Error dispatching command", e);
         }
+        return invoke(0, command, handler);
+    }
+
+    /**
+     * Runs the remaining pipeline behaviors, then the handler.
+     *
+     * @param <R> The type of the response.
+     * @param index Index of the next behavior to run.
+     * @param command The command being dispatched.
+     * @param handler The bound handle method.
+     * @return The response from the command handler.
+     */
+    private <R> R invoke(final int index, final Object command, final MethodHandle handler) {
+        if (index == behaviors.size()) {
+            return dispatch(handler, command);
+        }
+        return behaviors.get(index).handle(command, () -> invoke(index + 1, command, handler));
     }
 
     /**
-     * Finds the handle method in a given handler.
+     * Invokes the handler, rethrowing runtime exceptions unchanged.
      *
-     * @param handlerClass The class of the handler.
-     * @param commandClass The class of the command.
-     * @return The handle method, or null if not found.
+     * @param <R> The type of the response.
+     * @param handler The bound handle method.
+     * @param command The command to handle.
+     * @return The response from the command handler.
      */
-    private Method findHandleMethod(final Class<?> handlerClass, final Class<?> commandClass) {
-        return Arrays.stream(handlerClass.getMethods())
-                .filter(
-                        method ->
-                                method.getName().equals("handle")
-                                        && method.getParameterCount() == 1
-                                        && method.getParameterTypes()[0].equals(commandClass))
-                .findFirst()
-                .orElse(null);
+    private <R> R dispatch(final MethodHandle handler, final Object command) {
+        try {
+            return (R) handler.invokeExact(command);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new RuntimeException("Error dispatching command", t);
+        }
+    }
+
+    /**
+     * Checks whether a method looks like a single-argument command handler.
+     *
+     * @param method The candidate method.
+     * @return True if the method is a public {@code handle(Command)} method.
+     */
+    private boolean isHandleMethod(final Method method) {
+        return method.getName().equals("handle")
+                && method.getParameterCount() == 1
+                && !method.isBridge()
+                && !Modifier.isStatic(method.getModifiers())
+                && method.getParameterTypes()[0] != Object.class;
+    }
+
+    /**
+     * Binds a handle method to its bean so it can be invoked without reflection.
+     *
+     * @param method The handle method.
+     * @param bean The handler bean, possibly a proxy.
+     * @return A method handle of type {@code (Object)Object}.
+     */
+    private MethodHandle bind(final Method method, final Object bean) {
+        try {
+            return MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .bindTo(bean)
+                    .asType(DISPATCH_TYPE);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Handler method is not accessible: " + method, e);
+        }
     }
 }
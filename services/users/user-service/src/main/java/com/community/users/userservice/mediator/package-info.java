@@ -1,2 +1,8 @@
-/** Contains mediator interfaces and implementations for command dispatching. */
+/**
+ * Contains mediator interfaces and implementations for command dispatching.
+ *
+ * <p>Dispatch is synchronous only. Unlike the catalog services, this service has no query handler
+ * that blocks on a remote store (its one handler writes to an in-process H2 database), so a {@code
+ * sendAsync} would only add a thread hop.
+ */
 package com.community.users.userservice.mediator;
@@ -2,11 +2,16 @@ package com.community.users.userservice.mediator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.community.users.userservice.application.command.CreateUserCommand;
 import com.community.users.userservice.application.dto.UserResponseDTO;
 import com.community.users.userservice.application.handler.CreateUserCommandHandler;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +30,7 @@ class SpringMediatorTest {
 
     @BeforeEach
     void setUp() {
-        springMediator = new SpringMediator(applicationContext);
+        springMediator = new SpringMediator(applicationContext, List.of());
     }
 
     @Test
@@ -39,9 +44,15 @@ class SpringMediatorTest {
                         .email("mediator@example.com")
                         .build();
 
-        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{"createUserCommandHandler"});
-        when(applicationContext.getBean("createUserCommandHandler")).thenReturn(createUserCommandHandler);
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[] {"createUserCommandHandler"});
+        doReturn(CreateUserCommandHandler.class)
+                .when(applicationContext)
+                .getType("createUserCommandHandler");
+        when(applicationContext.getBean("createUserCommandHandler"))
+                .thenReturn(createUserCommandHandler);
         when(createUserCommandHandler.handle(command)).thenReturn(expectedResponse);
+        springMediator.afterSingletonsInstantiated();
 
         UserResponseDTO actualResponse = springMediator.send(command);
 
@@ -50,16 +61,112 @@ class SpringMediatorTest {
 
     @Test
     void send_shouldThrowException_whenNoHandlerFound() {
-        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[]{});
+        when(applicationContext.getBeanDefinitionNames()).thenReturn(new String[] {});
+        springMediator.afterSingletonsInstantiated();
 
         CreateUserCommand unknownCommand =
                 new CreateUserCommand("unknown", "unknown@example.com", "pass");
 
         assertThatThrownBy(() -> springMediator.send(unknownCommand))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Error dispatching command")
-                .getCause()
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("No handler found for command");
     }
+
+    @Test
+    void send_shouldPropagateHandlerExceptionsUnwrapped() {
+        CreateUserCommand command =
+                new CreateUserCommand("failingUser", "failing@example.com", "password");
+
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[] {"createUserCommandHandler"});
+        doReturn(CreateUserCommandHandler.class)
+                .when(applicationContext)
+                .getType("createUserCommandHandler");
+        when(applicationContext.getBean("createUserCommandHandler"))
+                .thenReturn(createUserCommandHandler);
+        when(createUserCommandHandler.handle(command))
+                .thenThrow(new IllegalArgumentException("Email already taken"));
+        springMediator.afterSingletonsInstantiated();
+
+        assertThatThrownBy(() -> springMediator.send(command))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email already taken");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldFailOnDuplicateHandlers() {
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[] {"createUserCommandHandler", "otherHandler"});
+        doReturn(CreateUserCommandHandler.class)
+                .when(applicationContext)
+                .getType("createUserCommandHandler");
+        doReturn(CreateUserCommandHandler.class).when(applicationContext).getType("otherHandler");
+        when(applicationContext.getBean("createUserCommandHandler"))
+                .thenReturn(createUserCommandHandler);
+
+        assertThatThrownBy(() -> springMediator.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Multiple handlers found for command");
+    }
+
+    @Test
+    void send_shouldNotScanBeansPerRequest() {
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[] {"createUserCommandHandler"});
+        doReturn(CreateUserCommandHandler.class)
+                .when(applicationContext)
+                .getType("createUserCommandHandler");
+        when(applicationContext.getBean("createUserCommandHandler"))
+                .thenReturn(createUserCommandHandler);
+        springMediator.afterSingletonsInstantiated();
+
+        springMediator.send(new CreateUserCommand("a", "a@example.com", "password"));
+        springMediator.send(new CreateUserCommand("b", "b@example.com", "password"));
+
+        verify(applicationContext, times(1)).getBeanDefinitionNames();
+        verify(applicationContext, times(1)).getBean("createUserCommandHandler");
+    }
+
+    @Test
+    void send_shouldRunPipelineBehaviorsInOrderAroundHandler() {
+        CreateUserCommand command =
+                new CreateUserCommand("pipelineUser", "pipeline@example.com", "password");
+        List<String> calls = new ArrayList<>();
+        PipelineBehavior outer =
+                new PipelineBehavior() {
+                    @Override
+                    public <R> R handle(final Object cmd, final Next<R> next) {
+                        calls.add("outer");
+                        return next.invoke();
+                    }
+                };
+        PipelineBehavior inner =
+                new PipelineBehavior() {
+                    @Override
+                    public <R> R handle(final Object cmd, final Next<R> next) {
+                        calls.add("inner");
+                        return next.invoke();
+                    }
+                };
+        springMediator = new SpringMediator(applicationContext, List.of(outer, inner));
+
+        when(applicationContext.getBeanDefinitionNames())
+                .thenReturn(new String[] {"createUserCommandHandler"});
+        doReturn(CreateUserCommandHandler.class)
+                .when(applicationContext)
+                .getType("createUserCommandHandler");
+        when(applicationContext.getBean("createUserCommandHandler"))
+                .thenReturn(createUserCommandHandler);
+        when(createUserCommandHandler.handle(command))
+                .thenAnswer(
+                        invocation -> {
+                            calls.add("handler");
+                            return null;
+                        });
+        springMediator.afterSingletonsInstantiated();
+
+        springMediator.send(command);
+
+        assertThat(calls).containsExactly("outer", "inner", "handler");
+    }
 }
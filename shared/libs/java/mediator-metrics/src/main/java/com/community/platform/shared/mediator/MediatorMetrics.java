@@ -0,0 +1,116 @@
+package com.community.platform.shared.mediator;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records a latency histogram per request type, optionally logs requests slower than a threshold
+ * and samples the bytes allocated while handling a request. Every service's mediator wraps this in
+ * its own {@code MetricsPipelineBehavior}; the services compile this source in through
+ * build-helper-maven-plugin rather than depend on a published artifact.
+ */
+public class MediatorMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(MediatorMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double allocationSampleRate;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final ConcurrentMap<Class<?>, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param slowThreshold        requests slower than this are logged; zero disables the log
+     * @param allocationSampleRate fraction of requests whose allocations are measured; zero disables
+     *                             sampling, as does a JVM that cannot count allocations per thread
+     */
+    public MediatorMetrics(MeterRegistry meterRegistry, Duration slowThreshold, double allocationSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.threadMXBean = allocationThreadMXBean();
+        this.allocationSampleRate = threadMXBean != null ? allocationSampleRate : 0;
+    }
+
+    /**
+     * Handles a request through {@code handler}, recording it under the request's simple class name.
+     * A handler that returns a {@link CompletionStage} is timed until the stage completes.
+     */
+    public <R> R record(Object request, Supplier<R> handler) {
+        RequestMeters requestMeters = meters.computeIfAbsent(request.getClass(), this::register);
+        boolean sampled = allocationSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < allocationSampleRate;
+        long allocatedBefore = sampled ? threadMXBean.getCurrentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = handler.get();
+        } catch (RuntimeException | Error e) {
+            record(request, requestMeters, start, true);
+            throw e;
+        } finally {
+            if (sampled) {
+                requestMeters.allocation().record(threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            // Asynchronous handlers are done when their future completes, not when they return it
+            stage.whenComplete((value, error) -> record(request, requestMeters, start, error != null));
+        } else {
+            record(request, requestMeters, start, false);
+        }
+        return result;
+    }
+
+    private void record(Object request, RequestMeters requestMeters, long start, boolean failed) {
+        long elapsed = System.nanoTime() - start;
+        (failed ? requestMeters.failure() : requestMeters.success()).record(elapsed, TimeUnit.NANOSECONDS);
+        if (slowThresholdNanos > 0 && elapsed > slowThresholdNanos) {
+            log.warn("Slow request {} took {} ms", request.getClass().getSimpleName(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private RequestMeters register(Class<?> requestType) {
+        String command = requestType.getSimpleName();
+        return new RequestMeters(
+                timer(command, "success"),
+                timer(command, "error"),
+                DistributionSummary.builder("mediator.requests.allocated")
+                        .description("Bytes allocated while handling sampled requests")
+                        .baseUnit("bytes")
+                        .tag("command", command)
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(String command, String outcome) {
+        return Timer.builder("mediator.requests")
+                .description("Time spent handling mediator requests")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationThreadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()
+                && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    private record RequestMeters(Timer success, Timer failure, DistributionSummary allocation) {
+    }
+}